@@ -0,0 +1,105 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.benchmarks;
+
+import org.cicirello.permutations.Permutation;
+import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.problems.QuadraticAssignmentProblem;
+import org.cicirello.search.problems.binpack.BinPacking;
+import org.cicirello.search.problems.scheduling.WeightedStaticScheduling;
+import org.cicirello.search.problems.scheduling.WeightedTardiness;
+import org.cicirello.search.problems.scheduling.WeightedShortestProcessingTime;
+import org.cicirello.search.problems.tsp.TSP;
+import org.cicirello.search.problems.tsp.NearestCityHeuristic;
+import org.cicirello.search.operators.permutations.SwapMutation;
+import org.cicirello.search.operators.permutations.InsertionMutation;
+import org.cicirello.search.operators.permutations.TwoChangeMutation;
+import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.IterableMutationOperator;
+import org.cicirello.search.ss.ConstructiveHeuristic;
+
+/**
+ * The instances of the permutation problems on which the benchmarks run, 
+ * along with the mutation operator and constructive heuristic used for each.
+ * All instances are generated from a fixed seed so that results are comparable 
+ * from one run of the benchmarks to the next, and from one release to the next.
+ */
+final class BenchmarkProblems {
+	
+	private static final long SEED = 42;
+	
+	/*
+	 * Utility class, so no instances.
+	 */
+	private BenchmarkProblems() {}
+	
+	/*
+	 * Creates an instance of one of the permutation problems: "TSP", "QAP", 
+	 * "WeightedTardiness", or "BinPacking".
+	 */
+	static IntegerCostOptimizationProblem<Permutation> createProblem(String name, int n) {
+		switch (name) {
+			case "TSP": return new TSP.IntegerMatrix(n, 1000.0, SEED);
+			case "QAP": return QuadraticAssignmentProblem.createUniformRandomInstance(n, 1, 50, 1, 50, SEED);
+			case "WeightedTardiness": return new WeightedTardiness(new WeightedStaticScheduling(n, 0.5, 0.5, SEED));
+			case "BinPacking": return new BinPacking.UniformRandom(n, SEED);
+			default: throw new IllegalArgumentException("Unknown problem: " + name);
+		}
+	}
+	
+	/*
+	 * Creates the mutation operator that is customary for a problem, for simulated annealing: 
+	 * 2-change for the TSP, insertion for scheduling, and swap for the others.
+	 */
+	static UndoableMutationOperator<Permutation> createUndoableMutation(String name) {
+		switch (name) {
+			case "TSP": return new TwoChangeMutation();
+			case "WeightedTardiness": return new InsertionMutation();
+			default: return new SwapMutation();
+		}
+	}
+	
+	/*
+	 * Creates the mutation operator that is customary for a problem, for the hill climbers: 
+	 * 2-change for the TSP, insertion for scheduling, and swap for the others.
+	 */
+	static IterableMutationOperator<Permutation> createIterableMutation(String name) {
+		switch (name) {
+			case "TSP": return new TwoChangeMutation();
+			case "WeightedTardiness": return new InsertionMutation();
+			default: return new SwapMutation();
+		}
+	}
+	
+	/*
+	 * Creates a constructive heuristic for a problem instance created by createProblem,
+	 * which must be an instance of the TSP or of WeightedTardiness.
+	 */
+	static ConstructiveHeuristic<Permutation> createHeuristic(IntegerCostOptimizationProblem<Permutation> problem) {
+		if (problem instanceof TSP.IntegerMatrix) {
+			return new NearestCityHeuristic((TSP.IntegerMatrix)problem);
+		}
+		if (problem instanceof WeightedTardiness) {
+			return new WeightedShortestProcessingTime((WeightedTardiness)problem);
+		}
+		throw new IllegalArgumentException("No constructive heuristic for this problem.");
+	}
+}
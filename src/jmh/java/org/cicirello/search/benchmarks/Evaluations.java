@@ -0,0 +1,51 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * <p>A JMH auxiliary counter of the evaluations of candidate solutions, for the benchmarks 
+ * whose number of evaluations per invocation varies, such as that of a hill climber,
+ * which climbs until it reaches a local optimum. JMH reports it as a rate
+ * (e.g., evaluations per second) alongside the score of the benchmark.</p>
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Evaluations {
+	
+	/**
+	 * The number of evaluations during the current iteration.
+	 */
+	public long evaluations;
+	
+	/**
+	 * Resets the counter at the start of each iteration.
+	 */
+	@Setup(Level.Iteration)
+	public void reset() {
+		evaluations = 0;
+	}
+}
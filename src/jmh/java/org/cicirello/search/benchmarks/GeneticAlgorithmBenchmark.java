@@ -0,0 +1,127 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.evo.GeneticAlgorithm;
+import org.cicirello.search.evo.NegativeIntegerCostFitnessFunction;
+import org.cicirello.search.evo.TournamentSelection;
+import org.cicirello.search.operators.bits.UniformCrossover;
+import org.cicirello.search.problems.OneMax;
+import org.cicirello.search.representations.BitVector;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks the generational loop of a {@link GeneticAlgorithm} (a 
+ * {@link org.cicirello.search.evo.GenerationalEvolutionaryAlgorithm GenerationalEvolutionaryAlgorithm}), 
+ * with uniform crossover, bit flip mutation, and tournament selection, on {@link OneMax} across
+ * bit vector lengths, and with fitness evaluation either sequential or in a ForkJoinPool with 
+ * multiple threads. The score is in generations per second.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GeneticAlgorithmBenchmark {
+	
+	private static final int POPULATION_SIZE = 100;
+	private static final int GENERATIONS = 100;
+	
+	/**
+	 * The length of the bit vectors.
+	 */
+	@Param({"64", "1024", "8192"})
+	public int bitLength;
+	
+	/**
+	 * The number of threads for fitness evaluation, where 1 evaluates sequentially.
+	 */
+	@Param({"1", "4"})
+	public int threads;
+	
+	private GeneticAlgorithm ga;
+	private ForkJoinPool pool;
+	
+	/**
+	 * Creates the search.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		ga = new GeneticAlgorithm(
+			POPULATION_SIZE, 
+			bitLength, 
+			new NegativeIntegerCostFitnessFunction<BitVector>(new OneMax()), 
+			1.0 / bitLength, 
+			new UniformCrossover(), 
+			0.85, 
+			new TournamentSelection()
+		);
+		if (threads > 1) {
+			pool = new ForkJoinPool(threads);
+			ga.setFitnessEvaluationPool(pool);
+		}
+	}
+	
+	/**
+	 * Shuts down the ForkJoinPool, if there is one.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (pool != null) pool.shutdown();
+	}
+	
+	/**
+	 * Replaces the ProgressTracker before each run, so that a run never ends early
+	 * on account of a prior run finding the optimal solution.
+	 */
+	@Setup(Level.Invocation)
+	public void resetTracker() {
+		ga.setProgressTracker(new ProgressTracker<BitVector>());
+	}
+	
+	/**
+	 * Benchmarks a run of the genetic algorithm.
+	 * @return the best solution of the run
+	 */
+	@Benchmark
+	@OperationsPerInvocation(GENERATIONS)
+	public SolutionCostPair<BitVector> optimize() {
+		return ga.optimize(GENERATIONS);
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.cicirello.permutations.Permutation;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.SimpleLocalMetaheuristic;
+import org.cicirello.search.hc.FirstDescentHillClimber;
+import org.cicirello.search.hc.SteepestDescentHillClimber;
+import org.cicirello.search.operators.IterableMutationOperator;
+import org.cicirello.search.operators.permutations.PermutationInitializer;
+import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks the neighborhood evaluation loops of the {@link SteepestDescentHillClimber} and
+ * {@link FirstDescentHillClimber}, on each of the permutation problems of {@link BenchmarkProblems}
+ * across instance sizes. The score is in climbs (from a random solution to a local optimum) per second,
+ * and the {@link Evaluations} counter reports neighbors evaluated per second.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class HillClimberBenchmark {
+	
+	/**
+	 * The hill climber.
+	 */
+	@Param({"SteepestDescent", "FirstDescent"})
+	public String climber;
+	
+	/**
+	 * The problem.
+	 */
+	@Param({"TSP", "QAP", "WeightedTardiness", "BinPacking"})
+	public String problem;
+	
+	/**
+	 * The size of the instance.
+	 */
+	@Param({"50", "200"})
+	public int size;
+	
+	private SimpleLocalMetaheuristic<Permutation> hc;
+	
+	/**
+	 * Creates the instance and the search.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		IntegerCostOptimizationProblem<Permutation> p = BenchmarkProblems.createProblem(problem, size);
+		IterableMutationOperator<Permutation> mutation = BenchmarkProblems.createIterableMutation(problem);
+		PermutationInitializer initializer = new PermutationInitializer(size);
+		hc = climber.equals("SteepestDescent")
+			? new SteepestDescentHillClimber<Permutation>(p, mutation, initializer)
+			: new FirstDescentHillClimber<Permutation>(p, mutation, initializer);
+	}
+	
+	/**
+	 * Replaces the ProgressTracker before each climb, so that a climb never ends early
+	 * on account of a prior climb finding a solution with the minimum cost.
+	 */
+	@Setup(Level.Invocation)
+	public void resetTracker() {
+		hc.setProgressTracker(new ProgressTracker<Permutation>());
+	}
+	
+	/**
+	 * Benchmarks a climb from a random solution to a local optimum.
+	 * @param counter counts the neighbors evaluated
+	 * @return the local optimum
+	 */
+	@Benchmark
+	public SolutionCostPair<Permutation> climb(Evaluations counter) {
+		long before = hc.getTotalRunLength();
+		SolutionCostPair<Permutation> result = hc.optimize();
+		counter.evaluations += hc.getTotalRunLength() - before;
+		return result;
+	}
+}
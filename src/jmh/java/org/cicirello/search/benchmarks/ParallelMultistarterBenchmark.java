@@ -0,0 +1,126 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.cicirello.permutations.Permutation;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.concurrent.ParallelMultistarter;
+import org.cicirello.search.operators.permutations.PermutationInitializer;
+import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.sa.SimulatedAnnealing;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks a {@link ParallelMultistarter} of {@link SimulatedAnnealing} across numbers of threads,
+ * with short restarts so that the overhead of the restarts themselves is measured along with
+ * the evaluation loop. The score is in sets of restarts per second, and the {@link Evaluations} 
+ * counter reports evaluations per second across all of the threads.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ParallelMultistarterBenchmark {
+	
+	private static final int RUN_LENGTH = 1000;
+	private static final int RESTARTS = 10;
+	
+	/**
+	 * The problem.
+	 */
+	@Param({"TSP", "QAP"})
+	public String problem;
+	
+	/**
+	 * The size of the instance.
+	 */
+	@Param({"200"})
+	public int size;
+	
+	/**
+	 * The number of threads.
+	 */
+	@Param({"1", "2", "4", "8"})
+	public int threads;
+	
+	private ParallelMultistarter<Permutation> search;
+	
+	/**
+	 * Creates the instance and the search.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		IntegerCostOptimizationProblem<Permutation> p = BenchmarkProblems.createProblem(problem, size);
+		SimulatedAnnealing<Permutation> sa = new SimulatedAnnealing<Permutation>(
+			p, 
+			BenchmarkProblems.createUndoableMutation(problem), 
+			new PermutationInitializer(size)
+		);
+		search = new ParallelMultistarter<Permutation>(sa, RUN_LENGTH, threads);
+	}
+	
+	/**
+	 * Shuts down the threads of the search.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		search.close();
+	}
+	
+	/**
+	 * Replaces the ProgressTracker before each set of restarts, so that the search never ends early
+	 * on account of a prior run finding a solution with the minimum cost.
+	 */
+	@Setup(Level.Invocation)
+	public void resetTracker() {
+		search.setProgressTracker(new ProgressTracker<Permutation>());
+	}
+	
+	/**
+	 * Benchmarks restarts of simulated annealing in parallel, where each of the threads
+	 * executes the same number of restarts.
+	 * @param counter counts the evaluations across all of the threads
+	 * @return the best of the restarts
+	 */
+	@Benchmark
+	public SolutionCostPair<Permutation> optimize(Evaluations counter) {
+		long before = search.getTotalRunLength();
+		SolutionCostPair<Permutation> result = search.optimize(RESTARTS);
+		counter.evaluations += search.getTotalRunLength() - before;
+		return result;
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.cicirello.permutations.Permutation;
+import org.cicirello.search.operators.CrossoverOperator;
+import org.cicirello.search.operators.MutationOperator;
+import org.cicirello.search.operators.permutations.BlockMoveMutation;
+import org.cicirello.search.operators.permutations.CycleCrossover;
+import org.cicirello.search.operators.permutations.EdgeRecombination;
+import org.cicirello.search.operators.permutations.EnhancedEdgeRecombination;
+import org.cicirello.search.operators.permutations.InsertionMutation;
+import org.cicirello.search.operators.permutations.OrderCrossover;
+import org.cicirello.search.operators.permutations.PartiallyMatchedCrossover;
+import org.cicirello.search.operators.permutations.ReversalMutation;
+import org.cicirello.search.operators.permutations.ScrambleMutation;
+import org.cicirello.search.operators.permutations.SwapMutation;
+import org.cicirello.search.operators.permutations.TwoChangeMutation;
+import org.cicirello.search.operators.permutations.UniformOrderBasedCrossover;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks the mutation and crossover operators for permutations across 
+ * permutation lengths. The scores are in mutations per second and
+ * crossovers per second.</p>
+ */
+public class PermutationOperatorBenchmark {
+	
+	/**
+	 * The state of the mutation benchmark.
+	 */
+	@State(Scope.Thread)
+	public static class MutationState {
+		
+		/**
+		 * The mutation operator.
+		 */
+		@Param({"Swap", "Insertion", "Reversal", "TwoChange", "BlockMove", "Scramble"})
+		public String operator;
+		
+		/**
+		 * The length of the permutation.
+		 */
+		@Param({"50", "1000"})
+		public int size;
+		
+		MutationOperator<Permutation> mutation;
+		Permutation p;
+		
+		/**
+		 * Creates the operator and the permutation.
+		 */
+		@Setup(Level.Trial)
+		public void setUp() {
+			switch (operator) {
+				case "Swap": mutation = new SwapMutation(); break;
+				case "Insertion": mutation = new InsertionMutation(); break;
+				case "Reversal": mutation = new ReversalMutation(); break;
+				case "TwoChange": mutation = new TwoChangeMutation(); break;
+				case "BlockMove": mutation = new BlockMoveMutation(); break;
+				case "Scramble": mutation = new ScrambleMutation(); break;
+				default: throw new IllegalArgumentException("Unknown operator: " + operator);
+			}
+			p = new Permutation(size);
+		}
+	}
+	
+	/**
+	 * The state of the crossover benchmark.
+	 */
+	@State(Scope.Thread)
+	public static class CrossoverState {
+		
+		/**
+		 * The crossover operator.
+		 */
+		@Param({"OX", "PMX", "Cycle", "UniformOrderBased", "EdgeRecombination", "EnhancedEdgeRecombination"})
+		public String operator;
+		
+		/**
+		 * The length of the permutations.
+		 */
+		@Param({"50", "1000"})
+		public int size;
+		
+		CrossoverOperator<Permutation> crossover;
+		Permutation p1;
+		Permutation p2;
+		int[] parent1;
+		int[] parent2;
+		
+		/**
+		 * Creates the operator and the permutations.
+		 */
+		@Setup(Level.Trial)
+		public void setUp() {
+			switch (operator) {
+				case "OX": crossover = new OrderCrossover(); break;
+				case "PMX": crossover = new PartiallyMatchedCrossover(); break;
+				case "Cycle": crossover = new CycleCrossover(); break;
+				case "UniformOrderBased": crossover = new UniformOrderBasedCrossover(); break;
+				case "EdgeRecombination": crossover = new EdgeRecombination(); break;
+				case "EnhancedEdgeRecombination": crossover = new EnhancedEdgeRecombination(); break;
+				default: throw new IllegalArgumentException("Unknown operator: " + operator);
+			}
+			p1 = new Permutation(size);
+			p2 = new Permutation(size);
+			parent1 = p1.toArray();
+			parent2 = p2.toArray();
+		}
+	}
+	
+	/**
+	 * Benchmarks a mutation.
+	 * @param state the operator and the permutation
+	 * @return the mutated permutation
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@Fork(1)
+	@Warmup(iterations = 3, time = 1)
+	@Measurement(iterations = 5, time = 1)
+	public Permutation mutate(MutationState state) {
+		state.mutation.mutate(state.p);
+		return state.p;
+	}
+	
+	/**
+	 * Benchmarks a crossover. The children are reset to the same pair of parents before each
+	 * crossover, so that repeated crossovers do not converge to identical parents, which
+	 * adds the time to copy two arrays to the time of the crossover.
+	 * @param state the operator and the permutations
+	 * @return one of the children
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@Fork(1)
+	@Warmup(iterations = 3, time = 1)
+	@Measurement(iterations = 5, time = 1)
+	public Permutation cross(CrossoverState state) {
+		state.p1.set(state.parent1);
+		state.p2.set(state.parent2);
+		state.crossover.cross(state.p1, state.p2);
+		return state.p1;
+	}
+}
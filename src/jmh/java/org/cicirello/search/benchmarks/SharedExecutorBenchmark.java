@@ -0,0 +1,196 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.cicirello.permutations.Permutation;
+import org.cicirello.search.Metaheuristic;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.concurrent.ParallelMultistarter;
+import org.cicirello.search.concurrent.TimedParallelMultistarter;
+import org.cicirello.search.operators.permutations.PermutationInitializer;
+import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.sa.SimulatedAnnealing;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks many concurrent solves, each by its own {@link ParallelMultistarter} or
+ * {@link TimedParallelMultistarter} of {@link SimulatedAnnealing}, where the searches either
+ * run in one ExecutorService that they all share (see their setExecutorService methods), or each
+ * runs in the fixed thread pool that it owns by default. The score is in sets of concurrent solves per
+ * second, and the {@link Evaluations} counter reports evaluations per second across all of the solves.</p>
+ *
+ * <p>The ParallelMultistarters share a fixed thread pool with one thread per processor, so that the
+ * restarts of all of the solves are queued rather than oversubscribing the processors. A
+ * TimedParallelMultistarter must be able to run all of its multistarters simultaneously, so
+ * the TimedParallelMultistarters share a fixed thread pool with as many threads as all of their
+ * pools combined.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SharedExecutorBenchmark {
+
+	private static final int RUN_LENGTH = 1000;
+	private static final int RESTARTS = 4;
+	private static final int TIME_UNIT_MS = 20;
+	
+	/**
+	 * The search: "ParallelMultistarter" or "TimedParallelMultistarter".
+	 */
+	@Param({"ParallelMultistarter", "TimedParallelMultistarter"})
+	public String search;
+	
+	/**
+	 * Whether the searches share one ExecutorService ("shared"), or each uses its own
+	 * thread pool ("perInstance").
+	 */
+	@Param({"shared", "perInstance"})
+	public String executor;
+	
+	/**
+	 * The number of concurrent solves.
+	 */
+	@Param({"4", "16"})
+	public int solves;
+	
+	/**
+	 * The number of threads of each search.
+	 */
+	@Param({"2"})
+	public int threads;
+	
+	private ArrayList<Metaheuristic<Permutation>> searches;
+	private ExecutorService shared;
+	private ExecutorService callers;
+	
+	/**
+	 * Creates the searches, and the shared ExecutorService if there is one.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		final int n = 100;
+		boolean timed = search.equals("TimedParallelMultistarter");
+		if (executor.equals("shared")) {
+			shared = Executors.newFixedThreadPool(timed ? solves * threads : Runtime.getRuntime().availableProcessors());
+		}
+		// the threads that call optimize wait for their searches, so they are not threads of the shared pool
+		callers = Executors.newFixedThreadPool(solves);
+		searches = new ArrayList<Metaheuristic<Permutation>>(solves);
+		for (int i = 0; i < solves; i++) {
+			IntegerCostOptimizationProblem<Permutation> p = BenchmarkProblems.createProblem("TSP", n);
+			SimulatedAnnealing<Permutation> sa = new SimulatedAnnealing<Permutation>(
+				p,
+				BenchmarkProblems.createUndoableMutation("TSP"),
+				new PermutationInitializer(n)
+			);
+			if (timed) {
+				TimedParallelMultistarter<Permutation> t = new TimedParallelMultistarter<Permutation>(sa, RUN_LENGTH, threads);
+				t.setTimeUnit(TIME_UNIT_MS);
+				if (shared != null) t.setExecutorService(shared);
+				searches.add(t);
+			} else {
+				ParallelMultistarter<Permutation> m = new ParallelMultistarter<Permutation>(sa, RUN_LENGTH, threads);
+				if (shared != null) m.setExecutorService(shared);
+				searches.add(m);
+			}
+		}
+	}
+	
+	/**
+	 * Shuts down the threads of the searches, and the shared ExecutorService.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		for (Metaheuristic<Permutation> s : searches) {
+			if (s instanceof ParallelMultistarter) {
+				((ParallelMultistarter<Permutation>)s).close();
+			} else {
+				((TimedParallelMultistarter<Permutation>)s).close();
+			}
+		}
+		if (shared != null) shared.shutdown();
+		callers.shutdown();
+	}
+	
+	/**
+	 * Replaces the ProgressTrackers before each set of solves, so that no search ends early
+	 * on account of a prior run finding a solution with the minimum cost.
+	 */
+	@Setup(Level.Invocation)
+	public void resetTrackers() {
+		for (Metaheuristic<Permutation> s : searches) {
+			s.setProgressTracker(new ProgressTracker<Permutation>());
+		}
+	}
+	
+	/**
+	 * Benchmarks a set of concurrent solves, where each ParallelMultistarter executes the same number
+	 * of restarts in each of its threads, and each TimedParallelMultistarter runs for one unit of time.
+	 * @param counter counts the evaluations across all of the solves
+	 * @return the total run length of all of the searches
+	 * @throws ExecutionException if a search throws an exception
+	 * @throws InterruptedException if interrupted while waiting for the solves
+	 */
+	@Benchmark
+	public long solveConcurrently(Evaluations counter) throws ExecutionException, InterruptedException {
+		long before = totalRunLength();
+		final int length = search.equals("TimedParallelMultistarter") ? 1 : RESTARTS;
+		ArrayList<Future<?>> futures = new ArrayList<Future<?>>(solves);
+		for (Metaheuristic<Permutation> s : searches) {
+			futures.add(callers.submit(() -> s.optimize(length)));
+		}
+		for (Future<?> f : futures) {
+			f.get();
+		}
+		long after = totalRunLength();
+		counter.evaluations += after - before;
+		return after;
+	}
+	
+	private long totalRunLength() {
+		long total = 0;
+		for (Metaheuristic<Permutation> s : searches) {
+			total += s.getTotalRunLength();
+		}
+		return total;
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.cicirello.permutations.Permutation;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.ss.HeuristicBiasedStochasticSampling;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks {@link HeuristicBiasedStochasticSampling}, with its default bias function, 
+ * using the nearest city heuristic for the TSP and the weighted shortest processing time heuristic 
+ * for weighted tardiness scheduling, across instance sizes. The score is in samples 
+ * (i.e., constructed solutions) per second.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StochasticSamplingBenchmark {
+	
+	private static final int SAMPLES = 10;
+	
+	/**
+	 * The problem.
+	 */
+	@Param({"TSP", "WeightedTardiness"})
+	public String problem;
+	
+	/**
+	 * The size of the instance.
+	 */
+	@Param({"50", "200", "1000"})
+	public int size;
+	
+	private HeuristicBiasedStochasticSampling<Permutation> hbss;
+	
+	/**
+	 * Creates the instance and the search.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		hbss = new HeuristicBiasedStochasticSampling<Permutation>(
+			BenchmarkProblems.createHeuristic(BenchmarkProblems.createProblem(problem, size))
+		);
+	}
+	
+	/**
+	 * Replaces the ProgressTracker before each set of samples, so that sampling never ends early
+	 * on account of a prior sample with the minimum cost.
+	 */
+	@Setup(Level.Invocation)
+	public void resetTracker() {
+		hbss.setProgressTracker(new ProgressTracker<Permutation>());
+	}
+	
+	/**
+	 * Benchmarks iterations of heuristic biased stochastic sampling.
+	 * @return the best of the samples
+	 */
+	@Benchmark
+	@OperationsPerInvocation(SAMPLES)
+	public SolutionCostPair<Permutation> optimize() {
+		return hbss.optimize(SAMPLES);
+	}
+}
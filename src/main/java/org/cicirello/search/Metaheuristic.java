@@ -54,6 +54,25 @@ public interface Metaheuristic<T extends Copyable<T>> extends TrackableSearch<T>
 	 */
 	SolutionCostPair<T> optimize(int runLength);
 	
+	/**
+	 * <p>Executes a run of the metaheuristic exactly as {@link #optimize(int)} does, but rather than 
+	 * returning the current solution at the end of the run and its cost, offers them to a
+	 * {@link SolutionCostHolder}, which keeps them only if the holder is empty or if the cost is lower 
+	 * than that of the solution that it contains. Multistart metaheuristics use this method to keep
+	 * the best of their restarts.</p>
+	 *
+	 * <p>The default implementation offers the SolutionCostPair returned by {@link #optimize(int)}
+	 * to the holder. Implementing classes may override it to avoid allocating the SolutionCostPair.</p>
+	 *
+	 * @param runLength The length of a run of this metaheuristic.
+	 * @param best The holder of the best solution, to which to offer the current solution at the end of the run,
+	 * which is not offered if the run did not execute, such as if the ProgressTracker already contains
+	 * the theoretical best solution.
+	 */
+	default void optimizeInto(int runLength, SolutionCostHolder<T> best) {
+		best.offer(optimize(runLength));
+	}
+	
 	@Override
 	Metaheuristic<T> split();
 }
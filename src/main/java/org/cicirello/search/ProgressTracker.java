@@ -21,14 +21,18 @@
 package org.cicirello.search;
 
 import org.cicirello.util.Copyable;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This class is used to track search algorithm progress, and supports
  * multithreaded search algorithms.  For a multithreaded search algorithm,
- * all search threads should share a single instance.  The {@link #update update} 
- * methods and the {@link #getSolutionCostPair} method 
- * of this class use synchronization for thread-safety.
- * All other methods are non-blocking.
+ * all search threads should share a single instance.  All methods of this class are 
+ * thread-safe and non-blocking. The best solution, its cost, and related data are published 
+ * together as a single immutable snapshot, which the {@link #update update} methods replace
+ * with a compare-and-set. An update that doesn't improve upon the best cost returns without
+ * copying the solution, and only an update that appears to improve upon the best cost copies
+ * its solution. The methods that read the state of the ProgressTracker, such as 
+ * {@link #getCost}, {@link #getSolution}, and {@link #getSolutionCostPair}, are wait-free.
  *
  * @param <T> The type of object the search is optimizing.
  *
@@ -37,32 +41,20 @@ import org.cicirello.util.Copyable;
  */
 public final class ProgressTracker<T extends Copyable<T>> {
 	
-	private volatile int bestCost;
-	private volatile double bestCostD;
-	private volatile T bestSolution;
-	private volatile long when;
+	private final AtomicReference<Snapshot<T>> best;
 	
-	private volatile boolean foundBest;
 	private volatile boolean stop;
-	private volatile boolean containsIntCost;
 	
-	private long origin;
-	
-	private final Object lock;
+	private final long origin;
 	
 	/**
 	 * Constructs a ProgressTracker.
 	 */
 	public ProgressTracker() {
-		lock = new Object();
-		bestCost = Integer.MAX_VALUE;
-		bestCostD = Double.POSITIVE_INFINITY;
-		when = origin = System.nanoTime();
+		origin = System.nanoTime();
+		best = new AtomicReference<Snapshot<T>>(new Snapshot<T>(origin));
 		/* Assuming default initial values for the following: 
-		 * bestSolution = null;
-		 * foundBest = false;
 		 * stop = false;
-		 * containsIntCost = false;
 		 */
 	}
 	
@@ -70,15 +62,10 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * Updates the best solution contained in this progress tracker.
 	 * The update takes place only if the new solution has lower cost than
 	 * the current best cost solution stored in the progress tracker.  This method
-	 * is thread-safe.  However, it uses synchronization for thread-safety, so
-	 * it is strongly suggested that in multithreaded search implementations that
-	 * you reserve calls to this method for when the search believes it has likely found 
-	 * a better solution than all currently running threads.  Although in theory the 
-	 * functionality of this class is such that it can be used as the sole means of a
-	 * search algorithm keeping track of the best found solution.  If multiple
-	 * parallel runs attempt to share this object for that purpose, significant blocking
-	 * may occur.  You may consider using the nonblocking {@link #getCost} method
-	 * first.
+	 * is thread-safe and non-blocking. The solution is copied only if it has lower
+	 * cost than the best solution at the time of the call, so you may call this method
+	 * whenever the search finds a new solution, without first checking the cost with
+	 * the {@link #getCost} method. 
 	 * @param cost The cost of the solution.
 	 * @param solution The new solution.
 	 * @param isKnownOptimal Pass true if this solution is known to be the optimal such as if
@@ -88,31 +75,29 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * that means the best solution was previously updated by this or another thread.
 	 */
 	public int update(int cost, T solution, boolean isKnownOptimal) {
-		synchronized (lock) {
-			if (bestSolution == null || cost < bestCost) {
-				bestCostD = bestCost = cost;
-				bestSolution = solution.copy();
-				containsIntCost = true;
-				foundBest = isKnownOptimal;
-				when = System.nanoTime();
+		Snapshot<T> current = best.get();
+		if (current.solution != null && cost >= current.cost) {
+			return current.cost;
+		}
+		Snapshot<T> next = new Snapshot<T>(solution.copy(), cost, isKnownOptimal);
+		while (!best.compareAndSet(current, next)) {
+			current = best.get();
+			if (current.solution != null && cost >= current.cost) {
+				// another thread published a solution at least as good
+				return current.cost;
 			}
-			return bestCost;
 		}
+		return cost;
 	}
 	
 	/**
 	 * Updates the best solution contained in this progress tracker.
 	 * The update takes place only if the new solution has lower cost than
 	 * the current best cost solution stored in the progress tracker.  This method
-	 * is thread-safe.  However, it uses synchronization for thread-safety, so
-	 * it is strongly suggested that in multithreaded search implementations that
-	 * you reserve calls to this method for when the search believes it has likely found 
-	 * a better solution than all currently running threads.  Although in theory the 
-	 * functionality of this class is such that it can be used as the sole means of a
-	 * search algorithm keeping track of the best found solution.  If multiple
-	 * parallel runs attempt to share this object for that purpose, significant blocking
-	 * may occur.  You may consider using the nonblocking {@link #getCostDouble} method
-	 * first.
+	 * is thread-safe and non-blocking. The solution is copied only if it has lower
+	 * cost than the best solution at the time of the call, so you may call this method
+	 * whenever the search finds a new solution, without first checking the cost with
+	 * the {@link #getCostDouble} method. 
 	 * @param cost The cost of the solution.
 	 * @param solution The new solution.
 	 * @param isKnownOptimal Pass true if this solution is known to be the optimal such as if
@@ -122,16 +107,21 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * that means the best solution was previously updated by this or another thread.
 	 */
 	public double update(double cost, T solution, boolean isKnownOptimal) {
-		synchronized (lock) {
-			if (bestSolution == null || cost < bestCostD) {
-				bestCostD = cost;
-				bestSolution = solution.copy();
-				containsIntCost = false;
-				foundBest = isKnownOptimal;
-				when = System.nanoTime();
+		Snapshot<T> current = best.get();
+		if (current.solution != null && !(cost < current.costD)) {
+			return current.costD;
+		}
+		T copy = solution.copy();
+		Snapshot<T> next = new Snapshot<T>(copy, cost, isKnownOptimal, current.cost);
+		while (!best.compareAndSet(current, next)) {
+			current = best.get();
+			if (current.solution != null && !(cost < current.costD)) {
+				// another thread published a solution at least as good
+				return current.costD;
 			}
-			return bestCostD;
+			next = new Snapshot<T>(copy, cost, isKnownOptimal, current.cost);
 		}
+		return cost;
 	}
 	
 	/**
@@ -148,36 +138,21 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	public boolean update(SolutionCostPair<T> pair) {
 		if (pair.containsIntCost()) {
 			int c = pair.getCost();
-			int updatedCost = c < bestCost 
-				? update(c, pair.getSolution(), pair.containsKnownOptimal())
-				: bestCost;
-			return c == updatedCost;
+			return c == update(c, pair.getSolution(), pair.containsKnownOptimal());
 		} else {
 			double c = pair.getCostDouble();
-			double updatedCost = c < bestCostD
-				? update(c, pair.getSolution(), pair.containsKnownOptimal())
-				: bestCostD;
-			return c == updatedCost;
+			return c == update(c, pair.getSolution(), pair.containsKnownOptimal());
 		}
 	}
 	
 	/**
 	 * Gets the current best solution and its corresponding cost from the ProgressTracker.
-	 * This method
-	 * is thread-safe, and the solution and cost contained in the returned object are
-	 * guaranteed to correspond with each other.  However, it uses synchronization for thread-safety,
-	 * so if all you need is the current cost, you should instead use the non-blocking 
-	 * {@link #getCost} or {@link #getCostDouble} methods.  Likewise, if all you need is
-	 * the solution, you should instead use the non-blocking {@link #getSolution} method.
+	 * This method is thread-safe and wait-free, and the solution and cost contained in the 
+	 * returned object are guaranteed to correspond with each other. 
 	 * @return current best solution and its corresponding cost
 	 */
 	public SolutionCostPair<T> getSolutionCostPair() {
-		synchronized (lock) {
-			if (containsIntCost)
-				return new SolutionCostPair<T>(bestSolution, bestCost, foundBest);
-			else
-				return new SolutionCostPair<T>(bestSolution, bestCostD, foundBest);
-		}
+		return best.get().pair;
 	}
 	
 	/**
@@ -187,7 +162,7 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * @return the cost of the current best solution
 	 */
 	public int getCost() {
-		return bestCost;
+		return best.get().cost;
 	}
 	
 	/**
@@ -195,7 +170,7 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * @return the cost of the current best solution
 	 */
 	public double getCostDouble() {
-		return bestCostD;
+		return best.get().costD;
 	}
 	
 	/**
@@ -203,7 +178,7 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * @return the current best solution
 	 */
 	public T getSolution() {
-		return bestSolution;
+		return best.get().solution;
 	}
 	
 	/**
@@ -214,7 +189,7 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * most recent recording of best solution. 
 	 */
 	public long elapsed() {
-		return when - origin;
+		return best.get().when - origin;
 	}
 		
 	/**
@@ -223,7 +198,7 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * @return true if the ProgressTracker contains the best possible solution.
 	 */
 	public boolean didFindBest() {
-		return foundBest;
+		return best.get().foundBest;
 	}
 	
 	/**
@@ -258,6 +233,56 @@ public final class ProgressTracker<T extends Copyable<T>> {
 	 * method is undefined.
 	 */
 	public boolean containsIntCost() {
-		return containsIntCost;
+		return best.get().containsIntCost;
+	}
+	
+	/*
+	 * Immutable snapshot of the best solution, its cost, and related data,
+	 * which is published as a whole by the update methods.
+	 */
+	private static final class Snapshot<T extends Copyable<T>> {
+		
+		private final T solution;
+		private final int cost;
+		private final double costD;
+		private final boolean containsIntCost;
+		private final boolean foundBest;
+		private final long when;
+		private final SolutionCostPair<T> pair;
+		
+		/*
+		 * Initial state, prior to any updates.
+		 */
+		private Snapshot(long when) {
+			solution = null;
+			cost = Integer.MAX_VALUE;
+			costD = Double.POSITIVE_INFINITY;
+			containsIntCost = false;
+			foundBest = false;
+			this.when = when;
+			pair = new SolutionCostPair<T>(null, costD, false);
+		}
+		
+		private Snapshot(T solution, int cost, boolean foundBest) {
+			this.solution = solution;
+			costD = this.cost = cost;
+			containsIntCost = true;
+			this.foundBest = foundBest;
+			when = System.nanoTime();
+			pair = new SolutionCostPair<T>(solution, cost, foundBest);
+		}
+		
+		/*
+		 * An update with a floating-point cost leaves the integer cost unchanged.
+		 */
+		private Snapshot(T solution, double costD, boolean foundBest, int previousIntCost) {
+			this.solution = solution;
+			this.costD = costD;
+			cost = previousIntCost;
+			containsIntCost = false;
+			this.foundBest = foundBest;
+			when = System.nanoTime();
+			pair = new SolutionCostPair<T>(solution, costD, foundBest);
+		}
 	}
 }
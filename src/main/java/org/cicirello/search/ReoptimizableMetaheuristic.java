@@ -56,6 +56,25 @@ public interface ReoptimizableMetaheuristic<T extends Copyable<T>> extends Metah
 	 */
 	SolutionCostPair<T> reoptimize(int runLength);
 	
+	/**
+	 * <p>Executes a run of the metaheuristic exactly as {@link #reoptimize(int)} does, but rather than 
+	 * returning the current solution at the end of the run and its cost, offers them to a
+	 * {@link SolutionCostHolder}, which keeps them only if the holder is empty or if the cost is lower 
+	 * than that of the solution that it contains. Multistart metaheuristics use this method to keep
+	 * the best of their restarts.</p>
+	 *
+	 * <p>The default implementation offers the SolutionCostPair returned by {@link #reoptimize(int)}
+	 * to the holder. Implementing classes may override it to avoid allocating the SolutionCostPair.</p>
+	 *
+	 * @param runLength The length of a run of this metaheuristic.
+	 * @param best The holder of the best solution, to which to offer the current solution at the end of the run,
+	 * which is not offered if the run did not execute, such as if the ProgressTracker already contains
+	 * the theoretical best solution.
+	 */
+	default void reoptimizeInto(int runLength, SolutionCostHolder<T> best) {
+		best.offer(reoptimize(runLength));
+	}
+	
 	@Override
 	ReoptimizableMetaheuristic<T> split();
 }
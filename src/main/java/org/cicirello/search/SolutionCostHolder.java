@@ -0,0 +1,192 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search;
+
+import org.cicirello.util.Copyable;
+
+/**
+ * <p>A mutable holder of a solution and its cost, which keeps the lowest cost solution of those
+ * offered to it. Multistart metaheuristics use a SolutionCostHolder to keep the best of the 
+ * solutions at the ends of their restarts, via the {@link Metaheuristic#optimizeInto} and 
+ * {@link ReoptimizableMetaheuristic#reoptimizeInto} methods, without allocating a 
+ * {@link SolutionCostPair} for each restart.</p>
+ *
+ * <p>A solution that is offered to a SolutionCostHolder is kept by reference, and not copied.</p>
+ *
+ * @param <T> The type of object the search is optimizing. 
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class SolutionCostHolder<T extends Copyable<T>> {
+	
+	private T solution;
+	private int cost;
+	private double costD;
+	private boolean containsIntCost;
+	private boolean isKnownOptimal;
+	private boolean isEmpty = true;
+	
+	// the pair that was offered or created for the current solution, if any
+	private SolutionCostPair<T> pair;
+	
+	/**
+	 * Constructs an empty SolutionCostHolder.
+	 */
+	public SolutionCostHolder() {}
+	
+	/**
+	 * Offers a solution with integer cost, which the holder keeps if it is empty or if the
+	 * cost is lower than the cost of the solution that it contains.
+	 * @param solution The solution.
+	 * @param cost The cost of the solution.
+	 * @param isKnownOptimal Pass true if this solution is known to be the optimal, and false otherwise.
+	 * @return true if the holder kept the solution, and false otherwise.
+	 */
+	public boolean offer(T solution, int cost, boolean isKnownOptimal) {
+		if (isEmpty || cost < this.cost) {
+			this.solution = solution;
+			costD = this.cost = cost;
+			containsIntCost = true;
+			this.isKnownOptimal = isKnownOptimal;
+			pair = null;
+			isEmpty = false;
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Offers a solution with floating-point cost, which the holder keeps if it is empty or if the
+	 * cost is lower than the cost of the solution that it contains.
+	 * @param solution The solution.
+	 * @param cost The cost of the solution.
+	 * @param isKnownOptimal Pass true if this solution is known to be the optimal, and false otherwise.
+	 * @return true if the holder kept the solution, and false otherwise.
+	 */
+	public boolean offer(T solution, double cost, boolean isKnownOptimal) {
+		if (isEmpty || cost < costD) {
+			this.solution = solution;
+			costD = cost;
+			this.cost = (int)(cost + 0.5);
+			containsIntCost = false;
+			this.isKnownOptimal = isKnownOptimal;
+			pair = null;
+			isEmpty = false;
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Offers the solution of a SolutionCostPair, which the holder keeps if it is empty or if the
+	 * cost is lower than the cost of the solution that it contains.
+	 * @param pair The SolutionCostPair, which is ignored if it is null.
+	 * @return true if the holder kept the solution, and false otherwise.
+	 */
+	public boolean offer(SolutionCostPair<T> pair) {
+		if (pair != null && (isEmpty || (pair.containsIntCost() ? pair.getCost() < cost : pair.getCostDouble() < costD))) {
+			solution = pair.getSolution();
+			cost = pair.getCost();
+			costD = pair.getCostDouble();
+			containsIntCost = pair.containsIntCost();
+			isKnownOptimal = pair.containsKnownOptimal();
+			this.pair = pair;
+			isEmpty = false;
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Empties the holder.
+	 */
+	public void clear() {
+		solution = null;
+		pair = null;
+		isEmpty = true;
+	}
+	
+	/**
+	 * Checks whether the holder is empty.
+	 * @return true if no solution has been offered since construction or since the most recent
+	 * call to {@link #clear}.
+	 */
+	public boolean isEmpty() {
+		return isEmpty;
+	}
+	
+	/**
+	 * Gets the solution in this holder.
+	 * @return the solution, or null if the holder is empty
+	 */
+	public T getSolution() {
+		return solution;
+	}
+	
+	/**
+	 * Gets the cost of the solution in this holder as an int.
+	 * Behavior is undefined if costs are floating-point values, or if the holder is empty.
+	 * @return the cost
+	 */
+	public int getCost() {
+		return cost;
+	}
+	
+	/**
+	 * Gets the cost of the solution in this holder as a double.
+	 * Behavior is undefined if the holder is empty.
+	 * @return the cost
+	 */
+	public double getCostDouble() {
+		return costD;
+	}
+	
+	/**
+	 * Checks whether the cost of the solution in this holder is integer valued.  
+	 * @return true if the solution has integer valued cost, and false otherwise.
+	 */
+	public boolean containsIntCost() {
+		return containsIntCost;
+	}
+	
+	/**
+	 * Checks if the solution in this holder is known to be optimal.
+	 * @return true if the solution is a known optimal, and false otherwise.
+	 */
+	public boolean containsKnownOptimal() {
+		return isKnownOptimal;
+	}
+	
+	/**
+	 * Gets the solution in this holder and its cost as a SolutionCostPair. If the solution was
+	 * offered in a SolutionCostPair, then that SolutionCostPair is returned.
+	 * @return the solution and its cost, or null if the holder is empty
+	 */
+	public SolutionCostPair<T> toSolutionCostPair() {
+		if (pair == null && !isEmpty) {
+			pair = containsIntCost 
+				? new SolutionCostPair<T>(solution, cost, isKnownOptimal)
+				: new SolutionCostPair<T>(solution, costD, isKnownOptimal);
+		}
+		return pair;
+	}
+}
@@ -39,6 +39,11 @@ import java.util.function.Function;
  * in parallel with multiple threads. It specifically requires that all metaheuristics are
  * solving the same problem, but otherwise, they may be the same or different metaheuristics.</p>
  *
+ * <p>By default, the parallel metaheuristics run in a fixed thread pool that is owned by the
+ * ParallelMetaheuristic. Alternatively, the {@link #setExecutorService} method enables running
+ * them in an ExecutorService that is supplied by the caller, such as one that is shared by many 
+ * ParallelMetaheuristic instances.</p>
+ *
  * @param <T> The type of object being optimized.
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
@@ -47,7 +52,9 @@ import java.util.function.Function;
 public class ParallelMetaheuristic<T extends Copyable<T>> implements Metaheuristic<T>, AutoCloseable {
 	
 	private final ArrayList<Metaheuristic<T>> metaheuristics;
-	private final ExecutorService threadPool;
+	private ExecutorService threadPool;
+	private boolean sharedPool;
+	private volatile boolean closed;
 	
 	/**
 	 * Constructs a parallel metaheuristic that executes multiple identical copies of a
@@ -119,8 +126,13 @@ public class ParallelMetaheuristic<T extends Copyable<T>> implements Metaheurist
 			this.metaheuristics.add(m.split());
 		}
 		
-		// Needs its own thread pool
-		threadPool = Executors.newFixedThreadPool(metaheuristics.size());
+		// Needs its own thread pool, unless the other uses one supplied by the caller
+		if (other.sharedPool) {
+			threadPool = other.threadPool;
+			sharedPool = true;
+		} else {
+			threadPool = Executors.newFixedThreadPool(metaheuristics.size());
+		}
 		if (other.isClosed()) close();		
 	}
 	
@@ -160,11 +172,16 @@ public class ParallelMetaheuristic<T extends Copyable<T>> implements Metaheurist
 	 * thread creation.  When you no longer need the ParallelMetaheuristic, you should call
 	 * the close method to ensure that unneeded threads do not persist.
 	 * Once close is called, all subsequent calls to {@link #optimize} will throw an exception.</p>
+	 * <p>If an ExecutorService was supplied by a call to the {@link #setExecutorService} method, then 
+	 * it is not shutdown, since it is owned by the caller.</p>
 	 * <p>This method is invoked automatically on objects managed by the try-with-resources statement.</p>
 	 */
 	@Override
 	public final void close() {
-		threadPool.shutdown();
+		closed = true;
+		if (!sharedPool) {
+			threadPool.shutdown();
+		}
 	}
 	
 	/**
@@ -172,7 +189,40 @@ public class ParallelMetaheuristic<T extends Copyable<T>> implements Metaheurist
 	 * @return true if and only if the {@link #close} method has been called previously.
 	 */
 	public final boolean isClosed() {
-		return threadPool.isShutdown();
+		return closed;
+	}
+	
+	/**
+	 * <p>Sets an ExecutorService, supplied by the caller, in which to run the parallel metaheuristics,
+	 * in place of the fixed thread pool that this ParallelMetaheuristic otherwise creates (which is shutdown
+	 * by this method). This enables many ParallelMetaheuristic instances to share threads, such as
+	 * a {@link java.util.concurrent.ForkJoinPool}, a thread pool that is shared by an application, or
+	 * (on JDK versions that support them) an executor that creates a virtual thread per task. 
+	 * The ExecutorService remains owned by the caller: the {@link #close} method does not shut it down, 
+	 * and the instances produced by the {@link #split} method share it.</p>
+	 *
+	 * <p>If the ExecutorService has fewer threads than the number of parallel metaheuristics, then
+	 * some of them will run after others complete, rather than simultaneously. The thread that calls
+	 * the optimize method waits for all of the parallel metaheuristics to complete, so it should not
+	 * be one of the threads of a bounded ExecutorService.</p>
+	 *
+	 * @param executor The ExecutorService in which to run the parallel metaheuristics.
+	 *
+	 * @throws NullPointerException if executor is null.
+	 * @throws IllegalStateException if the {@link #close} method was previously called.
+	 */
+	public final void setExecutorService(ExecutorService executor) {
+		if (executor == null) {
+			throw new NullPointerException("passed a null object for a required parameter");
+		}
+		if (closed) {
+			throw new IllegalStateException("This ParallelMetaheuristic was previously closed.");
+		}
+		if (!sharedPool) {
+			threadPool.shutdown();
+		}
+		threadPool = executor;
+		sharedPool = true;
 	}
 	
 	@Override
@@ -228,7 +278,7 @@ public class ParallelMetaheuristic<T extends Copyable<T>> implements Metaheurist
 	 * optimize of this class, and reoptimize of subclasses delegate work to this method.
 	 */
 	final SolutionCostPair<T> threadedOptimize(Function<Metaheuristic<T>, Callable<SolutionCostPair<T>>> icf) {
-		if (threadPool.isShutdown()) {
+		if (closed) {
 			throw new IllegalStateException("This ParallelMetaheuristic was previously closed.");
 		}
 		
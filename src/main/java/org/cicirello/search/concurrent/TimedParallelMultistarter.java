@@ -32,6 +32,8 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.TimeUnit;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -67,6 +69,11 @@ import java.util.function.Function;
  * Collection of {@link RestartSchedule} objects (both Collections of the same size).
  * You can also initialize the search with a {@link Multistarter} configured with your restart schedule,
  * along with the number of threads, or a Collection of {@link Multistarter} objects.</p>
+ *
+ * <p>By default, the parallel multistarters run in a fixed thread pool that is owned by the
+ * TimedParallelMultistarter. Alternatively, the {@link #setExecutorService} method enables running
+ * them in an ExecutorService that is supplied by the caller, such as one that is shared by many 
+ * TimedParallelMultistarter instances.</p>
  * 
  *
  * @param <T> The type of object being optimized.
@@ -84,9 +91,12 @@ public class TimedParallelMultistarter<T extends Copyable<T>> implements Metaheu
 	public static final int TIME_UNIT_MS = 1000;
 	
 	private final ArrayList<Multistarter<T>> multistarters;
-	private final ExecutorService threadPool;
+	private ExecutorService threadPool;
+	private boolean sharedPool;
+	private volatile boolean closed;
 	private int timeUnit;
 	private ArrayList<SolutionCostPair<T>> history;
+	private boolean improvementsOnly;
 	
 	/**
 	 * Constructs a parallel multistart metaheuristic that executes multiple runs of
@@ -287,12 +297,18 @@ public class TimedParallelMultistarter<T extends Copyable<T>> implements Metaheu
 			this.multistarters.add(m.split());
 		}
 		
-		// Needs its own thread pool
-		threadPool = Executors.newFixedThreadPool(multistarters.size());
+		// Needs its own thread pool, unless the other uses one supplied by the caller
+		if (other.sharedPool) {
+			threadPool = other.threadPool;
+			sharedPool = true;
+		} else {
+			threadPool = Executors.newFixedThreadPool(multistarters.size());
+		}
 		if (other.isClosed()) close();
 		
 		// safe to copy
 		timeUnit = other.timeUnit;
+		improvementsOnly = other.improvementsOnly;
 		
 		// initialize as null
 		history = null;
@@ -326,10 +342,37 @@ public class TimedParallelMultistarter<T extends Copyable<T>> implements Metaheu
 		return timeUnit;
 	}
 	
+	/**
+	 * Sets whether the search history, as returned by {@link #getSearchHistory}, records
+	 * the best solution at the end of every time interval (the default), or only at the end
+	 * of the time intervals during which the best solution changed. Recording only the changes 
+	 * is useful when the unit of time is short relative to the length of the search.
+	 *
+	 * @param improvementsOnly true to record the best solution only at the end of time intervals
+	 * during which it changed, and false to record it at the end of every time interval.
+	 */
+	public final void setRecordImprovementsOnly(boolean improvementsOnly) {
+		this.improvementsOnly = improvementsOnly;
+	}
+	
+	/**
+	 * Checks whether the search history, as returned by {@link #getSearchHistory}, records
+	 * the best solution only at the end of the time intervals during which it changed.
+	 *
+	 * @return true if the search history records the best solution only at the end of time 
+	 * intervals during which it changed, and false if it records it at the end of every time interval.
+	 */
+	public final boolean getRecordImprovementsOnly() {
+		return improvementsOnly;
+	}
+	
 	/**
 	 * Gets a list of the best solution stored in this search's {@link ProgressTracker}
 	 * at each time interval of the most recent call to the {@link #optimize} 
-	 * method, or null if {@link #optimize} has not been called.
+	 * method, or null if {@link #optimize} has not been called. If 
+	 * {@link #setRecordImprovementsOnly} was used to only record improvements, then
+	 * the list instead only includes the best solution at the end of the time intervals
+	 * during which it changed, and is empty if it didn't change.
 	 * Note that the ProgressTracker stores the best solution found across all calls
 	 * to the {@link #optimize} method, so the solutions in the list returned by this
 	 * method may or may not have been found during the most recent call to {@link #optimize}.
@@ -393,11 +436,16 @@ public class TimedParallelMultistarter<T extends Copyable<T>> implements Metaheu
 	 * thread creation.  When you no longer need the TimedParallelMultistarter, you should call
 	 * the close method to ensure that unneeded threads do not persist.
 	 * Once close is called, all subsequent calls to {@link #optimize} will throw an exception.</p>
+	 * <p>If an ExecutorService was supplied by a call to the {@link #setExecutorService} method, then 
+	 * it is not shutdown, since it is owned by the caller.</p>
 	 * <p>This method is invoked automatically on objects managed by the try-with-resources statement.</p>
 	 */
 	@Override
 	public final void close() {
-		threadPool.shutdown();
+		closed = true;
+		if (!sharedPool) {
+			threadPool.shutdown();
+		}
 	}
 	
 	/**
@@ -405,7 +453,39 @@ public class TimedParallelMultistarter<T extends Copyable<T>> implements Metaheu
 	 * @return true if and only if the {@link #close} method has been called previously.
 	 */
 	public final boolean isClosed() {
-		return threadPool.isShutdown();
+		return closed;
+	}
+	
+	/**
+	 * <p>Sets an ExecutorService, supplied by the caller, in which to run the parallel multistarters,
+	 * in place of the fixed thread pool that this TimedParallelMultistarter otherwise creates (which is 
+	 * shutdown by this method). This enables many TimedParallelMultistarter instances to share threads, such as
+	 * a {@link java.util.concurrent.ForkJoinPool}, a thread pool that is shared by an application, or
+	 * (on JDK versions that support them) an executor that creates a virtual thread per task. 
+	 * The ExecutorService remains owned by the caller: the {@link #close} method does not shut it down, 
+	 * and the instances produced by the {@link #split} method share it.</p>
+	 *
+	 * <p>Each of the parallel multistarters restarts its search until time runs out, so 
+	 * the ExecutorService should be able to run all of them simultaneously. Any that cannot start
+	 * before time runs out do not execute any restarts.</p>
+	 *
+	 * @param executor The ExecutorService in which to run the parallel multistarters.
+	 *
+	 * @throws NullPointerException if executor is null.
+	 * @throws IllegalStateException if the {@link #close} method was previously called.
+	 */
+	public final void setExecutorService(ExecutorService executor) {
+		if (executor == null) {
+			throw new NullPointerException("passed a null object for a required parameter");
+		}
+		if (closed) {
+			throw new IllegalStateException("Previously closed.");
+		}
+		if (!sharedPool) {
+			threadPool.shutdown();
+		}
+		threadPool = executor;
+		sharedPool = true;
 	}
 	
 	@Override
@@ -461,26 +541,51 @@ public class TimedParallelMultistarter<T extends Copyable<T>> implements Metaheu
 	 * optimize of this class, and reoptimize of subclass delegate work to this method.
 	 */
 	final SolutionCostPair<T> threadedOptimize(int time, Function<Multistarter<T>, Callable<SolutionCostPair<T>>> icf) {	
-		if (threadPool.isShutdown()) {
+		if (closed) {
 			throw new IllegalStateException("Previously closed.");
 		}
 		
 		SolutionCostPair<T> bestRestart = null;
 		ProgressTracker<T> tracker = multistarters.get(0).getProgressTracker();
 		tracker.start();
-		history = new ArrayList<SolutionCostPair<T>>(time);
+		history = new ArrayList<SolutionCostPair<T>>(improvementsOnly ? 0 : time);
 		if (!tracker.didFindBest()) {
+			// Rather than polling the ProgressTracker, this thread waits for either the end
+			// of the current time interval or the completion of one of the parallel searches, 
+			// which only completes early if the best possible solution was found (or if it
+			// threw an exception), so that it can stop immediately if the best is found.
+			ExecutorCompletionService<SolutionCostPair<T>> completion = new ExecutorCompletionService<SolutionCostPair<T>>(threadPool);
 			ArrayList<Future<SolutionCostPair<T>>> futures = new ArrayList<Future<SolutionCostPair<T>>>(); 
 			for (Multistarter<T> m : multistarters) {
-				futures.add(threadPool.submit(icf.apply(m)));
+				futures.add(completion.submit(icf.apply(m)));
 			}
-			for (int i = 0; i < time && !tracker.didFindBest(); i++) {
-				try {
-					Thread.sleep(timeUnit);
-				} catch (InterruptedException e) {
-					break;
+			SolutionCostPair<T> recorded = tracker.getSolutionCostPair();
+			long start = System.nanoTime();
+			long unitNanos = timeUnit * 1000000L;
+			int running = futures.size();
+			int i = 0;
+			// whether the most recent event was the end of a time interval, which was recorded
+			boolean endedInterval = false;
+			try {
+				while (i < time && running > 0 && !tracker.didFindBest()) {
+					// deadline relative to start of run, so that time doesn't drift
+					long wait = start + (i + 1) * unitNanos - System.nanoTime();
+					if (wait > 0 && completion.poll(wait, TimeUnit.NANOSECONDS) != null) {
+						running--;
+						endedInterval = false;
+					} else {
+						i++;
+						recorded = recordHistory(tracker, recorded);
+						endedInterval = true;
+					}
 				}
-				history.add(tracker.getSolutionCostPair());
+			} catch (InterruptedException e) {
+				// stop waiting and collect results
+			}
+			if (i < time && tracker.didFindBest() && !(endedInterval && tracker.getSolutionCostPair() == recorded)) {
+				// record the best possible solution that ended the search early, unless it was
+				// found during the time interval that just ended, whose record already includes it
+				recordHistory(tracker, recorded);
 			}
 			tracker.stop();
 			for (Future<SolutionCostPair<T>> f : futures) {
@@ -504,4 +609,16 @@ public class TimedParallelMultistarter<T extends Copyable<T>> implements Metaheu
 		return bestRestart; 
 	}
 	
+	/*
+	 * Records the best solution in the search history, unless only improvements are recorded and
+	 * it hasn't changed since it was last recorded. Returns the most recently recorded.
+	 */
+	private SolutionCostPair<T> recordHistory(ProgressTracker<T> tracker, SolutionCostPair<T> recorded) {
+		// The ProgressTracker returns the same SolutionCostPair object until the best changes.
+		SolutionCostPair<T> current = tracker.getSolutionCostPair();
+		if (!improvementsOnly || current != recorded) {
+			history.add(current);
+		}
+		return current;
+	}
 }
\ No newline at end of file
@@ -25,6 +25,9 @@ import org.cicirello.search.ReoptimizableMetaheuristic;
 import org.cicirello.search.SolutionCostPair;
 import org.cicirello.search.ProgressTracker;
 import org.cicirello.search.problems.Problem;
+import java.util.concurrent.ForkJoinPool;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Abstract base class for EA implementations.
@@ -80,11 +83,8 @@ abstract class AbstractEvolutionaryAlgorithm<T extends Copyable<T>> implements R
 	 */
 	@Override
 	public final SolutionCostPair<T> optimize(int numGenerations) {
-		if (pop.evolutionIsPaused()) return null;
-		pop.init();
-		pop.initOperators(numGenerations);
-		numFitnessEvals = numFitnessEvals + pop.size();
-		internalOptimize(numGenerations);
+		if (!startRun(numGenerations)) return null;
+		evolve(numGenerations);
 		return pop.getMostFit();
 	}
 	
@@ -102,9 +102,8 @@ abstract class AbstractEvolutionaryAlgorithm<T extends Copyable<T>> implements R
 	 */
 	@Override
 	public final SolutionCostPair<T> reoptimize(int numGenerations) {
-		if (pop.evolutionIsPaused()) return null;
-		pop.initOperators(numGenerations);
-		internalOptimize(numGenerations);
+		if (!resumeRun(numGenerations)) return null;
+		evolve(numGenerations);
 		return pop.getMostFit();
 	}
 	
@@ -137,12 +136,88 @@ abstract class AbstractEvolutionaryAlgorithm<T extends Copyable<T>> implements R
 		return numFitnessEvals;
 	}
 	
+	/**
+	 * <p>Sets a ForkJoinPool to use to evaluate the fitness of the population in parallel.
+	 * By default, fitness is evaluated sequentially. When a ForkJoinPool is set, the
+	 * fitness of each population member that is changed by crossover or mutation 
+	 * is evaluated once per generation, in a batch that is evaluated in parallel after
+	 * all of the genetic operators have been applied, and the initial population is 
+	 * likewise evaluated in parallel. The genetic operators, as well as selection, remain 
+	 * confined to the thread that calls the optimize or reoptimize methods. The fitness
+	 * function (i.e., the problem's cost function) must be safe to call from multiple threads
+	 * concurrently, which is the case for all of the problems in this library.</p>
+	 *
+	 * <p>Parallel fitness evaluation is beneficial when the population is large and the
+	 * cost function is expensive to compute. Instances produced by {@link #split} share
+	 * the ForkJoinPool.</p>
+	 *
+	 * @param pool The ForkJoinPool, such as {@link ForkJoinPool#commonPool}, or null
+	 * to evaluate fitness sequentially.
+	 */
+	public final void setFitnessEvaluationPool(ForkJoinPool pool) {
+		pop.setFitnessEvaluationPool(pool);
+	}
+	
 	@Override
 	public abstract AbstractEvolutionaryAlgorithm<T> split();
 	
-	private void internalOptimize(int numGenerations) {
-		for (int i = 0; i < numGenerations && !pop.evolutionIsPaused(); i++) {
-			numFitnessEvals = numFitnessEvals + generation.apply(pop);
+	/*
+	 * package-private for use by the island model, which runs the generations of a run in
+	 * segments: begins a run from a new random population, returning false if the run should
+	 * not execute, such as if the ProgressTracker already contains the theoretical best solution.
+	 */
+	final boolean startRun(int numGenerations) {
+		if (pop.evolutionIsPaused()) return false;
+		pop.init();
+		pop.initOperators(numGenerations);
+		numFitnessEvals = numFitnessEvals + pop.size();
+		return true;
+	}
+	
+	/*
+	 * package-private for use by the island model: continues a run from the current population, 
+	 * returning false if the run should not execute.
+	 */
+	final boolean resumeRun(int numGenerations) {
+		if (pop.evolutionIsPaused()) return false;
+		pop.initOperators(numGenerations);
+		return true;
+	}
+	
+	/*
+	 * package-private for use by the island model: runs up to numGenerations generations, returning 
+	 * the number of generations completed, which is less than numGenerations if evolution was paused.
+	 */
+	final int evolve(int numGenerations) {
+		int i = 0;
+		for (; i < numGenerations && !pop.evolutionIsPaused(); i++) {
+			int updates = generation.apply(pop);
+			// deferred evaluations are of distinct population members, which may each have been updated more than once
+			int deferred = pop.deferredEvaluations();
+			numFitnessEvals = numFitnessEvals + (deferred >= 0 ? deferred : updates);
 		}
+		return i;
+	}
+	
+	/*
+	 * package-private for use by the island model: gets the most fit of the current run.
+	 */
+	final SolutionCostPair<T> getMostFit() {
+		return pop.getMostFit();
+	}
+	
+	/*
+	 * package-private for use by the island model: gets copies of the count most fit candidate solutions
+	 * of the population.
+	 */
+	final ArrayList<T> emigrants(int count) {
+		return pop.emigrants(count);
+	}
+	
+	/*
+	 * package-private for use by the island model: replaces the least fit of the population with immigrants.
+	 */
+	final void immigrate(List<T> immigrants) {
+		numFitnessEvals = numFitnessEvals + pop.immigrate(immigrants);
 	}
 }
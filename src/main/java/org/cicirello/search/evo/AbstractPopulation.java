@@ -23,6 +23,11 @@ package org.cicirello.search.evo;
 import org.cicirello.util.Copyable;
 import org.cicirello.search.SolutionCostPair;
 import org.cicirello.search.ProgressTracker;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.IntToDoubleFunction;
+import java.util.Arrays;
 
 /**
  * An abstract base class for the functionality common to all forms of population
@@ -37,6 +42,8 @@ abstract class AbstractPopulation<T extends Copyable<T>> implements Population<T
 	
 	private ProgressTracker<T> tracker;
 	private SolutionCostPair<T> mostFit;
+	private ForkJoinPool pool;
+	private int numDeferred;
 		
 	/**
 	 * package-private for use by subclasses in this package only.
@@ -53,6 +60,9 @@ abstract class AbstractPopulation<T extends Copyable<T>> implements Population<T
 		// These must be shared, so just copy reference.
 		tracker = other.tracker;
 		
+		// Threadsafe, so share it.
+		pool = other.pool;
+		
 		// Must have its own.
 		mostFit = null;
 	}
@@ -82,6 +92,78 @@ abstract class AbstractPopulation<T extends Copyable<T>> implements Population<T
 		this.tracker = tracker;
 	}
 	
+	@Override
+	public final void setFitnessEvaluationPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+	
+	@Override
+	public final int deferredEvaluations() {
+		return pool != null ? numDeferred : -1;
+	}
+	
+	/*
+	 * package-private for use by subclasses in this package only: records the number of
+	 * fitness evaluations that were deferred to replace.
+	 */
+	final void setDeferredEvaluations(int count) {
+		numDeferred = count;
+	}
+	
+	/*
+	 * package-private for use by subclasses in this package only: checks whether
+	 * fitness evaluation is deferred to be evaluated in parallel.
+	 */
+	final boolean evaluatesInParallel() {
+		return pool != null;
+	}
+	
+	/*
+	 * package-private for use by subclasses in this package only: evaluates the population members 
+	 * with indexes[0] through indexes[count-1], or with indexes 0 through count-1 if indexes is null,
+	 * in parallel if a ForkJoinPool was set, and sequentially otherwise. The evaluation must only
+	 * modify the state of the population member with the index that it is passed.
+	 */
+	final void evaluate(int[] indexes, int count, IntConsumer evaluation) {
+		if (pool == null || count <= 1) {
+			for (int k = 0; k < count; k++) {
+				evaluation.accept(indexes != null ? indexes[k] : k);
+			}
+		} else {
+			int grain = Math.max(1, count / (pool.getParallelism() << 2));
+			pool.invoke(new EvaluationTask(indexes, 0, count, grain, evaluation));
+		}
+	}
+	
+	/*
+	 * package-private for use by subclasses in this package only: gets the indexes of the count
+	 * population members, from among indexes 0 through size-1, with the highest values of a function 
+	 * of the index (e.g., fitness), in decreasing order of value. Uses a partial selection sort, since
+	 * count is typically small relative to the size of the population.
+	 */
+	static int[] indexesOfHighest(int count, int size, IntToDoubleFunction value) {
+		count = Math.min(count, size);
+		int[] indexes = new int[size];
+		for (int i = 0; i < size; i++) {
+			indexes[i] = i;
+		}
+		for (int k = 0; k < count; k++) {
+			int best = k;
+			double bestValue = value.applyAsDouble(indexes[k]);
+			for (int i = k + 1; i < size; i++) {
+				double v = value.applyAsDouble(indexes[i]);
+				if (v > bestValue) {
+					best = i;
+					bestValue = v;
+				}
+			}
+			int temp = indexes[k];
+			indexes[k] = indexes[best];
+			indexes[best] = temp;
+		}
+		return Arrays.copyOf(indexes, count);
+	}
+	
 	final void setMostFit(SolutionCostPair<T> mostFit) {
 		this.mostFit = mostFit;
 		tracker.update(mostFit);
@@ -89,4 +171,42 @@ abstract class AbstractPopulation<T extends Copyable<T>> implements Population<T
 	
 	@Override
 	abstract public AbstractPopulation<T> split();
+	
+	/*
+	 * Evaluates a range of population members, splitting the range in half until 
+	 * its size is at most grain.
+	 */
+	private static final class EvaluationTask extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int[] indexes;
+		private final int low;
+		private final int high;
+		private final int grain;
+		private final IntConsumer evaluation;
+		
+		private EvaluationTask(int[] indexes, int low, int high, int grain, IntConsumer evaluation) {
+			this.indexes = indexes;
+			this.low = low;
+			this.high = high;
+			this.grain = grain;
+			this.evaluation = evaluation;
+		}
+		
+		@Override
+		protected void compute() {
+			if (high - low <= grain) {
+				for (int k = low; k < high; k++) {
+					evaluation.accept(indexes != null ? indexes[k] : k);
+				}
+			} else {
+				int mid = (low + high) >>> 1;
+				invokeAll(
+					new EvaluationTask(indexes, low, mid, grain, evaluation),
+					new EvaluationTask(indexes, mid, high, grain, evaluation)
+				);
+			}
+		}
+	}
 }
@@ -25,6 +25,7 @@ import org.cicirello.search.operators.Initializer;
 import org.cicirello.search.ProgressTracker;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * The nested classes are for simple populations with double-valued and int-valued fitnesses.
@@ -54,12 +55,22 @@ abstract class BasePopulation {
 		private final EliteSet.DoubleFitness<T> elite;
 		private final boolean[] updated;
 		
+		// population members whose fitness evaluation is deferred to a parallel batch
+		private final int[] pending;
+		private final boolean[] isPending;
+		private int numPending;
+		
 		private final FitnessFunction.Double<T> f;		
 		private final int MU;
 		private final int LAMBDA;
 		
 		private final int[] selected;
 		
+		// copy-on-write bookkeeping: index into pop of the member that each slot of nextPop
+		// still shares (or -1 if the slot owns its member), and the number of slots sharing each
+		private final int[] source;
+		private final int[] shares;
+		
 		private double bestFitness;
 		
 		/**
@@ -96,6 +107,10 @@ abstract class BasePopulation {
 			nextPop = new ArrayList<PopulationMember.DoubleFitness<T>>(LAMBDA);
 			selected = new int[LAMBDA];
 			updated = new boolean[LAMBDA];
+			pending = new int[LAMBDA];
+			isPending = new boolean[LAMBDA];
+			source = new int[LAMBDA];
+			shares = new int[MU];
 			bestFitness = java.lang.Double.NEGATIVE_INFINITY;
 		}
 		
@@ -120,6 +135,10 @@ abstract class BasePopulation {
 			elite = other.elite != null ? new EliteSet.DoubleFitness<T>(MU - LAMBDA) : null;
 			selected = new int[LAMBDA];
 			updated = new boolean[LAMBDA];
+			pending = new int[LAMBDA];
+			isPending = new boolean[LAMBDA];
+			source = new int[LAMBDA];
+			shares = new int[MU];
 			bestFitness = java.lang.Double.NEGATIVE_INFINITY;
 		}
 		
@@ -130,7 +149,7 @@ abstract class BasePopulation {
 		
 		@Override
 		public T get(int i) {
-			return nextPop.get(i).getCandidate();
+			return own(i).getCandidate();
 		}
 		
 		@Override
@@ -160,25 +179,51 @@ abstract class BasePopulation {
 		
 		@Override
 		public void updateFitness(int i) {
-			double fit = f.fitness(nextPop.get(i).getCandidate());
-			nextPop.get(i).setFitness(fit);
-			updated[i] = true;
-			if (fit > bestFitness) {
-				bestFitness = fit;
-				setMostFit(f.getProblem().getSolutionCostPair(nextPop.get(i).getCandidate().copy())); 
+			own(i);
+			if (evaluatesInParallel()) {
+				// deferred until replace, which evaluates all pending members in parallel
+				if (!isPending[i]) {
+					isPending[i] = true;
+					pending[numPending] = i;
+					numPending++;
+				}
+				updated[i] = true;
+			} else {
+				double fit = f.fitness(nextPop.get(i).getCandidate());
+				nextPop.get(i).setFitness(fit);
+				updated[i] = true;
+				if (fit > bestFitness) {
+					bestFitness = fit;
+					setMostFit(f.getProblem().getSolutionCostPair(nextPop.get(i).getCandidate().copy())); 
+				}
 			}
 		}
 		
 		@Override
 		public void select() {
 			selection.select(this, selected);
-			for (int j : selected) {
-				nextPop.add(pop.get(j).copy());
+			for (int i = 0; i < LAMBDA; i++) {
+				int j = selected[i];
+				nextPop.add(pop.get(j));
+				source[i] = j;
+				shares[j]++;
 			}
 		}
 		
 		@Override
 		public void replace() {
+			evaluatePending();
+			for (int i = 0; i < LAMBDA; i++) {
+				int j = source[i];
+				if (j >= 0) {
+					// passed through unmodified: only copied if still shared with another slot or the elite set
+					source[i] = -1;
+					shares[j]--;
+					if (shares[j] > 0 || elite != null && elite.containsMember(nextPop.get(i))) {
+						nextPop.set(i, nextPop.get(i).copy());
+					}
+				}
+			}
 			pop.clear();
 			for (PopulationMember.DoubleFitness<T> e : nextPop) {
 				pop.add(e);
@@ -197,6 +242,77 @@ abstract class BasePopulation {
 			nextPop.clear();
 		}
 		
+		/*
+		 * Evaluates, in parallel, the fitness of the population members whose evaluation was deferred,
+		 * and then updates the most fit in the order that their evaluations were requested.
+		 */
+		private void evaluatePending() {
+			setDeferredEvaluations(numPending);
+			if (numPending > 0) {
+				evaluate(pending, numPending, i -> nextPop.get(i).setFitness(f.fitness(nextPop.get(i).getCandidate())));
+				for (int k = 0; k < numPending; k++) {
+					int i = pending[k];
+					isPending[i] = false;
+					double fit = nextPop.get(i).getFitness();
+					if (fit > bestFitness) {
+						bestFitness = fit;
+						setMostFit(f.getProblem().getSolutionCostPair(nextPop.get(i).getCandidate().copy()));
+					}
+				}
+				numPending = 0;
+			}
+		}
+		
+		/*
+		 * Ensures that slot i of the next generation owns its population member, and returns it.
+		 * Selection initially shares the selected members of the current generation with the next
+		 * generation, without copying. A member is only copied if it is still shared with another slot
+		 * or with the elite set when it is about to be modified. Otherwise, the slot takes ownership
+		 * of it, since the current generation no longer needs it.
+		 */
+		private PopulationMember.DoubleFitness<T> own(int i) {
+			PopulationMember.DoubleFitness<T> member = nextPop.get(i);
+			int j = source[i];
+			if (j >= 0) {
+				source[i] = -1;
+				shares[j]--;
+				if (shares[j] > 0 || elite != null && elite.containsMember(member)) {
+					member = member.copy();
+					nextPop.set(i, member);
+				}
+			}
+			return member;
+		}
+		
+		@Override
+		public ArrayList<T> emigrants(int count) {
+			ArrayList<T> emigrants = new ArrayList<T>(count);
+			for (int i : indexesOfHighest(count, pop.size(), j -> pop.get(j).getFitness())) {
+				emigrants.add(pop.get(i).getCandidate().copy());
+			}
+			return emigrants;
+		}
+		
+		@Override
+		public int immigrate(List<T> immigrants) {
+			// only replaces population members subject to genetic operators (i.e., not elite members)
+			int[] leastFit = indexesOfHighest(immigrants.size(), LAMBDA, j -> -pop.get(j).getFitness());
+			for (int k = 0; k < leastFit.length; k++) {
+				T candidate = immigrants.get(k);
+				double fit = f.fitness(candidate);
+				PopulationMember.DoubleFitness<T> member = new PopulationMember.DoubleFitness<T>(candidate, fit);
+				pop.set(leastFit[k], member);
+				if (fit > bestFitness) {
+					bestFitness = fit;
+					setMostFit(f.getProblem().getSolutionCostPair(candidate.copy()));
+				}
+				if (elite != null) {
+					elite.offer(member);
+				}
+			}
+			return leastFit.length;
+		}
+		
 		@Override
 		public void initOperators(int generations) {
 			selection.init(generations);
@@ -208,14 +324,20 @@ abstract class BasePopulation {
 			bestFitness = java.lang.Double.NEGATIVE_INFINITY;
 			pop.clear();
 			nextPop.clear();
+			numPending = 0;
+			Arrays.fill(isPending, false);
+			Arrays.fill(source, -1);
+			Arrays.fill(shares, 0);
+			for (int i = 0; i < MU; i++ ) {
+				pop.add(new PopulationMember.DoubleFitness<T>(initializer.createCandidateSolution(), 0.0));
+			}
+			evaluate(null, MU, i -> pop.get(i).setFitness(f.fitness(pop.get(i).getCandidate())));
 			T newBest = null;
 			for (int i = 0; i < MU; i++ ) {
-				T c = initializer.createCandidateSolution();
-				double fit = f.fitness(c);
-				pop.add(new PopulationMember.DoubleFitness<T>(c, fit));
+				double fit = pop.get(i).getFitness();
 				if (fit > bestFitness) {
 					bestFitness = fit;
-					newBest = c;
+					newBest = pop.get(i).getCandidate();
 				}
 			}
 			setMostFit(f.getProblem().getSolutionCostPair(newBest.copy()));
@@ -246,12 +368,22 @@ abstract class BasePopulation {
 		private final EliteSet.IntegerFitness<T> elite;
 		private final boolean[] updated;
 		
+		// population members whose fitness evaluation is deferred to a parallel batch
+		private final int[] pending;
+		private final boolean[] isPending;
+		private int numPending;
+		
 		private final FitnessFunction.Integer<T> f;		
 		private final int MU;
 		private final int LAMBDA;
 		
 		private final int[] selected;
 		
+		// copy-on-write bookkeeping: index into pop of the member that each slot of nextPop
+		// still shares (or -1 if the slot owns its member), and the number of slots sharing each
+		private final int[] source;
+		private final int[] shares;
+		
 		private int bestFitness;
 		
 		/**
@@ -288,6 +420,10 @@ abstract class BasePopulation {
 			nextPop = new ArrayList<PopulationMember.IntegerFitness<T>>(LAMBDA);
 			selected = new int[LAMBDA];
 			updated = new boolean[LAMBDA];
+			pending = new int[LAMBDA];
+			isPending = new boolean[LAMBDA];
+			source = new int[LAMBDA];
+			shares = new int[MU];
 			bestFitness = java.lang.Integer.MIN_VALUE;
 		}
 		
@@ -312,6 +448,10 @@ abstract class BasePopulation {
 			elite = other.elite != null ? new EliteSet.IntegerFitness<T>(MU - LAMBDA) : null;
 			selected = new int[LAMBDA];
 			updated = new boolean[LAMBDA];
+			pending = new int[LAMBDA];
+			isPending = new boolean[LAMBDA];
+			source = new int[LAMBDA];
+			shares = new int[MU];
 			bestFitness = java.lang.Integer.MIN_VALUE;
 		}
 		
@@ -322,7 +462,7 @@ abstract class BasePopulation {
 		
 		@Override
 		public T get(int i) {
-			return nextPop.get(i).getCandidate();
+			return own(i).getCandidate();
 		}
 		
 		@Override
@@ -352,25 +492,51 @@ abstract class BasePopulation {
 		
 		@Override
 		public void updateFitness(int i) {
-			int fit = f.fitness(nextPop.get(i).getCandidate());
-			nextPop.get(i).setFitness(fit);
-			updated[i] = true;
-			if (fit > bestFitness) {
-				bestFitness = fit;
-				setMostFit(f.getProblem().getSolutionCostPair(nextPop.get(i).getCandidate().copy())); 
+			own(i);
+			if (evaluatesInParallel()) {
+				// deferred until replace, which evaluates all pending members in parallel
+				if (!isPending[i]) {
+					isPending[i] = true;
+					pending[numPending] = i;
+					numPending++;
+				}
+				updated[i] = true;
+			} else {
+				int fit = f.fitness(nextPop.get(i).getCandidate());
+				nextPop.get(i).setFitness(fit);
+				updated[i] = true;
+				if (fit > bestFitness) {
+					bestFitness = fit;
+					setMostFit(f.getProblem().getSolutionCostPair(nextPop.get(i).getCandidate().copy())); 
+				}
 			}
 		}
 		
 		@Override
 		public void select() {
 			selection.select(this, selected);
-			for (int j : selected) {
-				nextPop.add(pop.get(j).copy());
+			for (int i = 0; i < LAMBDA; i++) {
+				int j = selected[i];
+				nextPop.add(pop.get(j));
+				source[i] = j;
+				shares[j]++;
 			}
 		}
 		
 		@Override
 		public void replace() {
+			evaluatePending();
+			for (int i = 0; i < LAMBDA; i++) {
+				int j = source[i];
+				if (j >= 0) {
+					// passed through unmodified: only copied if still shared with another slot or the elite set
+					source[i] = -1;
+					shares[j]--;
+					if (shares[j] > 0 || elite != null && elite.containsMember(nextPop.get(i))) {
+						nextPop.set(i, nextPop.get(i).copy());
+					}
+				}
+			}
 			pop.clear();
 			for (PopulationMember.IntegerFitness<T> e : nextPop) {
 				pop.add(e);
@@ -389,6 +555,77 @@ abstract class BasePopulation {
 			nextPop.clear();
 		}
 		
+		/*
+		 * Evaluates, in parallel, the fitness of the population members whose evaluation was deferred,
+		 * and then updates the most fit in the order that their evaluations were requested.
+		 */
+		private void evaluatePending() {
+			setDeferredEvaluations(numPending);
+			if (numPending > 0) {
+				evaluate(pending, numPending, i -> nextPop.get(i).setFitness(f.fitness(nextPop.get(i).getCandidate())));
+				for (int k = 0; k < numPending; k++) {
+					int i = pending[k];
+					isPending[i] = false;
+					int fit = nextPop.get(i).getFitness();
+					if (fit > bestFitness) {
+						bestFitness = fit;
+						setMostFit(f.getProblem().getSolutionCostPair(nextPop.get(i).getCandidate().copy()));
+					}
+				}
+				numPending = 0;
+			}
+		}
+		
+		/*
+		 * Ensures that slot i of the next generation owns its population member, and returns it.
+		 * Selection initially shares the selected members of the current generation with the next
+		 * generation, without copying. A member is only copied if it is still shared with another slot
+		 * or with the elite set when it is about to be modified. Otherwise, the slot takes ownership
+		 * of it, since the current generation no longer needs it.
+		 */
+		private PopulationMember.IntegerFitness<T> own(int i) {
+			PopulationMember.IntegerFitness<T> member = nextPop.get(i);
+			int j = source[i];
+			if (j >= 0) {
+				source[i] = -1;
+				shares[j]--;
+				if (shares[j] > 0 || elite != null && elite.containsMember(member)) {
+					member = member.copy();
+					nextPop.set(i, member);
+				}
+			}
+			return member;
+		}
+		
+		@Override
+		public ArrayList<T> emigrants(int count) {
+			ArrayList<T> emigrants = new ArrayList<T>(count);
+			for (int i : indexesOfHighest(count, pop.size(), j -> pop.get(j).getFitness())) {
+				emigrants.add(pop.get(i).getCandidate().copy());
+			}
+			return emigrants;
+		}
+		
+		@Override
+		public int immigrate(List<T> immigrants) {
+			// only replaces population members subject to genetic operators (i.e., not elite members)
+			int[] leastFit = indexesOfHighest(immigrants.size(), LAMBDA, j -> -pop.get(j).getFitness());
+			for (int k = 0; k < leastFit.length; k++) {
+				T candidate = immigrants.get(k);
+				int fit = f.fitness(candidate);
+				PopulationMember.IntegerFitness<T> member = new PopulationMember.IntegerFitness<T>(candidate, fit);
+				pop.set(leastFit[k], member);
+				if (fit > bestFitness) {
+					bestFitness = fit;
+					setMostFit(f.getProblem().getSolutionCostPair(candidate.copy()));
+				}
+				if (elite != null) {
+					elite.offer(member);
+				}
+			}
+			return leastFit.length;
+		}
+		
 		@Override
 		public void initOperators(int generations) {
 			selection.init(generations);
@@ -400,14 +637,20 @@ abstract class BasePopulation {
 			bestFitness = java.lang.Integer.MIN_VALUE;
 			pop.clear();
 			nextPop.clear();
+			numPending = 0;
+			Arrays.fill(isPending, false);
+			Arrays.fill(source, -1);
+			Arrays.fill(shares, 0);
+			for (int i = 0; i < MU; i++ ) {
+				pop.add(new PopulationMember.IntegerFitness<T>(initializer.createCandidateSolution(), 0));
+			}
+			evaluate(null, MU, i -> pop.get(i).setFitness(f.fitness(pop.get(i).getCandidate())));
 			T newBest = null;
 			for (int i = 0; i < MU; i++ ) {
-				T c = initializer.createCandidateSolution();
-				int fit = f.fitness(c);
-				pop.add(new PopulationMember.IntegerFitness<T>(c, fit));
+				int fit = pop.get(i).getFitness();
 				if (fit > bestFitness) {
 					bestFitness = fit;
-					newBest = c;
+					newBest = pop.get(i).getCandidate();
 				}
 			}
 			setMostFit(f.getProblem().getSolutionCostPair(newBest.copy()));
@@ -103,6 +103,17 @@ abstract class EliteSet<T extends Copyable<T>> {
 			size = 0;
 		}
 		
+		/*
+		 * package-private for use by classes in evo package for checking whether a specific population member
+		 * object (rather than merely an equal one) is in the set of elite population members.
+		 */
+		boolean containsMember(PopulationMember.DoubleFitness<T> popMember) {
+			for (int i = 0; i < size; i++) {
+				if (elite[i] == popMember) return true;
+			}
+			return false;
+		}
+		
 		@Override
 		public Iterator<PopulationMember.DoubleFitness<T>> iterator() {
 			return new EliteIterator();
@@ -243,6 +254,17 @@ abstract class EliteSet<T extends Copyable<T>> {
 			size = 0;
 		}
 		
+		/*
+		 * package-private for use by classes in evo package for checking whether a specific population member
+		 * object (rather than merely an equal one) is in the set of elite population members.
+		 */
+		boolean containsMember(PopulationMember.IntegerFitness<T> popMember) {
+			for (int i = 0; i < size; i++) {
+				if (elite[i] == popMember) return true;
+			}
+			return false;
+		}
+		
 		@Override
 		public Iterator<PopulationMember.IntegerFitness<T>> iterator() {
 			return new EliteIterator();
@@ -26,6 +26,7 @@ import org.cicirello.search.ProgressTracker;
 import org.cicirello.search.representations.SingleReal;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * The nested classes are for populations with double-valued and int-valued fitnesses
@@ -57,6 +58,11 @@ abstract class EvolvableParametersPopulation {
 		private final EliteSet.DoubleFitness<EncodingWithParameters<T>> elite;
 		private final boolean[] updated;
 		
+		// population members whose fitness evaluation is deferred to a parallel batch
+		private final int[] pending;
+		private final boolean[] isPending;
+		private int numPending;
+		
 		private final FitnessFunction.Double<T> f;		
 		private final int MU;
 		private final int LAMBDA;
@@ -103,6 +109,8 @@ abstract class EvolvableParametersPopulation {
 			nextPop = new ArrayList<PopulationMember.DoubleFitness<EncodingWithParameters<T>>>(LAMBDA);
 			selected = new int[LAMBDA];
 			updated = new boolean[LAMBDA];
+			pending = new int[LAMBDA];
+			isPending = new boolean[LAMBDA];
 			bestFitness = java.lang.Double.NEGATIVE_INFINITY;
 		}
 		
@@ -128,6 +136,8 @@ abstract class EvolvableParametersPopulation {
 			elite = other.elite != null ? new EliteSet.DoubleFitness<EncodingWithParameters<T>>(MU - LAMBDA) : null;
 			selected = new int[LAMBDA];
 			updated = new boolean[LAMBDA];
+			pending = new int[LAMBDA];
+			isPending = new boolean[LAMBDA];
 			bestFitness = java.lang.Double.NEGATIVE_INFINITY;
 		}
 		
@@ -173,12 +183,22 @@ abstract class EvolvableParametersPopulation {
 		
 		@Override
 		public void updateFitness(int i) {
-			double fit = f.fitness(nextPop.get(i).getCandidate().getCandidate());
-			nextPop.get(i).setFitness(fit);
-			updated[i] = true;
-			if (fit > bestFitness) {
-				bestFitness = fit;
-				setMostFit(f.getProblem().getSolutionCostPair(nextPop.get(i).getCandidate().getCandidate().copy())); 
+			if (evaluatesInParallel()) {
+				// deferred until replace, which evaluates all pending members in parallel
+				if (!isPending[i]) {
+					isPending[i] = true;
+					pending[numPending] = i;
+					numPending++;
+				}
+				updated[i] = true;
+			} else {
+				double fit = f.fitness(nextPop.get(i).getCandidate().getCandidate());
+				nextPop.get(i).setFitness(fit);
+				updated[i] = true;
+				if (fit > bestFitness) {
+					bestFitness = fit;
+					setMostFit(f.getProblem().getSolutionCostPair(nextPop.get(i).getCandidate().getCandidate().copy())); 
+				}
 			}
 		}
 		
@@ -192,6 +212,7 @@ abstract class EvolvableParametersPopulation {
 		
 		@Override
 		public void replace() {
+			evaluatePending();
 			pop.clear();
 			for (PopulationMember.DoubleFitness<EncodingWithParameters<T>> e : nextPop) {
 				// mutate the parameters before adding to the pop for next generation
@@ -212,6 +233,56 @@ abstract class EvolvableParametersPopulation {
 			nextPop.clear();
 		}
 		
+		/*
+		 * Evaluates, in parallel, the fitness of the population members whose evaluation was deferred,
+		 * and then updates the most fit in the order that their evaluations were requested.
+		 */
+		private void evaluatePending() {
+			setDeferredEvaluations(numPending);
+			if (numPending > 0) {
+				evaluate(pending, numPending, i -> nextPop.get(i).setFitness(f.fitness(nextPop.get(i).getCandidate().getCandidate())));
+				for (int k = 0; k < numPending; k++) {
+					int i = pending[k];
+					isPending[i] = false;
+					double fit = nextPop.get(i).getFitness();
+					if (fit > bestFitness) {
+						bestFitness = fit;
+						setMostFit(f.getProblem().getSolutionCostPair(nextPop.get(i).getCandidate().getCandidate().copy()));
+					}
+				}
+				numPending = 0;
+			}
+		}
+		
+		@Override
+		public ArrayList<T> emigrants(int count) {
+			ArrayList<T> emigrants = new ArrayList<T>(count);
+			for (int i : indexesOfHighest(count, pop.size(), j -> pop.get(j).getFitness())) {
+				emigrants.add(pop.get(i).getCandidate().getCandidate().copy());
+			}
+			return emigrants;
+		}
+		
+		@Override
+		public int immigrate(List<T> immigrants) {
+			// only replaces population members subject to genetic operators (i.e., not elite members)
+			int[] leastFit = indexesOfHighest(immigrants.size(), LAMBDA, j -> -pop.get(j).getFitness());
+			for (int k = 0; k < leastFit.length; k++) {
+				T candidate = immigrants.get(k);
+				double fit = f.fitness(candidate);
+				PopulationMember.DoubleFitness<EncodingWithParameters<T>> member = new PopulationMember.DoubleFitness<EncodingWithParameters<T>>(new EncodingWithParameters<T>(candidate, numParams), fit);
+				pop.set(leastFit[k], member);
+				if (fit > bestFitness) {
+					bestFitness = fit;
+					setMostFit(f.getProblem().getSolutionCostPair(candidate.copy()));
+				}
+				if (elite != null) {
+					elite.offer(member);
+				}
+			}
+			return leastFit.length;
+		}
+		
 		@Override
 		public void initOperators(int generations) {
 			selection.init(generations);
@@ -223,14 +294,18 @@ abstract class EvolvableParametersPopulation {
 			bestFitness = java.lang.Double.NEGATIVE_INFINITY;
 			pop.clear();
 			nextPop.clear();
+			numPending = 0;
+			Arrays.fill(isPending, false);
+			for (int i = 0; i < MU; i++ ) {
+				pop.add(new PopulationMember.DoubleFitness<EncodingWithParameters<T>>(new EncodingWithParameters<T>(initializer.createCandidateSolution(), numParams), 0.0));
+			}
+			evaluate(null, MU, i -> pop.get(i).setFitness(f.fitness(pop.get(i).getCandidate().getCandidate())));
 			T newBest = null;
 			for (int i = 0; i < MU; i++ ) {
-				T c = initializer.createCandidateSolution();
-				double fit = f.fitness(c);
-				pop.add(new PopulationMember.DoubleFitness<EncodingWithParameters<T>>(new EncodingWithParameters<T>(c, numParams), fit));
+				double fit = pop.get(i).getFitness();
 				if (fit > bestFitness) {
 					bestFitness = fit;
-					newBest = c;
+					newBest = pop.get(i).getCandidate().getCandidate();
 				}
 			}
 			setMostFit(f.getProblem().getSolutionCostPair(newBest.copy()));
@@ -261,6 +336,11 @@ abstract class EvolvableParametersPopulation {
 		private final EliteSet.IntegerFitness<EncodingWithParameters<T>> elite;
 		private final boolean[] updated;
 		
+		// population members whose fitness evaluation is deferred to a parallel batch
+		private final int[] pending;
+		private final boolean[] isPending;
+		private int numPending;
+		
 		private final FitnessFunction.Integer<T> f;		
 		private final int MU;
 		private final int LAMBDA;
@@ -307,6 +387,8 @@ abstract class EvolvableParametersPopulation {
 			nextPop = new ArrayList<PopulationMember.IntegerFitness<EncodingWithParameters<T>>>(LAMBDA);
 			selected = new int[LAMBDA];
 			updated = new boolean[LAMBDA];
+			pending = new int[LAMBDA];
+			isPending = new boolean[LAMBDA];
 			bestFitness = java.lang.Integer.MIN_VALUE;
 		}
 		
@@ -332,6 +414,8 @@ abstract class EvolvableParametersPopulation {
 			elite = other.elite != null ? new EliteSet.IntegerFitness<EncodingWithParameters<T>>(MU - LAMBDA) : null;
 			selected = new int[LAMBDA];
 			updated = new boolean[LAMBDA];
+			pending = new int[LAMBDA];
+			isPending = new boolean[LAMBDA];
 			bestFitness = java.lang.Integer.MIN_VALUE;
 		}
 		
@@ -377,12 +461,22 @@ abstract class EvolvableParametersPopulation {
 		
 		@Override
 		public void updateFitness(int i) {
-			int fit = f.fitness(nextPop.get(i).getCandidate().getCandidate());
-			nextPop.get(i).setFitness(fit);
-			updated[i] = true;
-			if (fit > bestFitness) {
-				bestFitness = fit;
-				setMostFit(f.getProblem().getSolutionCostPair(nextPop.get(i).getCandidate().getCandidate().copy())); 
+			if (evaluatesInParallel()) {
+				// deferred until replace, which evaluates all pending members in parallel
+				if (!isPending[i]) {
+					isPending[i] = true;
+					pending[numPending] = i;
+					numPending++;
+				}
+				updated[i] = true;
+			} else {
+				int fit = f.fitness(nextPop.get(i).getCandidate().getCandidate());
+				nextPop.get(i).setFitness(fit);
+				updated[i] = true;
+				if (fit > bestFitness) {
+					bestFitness = fit;
+					setMostFit(f.getProblem().getSolutionCostPair(nextPop.get(i).getCandidate().getCandidate().copy())); 
+				}
 			}
 		}
 		
@@ -396,6 +490,7 @@ abstract class EvolvableParametersPopulation {
 		
 		@Override
 		public void replace() {
+			evaluatePending();
 			pop.clear();
 			for (PopulationMember.IntegerFitness<EncodingWithParameters<T>> e : nextPop) {
 				// mutate the parameters before adding to the pop for next generation
@@ -416,6 +511,56 @@ abstract class EvolvableParametersPopulation {
 			nextPop.clear();
 		}
 		
+		/*
+		 * Evaluates, in parallel, the fitness of the population members whose evaluation was deferred,
+		 * and then updates the most fit in the order that their evaluations were requested.
+		 */
+		private void evaluatePending() {
+			setDeferredEvaluations(numPending);
+			if (numPending > 0) {
+				evaluate(pending, numPending, i -> nextPop.get(i).setFitness(f.fitness(nextPop.get(i).getCandidate().getCandidate())));
+				for (int k = 0; k < numPending; k++) {
+					int i = pending[k];
+					isPending[i] = false;
+					int fit = nextPop.get(i).getFitness();
+					if (fit > bestFitness) {
+						bestFitness = fit;
+						setMostFit(f.getProblem().getSolutionCostPair(nextPop.get(i).getCandidate().getCandidate().copy()));
+					}
+				}
+				numPending = 0;
+			}
+		}
+		
+		@Override
+		public ArrayList<T> emigrants(int count) {
+			ArrayList<T> emigrants = new ArrayList<T>(count);
+			for (int i : indexesOfHighest(count, pop.size(), j -> pop.get(j).getFitness())) {
+				emigrants.add(pop.get(i).getCandidate().getCandidate().copy());
+			}
+			return emigrants;
+		}
+		
+		@Override
+		public int immigrate(List<T> immigrants) {
+			// only replaces population members subject to genetic operators (i.e., not elite members)
+			int[] leastFit = indexesOfHighest(immigrants.size(), LAMBDA, j -> -pop.get(j).getFitness());
+			for (int k = 0; k < leastFit.length; k++) {
+				T candidate = immigrants.get(k);
+				int fit = f.fitness(candidate);
+				PopulationMember.IntegerFitness<EncodingWithParameters<T>> member = new PopulationMember.IntegerFitness<EncodingWithParameters<T>>(new EncodingWithParameters<T>(candidate, numParams), fit);
+				pop.set(leastFit[k], member);
+				if (fit > bestFitness) {
+					bestFitness = fit;
+					setMostFit(f.getProblem().getSolutionCostPair(candidate.copy()));
+				}
+				if (elite != null) {
+					elite.offer(member);
+				}
+			}
+			return leastFit.length;
+		}
+		
 		@Override
 		public void initOperators(int generations) {
 			selection.init(generations);
@@ -427,14 +572,18 @@ abstract class EvolvableParametersPopulation {
 			bestFitness = java.lang.Integer.MIN_VALUE;
 			pop.clear();
 			nextPop.clear();
+			numPending = 0;
+			Arrays.fill(isPending, false);
+			for (int i = 0; i < MU; i++ ) {
+				pop.add(new PopulationMember.IntegerFitness<EncodingWithParameters<T>>(new EncodingWithParameters<T>(initializer.createCandidateSolution(), numParams), 0));
+			}
+			evaluate(null, MU, i -> pop.get(i).setFitness(f.fitness(pop.get(i).getCandidate().getCandidate())));
 			T newBest = null;
 			for (int i = 0; i < MU; i++ ) {
-				T c = initializer.createCandidateSolution();
-				int fit = f.fitness(c);
-				pop.add(new PopulationMember.IntegerFitness<EncodingWithParameters<T>>(new EncodingWithParameters<T>(c, numParams), fit));
+				int fit = pop.get(i).getFitness();
 				if (fit > bestFitness) {
 					bestFitness = fit;
-					newBest = c;
+					newBest = pop.get(i).getCandidate().getCandidate();
 				}
 			}
 			setMostFit(f.getProblem().getSolutionCostPair(newBest.copy()));
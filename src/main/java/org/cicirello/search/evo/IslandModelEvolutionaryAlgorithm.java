@@ -0,0 +1,451 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.evo;
+
+import org.cicirello.util.Copyable;
+import org.cicirello.search.ReoptimizableMetaheuristic;
+import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.problems.Problem;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>This class implements an island model for the evolutionary algorithms of the library, which
+ * runs a single evolutionary algorithm run across multiple threads. Each island evolves its own
+ * population, with its own thread, and periodically sends copies of its most fit population
+ * members to other islands. Each island runs the same evolutionary algorithm, a 
+ * {@link GenerationalEvolutionaryAlgorithm} (including {@link GeneticAlgorithm}), a
+ * {@link GenerationalMutationOnlyEvolutionaryAlgorithm}, a 
+ * {@link GenerationalEvolutionaryAlgorithmMutuallyExclusiveOperators}, or an 
+ * {@link AdaptiveEvolutionaryAlgorithm}, as configured by the evolutionary algorithm 
+ * passed to the constructor, and all of the islands share a single {@link ProgressTracker}.</p>
+ *
+ * <p>Every migrationInterval generations, each island sends copies of its migrationSize most fit
+ * population members to the islands specified by the {@link MigrationTopology}, and then replaces
+ * the least fit of its own population members (other than elite members) with the migrants that
+ * it has received since its previous migration. Migration is asynchronous: the islands never wait
+ * for each other, and the migrants are passed among the islands via lock-free queues. An
+ * immigrant's fitness is evaluated by the island that receives it. In an 
+ * {@link AdaptiveEvolutionaryAlgorithm}, an immigrant begins with new control parameters, just as 
+ * the members of the initial population do.</p>
+ *
+ * <p>Unlike running independent copies of an evolutionary algorithm with a
+ * {@link org.cicirello.search.concurrent.ParallelMetaheuristic ParallelMetaheuristic}, where the only
+ * information shared among the parallel runs is the best solution found in the ProgressTracker,
+ * migration enables the islands to cooperate, while the islands otherwise maintain diversity by 
+ * evolving separately.</p>
+ *
+ * <p>The island model uses a fixed thread pool, with one thread per island, so that multiple calls
+ * to the {@link #optimize} and {@link #reoptimize} methods can reuse threads. When you no longer need 
+ * it, you should call the {@link #close} method to ensure that the threads do not persist.</p>
+ *
+ * @param <T> The type of object under optimization.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class IslandModelEvolutionaryAlgorithm<T extends Copyable<T>> implements ReoptimizableMetaheuristic<T>, AutoCloseable {
+	
+	private final ArrayList<AbstractEvolutionaryAlgorithm<T>> islands;
+	private final ArrayList<ConcurrentLinkedQueue<T>> inboxes;
+	private final MigrationTopology topology;
+	private final int migrationInterval;
+	private final int migrationSize;
+	private final ExecutorService threadPool;
+	
+	// number of fitness evaluations and the elapsed time of the most recent run of each island
+	private final long[] lastRunLength;
+	private final long[] lastRunTime;
+	
+	/**
+	 * Constructs an island model with islands that each run a generational evolutionary algorithm.
+	 *
+	 * @param ea The evolutionary algorithm that each island runs. The first island uses ea itself,
+	 * and each of the other islands uses a split of ea.
+	 * @param numIslands The number of islands, which is also the number of threads.
+	 * @param topology The migration topology.
+	 * @param migrationInterval The number of generations between migrations.
+	 * @param migrationSize The number of population members that an island sends to each 
+	 * destination island at each migration.
+	 *
+	 * @throws IllegalArgumentException if numIslands, migrationInterval, or migrationSize is less than 1.
+	 * @throws NullPointerException if ea or topology is null.
+	 */
+	public IslandModelEvolutionaryAlgorithm(GenerationalEvolutionaryAlgorithm<T> ea, int numIslands, MigrationTopology topology, int migrationInterval, int migrationSize) {
+		this((AbstractEvolutionaryAlgorithm<T>)ea, numIslands, topology, migrationInterval, migrationSize);
+	}
+	
+	/**
+	 * Constructs an island model with islands that each run a mutation-only generational 
+	 * evolutionary algorithm.
+	 *
+	 * @param ea The evolutionary algorithm that each island runs. The first island uses ea itself,
+	 * and each of the other islands uses a split of ea.
+	 * @param numIslands The number of islands, which is also the number of threads.
+	 * @param topology The migration topology.
+	 * @param migrationInterval The number of generations between migrations.
+	 * @param migrationSize The number of population members that an island sends to each 
+	 * destination island at each migration.
+	 *
+	 * @throws IllegalArgumentException if numIslands, migrationInterval, or migrationSize is less than 1.
+	 * @throws NullPointerException if ea or topology is null.
+	 */
+	public IslandModelEvolutionaryAlgorithm(GenerationalMutationOnlyEvolutionaryAlgorithm<T> ea, int numIslands, MigrationTopology topology, int migrationInterval, int migrationSize) {
+		this((AbstractEvolutionaryAlgorithm<T>)ea, numIslands, topology, migrationInterval, migrationSize);
+	}
+	
+	/**
+	 * Constructs an island model with islands that each run a generational evolutionary algorithm
+	 * with mutually exclusive crossover and mutation.
+	 *
+	 * @param ea The evolutionary algorithm that each island runs. The first island uses ea itself,
+	 * and each of the other islands uses a split of ea.
+	 * @param numIslands The number of islands, which is also the number of threads.
+	 * @param topology The migration topology.
+	 * @param migrationInterval The number of generations between migrations.
+	 * @param migrationSize The number of population members that an island sends to each 
+	 * destination island at each migration.
+	 *
+	 * @throws IllegalArgumentException if numIslands, migrationInterval, or migrationSize is less than 1.
+	 * @throws NullPointerException if ea or topology is null.
+	 */
+	public IslandModelEvolutionaryAlgorithm(GenerationalEvolutionaryAlgorithmMutuallyExclusiveOperators<T> ea, int numIslands, MigrationTopology topology, int migrationInterval, int migrationSize) {
+		this((AbstractEvolutionaryAlgorithm<T>)ea, numIslands, topology, migrationInterval, migrationSize);
+	}
+	
+	/**
+	 * Constructs an island model with islands that each run an adaptive evolutionary algorithm.
+	 *
+	 * @param ea The evolutionary algorithm that each island runs. The first island uses ea itself,
+	 * and each of the other islands uses a split of ea.
+	 * @param numIslands The number of islands, which is also the number of threads.
+	 * @param topology The migration topology.
+	 * @param migrationInterval The number of generations between migrations.
+	 * @param migrationSize The number of population members that an island sends to each 
+	 * destination island at each migration.
+	 *
+	 * @throws IllegalArgumentException if numIslands, migrationInterval, or migrationSize is less than 1.
+	 * @throws NullPointerException if ea or topology is null.
+	 */
+	public IslandModelEvolutionaryAlgorithm(AdaptiveEvolutionaryAlgorithm<T> ea, int numIslands, MigrationTopology topology, int migrationInterval, int migrationSize) {
+		this((AbstractEvolutionaryAlgorithm<T>)ea, numIslands, topology, migrationInterval, migrationSize);
+	}
+	
+	/*
+	 * private constructor that the public constructors delegate to.
+	 */
+	private IslandModelEvolutionaryAlgorithm(AbstractEvolutionaryAlgorithm<T> ea, int numIslands, MigrationTopology topology, int migrationInterval, int migrationSize) {
+		if (ea == null || topology == null) {
+			throw new NullPointerException("passed a null object for a required parameter");
+		}
+		if (numIslands < 1) throw new IllegalArgumentException("must be at least 1 island");
+		if (migrationInterval < 1) throw new IllegalArgumentException("migrationInterval must be positive");
+		if (migrationSize < 1) throw new IllegalArgumentException("migrationSize must be positive");
+		this.topology = topology;
+		this.migrationInterval = migrationInterval;
+		this.migrationSize = migrationSize;
+		islands = new ArrayList<AbstractEvolutionaryAlgorithm<T>>(numIslands);
+		islands.add(ea);
+		for (int i = 1; i < numIslands; i++) {
+			islands.add(ea.split());
+		}
+		inboxes = new ArrayList<ConcurrentLinkedQueue<T>>(numIslands);
+		for (int i = 0; i < numIslands; i++) {
+			inboxes.add(new ConcurrentLinkedQueue<T>());
+		}
+		lastRunLength = new long[numIslands];
+		lastRunTime = new long[numIslands];
+		threadPool = Executors.newFixedThreadPool(numIslands);
+	}
+	
+	/*
+	 * private copy constructor in support of the split method.
+	 */
+	private IslandModelEvolutionaryAlgorithm(IslandModelEvolutionaryAlgorithm<T> other) {
+		// Threadsafe, so just copy values.
+		topology = other.topology;
+		migrationInterval = other.migrationInterval;
+		migrationSize = other.migrationSize;
+		
+		// Must be split.
+		islands = new ArrayList<AbstractEvolutionaryAlgorithm<T>>(other.islands.size());
+		for (AbstractEvolutionaryAlgorithm<T> island : other.islands) {
+			islands.add(island.split());
+		}
+		
+		// Needs its own.
+		inboxes = new ArrayList<ConcurrentLinkedQueue<T>>(islands.size());
+		for (int i = 0; i < islands.size(); i++) {
+			inboxes.add(new ConcurrentLinkedQueue<T>());
+		}
+		lastRunLength = new long[islands.size()];
+		lastRunTime = new long[islands.size()];
+		threadPool = Executors.newFixedThreadPool(islands.size());
+		if (other.isClosed()) close();
+	}
+	
+	/**
+	 * Runs the island model beginning from a new randomly generated population on each island.
+	 *
+	 * @param numGenerations The number of generations that each island runs.
+	 *
+	 * @return The best solution found by any island during this run, which may or may not be the
+	 * same as the solution contained in the {@link ProgressTracker}, which contains the best across all
+	 * calls to optimize as well as {@link #reoptimize}. Returns null if the run did not execute, such 
+	 * as if the ProgressTracker already contains the theoretical best solution.
+	 *
+	 * @throws IllegalStateException if the {@link #close} method was previously called.
+	 */
+	@Override
+	public SolutionCostPair<T> optimize(int numGenerations) {
+		return threadedOptimize(numGenerations, true);
+	}
+	
+	/**
+	 * Runs the island model continuing from the final populations of the islands from the most recent
+	 * call to either {@link #optimize} or {@link #reoptimize}, or from random populations if this is the
+	 * first call to either method.
+	 *
+	 * @param numGenerations The number of generations that each island runs.
+	 *
+	 * @return The best solution found by any island during this run, which may or may not be the
+	 * same as the solution contained in the {@link ProgressTracker}, which contains the best across all
+	 * calls to reoptimize as well as {@link #optimize}. Returns null if the run did not execute, such 
+	 * as if the ProgressTracker already contains the theoretical best solution.
+	 *
+	 * @throws IllegalStateException if the {@link #close} method was previously called.
+	 */
+	@Override
+	public SolutionCostPair<T> reoptimize(int numGenerations) {
+		return threadedOptimize(numGenerations, false);
+	}
+	
+	/**
+	 * <p>Initiates an orderly shutdown of the thread pool used by this island model.
+	 * Once close is called, all subsequent calls to {@link #optimize} and {@link #reoptimize} 
+	 * will throw an exception.</p>
+	 * <p>This method is invoked automatically on objects managed by the try-with-resources statement.</p>
+	 */
+	@Override
+	public void close() {
+		threadPool.shutdown();
+	}
+	
+	/**
+	 * Checks whether the thread pool has been shutdown.
+	 * @return true if and only if the {@link #close} method has been called previously.
+	 */
+	public boolean isClosed() {
+		return threadPool.isShutdown();
+	}
+	
+	@Override
+	public IslandModelEvolutionaryAlgorithm<T> split() {
+		return new IslandModelEvolutionaryAlgorithm<T>(this);
+	}
+	
+	@Override
+	public ProgressTracker<T> getProgressTracker() {
+		return islands.get(0).getProgressTracker();
+	}
+	
+	@Override
+	public void setProgressTracker(ProgressTracker<T> tracker) {
+		if (tracker != null) {
+			for (AbstractEvolutionaryAlgorithm<T> island : islands) {
+				island.setProgressTracker(tracker);
+			}
+		}
+	}
+	
+	@Override
+	public Problem<T> getProblem() {
+		return islands.get(0).getProblem();
+	}
+	
+	/**
+	 * Gets the total run length of all of the islands combined, in number of fitness evaluations,
+	 * including the evaluations of immigrants, across all calls to {@link #optimize} and 
+	 * {@link #reoptimize}.
+	 *
+	 * @return the total run length of all of the islands.
+	 */
+	@Override
+	public long getTotalRunLength() {
+		long total = 0;
+		for (AbstractEvolutionaryAlgorithm<T> island : islands) {
+			total = total + island.getTotalRunLength();
+		}
+		return total;
+	}
+	
+	/**
+	 * Gets the number of islands.
+	 *
+	 * @return the number of islands
+	 */
+	public int getNumIslands() {
+		return islands.size();
+	}
+	
+	/**
+	 * Gets the run length of one of the islands, in number of fitness evaluations, across all 
+	 * calls to {@link #optimize} and {@link #reoptimize}.
+	 *
+	 * @param island The index of the island, from 0 to {@link #getNumIslands()}-1.
+	 * @return the run length of the island
+	 * @throws IndexOutOfBoundsException if island is negative or at least getNumIslands().
+	 */
+	public long getIslandRunLength(int island) {
+		return islands.get(island).getTotalRunLength();
+	}
+	
+	/**
+	 * Gets the throughput of one of the islands, in fitness evaluations per second, during
+	 * the most recent call to {@link #optimize} or {@link #reoptimize}.
+	 *
+	 * @param island The index of the island, from 0 to {@link #getNumIslands()}-1.
+	 * @return the throughput of the island during the most recent run, or 0.0 if there has not been
+	 * a run.
+	 * @throws IndexOutOfBoundsException if island is negative or at least getNumIslands().
+	 */
+	public double getIslandThroughput(int island) {
+		long time = lastRunTime[island];
+		return time > 0 ? 1E9 * lastRunLength[island] / time : 0.0;
+	}
+	
+	private SolutionCostPair<T> threadedOptimize(int numGenerations, boolean restart) {
+		if (threadPool.isShutdown()) {
+			throw new IllegalStateException("This IslandModelEvolutionaryAlgorithm was previously closed.");
+		}
+		
+		SolutionCostPair<T> best = null;
+		ProgressTracker<T> tracker = getProgressTracker();
+		if (!tracker.isStopped() && !tracker.didFindBest()) {
+			if (restart) {
+				// discard migrants left over from a prior run
+				for (ConcurrentLinkedQueue<T> inbox : inboxes) {
+					inbox.clear();
+				}
+			}
+			ArrayList<Future<SolutionCostPair<T>>> futures = new ArrayList<Future<SolutionCostPair<T>>>(islands.size()); 
+			for (int i = 0; i < islands.size(); i++) {
+				final int island = i;
+				Callable<SolutionCostPair<T>> run = () -> runIsland(island, numGenerations, restart);
+				futures.add(threadPool.submit(run));
+			}
+			for (Future<SolutionCostPair<T>> f : futures) {
+				try {
+					SolutionCostPair<T> pair = f.get();
+					if (best == null || (pair != null && pair.compareTo(best) < 0)) {
+						best = pair;
+					}
+				} 
+				catch (InterruptedException ex) { 
+					// Future.get() throws this if the current
+					// thread is interrupted.
+					//  1) Cancel this task.
+					//  2) Preserve interrupt status to cancel remaining.
+					f.cancel(true);
+					Thread.currentThread().interrupt();
+				}
+				catch (ExecutionException ex) { 
+					// Future.get() throws this if the thread the pool is executing
+					// throws any exception. We'll ignore this, skipping
+					// the problematic island and collecting results of other
+					// islands.
+				}
+			}
+		}
+		return best;
+	}
+	
+	/*
+	 * Runs the evolutionary algorithm of one island, in segments of migrationInterval generations,
+	 * with a migration between consecutive segments.
+	 */
+	private SolutionCostPair<T> runIsland(int island, int numGenerations, boolean restart) {
+		AbstractEvolutionaryAlgorithm<T> ea = islands.get(island);
+		long startLength = ea.getTotalRunLength();
+		long startTime = System.nanoTime();
+		SolutionCostPair<T> result = null;
+		if (restart ? ea.startRun(numGenerations) : ea.resumeRun(numGenerations)) {
+			int remaining = numGenerations;
+			while (remaining > 0) {
+				int segment = Math.min(migrationInterval, remaining);
+				if (ea.evolve(segment) < segment) {
+					// evolution paused, such as if an island found the theoretical best
+					break;
+				}
+				remaining = remaining - segment;
+				if (remaining > 0) {
+					migrate(island, ea);
+				}
+			}
+			result = ea.getMostFit();
+		}
+		lastRunLength[island] = ea.getTotalRunLength() - startLength;
+		lastRunTime[island] = System.nanoTime() - startTime;
+		return result;
+	}
+	
+	/*
+	 * Sends copies of the most fit of an island's population to its destination islands, and then
+	 * replaces the least fit of the island's population with the migrants that it has received.
+	 */
+	private void migrate(int island, AbstractEvolutionaryAlgorithm<T> ea) {
+		int n = islands.size();
+		if (n > 1) {
+			switch (topology) {
+				case RING:
+					inboxes.get((island + 1) % n).addAll(ea.emigrants(migrationSize));
+					break;
+				case FULLY_CONNECTED:
+					for (int i = 0; i < n; i++) {
+						if (i != island) {
+							inboxes.get(i).addAll(ea.emigrants(migrationSize));
+						}
+					}
+					break;
+				case RANDOM:
+					int destination = ThreadLocalRandom.current().nextInt(n - 1);
+					if (destination >= island) destination++;
+					inboxes.get(destination).addAll(ea.emigrants(migrationSize));
+					break;
+			}
+			ConcurrentLinkedQueue<T> inbox = inboxes.get(island);
+			ArrayList<T> immigrants = new ArrayList<T>();
+			for (T migrant = inbox.poll(); migrant != null; migrant = inbox.poll()) {
+				immigrants.add(migrant);
+			}
+			if (immigrants.size() > 0) {
+				ea.immigrate(immigrants);
+			}
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.evo;
+
+/**
+ * The topologies of the migration of population members among the islands of an
+ * {@link IslandModelEvolutionaryAlgorithm}, which specify the islands to which each
+ * island sends its migrants.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public enum MigrationTopology {
+	
+	/** 
+	 * The islands form a directed ring, and each island sends its migrants to 
+	 * the next island in the ring.
+	 */
+	RING,
+	
+	/** 
+	 * Each island sends its migrants to every other island.
+	 */
+	FULLY_CONNECTED,
+	
+	/** 
+	 * Each island sends its migrants to one of the other islands, chosen uniformly at
+	 * random at each migration.
+	 */
+	RANDOM
+}
@@ -25,6 +25,9 @@ import org.cicirello.util.Copyable;
 import org.cicirello.search.SolutionCostPair;
 import org.cicirello.search.ProgressTracker;
 import org.cicirello.search.representations.SingleReal;
+import java.util.concurrent.ForkJoinPool;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The Population interface represents a population of candidate solutions
@@ -125,6 +128,53 @@ interface Population<T extends Copyable<T>> extends Splittable<Population<T>>, P
 	 */
 	void setProgressTracker(ProgressTracker<T> tracker);
 	
+	/**
+	 * Sets the ForkJoinPool used to evaluate the fitness of population members in parallel.
+	 * When set, {@link #updateFitness} defers the evaluation, and the fitnesses of all of the
+	 * population members that were changed by genetic operators are evaluated in parallel in
+	 * a batch by {@link #replace}. Likewise, {@link #init} evaluates the initial population in
+	 * parallel.
+	 *
+	 * @param pool The ForkJoinPool, or null to evaluate fitness sequentially.
+	 */
+	void setFitnessEvaluationPool(ForkJoinPool pool);
+	
+	/**
+	 * Gets the number of fitness evaluations that were deferred to the most recent call to
+	 * {@link #replace}, if a ForkJoinPool was set with {@link #setFitnessEvaluationPool}. 
+	 * A population member whose fitness was updated more than once in a generation, such as
+	 * after both crossover and mutation, is evaluated only once.
+	 *
+	 * @return the number of fitness evaluations performed by the most recent call to replace,
+	 * or -1 if fitness evaluations are not deferred, in which case each call to {@link #updateFitness}
+	 * performs one fitness evaluation.
+	 */
+	int deferredEvaluations();
+	
+	/**
+	 * Gets copies of the most fit candidate solutions in the population, such as to
+	 * migrate to another population in an island model. Must only be called between
+	 * generations.
+	 *
+	 * @param count The number of candidate solutions.
+	 * @return a list of copies of the count most fit candidate solutions, or of all of them
+	 * if count is greater than the size of the population.
+	 */
+	ArrayList<T> emigrants(int count);
+	
+	/**
+	 * Replaces the least fit of the population members that are subject to genetic
+	 * operators with candidate solutions from elsewhere, such as migrants from another 
+	 * population in an island model. Must only be called between generations. The 
+	 * population takes ownership of the candidate solutions that it accepts.
+	 *
+	 * @param immigrants The candidate solutions to add to the population. If there are more
+	 * than {@link #mutableSize}, then only the first mutableSize() of them are added.
+	 * @return the number of candidate solutions added, which is also the number of fitness
+	 * evaluations performed.
+	 */
+	int immigrate(List<T> immigrants);
+	
 	@Override
 	Population<T> split();
 }
\ No newline at end of file
@@ -23,11 +23,16 @@ package org.cicirello.search.hc;
 import org.cicirello.util.Copyable;
 import org.cicirello.search.ProgressTracker;
 import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.SolutionCostHolder;
 import org.cicirello.search.problems.Problem;
 import org.cicirello.search.problems.OptimizationProblem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.problems.DeltaEvaluable;
+import org.cicirello.search.problems.IntegerCostDeltaEvaluable;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.Initializer;
+import org.cicirello.search.operators.MoveDescriptor;
+import org.cicirello.search.operators.MutationIterator;
 import org.cicirello.search.Metaheuristic;
 import org.cicirello.search.SimpleLocalMetaheuristic;
 
@@ -46,6 +51,8 @@ abstract class AbstractHillClimber<T extends Copyable<T>> implements Metaheurist
 	
 	final OptimizationProblem<T> pOpt;
 	final IntegerCostOptimizationProblem<T> pOptInt;
+	private final DeltaEvaluable<T> pDelta;
+	private final IntegerCostDeltaEvaluable<T> pDeltaInt;
 	private final Initializer<T> initializer;
 	ProgressTracker<T> tracker;
 	final IterableMutationOperator<T> mutation;
@@ -53,6 +60,8 @@ abstract class AbstractHillClimber<T extends Copyable<T>> implements Metaheurist
 	
 	long neighborCount;
 	
+	private boolean costIsIncremental;
+	
 	/**
 	 * Constructs a first descent hill climber object for real-valued optimization problem.
 	 * @param problem An instance of an optimization problem to solve.
@@ -68,6 +77,8 @@ abstract class AbstractHillClimber<T extends Copyable<T>> implements Metaheurist
 		}
 		pOpt = problem;
 		pOptInt = null;
+		pDelta = toDeltaEvaluable(problem);
+		pDeltaInt = null;
 		this.mutation = mutation;
 		this.initializer = initializer;
 		this.tracker = tracker;
@@ -89,6 +100,8 @@ abstract class AbstractHillClimber<T extends Copyable<T>> implements Metaheurist
 		}
 		pOptInt = (IntegerCostOptimizationProblem<T>)problem;
 		pOpt = null;
+		pDeltaInt = toIntegerCostDeltaEvaluable(problem);
+		pDelta = null;
 		this.mutation = mutation;
 		this.initializer = initializer;
 		this.tracker = tracker;
@@ -103,6 +116,8 @@ abstract class AbstractHillClimber<T extends Copyable<T>> implements Metaheurist
 		// these are threadsafe, so just copy references
 		pOpt = other.pOpt;
 		pOptInt = other.pOptInt;
+		pDelta = other.pDelta;
+		pDeltaInt = other.pDeltaInt;
 		
 		// this one must be shared.
 		tracker = other.tracker;
@@ -120,13 +135,13 @@ abstract class AbstractHillClimber<T extends Copyable<T>> implements Metaheurist
 	public final SolutionCostPair<T> optimize() {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
 		neighborCount++;
-		return climber.climbOnce(initializer.createCandidateSolution());
+		return climber.climbOnce(initializer.createCandidateSolution(), null);
 	}
 	
 	@Override
 	public final SolutionCostPair<T> optimize(T start) {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
-		return climber.climbOnce(start.copy());
+		return climber.climbOnce(start.copy(), null);
 	}
 	
 	/**
@@ -145,13 +160,27 @@ abstract class AbstractHillClimber<T extends Copyable<T>> implements Metaheurist
 	@Override
 	public final SolutionCostPair<T> optimize(int numRestarts) {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
-		SolutionCostPair<T> best = null;
+		SolutionCostHolder<T> best = new SolutionCostHolder<T>();
+		optimizeInto(numRestarts, best);
+		return best.toSolutionCostPair();
+	}
+	
+	/**
+	 * <p>Executes multiple restarts of the hill climber, exactly as {@link #optimize(int)} does,
+	 * but offers the local optimum of each restart to a {@link SolutionCostHolder} rather than
+	 * returning the best of them, without allocating a SolutionCostPair per restart.</p>
+	 *
+	 * @param numRestarts The number of restarts of the hill climber.
+	 * @param best The holder of the best solution, to which the local optimum of each restart is offered.
+	 * Nothing is offered if no runs executed, such as if the ProgressTracker already contains
+	 * the theoretical best solution.
+	 */
+	@Override
+	public final void optimizeInto(int numRestarts, SolutionCostHolder<T> best) {
 		for (int i = 0; i < numRestarts && !tracker.didFindBest() && !tracker.isStopped(); i++) {
-			SolutionCostPair<T> current = climber.climbOnce(initializer.createCandidateSolution());
+			climber.climbOnce(initializer.createCandidateSolution(), best);
 			neighborCount++;
-			if (best == null || current.compareTo(best) < 0) best = current;
 		}
-		return best;
 	}
 	
 	@Override
@@ -186,10 +215,78 @@ abstract class AbstractHillClimber<T extends Copyable<T>> implements Metaheurist
 	public abstract AbstractHillClimber<T> split();
 	
 	interface OneClimb<T extends Copyable<T>> {
-		SolutionCostPair<T> climbOnce(T current);
+		SolutionCostPair<T> climbOnce(T current, SolutionCostHolder<T> sink);
+	}
+	
+	/*
+	 * The result of a climb is offered to the sink, if there is one, and otherwise returned.
+	 */
+	final SolutionCostPair<T> result(T current, int cost, boolean isMinCost, SolutionCostHolder<T> sink) {
+		if (sink == null) return new SolutionCostPair<T>(current, cost, isMinCost);
+		sink.offer(current, cost, isMinCost);
+		return null;
+	}
+	
+	final SolutionCostPair<T> result(T current, double cost, boolean isMinCost, SolutionCostHolder<T> sink) {
+		if (sink == null) return new SolutionCostPair<T>(current, cost, isMinCost);
+		sink.offer(current, cost, isMinCost);
+		return null;
 	}
 	
 	abstract OneClimb<T> initClimberInt();
 	
 	abstract OneClimb<T> initClimberDouble();
+	
+	/*
+	 * Computes the cost of the current neighbor of an iterator, incrementally from the
+	 * cost of the candidate solution from which the iterator was created if both the
+	 * problem and the mutation operator's iterator support it.
+	 */
+	final int neighborCost(MutationIterator iter, T neighbor, int currentCost) {
+		if (pDeltaInt != null) {
+			MoveDescriptor move = iter.getLastMove();
+			if (move != null && pDeltaInt.supportsDelta(move)) {
+				return currentCost + pDeltaInt.costDelta(neighbor, move);
+			}
+		}
+		return pOptInt.cost(neighbor);
+	}
+	
+	/*
+	 * Computes the cost of the current neighbor of an iterator, incrementally from the
+	 * cost of the candidate solution from which the iterator was created if both the
+	 * problem and the mutation operator's iterator support it.
+	 */
+	final double neighborCost(MutationIterator iter, T neighbor, double currentCost) {
+		if (pDelta != null) {
+			MoveDescriptor move = iter.getLastMove();
+			if (move != null && pDelta.supportsDelta(move)) {
+				costIsIncremental = true;
+				return currentCost + pDelta.costDelta(neighbor, move);
+			}
+		}
+		return pOpt.cost(neighbor);
+	}
+	
+	/*
+	 * Floating-point costs that are computed incrementally may include
+	 * rounding error, so recompute the cost in full before moving to a neighbor.
+	 */
+	final double resyncCost(T current, double currentCost) {
+		if (costIsIncremental) {
+			costIsIncremental = false;
+			return pOpt.cost(current);
+		}
+		return currentCost;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T extends Copyable<T>> DeltaEvaluable<T> toDeltaEvaluable(OptimizationProblem<T> problem) {
+		return problem instanceof DeltaEvaluable ? (DeltaEvaluable<T>)problem : null;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T extends Copyable<T>> IntegerCostDeltaEvaluable<T> toIntegerCostDeltaEvaluable(IntegerCostOptimizationProblem<T> problem) {
+		return problem instanceof IntegerCostDeltaEvaluable ? (IntegerCostDeltaEvaluable<T>)problem : null;
+	}
 }
\ No newline at end of file
@@ -26,7 +26,6 @@ import org.cicirello.search.problems.OptimizationProblem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.Initializer;
-import org.cicirello.search.SolutionCostPair;
 import org.cicirello.search.operators.MutationIterator;
 
 
@@ -45,6 +44,12 @@ import org.cicirello.search.operators.MutationIterator;
  * If no such neighbor exists, the
  * search terminates with the current solution.</p> 
  *
+ * <p>If the problem implements the {@link org.cicirello.search.problems.DeltaEvaluable DeltaEvaluable}
+ * interface (or the {@link org.cicirello.search.problems.IntegerCostDeltaEvaluable IntegerCostDeltaEvaluable}
+ * interface for integer costs), and the mutation operator's {@link MutationIterator} describes its moves,
+ * then the cost of each neighbor is computed incrementally from the cost of the current candidate
+ * solution, rather than in full.</p>
+ *
  * @param <T> The type of object under optimization.
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
@@ -118,7 +123,7 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> extends Abstra
 	
 	@Override
 	OneClimb<T> initClimberInt() {
-		return current -> {
+		return (current, sink) -> {
 				// compute cost of start
 				int currentCost = pOptInt.cost(current);				
 				boolean keepClimbing = true;
@@ -128,7 +133,7 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> extends Abstra
 					while (iter.hasNext()) {
 						iter.nextMutant();
 						neighborCount++;
-						int cost = pOptInt.cost(current);
+						int cost = neighborCost(iter, current, currentCost);
 						if (cost < currentCost) {
 							currentCost = cost;
 							keepClimbing = true;
@@ -142,13 +147,13 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> extends Abstra
 				if (currentCost < tracker.getCost()) {
 					tracker.update(currentCost, current, isMinCost);
 				}
-				return new SolutionCostPair<T>(current, currentCost, isMinCost);
+				return result(current, currentCost, isMinCost, sink);
 		};
 	}
 	
 	@Override
 	OneClimb<T> initClimberDouble() {
-		return current -> {
+		return (current, sink) -> {
 				// compute cost of start
 				double currentCost = pOpt.cost(current);			
 				boolean keepClimbing = true;
@@ -158,8 +163,8 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> extends Abstra
 					while (iter.hasNext()) {
 						iter.nextMutant();
 						neighborCount++;
-						double cost = pOpt.cost(current);
-						if (cost < currentCost) {
+						double cost = neighborCost(iter, current, currentCost);
+						if (cost < currentCost && (cost = resyncCost(current, cost)) < currentCost) {
 							currentCost = cost;
 							keepClimbing = true;
 							break;
@@ -172,7 +177,7 @@ public final class FirstDescentHillClimber<T extends Copyable<T>> extends Abstra
 				if (currentCost < tracker.getCostDouble()) {
 					tracker.update(currentCost, current, isMinCost);
 				}			
-				return new SolutionCostPair<T>(current, currentCost, isMinCost);
+				return result(current, currentCost, isMinCost, sink);
 		};
 	}
 }
\ No newline at end of file
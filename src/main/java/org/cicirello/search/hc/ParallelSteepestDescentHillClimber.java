@@ -0,0 +1,405 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.hc;
+
+import org.cicirello.util.Copyable;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.problems.OptimizationProblem;
+import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.operators.IterableMutationOperator;
+import org.cicirello.search.operators.Initializer;
+import org.cicirello.search.operators.MutationIterator;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <p>This class implements a parallel version of steepest descent hill climbing,
+ * in which the evaluation of the neighbors of the current candidate solution is partitioned
+ * across multiple workers that run in a {@link ForkJoinPool}. See the 
+ * {@link SteepestDescentHillClimber} class for a description of steepest descent hill climbing.</p>
+ *
+ * <p>Each worker iterates over the neighbors of its own copy of the current candidate solution,
+ * with its own split of the mutation operator. If the {@link MutationIterator} knows the size of the 
+ * neighborhood (see {@link MutationIterator#neighborhoodSize neighborhoodSize}), then the neighborhood
+ * is partitioned into k contiguous ranges, where k is the number of workers, and each worker 
+ * {@link MutationIterator#skip skips} to the start of its range, and evaluates the neighbors of its range. 
+ * Otherwise, each worker steps through the entire neighborhood, and evaluates every k-th neighbor.
+ * The workers' best neighbors are then reduced to the neighbor with lowest cost, 
+ * breaking ties in favor of the neighbor that comes first in the order of the
+ * {@link MutationIterator}. This is exactly the neighbor that the sequential 
+ * {@link SteepestDescentHillClimber} chooses, and thus the result of each hill climb is 
+ * deterministic, and independent of the number of workers and of thread scheduling.</p>
+ *
+ * <p>Iterators that skip directly to a neighbor, without generating those in between, such as those of the 
+ * {@link org.cicirello.search.operators.permutations.SwapMutation SwapMutation} and
+ * {@link org.cicirello.search.operators.permutations.AdjacentSwapMutation AdjacentSwapMutation},
+ * enable each worker to generate only its own share of the neighborhood. For other mutation operators,
+ * each worker steps through the neighbors that precede its share without evaluating them, so 
+ * this class is beneficial when evaluating the cost of a neighbor is expensive relative
+ * to generating it, such as for problems whose cost function requires time linear (or worse) in the
+ * size of the candidate solution. When the cost of each neighbor is instead computed incrementally
+ * in constant time (e.g., for problems that implement the 
+ * {@link org.cicirello.search.problems.IntegerCostDeltaEvaluable IntegerCostDeltaEvaluable} interface),
+ * the sequential {@link SteepestDescentHillClimber} is likely faster.</p>
+ *
+ * <p>The workers always run in the {@link ForkJoinPool#commonPool common pool}. The problem's
+ * cost function must be safe to call from multiple threads concurrently, which is the case for
+ * all of the problems in this library.</p>
+ *
+ * @param <T> The type of object under optimization.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class ParallelSteepestDescentHillClimber<T extends Copyable<T>> extends AbstractHillClimber<T> {
+	
+	private final ArrayList<IterableMutationOperator<T>> mutations;
+	private final ForkJoinPool pool;
+	
+	/**
+	 * Constructs a parallel steepest descent hill climber object for real-valued optimization problem.
+	 * @param problem An instance of an optimization problem to solve.
+	 * @param mutation A mutation operator.
+	 * @param initializer The source of random initial states for each hill climb.
+	 * @param tracker A ProgressTracker object, which is used to keep track of the best
+	 * solution found during the run, the time when it was found, and other related data.
+	 * @param numWorkers The number of workers among which to partition each neighborhood.
+	 * @throws NullPointerException if any of the parameters are null.
+	 * @throws IllegalArgumentException if numWorkers is less than 1.
+	 */
+	public ParallelSteepestDescentHillClimber(OptimizationProblem<T> problem, IterableMutationOperator<T> mutation, Initializer<T> initializer, ProgressTracker<T> tracker, int numWorkers) {
+		super(problem, mutation, initializer, tracker);
+		mutations = initMutations(mutation, numWorkers);
+		pool = ForkJoinPool.commonPool();
+	}
+	
+	/**
+	 * Constructs a parallel steepest descent hill climber object for integer-valued optimization problem.
+	 * @param problem An instance of an optimization problem to solve.
+	 * @param mutation A mutation operator.
+	 * @param initializer The source of random initial states for each hill climb.
+	 * @param tracker A ProgressTracker object, which is used to keep track of the best
+	 * solution found during the run, the time when it was found, and other related data.
+	 * @param numWorkers The number of workers among which to partition each neighborhood.
+	 * @throws NullPointerException if any of the parameters are null.
+	 * @throws IllegalArgumentException if numWorkers is less than 1.
+	 */
+	public ParallelSteepestDescentHillClimber(IntegerCostOptimizationProblem<T> problem, IterableMutationOperator<T> mutation, Initializer<T> initializer, ProgressTracker<T> tracker, int numWorkers) {
+		super(problem, mutation, initializer, tracker);
+		mutations = initMutations(mutation, numWorkers);
+		pool = ForkJoinPool.commonPool();
+	}
+	
+	/**
+	 * Constructs a parallel steepest descent hill climber object for real-valued optimization problem.
+	 * A {@link ProgressTracker} is created for you.
+	 * @param problem An instance of an optimization problem to solve.
+	 * @param mutation A mutation operator.
+	 * @param initializer The source of random initial states for each hill climb.
+	 * @param numWorkers The number of workers among which to partition each neighborhood.
+	 * @throws NullPointerException if any of the parameters are null.
+	 * @throws IllegalArgumentException if numWorkers is less than 1.
+	 */
+	public ParallelSteepestDescentHillClimber(OptimizationProblem<T> problem, IterableMutationOperator<T> mutation, Initializer<T> initializer, int numWorkers) {
+		this(problem, mutation, initializer, new ProgressTracker<T>(), numWorkers);
+	}
+	
+	/**
+	 * Constructs a parallel steepest descent hill climber object for integer-valued optimization problem.
+	 * A {@link ProgressTracker} is created for you.
+	 * @param problem An instance of an optimization problem to solve.
+	 * @param mutation A mutation operator.
+	 * @param initializer The source of random initial states for each hill climb.
+	 * @param numWorkers The number of workers among which to partition each neighborhood.
+	 * @throws NullPointerException if any of the parameters are null.
+	 * @throws IllegalArgumentException if numWorkers is less than 1.
+	 */
+	public ParallelSteepestDescentHillClimber(IntegerCostOptimizationProblem<T> problem, IterableMutationOperator<T> mutation, Initializer<T> initializer, int numWorkers) {
+		this(problem, mutation, initializer, new ProgressTracker<T>(), numWorkers);
+	}
+	
+	/*
+	 * private copy constructor in support of the split method.
+	 * note: copies references to thread-safe components, and splits potentially non-threadsafe components 
+	 */
+	private ParallelSteepestDescentHillClimber(ParallelSteepestDescentHillClimber<T> other) {
+		super(other);
+		mutations = initMutations(mutation, other.mutations.size());
+		pool = other.pool;
+	}
+	
+	@Override
+	public ParallelSteepestDescentHillClimber<T> split() {
+		return new ParallelSteepestDescentHillClimber<T>(this);
+	}
+	
+	/**
+	 * Gets the number of workers among which each neighborhood is partitioned.
+	 * @return the number of workers
+	 */
+	public int getNumWorkers() {
+		return mutations.size();
+	}
+	
+	@Override
+	OneClimb<T> initClimberInt() {
+		return (start, sink) -> {
+				T current = start;
+				// compute cost of start
+				int currentCost = pOptInt.cost(current);
+				boolean keepClimbing = true;
+				while (keepClimbing) {
+					final T base = current;
+					final int baseCost = currentCost;
+					NeighborhoodScan best = pool.invoke(new ScanTask(0, w -> new IntScan(w, base, baseCost)));
+					if (best.improved()) {
+						current = best.neighbor;
+						currentCost = ((IntScan)best).best;
+					} else {
+						keepClimbing = false;
+					}
+				}
+				// update tracker
+				boolean isMinCost = pOptInt.isMinCost(currentCost);
+				if (currentCost < tracker.getCost()) {
+					tracker.update(currentCost, current, isMinCost);
+				}
+				return result(current, currentCost, isMinCost, sink);
+		};
+	}
+	
+	@Override
+	OneClimb<T> initClimberDouble() {
+		return (start, sink) -> {
+				T current = start;
+				// compute cost of start
+				double currentCost = pOpt.cost(current);
+				boolean keepClimbing = true;
+				while (keepClimbing) {
+					final T base = current;
+					final double baseCost = currentCost;
+					NeighborhoodScan best = pool.invoke(new ScanTask(0, w -> new DoubleScan(w, base, baseCost)));
+					if (!best.improved()) {
+						keepClimbing = false;
+					} else {
+						current = best.neighbor;
+						double bestNeighborCost = resyncCost(current, ((DoubleScan)best).best);
+						if (bestNeighborCost >= currentCost) {
+							// only an apparent improvement due to rounding error
+							keepClimbing = false;
+						}
+						currentCost = bestNeighborCost;
+					}
+				}
+				// update tracker
+				boolean isMinCost = pOpt.isMinCost(currentCost);
+				if (currentCost < tracker.getCostDouble()) {
+					tracker.update(currentCost, current, isMinCost);
+				}
+				return result(current, currentCost, isMinCost, sink);
+		};
+	}
+	
+	private static <T extends Copyable<T>> ArrayList<IterableMutationOperator<T>> initMutations(IterableMutationOperator<T> mutation, int numWorkers) {
+		if (numWorkers < 1) throw new IllegalArgumentException("numWorkers must be at least 1");
+		ArrayList<IterableMutationOperator<T>> list = new ArrayList<IterableMutationOperator<T>>(numWorkers);
+		list.add(mutation);
+		for (int i = 1; i < numWorkers; i++) {
+			list.add(mutation.split());
+		}
+		return list;
+	}
+	
+	/*
+	 * Creates the scan of one worker's share of a neighborhood.
+	 */
+	private interface ScanFactory<T extends Copyable<T>> {
+		ParallelSteepestDescentHillClimber<T>.NeighborhoodScan create(int worker);
+	}
+	
+	/*
+	 * Scans the shares of the neighborhood of workers w through numWorkers-1, forking
+	 * a task for workers w+1 through numWorkers-1, and then reduces to the best neighbor.
+	 */
+	private final class ScanTask extends RecursiveTask<NeighborhoodScan> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int w;
+		private final ScanFactory<T> factory;
+		
+		ScanTask(int w, ScanFactory<T> factory) {
+			this.w = w;
+			this.factory = factory;
+		}
+		
+		@Override
+		protected NeighborhoodScan compute() {
+			ScanTask rest = null;
+			if (w + 1 < mutations.size()) {
+				rest = new ScanTask(w + 1, factory);
+				rest.fork();
+			}
+			NeighborhoodScan mine = factory.create(w);
+			mine.scan();
+			if (rest != null) {
+				NeighborhoodScan other = rest.join();
+				if (other.isBetterThan(mine)) {
+					mine = other;
+				}
+			}
+			return mine;
+		}
+	}
+	
+	/*
+	 * One worker's share of a neighborhood: a contiguous range of the neighbors in the
+	 * order of the MutationIterator if it knows the size of the neighborhood, and otherwise
+	 * the neighbors whose index is congruent to the worker's id modulo the number of workers.
+	 */
+	private abstract class NeighborhoodScan {
+		
+		final int worker;
+		final T neighbor;
+		int bestIndex;
+		
+		NeighborhoodScan(int worker, T base) {
+			this.worker = worker;
+			neighbor = base.copy();
+			bestIndex = -1;
+		}
+		
+		final void scan() {
+			MutationIterator iter = mutations.get(worker).iterator(neighbor);
+			final int numWorkers = mutations.size();
+			final int size = iter.neighborhoodSize();
+			int count = 0;
+			if (size >= 0) {
+				int first = (int)((long)size * worker / numWorkers);
+				int end = (int)((long)size * (worker + 1) / numWorkers);
+				if (first < end) {
+					iter.skip(first);
+					for (int index = first; index < end; index++) {
+						iter.nextMutant();
+						count++;
+						if (evaluate(iter, index)) {
+							iter.setSavepoint();
+							bestIndex = index;
+						}
+					}
+				}
+			} else {
+				for (int index = 0; iter.hasNext(); index++) {
+					iter.nextMutant();
+					if (index % numWorkers == worker) {
+						count++;
+						if (evaluate(iter, index)) {
+							iter.setSavepoint();
+							bestIndex = index;
+						}
+					}
+				}
+			}
+			// leaves neighbor as the best neighbor of this worker's share
+			iter.rollback();
+			synchronized (mutations) {
+				neighborCount += count;
+			}
+		}
+		
+		/*
+		 * Evaluates the current neighbor, returning true if it is better than
+		 * the best so far of this worker.
+		 */
+		abstract boolean evaluate(MutationIterator iter, int index);
+		
+		final boolean improved() {
+			return bestIndex >= 0;
+		}
+		
+		abstract int compareCost(NeighborhoodScan other);
+		
+		final boolean isBetterThan(NeighborhoodScan other) {
+			if (bestIndex < 0) return false;
+			if (other.bestIndex < 0) return true;
+			int c = compareCost(other);
+			return c < 0 || c == 0 && bestIndex < other.bestIndex;
+		}
+	}
+	
+	private final class IntScan extends NeighborhoodScan {
+		
+		private final int baseCost;
+		private int best;
+		
+		IntScan(int worker, T base, int baseCost) {
+			super(worker, base);
+			this.baseCost = baseCost;
+			best = baseCost;
+		}
+		
+		@Override
+		boolean evaluate(MutationIterator iter, int index) {
+			int cost = neighborCost(iter, neighbor, baseCost);
+			if (cost < best) {
+				best = cost;
+				return true;
+			}
+			return false;
+		}
+		
+		@Override
+		int compareCost(NeighborhoodScan other) {
+			return Integer.compare(best, ((IntScan)other).best);
+		}
+	}
+	
+	private final class DoubleScan extends NeighborhoodScan {
+		
+		private final double baseCost;
+		private double best;
+		
+		DoubleScan(int worker, T base, double baseCost) {
+			super(worker, base);
+			this.baseCost = baseCost;
+			best = baseCost;
+		}
+		
+		@Override
+		boolean evaluate(MutationIterator iter, int index) {
+			// note: the hill climber's flag that records whether the cost was computed
+			// incrementally may be set by multiple workers, but only ever to true, and is
+			// read after all workers are joined.
+			double cost = neighborCost(iter, neighbor, baseCost);
+			if (cost < best) {
+				best = cost;
+				return true;
+			}
+			return false;
+		}
+		
+		@Override
+		int compareCost(NeighborhoodScan other) {
+			return Double.compare(best, ((DoubleScan)other).best);
+		}
+	}
+}
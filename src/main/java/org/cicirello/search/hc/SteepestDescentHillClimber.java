@@ -26,7 +26,6 @@ import org.cicirello.search.problems.OptimizationProblem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.Initializer;
-import org.cicirello.search.SolutionCostPair;
 import org.cicirello.search.operators.MutationIterator;
 
 /**
@@ -45,6 +44,15 @@ import org.cicirello.search.operators.MutationIterator;
  * whose cost is lower than the current cost.  If no such neighbor exists, the
  * search terminates with the current solution.</p> 
  *
+ * <p>If the problem implements the {@link org.cicirello.search.problems.DeltaEvaluable DeltaEvaluable}
+ * interface (or the {@link org.cicirello.search.problems.IntegerCostDeltaEvaluable IntegerCostDeltaEvaluable}
+ * interface for integer costs), and the mutation operator's {@link MutationIterator} describes its moves,
+ * then the cost of each neighbor is computed incrementally from the cost of the current candidate
+ * solution, rather than in full.</p>
+ *
+ * <p>See the {@link ParallelSteepestDescentHillClimber} class for a version that partitions the
+ * evaluation of each neighborhood across multiple threads.</p>
+ *
  * @param <T> The type of object under optimization.
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
@@ -117,7 +125,7 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> extends Abs
 	
 	@Override
 	OneClimb<T> initClimberInt() {
-		return current -> {
+		return (current, sink) -> {
 				// compute cost of start
 				int currentCost = pOptInt.cost(current);
 				boolean keepClimbing = true;
@@ -127,7 +135,7 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> extends Abs
 					while (iter.hasNext()) {
 						iter.nextMutant();
 						neighborCount++;
-						int cost = pOptInt.cost(current);
+						int cost = neighborCost(iter, current, currentCost);
 						if (cost < bestNeighborCost) {
 							iter.setSavepoint();
 							bestNeighborCost = cost;
@@ -145,13 +153,13 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> extends Abs
 				if (currentCost < tracker.getCost()) {
 					tracker.update(currentCost, current, isMinCost);
 				}
-				return new SolutionCostPair<T>(current, currentCost, isMinCost);
+				return result(current, currentCost, isMinCost, sink);
 		};
 	}
 	
 	@Override
 	OneClimb<T> initClimberDouble() {
-		return current -> {
+		return (current, sink) -> {
 				// compute cost of start
 				double currentCost = pOpt.cost(current);				
 				boolean keepClimbing = true;
@@ -161,7 +169,7 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> extends Abs
 					while (iter.hasNext()) {
 						iter.nextMutant();
 						neighborCount++;
-						double cost = pOpt.cost(current);
+						double cost = neighborCost(iter, current, currentCost);
 						if (cost < bestNeighborCost) {
 							iter.setSavepoint();
 							bestNeighborCost = cost;
@@ -171,6 +179,11 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> extends Abs
 					if (bestNeighborCost == currentCost) {
 						keepClimbing = false;
 					} else {
+						bestNeighborCost = resyncCost(current, bestNeighborCost);
+						if (bestNeighborCost >= currentCost) {
+							// only an apparent improvement due to rounding error
+							keepClimbing = false;
+						}
 						currentCost = bestNeighborCost;
 					}
 				}
@@ -179,7 +192,7 @@ public final class SteepestDescentHillClimber<T extends Copyable<T>> extends Abs
 				if (currentCost < tracker.getCostDouble()) {
 					tracker.update(currentCost, current, isMinCost);
 				}
-				return new SolutionCostPair<T>(current, currentCost, isMinCost);
+				return result(current, currentCost, isMinCost, sink);
 		};
 	}
 	
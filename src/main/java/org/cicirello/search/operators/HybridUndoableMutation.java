@@ -77,6 +77,11 @@ public final class HybridUndoableMutation<T> implements UndoableMutationOperator
 		if (last >= 0) mutationOps.get(last).undo(c);
 	}
 	
+	@Override
+	public MoveDescriptor getLastMove() {
+		return last >= 0 ? mutationOps.get(last).getLastMove() : null;
+	}
+	
 	@Override
 	public HybridUndoableMutation<T> split() {
 		return new HybridUndoableMutation<T>(this);
@@ -0,0 +1,194 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators;
+
+/**
+ * <p>A MoveDescriptor describes the most recent mutation performed by a mutation
+ * operator, in terms of the type of move and the indexes that it involved. Its purpose
+ * is to enable problems that implement the
+ * {@link org.cicirello.search.problems.DeltaEvaluable DeltaEvaluable} or
+ * {@link org.cicirello.search.problems.IntegerCostDeltaEvaluable IntegerCostDeltaEvaluable}
+ * interfaces to compute the change in cost caused by a mutation from just the part of
+ * the candidate solution that the mutation changed, rather than by recomputing the cost
+ * of the entire candidate solution.</p>
+ *
+ * <p>The indexes of a move are interpreted as follows, depending upon the type of the move,
+ * where indexes refer to positions within the candidate solution as they were at the time
+ * of the mutation:</p>
+ * <ul>
+ * <li>{@link Type#SWAP}: The elements at indexes {@link #getFirst()} and {@link #getSecond()} were swapped,
+ *     where getFirst() &lt; getSecond().</li>
+ * <li>{@link Type#REVERSAL}: The elements at indexes {@link #getFirst()} through {@link #getSecond()},
+ *     inclusive, were reversed, where getFirst() &lt; getSecond().</li>
+ * <li>{@link Type#TWO_CHANGE}: A 2-change move, such as for the TSP, which replaced the
+ *     two edges that enter index {@link #getFirst()} and leave index {@link #getSecond()}, where
+ *     getFirst() &le; getSecond(). The effect on the tour is equivalent to reversing the elements
+ *     at indexes getFirst() through getSecond(), although the mutation operator may have instead
+ *     reversed the complementary segment in place.</li>
+ * <li>{@link Type#BLOCK_INTERCHANGE}: The block of elements at indexes {@link #getFirst()} through
+ *     {@link #getSecond()} was interchanged with the block at indexes {@link #getThird()} through
+ *     {@link #getFourth()}, where getFirst() &le; getSecond() &lt; getThird() &le; getFourth(). Swaps, insertions,
+ *     and block moves are all special cases of a block interchange.</li>
+ * <li>{@link Type#ROTATION}: The elements were rotated to the left by {@link #getFirst()}
+ *     positions.</li>
+ * <li>{@link Type#THREE_OPT}: A 3-change move, such as for the TSP, that replaced three edges of
+ *     a cyclic tour. Unlike the other types, the indexes of a 3-change refer to positions after
+ *     the mutation, which may have also rotated the elements. After the mutation, the tour consists
+ *     of three segments: X from index {@link #getFirst()} through index {@link #getSecond()}-1,
+ *     Y from index getSecond() through index {@link #getThird()}-1, and Z from index getThird()
+ *     cyclically through index getFirst()-1. The three edges that now join consecutive segments
+ *     were added, and {@link #getFourth()} specifies how the segments were arranged prior to the
+ *     mutation: 0 for Y X Z, 1 for X' Y' Z, 2 for Y' X Z, and 3 for Y X' Z, where X' and Y' are
+ *     the reversals of X and Y.</li>
+ * </ul>
+ *
+ * <p>A MoveDescriptor is owned by the mutation operator that sets it, and is reused
+ * by that operator from one mutation to the next to avoid object allocation. Its state
+ * is only meaningful until the next call to the operator's mutate method.</p>
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>,
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class MoveDescriptor {
+
+	/**
+	 * The types of moves that can be described by a MoveDescriptor.
+	 */
+	public enum Type {
+		/** A swap of two elements. */
+		SWAP,
+		/** A reversal of a contiguous segment of elements. */
+		REVERSAL,
+		/** A 2-change (i.e., 2-opt) move that replaces two edges of a cyclic tour. */
+		TWO_CHANGE,
+		/** An interchange of two non-overlapping blocks of elements. */
+		BLOCK_INTERCHANGE,
+		/** A rotation of all of the elements. */
+		ROTATION,
+		/** A 3-change (i.e., 3-opt) move that replaces three edges of a cyclic tour. */
+		THREE_OPT
+	}
+	
+	private Type type;
+	private int first;
+	private int second;
+	private int third;
+	private int fourth;
+	
+	/**
+	 * Constructs a MoveDescriptor that doesn't yet describe any move.
+	 */
+	public MoveDescriptor() {}
+	
+	/**
+	 * Sets this MoveDescriptor to describe a move involving one index.
+	 *
+	 * @param type The type of the move.
+	 * @param first The index involved in the move.
+	 */
+	public void set(Type type, int first) {
+		this.type = type;
+		this.first = first;
+	}
+	
+	/**
+	 * Sets this MoveDescriptor to describe a move involving two indexes.
+	 *
+	 * @param type The type of the move.
+	 * @param first The first index involved in the move.
+	 * @param second The second index involved in the move.
+	 */
+	public void set(Type type, int first, int second) {
+		this.type = type;
+		this.first = first;
+		this.second = second;
+	}
+	
+	/**
+	 * Sets this MoveDescriptor to describe a move involving four indexes.
+	 *
+	 * @param type The type of the move.
+	 * @param first The first index involved in the move.
+	 * @param second The second index involved in the move.
+	 * @param third The third index involved in the move.
+	 * @param fourth The fourth index involved in the move.
+	 */
+	public void set(Type type, int first, int second, int third, int fourth) {
+		this.type = type;
+		this.first = first;
+		this.second = second;
+		this.third = third;
+		this.fourth = fourth;
+	}
+	
+	/**
+	 * Clears this MoveDescriptor, such that it doesn't describe any move, such as after
+	 * a mutation that made no changes.
+	 */
+	public void clear() {
+		type = null;
+	}
+	
+	/**
+	 * Gets the type of the move.
+	 *
+	 * @return the type of the move, or null if this MoveDescriptor doesn't yet describe any move.
+	 */
+	public Type getType() {
+		return type;
+	}
+	
+	/**
+	 * Gets the first index of the move.
+	 *
+	 * @return the first index of the move.
+	 */
+	public int getFirst() {
+		return first;
+	}
+	
+	/**
+	 * Gets the second index of the move.
+	 *
+	 * @return the second index of the move.
+	 */
+	public int getSecond() {
+		return second;
+	}
+	
+	/**
+	 * Gets the third index of the move.
+	 *
+	 * @return the third index of the move.
+	 */
+	public int getThird() {
+		return third;
+	}
+	
+	/**
+	 * Gets the fourth index of the move.
+	 *
+	 * @return the fourth index of the move.
+	 */
+	public int getFourth() {
+		return fourth;
+	}
+}
@@ -101,4 +101,57 @@ public interface MutationIterator {
 	 * as of the most recent call to {@link #nextMutant}.
 	 */
 	void rollback();
+	
+	/**
+	 * <p>Gets a description of the move that transforms the candidate solution, as it was
+	 * when this MutationIterator was created, into the current neighbor, i.e., as of the most
+	 * recent call to {@link #nextMutant}. Local search algorithms, such as hill climbers, use this,
+	 * when available, to compute the cost of each neighbor incrementally for problems that
+	 * implement the {@link org.cicirello.search.problems.DeltaEvaluable DeltaEvaluable} or
+	 * {@link org.cicirello.search.problems.IntegerCostDeltaEvaluable IntegerCostDeltaEvaluable}
+	 * interfaces.</p>
+	 *
+	 * <p>The default implementation returns null, which indicates that this MutationIterator
+	 * does not describe its moves. The result is undefined if {@link #nextMutant} has not yet
+	 * been called.</p>
+	 *
+	 * @return a description of the move that produced the current neighbor, or null if this
+	 * MutationIterator does not describe its moves.
+	 */
+	default MoveDescriptor getLastMove() {
+		return null;
+	}
+	
+	/**
+	 * <p>Gets the total number of neighbors that this MutationIterator iterates over, i.e., the number
+	 * of times that {@link #nextMutant} can be called for a new MutationIterator. Parallel local 
+	 * search algorithms use this, when available, together with {@link #skip}, to partition
+	 * the neighborhood into contiguous ranges.</p>
+	 *
+	 * <p>The default implementation returns -1, which indicates that this MutationIterator
+	 * does not know the number of neighbors in advance.</p>
+	 *
+	 * @return the number of neighbors, or -1 if the number of neighbors is not known in advance.
+	 */
+	default int neighborhoodSize() {
+		return -1;
+	}
+	
+	/**
+	 * <p>Skips over neighbors of the candidate solution, leaving the candidate solution in the same
+	 * state as calling {@link #nextMutant} count times. Savepoints are not affected.</p>
+	 *
+	 * <p>The default implementation calls {@link #nextMutant} count times. MutationIterators 
+	 * that can compute their neighbors directly from their positions in the iteration order 
+	 * override this to skip the neighbors in between.</p>
+	 *
+	 * @param count The number of neighbors to skip over.
+	 * @throws IllegalStateException if there are fewer than count additional neighbors 
+	 * or if the {@link #rollback} method was called.
+	 */
+	default void skip(int count) {
+		for (int k = 0; k < count; k++) {
+			nextMutant();
+		}
+	}
 }
\ No newline at end of file
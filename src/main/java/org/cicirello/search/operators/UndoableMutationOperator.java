@@ -72,6 +72,26 @@ public interface UndoableMutationOperator<T> extends MutationOperator<T> {
 	 */
 	void undo(T c);
 	
+	/**
+	 * <p>Gets a description of the most recent mutation performed, such as the type of move
+	 * and the indexes that it involved. Metaheuristics such as simulated annealing use this,
+	 * when available, to compute the cost of a neighbor incrementally for problems that
+	 * implement the {@link org.cicirello.search.problems.DeltaEvaluable DeltaEvaluable} or
+	 * {@link org.cicirello.search.problems.IntegerCostDeltaEvaluable IntegerCostDeltaEvaluable}
+	 * interfaces.</p>
+	 *
+	 * <p>The default implementation returns null, which indicates that this mutation operator
+	 * does not describe its moves. Mutation operators that do describe their moves return an
+	 * object that is reused from one mutation to the next, and whose state is only meaningful
+	 * until the next call to {@link MutationOperator#mutate}.</p>
+	 *
+	 * @return a description of the most recent mutation, or null if this mutation operator does
+	 * not describe its moves.
+	 */
+	default MoveDescriptor getLastMove() {
+		return null;
+	}
+	
 	@Override
 	UndoableMutationOperator<T> split();
 }
\ No newline at end of file
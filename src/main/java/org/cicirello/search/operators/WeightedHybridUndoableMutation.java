@@ -100,6 +100,11 @@ public final class WeightedHybridUndoableMutation<T> implements UndoableMutation
 		if (last >= 0) mutationOps.get(last).undo(c);
 	}
 	
+	@Override
+	public MoveDescriptor getLastMove() {
+		return last >= 0 ? mutationOps.get(last).getLastMove() : null;
+	}
+	
 	@Override
 	public WeightedHybridUndoableMutation<T> split() {
 		return new WeightedHybridUndoableMutation<T>(this);
@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -36,11 +37,13 @@ final class AdjacentSwapIterator implements MutationIterator {
 	private boolean rolled;
 	private boolean hasMore;
 	private final Permutation p;
+	private final MoveDescriptor move;
 	private int i;
 	private int x;
 	
 	AdjacentSwapIterator(Permutation p) {
 		this.p = p;
+		move = new MoveDescriptor();
 		// default init: rolled = false;
 		hasMore = p.length() >= 2;
 		x = i = -1;
@@ -80,4 +83,28 @@ final class AdjacentSwapIterator implements MutationIterator {
 			}
 		}
 	}
+	
+	@Override
+	public MoveDescriptor getLastMove() {
+		move.set(MoveDescriptor.Type.SWAP, i, i+1);
+		return move;
+	}
+	
+	@Override
+	public int neighborhoodSize() {
+		return p.length() >= 2 ? p.length() - 1 : 0;
+	}
+	
+	@Override
+	public void skip(int count) {
+		if (rolled) throw new IllegalStateException("illegal to call skip after calling rollback");
+		if (count <= 0) return;
+		if (i + count > p.length()-2) throw new IllegalStateException("no neighbors left");
+		if (i >= 0) {
+			p.swap(i,i+1);
+		}
+		i += count;
+		p.swap(i,i+1);
+		if (i == p.length()-2) hasMore = false;
+	}
 }
\ No newline at end of file
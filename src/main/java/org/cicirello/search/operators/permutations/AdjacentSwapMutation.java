@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
 import org.cicirello.permutations.Permutation;
@@ -40,15 +41,21 @@ import org.cicirello.math.rand.RandomIndexer;
 public final class AdjacentSwapMutation implements UndoableMutationOperator<Permutation>, IterableMutationOperator<Permutation> {
 
 	private int index;
+	private final MoveDescriptor move;
 	
 	/**
 	 * Constructs an AdjacentSwapMutation mutation operator.
 	 */
-	public AdjacentSwapMutation() {}
+	public AdjacentSwapMutation() {
+		move = new MoveDescriptor();
+	}
 	
 	@Override
 	public void mutate(Permutation c) {
-        if (c.length() >= 2) c.swap(index = RandomIndexer.nextInt(c.length()-1), index+1);
+        if (c.length() >= 2) {
+			c.swap(index = RandomIndexer.nextInt(c.length()-1), index+1);
+			move.set(MoveDescriptor.Type.SWAP, index, index+1);
+		}
 	}
 	
 	@Override
@@ -56,6 +63,11 @@ public final class AdjacentSwapMutation implements UndoableMutationOperator<Perm
 		if (c.length() >= 2) c.swap(index, index+1);
 	}
 	
+	@Override
+	public MoveDescriptor getLastMove() {
+		return move;
+	}
+	
 	@Override
 	public AdjacentSwapMutation split() {
 		return new AdjacentSwapMutation();
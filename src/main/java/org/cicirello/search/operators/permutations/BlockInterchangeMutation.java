@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
 import org.cicirello.permutations.Permutation;
@@ -55,12 +56,14 @@ public class BlockInterchangeMutation implements UndoableMutationOperator<Permut
 	
 	// needed to implement undo
 	private final int[] indexes;
+	private final MoveDescriptor move;
 	
 	/**
 	 * Constructs a BlockInterchangeMutation mutation operator.
 	 */
 	public BlockInterchangeMutation() { 
 		indexes = new int[4]; 
+		move = new MoveDescriptor();
 	}
 	
 	@Override
@@ -68,6 +71,7 @@ public class BlockInterchangeMutation implements UndoableMutationOperator<Permut
 		if (c.length() >= 2) {
 			generateIndexes(c.length(), indexes);
 			c.swapBlocks(indexes[0], indexes[1], indexes[2], indexes[3]);
+			move.set(MoveDescriptor.Type.BLOCK_INTERCHANGE, indexes[0], indexes[1], indexes[2], indexes[3]);
 		}
 	}
 	
@@ -78,6 +82,11 @@ public class BlockInterchangeMutation implements UndoableMutationOperator<Permut
 		}
 	}
 	
+	@Override
+	public final MoveDescriptor getLastMove() {
+		return move;
+	}
+	
 	@Override
 	public BlockInterchangeMutation split() {
 		return new BlockInterchangeMutation();
@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
 import org.cicirello.permutations.Permutation;
@@ -54,12 +55,14 @@ public class BlockMoveMutation implements UndoableMutationOperator<Permutation>,
 	
 	// needed to implement undo
 	private final int[] indexes;
+	private final MoveDescriptor move;
 	
 	/**
 	 * Constructs a BlockMoveMutation mutation operator.
 	 */
 	public BlockMoveMutation() { 
 		indexes = new int[3]; 
+		move = new MoveDescriptor();
 	}
 	
 	@Override
@@ -67,6 +70,7 @@ public class BlockMoveMutation implements UndoableMutationOperator<Permutation>,
 		if (c.length() >= 2) {
 			generateIndexes(c.length(), indexes);
 			c.removeAndInsert(indexes[1], indexes[2]-indexes[1]+1, indexes[0]);
+			move.set(MoveDescriptor.Type.BLOCK_INTERCHANGE, indexes[0], indexes[1]-1, indexes[1], indexes[2]);
 		}
 	}
 	
@@ -75,6 +79,11 @@ public class BlockMoveMutation implements UndoableMutationOperator<Permutation>,
 		c.removeAndInsert(indexes[0], indexes[2]-indexes[1]+1, indexes[1]);
 	}
 	
+	@Override
+	public final MoveDescriptor getLastMove() {
+		return move;
+	}
+	
 	@Override
 	public BlockMoveMutation split() {
 		return new BlockMoveMutation();
@@ -0,0 +1,187 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators.permutations;
+
+import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveDescriptor;
+import org.cicirello.permutations.Permutation;
+
+/**
+ * Internal (package-private) class implementing an iterator over
+ * the insertions restricted by candidate lists.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+final class CandidateInsertionIterator implements MutationIterator {
+	
+	private boolean rolled;
+	private boolean hasMore;
+	private final Permutation p;
+	private final int[][] candidates;
+	private final int[] original;
+	private final int[] index;
+	private final MoveDescriptor move;
+	
+	// next insertion to consider: element x, its candidate c, and whether
+	// to reinsert x after (rather than before) the candidate
+	private int x;
+	private int c;
+	private boolean after;
+	
+	// the next, current, and savepoint insertions, with from == to if none
+	private int nextFrom;
+	private int nextTo;
+	private int from;
+	private int to;
+	private int saveFrom;
+	private int saveTo;
+	
+	CandidateInsertionIterator(Permutation p, int[][] candidates) {
+		this.p = p;
+		this.candidates = candidates;
+		move = new MoveDescriptor();
+		original = p.toArray();
+		index = p.length() >= 2 ? p.getInverse() : null;
+		after = true;
+		// Default inits:
+		//    x = c = from = to = saveFrom = saveTo = 0;
+		//    rolled = false;
+		hasMore = p.length() >= 2 && findNext();
+	}
+	
+	@Override
+	public boolean hasNext() {
+		return hasMore && !rolled;
+	}
+	
+	@Override
+	public void nextMutant() {
+		if (!hasMore) throw new IllegalStateException("no neighbors left");
+		if (rolled) throw new IllegalStateException("illegal to call nextMutant after calling rollback");
+		if (from != to) {
+			p.removeAndInsert(to, from);
+		}
+		from = nextFrom;
+		to = nextTo;
+		p.removeAndInsert(from, to);
+		hasMore = findNext();
+	}
+	
+	@Override
+	public void setSavepoint() {
+		saveFrom = from;
+		saveTo = to;
+	}
+	
+	@Override
+	public void rollback() {
+		if (!rolled) {
+			rolled = true;
+			if (from != saveFrom || to != saveTo) {
+				if (from != to) p.removeAndInsert(to, from);
+				if (saveFrom != saveTo) p.removeAndInsert(saveFrom, saveTo);
+			}
+		}
+	}
+	
+	@Override
+	public MoveDescriptor getLastMove() {
+		CandidateInsertionMutation.setMove(move, from, to);
+		return move;
+	}
+	
+	/*
+	 * Advances to the next insertion, setting nextFrom and nextTo,
+	 * and returns false if there are none left. Skips insertions that were
+	 * already generated earlier from a different candidate.
+	 */
+	private boolean findNext() {
+		final int n = index.length;
+		for ( ; x < n; x++, c = 0) {
+			int[] list = candidates[x];
+			while (c < list.length) {
+				int i = index[x];
+				int j = index[list[c]];
+				int currentC = c;
+				nextFrom = i;
+				nextTo = CandidateInsertionMutation.insertionIndex(i, j, after);
+				boolean isAfter = after;
+				if (after) {
+					after = false;
+				} else {
+					after = true;
+					c++;
+				}
+				if (nextFrom != nextTo && !generatedEarlier(list, currentC, isAfter)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/*
+	 * The insertion is generated by both of the elements that are adjacent to x after the
+	 * insertion, if each is in x's candidate list. Checks if the other precedes the current one.
+	 * Additionally, moving x to an adjacent index is the same as moving the element at that index
+	 * to x's index, which is checked if that element precedes x.
+	 */
+	private boolean generatedEarlier(int[] list, int currentC, boolean currentAfter) {
+		int left = leftNeighbor(nextFrom, nextTo);
+		int right = rightNeighbor(nextFrom, nextTo);
+		int other = currentAfter ? right : left;
+		if (other >= 0) {
+			for (int k = 0; k < currentC; k++) {
+				if (list[k] == other) return true;
+			}
+		}
+		if (nextTo == nextFrom + 1 || nextTo == nextFrom - 1) {
+			int y = original[nextTo];
+			if (y < x) {
+				left = leftNeighbor(nextTo, nextFrom);
+				right = rightNeighbor(nextTo, nextFrom);
+				for (int e : candidates[y]) {
+					if (e == left || e == right) return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/*
+	 * The element that will be immediately before the element moved
+	 * from index i to index j, or -1 if none.
+	 */
+	private int leftNeighbor(int i, int j) {
+		if (i < j) return original[j];
+		return j > 0 ? original[j - 1] : -1;
+	}
+	
+	/*
+	 * The element that will be immediately after the element moved
+	 * from index i to index j, or -1 if none.
+	 */
+	private int rightNeighbor(int i, int j) {
+		if (i < j) return j + 1 < original.length ? original[j + 1] : -1;
+		return original[j];
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators.permutations;
+
+import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveDescriptor;
+import org.cicirello.search.operators.IterableMutationOperator;
+import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.permutations.Permutation;
+import org.cicirello.math.rand.RandomIndexer;
+
+/**
+ * <p>This class implements an insertion mutation operator for permutations, that is restricted
+ * by candidate lists. See the {@link InsertionMutation} class for a description of the 
+ * insertion operator, which removes an element and reinserts it at a different index. Rather 
+ * than considering all insertions, the CandidateInsertionMutation only considers the insertions
+ * that reinsert an element x adjacent to one of the elements of its candidate list, such as
+ * the k nearest neighbors of each city of a TSP instance (e.g., see the
+ * {@link org.cicirello.search.problems.tsp.BaseTSP#getNearestNeighbors getNearestNeighbors}
+ * method of the TSP classes). Each element x has two such insertions for each element y of 
+ * its candidate list: reinserting x immediately after y, and reinserting x immediately before y.</p>
+ *
+ * <p>The {@link #mutate(Permutation) mutate} method picks an element x uniformly at random,
+ * an element y uniformly at random from x's candidate list, and then whether to reinsert x
+ * after or before y. If x is already on that side of y, then x is instead reinserted on
+ * the other side of y.</p>
+ *
+ * <p>The {@link #iterator iterator} method creates a {@link MutationIterator} over only the
+ * insertions of the candidate lists, of which there are at most 2nk for a permutation of length n
+ * and candidate lists of length k, rather than the (n-1)<sup>2</sup> of all of the insertions.</p>
+ *
+ * <p>The mutate method finds the positions of x and y in constant time, from the positions of the 
+ * elements that it maintains for the permutation that it most recently mutated, which it recomputes
+ * in O(n) time only if the permutation was changed by other means, or if it is a different permutation.
+ * The runtime of both the {@link #mutate(Permutation) mutate} and {@link #undo(Permutation) undo} 
+ * methods is otherwise proportional to the distance that x moves, which is O(n) in the worst case, 
+ * where n is the length of the permutation.</p>
+ *
+ * <p>For permutations of length n &lt; 2, the CandidateInsertionMutation operator
+ * makes no changes.</p> 
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class CandidateInsertionMutation implements UndoableMutationOperator<Permutation>, IterableMutationOperator<Permutation> {
+	
+	private final int[][] candidates;
+	private final MoveDescriptor move;
+	private final ElementPositions positions;
+	
+	// needed to implement undo
+	private int from;
+	private int to;
+	
+	/**
+	 * Constructs a CandidateInsertionMutation operator. 
+	 *
+	 * @param candidates The candidate lists, such that candidates[x] is the candidate list of element x.
+	 * Every candidate list must be non-empty, and must not contain x itself. The array is not copied, 
+	 * and must not be changed while this mutation operator, or any of its splits, is in use.
+	 * @throws NullPointerException if candidates is null.
+	 */
+	public CandidateInsertionMutation(int[][] candidates) {
+		if (candidates == null) {
+			throw new NullPointerException("candidates is null");
+		}
+		this.candidates = candidates;
+		move = new MoveDescriptor();
+		positions = new ElementPositions();
+	}
+	
+	@Override
+	public final void mutate(Permutation c) {
+		final int n = c.length();
+		if (n >= 2) {
+			int x = RandomIndexer.nextInt(n);
+			int[] list = candidates[x];
+			int y = list[RandomIndexer.nextInt(list.length)];
+			int i = positions.positionOf(c, x);
+			int j = positions.positionOf(c, y);
+			boolean after = RandomIndexer.nextInt(2) == 0;
+			from = i;
+			to = insertionIndex(i, j, after);
+			if (to == from) {
+				// x is already on that side of y
+				to = insertionIndex(i, j, !after);
+			}
+			c.removeAndInsert(from, to);
+			updatePositions(c);
+			setMove(move, from, to);
+		}
+	}
+	
+	@Override
+	public final void undo(Permutation c) {
+		if (c.length() >= 2) {
+			c.removeAndInsert(to, from);
+			updatePositions(c);
+		}
+	}
+	
+	@Override
+	public MoveDescriptor getLastMove() {
+		return move;
+	}
+	
+	@Override
+	public CandidateInsertionMutation split() {
+		return new CandidateInsertionMutation(candidates);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>The worst case runtime of the {@link MutationIterator#hasNext} and the 
+	 * {@link MutationIterator#setSavepoint} methods of the {@link MutationIterator} 
+	 * created by this method is O(1). The worst case runtime of the
+	 * {@link MutationIterator#nextMutant} and {@link MutationIterator#rollback} methods 
+	 * is O(n), where n is the length of the Permutation. Creating the iterator requires O(n) time.</p>
+	 */
+	@Override
+	public MutationIterator iterator(Permutation p) {
+		return new CandidateInsertionIterator(p, candidates);
+	}
+	
+	/*
+	 * Updates the positions of the elements that the insertion moved.
+	 */
+	private void updatePositions(Permutation c) {
+		if (from < to) {
+			positions.update(c, from, to);
+		} else {
+			positions.update(c, to, from);
+		}
+	}
+	
+	/*
+	 * Computes the index to which to move the element at index i
+	 * so that it is immediately after, or immediately before, the element at index j.
+	 */
+	static int insertionIndex(int i, int j, boolean after) {
+		if (after) {
+			return i < j ? j : j + 1;
+		}
+		return i < j ? j - 1 : j;
+	}
+	
+	/*
+	 * An insertion is an interchange of the moved element with
+	 * the block of elements between its old and new positions.
+	 */
+	static void setMove(MoveDescriptor move, int from, int to) {
+		if (from < to) {
+			move.set(MoveDescriptor.Type.BLOCK_INTERCHANGE, from, from, from+1, to);
+		} else {
+			move.set(MoveDescriptor.Type.BLOCK_INTERCHANGE, to, from-1, from, from);
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators.permutations;
+
+import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveDescriptor;
+import org.cicirello.permutations.Permutation;
+
+/**
+ * Internal (package-private) class implementing an iterator over
+ * the two-changes restricted by candidate lists.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+final class CandidateTwoChangeIterator implements MutationIterator {
+	
+	private boolean rolled;
+	private boolean hasMore;
+	private final Permutation p;
+	private final int[][] candidates;
+	private final int[] original;
+	private final int[] index;
+	private final MoveDescriptor move;
+	
+	// next two-change to consider: element x, its candidate c, and whether
+	// the elements after (rather than before) also become adjacent
+	private int x;
+	private int c;
+	private boolean after;
+	
+	// segments of the next, current, and savepoint two-changes, or -1 if none
+	private int nextA;
+	private int nextB;
+	private int a;
+	private int b;
+	private int saveA;
+	private int saveB;
+	
+	CandidateTwoChangeIterator(Permutation p, int[][] candidates) {
+		this.p = p;
+		this.candidates = candidates;
+		move = new MoveDescriptor();
+		original = p.toArray();
+		index = p.length() >= 4 ? p.getInverse() : null;
+		saveA = a = -1;
+		after = true;
+		// Default inits:
+		//    x = c = 0;
+		//    rolled = false;
+		hasMore = p.length() >= 4 && findNext();
+	}
+	
+	@Override
+	public boolean hasNext() {
+		return hasMore && !rolled;
+	}
+	
+	@Override
+	public void nextMutant() {
+		if (!hasMore) throw new IllegalStateException("no neighbors left");
+		if (rolled) throw new IllegalStateException("illegal to call nextMutant after calling rollback");
+		if (a >= 0) {
+			CandidateTwoChangeMutation.reverseCyclic(p, a, b);
+		}
+		a = nextA;
+		b = nextB;
+		CandidateTwoChangeMutation.reverseCyclic(p, a, b);
+		hasMore = findNext();
+	}
+	
+	@Override
+	public void setSavepoint() {
+		saveA = a;
+		saveB = b;
+	}
+	
+	@Override
+	public void rollback() {
+		if (!rolled) {
+			rolled = true;
+			if (a != saveA || b != saveB) {
+				if (a >= 0) CandidateTwoChangeMutation.reverseCyclic(p, a, b);
+				if (saveA >= 0) CandidateTwoChangeMutation.reverseCyclic(p, saveA, saveB);
+			}
+		}
+	}
+	
+	@Override
+	public MoveDescriptor getLastMove() {
+		move.set(MoveDescriptor.Type.TWO_CHANGE, a, b);
+		return move;
+	}
+	
+	/*
+	 * Advances to the next two-change, setting nextA and nextB to its segment,
+	 * and returns false if there are none left. Skips two-changes that were
+	 * already generated earlier from a different element and candidate.
+	 */
+	private boolean findNext() {
+		final int n = index.length;
+		for ( ; x < n; x++, c = 0) {
+			int[] list = candidates[x];
+			while (c < list.length) {
+				int i = index[x];
+				int j = index[list[c]];
+				int currentC = c;
+				boolean isAfter = after;
+				if (after) {
+					after = false;
+				} else {
+					after = true;
+					c++;
+				}
+				if (CandidateTwoChangeMutation.isTwoChange(i, j, n)) {
+					if (isAfter) {
+						nextA = (i < j ? i : j) + 1;
+						nextB = i < j ? j : i;
+					} else {
+						nextA = CandidateTwoChangeMutation.segmentStartBefore(i, j);
+						nextB = CandidateTwoChangeMutation.segmentEndBefore(i, j, n);
+					}
+					if (!generatedEarlier(currentC, isAfter)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+	
+	/*
+	 * The two-change that reverses nextA through nextB replaces the edges that
+	 * begin at indexes nextA-1 and nextB. It is generated by the elements at those
+	 * indexes (with the elements after), and by the elements that follow them (with 
+	 * the elements before), each from either of the two elements' candidate lists. 
+	 * Checks if any of these precedes the current one in iteration order.
+	 */
+	private boolean generatedEarlier(int currentC, boolean currentAfter) {
+		int u = original[nextA - 1];
+		int v = original[nextB];
+		if (precedes(u, v, true, currentC, currentAfter) || precedes(v, u, true, currentC, currentAfter)) {
+			return true;
+		}
+		u = original[nextA];
+		v = original[nextB + 1 < index.length ? nextB + 1 : 0];
+		return precedes(u, v, false, currentC, currentAfter) || precedes(v, u, false, currentC, currentAfter);
+	}
+	
+	private boolean precedes(int u, int v, boolean uAfter, int currentC, boolean currentAfter) {
+		if (u > x) return false;
+		int k = 0;
+		int[] list = candidates[u];
+		for ( ; k < list.length && list[k] != v; k++);
+		if (k == list.length) return false;
+		if (u < x) return true;
+		return k < currentC || (k == currentC && uAfter && !currentAfter);
+	}
+}
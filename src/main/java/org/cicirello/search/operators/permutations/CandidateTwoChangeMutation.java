@@ -0,0 +1,228 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators.permutations;
+
+import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveDescriptor;
+import org.cicirello.search.operators.IterableMutationOperator;
+import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.permutations.Permutation;
+import org.cicirello.math.rand.RandomIndexer;
+
+/**
+ * <p>This class implements a two-change mutation operator for permutations, such as
+ * for the TSP, that is restricted by candidate lists. See the {@link TwoChangeMutation}
+ * class for a description of the two-change operator, and its interpretation of a 
+ * permutation as a cyclic sequence of undirected edges. Rather than considering all 
+ * two-changes, the CandidateTwoChangeMutation only considers the two-changes that add
+ * an edge between an element and one of the elements of its candidate list, such as the 
+ * k nearest neighbors of each city of a TSP instance (e.g., see the
+ * {@link org.cicirello.search.problems.tsp.BaseTSP#getNearestNeighbors getNearestNeighbors}
+ * method of the TSP classes). Each element x has two such two-changes for each element y of
+ * its candidate list: one that adds the edges (x, y) and (next(x), next(y)), and one that adds
+ * the edges (x, y) and (previous(x), previous(y)), where next and previous refer to the adjacent
+ * elements in the permutation.</p>
+ *
+ * <p>The {@link #mutate(Permutation) mutate} method picks an element x uniformly at random,
+ * an element y uniformly at random from x's candidate list, and then one of the two two-changes
+ * that add the edge (x, y). If x and y are already adjacent, then the mutate method 
+ * makes no changes, and the {@link #getLastMove getLastMove} method describes no move.</p>
+ *
+ * <p>The {@link #iterator iterator} method creates a {@link MutationIterator} over only the
+ * two-changes of the candidate lists, of which there are at most 2nk for a permutation of length n
+ * and candidate lists of length k, rather than the n(n-3)/2 of all of the two-changes. This makes
+ * local search, such as steepest descent, practical for very large TSP instances. Some of these
+ * two-changes may be iterated over more than once.</p>
+ *
+ * <p>The mutate method finds the positions of x and y in constant time, from the positions of the 
+ * elements that it maintains for the permutation that it most recently mutated, which it recomputes
+ * in O(n) time only if the permutation was changed by other means, or if it is a different permutation.
+ * The runtime of both the {@link #mutate(Permutation) mutate} and {@link #undo(Permutation) undo} 
+ * methods is otherwise proportional to the number of elements that change locations, which is at 
+ * most n/2, where n is the length of the permutation.</p>
+ *
+ * <p>For permutations of length n &lt; 4, the CandidateTwoChangeMutation operator
+ * makes no changes, as there are no two-change neighbors of permutations of that size.</p> 
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class CandidateTwoChangeMutation implements UndoableMutationOperator<Permutation>, IterableMutationOperator<Permutation> {
+	
+	private final int[][] candidates;
+	private final MoveDescriptor move;
+	private final ElementPositions positions;
+	
+	// needed to implement undo
+	private int a;
+	private int b;
+	
+	/**
+	 * Constructs a CandidateTwoChangeMutation operator. 
+	 *
+	 * @param candidates The candidate lists, such that candidates[x] is the candidate list of element x.
+	 * Every candidate list must be non-empty. The array is not copied, and must not be changed while this 
+	 * mutation operator, or any of its splits, is in use.
+	 * @throws NullPointerException if candidates is null.
+	 */
+	public CandidateTwoChangeMutation(int[][] candidates) {
+		if (candidates == null) {
+			throw new NullPointerException("candidates is null");
+		}
+		this.candidates = candidates;
+		move = new MoveDescriptor();
+		positions = new ElementPositions();
+		a = -1;
+	}
+	
+	@Override
+	public final void mutate(Permutation c) {
+		final int n = c.length();
+		if (n >= 4) {
+			int x = RandomIndexer.nextInt(n);
+			int[] list = candidates[x];
+			int y = list[RandomIndexer.nextInt(list.length)];
+			int i = positions.positionOf(c, x);
+			int j = positions.positionOf(c, y);
+			if (isTwoChange(i, j, n)) {
+				setSegment(i, j, RandomIndexer.nextInt(2) == 0, n);
+				reverse(c);
+				move.set(MoveDescriptor.Type.TWO_CHANGE, a, b);
+				return;
+			}
+			// x and y are already adjacent
+		}
+		a = -1;
+		move.clear();
+	}
+	
+	@Override
+	public final void undo(Permutation c) {
+		if (c.length() >= 4 && a >= 0) {
+			reverse(c);
+		}
+	}
+	
+	@Override
+	public MoveDescriptor getLastMove() {
+		return move;
+	}
+	
+	@Override
+	public CandidateTwoChangeMutation split() {
+		return new CandidateTwoChangeMutation(candidates);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>The worst case runtime of the {@link MutationIterator#hasNext} and the 
+	 * {@link MutationIterator#setSavepoint} methods of the {@link MutationIterator} 
+	 * created by this method is O(1). The worst case runtime of the
+	 * {@link MutationIterator#nextMutant} and {@link MutationIterator#rollback} methods 
+	 * is O(n), where n is the length of the Permutation, although each of these
+	 * changes the locations of at most n/2 elements. Creating the iterator requires O(n) time.</p>
+	 */
+	@Override
+	public MutationIterator iterator(Permutation p) {
+		return new CandidateTwoChangeIterator(p, candidates);
+	}
+	
+	/*
+	 * Reverses the segment from a to b cyclically, and updates the positions
+	 * of the elements that moved.
+	 */
+	private void reverse(Permutation c) {
+		reverseCyclic(c, a, b);
+		final int n = c.length();
+		if (b - a + 1 <= (n >> 1)) {
+			positions.update(c, a, b);
+		} else {
+			positions.update(c, b + 1, n - 1);
+			positions.update(c, 0, a - 1);
+		}
+	}
+	
+	/*
+	 * Checks if the elements at indexes i and j are not adjacent, in which case
+	 * there are two-changes that make them adjacent.
+	 */
+	static boolean isTwoChange(int i, int j, int n) {
+		int length = i < j ? j - i : i - j;
+		return length >= 2 && length <= n - 2;
+	}
+	
+	/*
+	 * Sets a and b to the segment whose reversal makes the elements
+	 * at indexes i and j adjacent, such that either the elements after them,
+	 * or the elements before them, also become adjacent.
+	 */
+	private void setSegment(int i, int j, boolean after, int n) {
+		if (after) {
+			a = (i < j ? i : j) + 1;
+			b = i < j ? j : i;
+		} else {
+			a = segmentStartBefore(i, j);
+			b = segmentEndBefore(i, j, n);
+		}
+	}
+	
+	/*
+	 * The two-change that makes the elements before those at indexes i and j adjacent
+	 * replaces the edges that begin at indexes lo-1 and hi-1, where lo and hi are the lesser
+	 * and greater of i and j. If lo is 0, the first of these wraps around to the end of
+	 * the permutation. The segment is chosen so that it never begins at index 0, so 
+	 * that each two-change has a unique segment.
+	 */
+	static int segmentStartBefore(int i, int j) {
+		int lo = i < j ? i : j;
+		int hi = i < j ? j : i;
+		return lo > 0 ? lo : hi;
+	}
+	
+	static int segmentEndBefore(int i, int j, int n) {
+		int lo = i < j ? i : j;
+		int hi = i < j ? j : i;
+		return lo > 0 ? hi - 1 : n - 1;
+	}
+	
+	/*
+	 * Implements the two-change that reverses the elements at indexes a through b,
+	 * by reversing either those elements or the complementary elements (which wrap around
+	 * the end of the permutation), whichever is shorter, such that the elements at indexes 
+	 * a through b, inclusive, are in the same relative order, and at the same indexes, as
+	 * if the complement had been reversed. The operation is its own inverse.
+	 */
+	static void reverseCyclic(Permutation c, int a, int b) {
+		final int n = c.length();
+		int length = b - a + 1;
+		if (length <= (n >> 1)) {
+			c.reverse(a, b);
+		} else {
+			int i = b + 1 < n ? b + 1 : 0;
+			int j = a > 0 ? a - 1 : n - 1;
+			for (int count = (n - length) >> 1; count > 0; count--) {
+				c.swap(i, j);
+				i = i + 1 < n ? i + 1 : 0;
+				j = j > 0 ? j - 1 : n - 1;
+			}
+		}
+	}
+}
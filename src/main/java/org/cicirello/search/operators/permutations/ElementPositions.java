@@ -0,0 +1,66 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.operators.permutations;
+
+import org.cicirello.permutations.Permutation;
+
+/**
+ * Internal (package-private) class that maintains the positions of the elements of 
+ * the permutation most recently mutated by a mutation operator, such that the operator
+ * can find the positions of elements in constant time, rather than by a linear search.
+ * Since the permutation may have been changed by other means since it was last mutated,
+ * or may be a different permutation altogether, the position of an element is verified 
+ * before it is used, and all of the positions are recomputed in linear time only if it is wrong.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+final class ElementPositions {
+	
+	private int[] position;
+	
+	ElementPositions() {
+		position = new int[0];
+	}
+	
+	/*
+	 * Gets the index of element x in permutation c.
+	 */
+	int positionOf(Permutation c, int x) {
+		if (position.length != c.length() || c.get(position[x]) != x) {
+			if (position.length != c.length()) {
+				position = new int[c.length()];
+			}
+			update(c, 0, position.length - 1);
+		}
+		return position[x];
+	}
+	
+	/*
+	 * Updates the positions of the elements at indexes first through last of c, inclusive,
+	 * such as after a mutation moves elements only within that range.
+	 */
+	void update(Permutation c, int first, int last) {
+		for (int k = first; k <= last; k++) {
+			position[c.get(k)] = k;
+		}
+	}
+}
@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -36,6 +37,7 @@ final class InsertionIterator implements MutationIterator {
 	private boolean rolled;
 	private boolean hasMore;
 	private final Permutation p;
+	private final MoveDescriptor move;
 	private int i;
 	private int j;
 	private int x;
@@ -43,6 +45,7 @@ final class InsertionIterator implements MutationIterator {
 	
 	InsertionIterator(Permutation p) {
 		this.p = p;
+		move = new MoveDescriptor();
 		hasMore = p.length() >= 2;
 		// Default inits:
 		//    x = y = i = j = 0;
@@ -102,4 +105,21 @@ final class InsertionIterator implements MutationIterator {
 			}
 		}
 	}
+	
+	@Override
+	public MoveDescriptor getLastMove() {
+		// the current neighbor is the original with the element at j moved to i
+		if (j < i) {
+			move.set(MoveDescriptor.Type.BLOCK_INTERCHANGE, j, j, j+1, i);
+		} else {
+			move.set(MoveDescriptor.Type.BLOCK_INTERCHANGE, i, j-1, j, j);
+		}
+		return move;
+	}
+	
+	@Override
+	public int neighborhoodSize() {
+		int n = p.length();
+		return n >= 2 ? (n - 1) * (n - 1) : 0;
+	}
 }
\ No newline at end of file
@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
 import org.cicirello.permutations.Permutation;
@@ -46,12 +47,14 @@ public class InsertionMutation implements UndoableMutationOperator<Permutation>,
 
 	// needed to implement undo
 	private final int[] indexes;
+	private final MoveDescriptor move;
 	
 	/**
 	 * Constructs an InsertionMutation mutation operator.
 	 */
 	public InsertionMutation() { 
 		indexes = new int[2]; 
+		move = new MoveDescriptor();
 	}
 	
 	@Override
@@ -59,6 +62,13 @@ public class InsertionMutation implements UndoableMutationOperator<Permutation>,
 		if (c.length() >= 2) {
 			generateIndexes(c.length(), indexes);
 			c.removeAndInsert(indexes[0], indexes[1]);
+			// An insertion is an interchange of the moved element with
+			// the block of elements between its old and new positions.
+			if (indexes[0] < indexes[1]) {
+				move.set(MoveDescriptor.Type.BLOCK_INTERCHANGE, indexes[0], indexes[0], indexes[0]+1, indexes[1]);
+			} else {
+				move.set(MoveDescriptor.Type.BLOCK_INTERCHANGE, indexes[1], indexes[0]-1, indexes[0], indexes[0]);
+			}
 		}
 	}
 	
@@ -67,6 +77,11 @@ public class InsertionMutation implements UndoableMutationOperator<Permutation>,
 		if (c.length() >= 2) c.removeAndInsert(indexes[1], indexes[0]);
 	}
 	
+	@Override
+	public final MoveDescriptor getLastMove() {
+		return move;
+	}
+	
 	@Override
 	public InsertionMutation split() {
 		return new InsertionMutation();
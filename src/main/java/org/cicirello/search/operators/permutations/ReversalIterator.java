@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -35,6 +36,7 @@ final class ReversalIterator implements MutationIterator {
 	private boolean rolled;
 	private boolean hasMore;
 	private final Permutation p;
+	private final MoveDescriptor move;
 	private int i;
 	private int j;
 	private int u;
@@ -44,6 +46,7 @@ final class ReversalIterator implements MutationIterator {
 	
 	ReversalIterator(Permutation p) {
 		this.p = p;
+		move = new MoveDescriptor();
 		hasMore = p.length() >= 2;
 		// Default inits:
 		//    y = x = u = v = i = j = 0;
@@ -101,4 +104,16 @@ final class ReversalIterator implements MutationIterator {
 			}
 		}
 	}
+	
+	@Override
+	public MoveDescriptor getLastMove() {
+		move.set(MoveDescriptor.Type.REVERSAL, u, v);
+		return move;
+	}
+	
+	@Override
+	public int neighborhoodSize() {
+		int n = p.length();
+		return n * (n - 1) / 2;
+	}
 }
\ No newline at end of file
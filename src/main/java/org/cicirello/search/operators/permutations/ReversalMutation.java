@@ -22,6 +22,7 @@ package org.cicirello.search.operators.permutations;
 
 
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
 import org.cicirello.permutations.Permutation;
@@ -46,12 +47,14 @@ public class ReversalMutation implements UndoableMutationOperator<Permutation>,
 	
 	// needed to implement undo
 	private final int[] indexes;
+	private final MoveDescriptor move;
 	
 	/**
 	 * Constructs an ReversalMutation mutation operator.
 	 */
 	public ReversalMutation() { 
 		indexes = new int[2]; 
+		move = new MoveDescriptor();
 	}
 
 	@Override
@@ -59,6 +62,11 @@ public class ReversalMutation implements UndoableMutationOperator<Permutation>,
 		if (c.length() >= 2) {
 			generateIndexes(c.length(), indexes);
 			c.reverse(indexes[0], indexes[1]);
+			if (indexes[0] < indexes[1]) {
+				move.set(MoveDescriptor.Type.REVERSAL, indexes[0], indexes[1]);
+			} else {
+				move.set(MoveDescriptor.Type.REVERSAL, indexes[1], indexes[0]);
+			}
 		}
 	}
 	
@@ -67,6 +75,11 @@ public class ReversalMutation implements UndoableMutationOperator<Permutation>,
 		if (c.length() >= 2) c.reverse(indexes[0], indexes[1]);
 	}
 	
+	@Override
+	public final MoveDescriptor getLastMove() {
+		return move;
+	}
+	
 	@Override
 	public ReversalMutation split() {
 		return new ReversalMutation();
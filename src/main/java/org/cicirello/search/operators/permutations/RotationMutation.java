@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
 import org.cicirello.permutations.Permutation;
@@ -46,15 +47,21 @@ import org.cicirello.math.rand.RandomIndexer;
 public final class RotationMutation implements UndoableMutationOperator<Permutation>, IterableMutationOperator<Permutation> {
 	
 	private int r;
+	private final MoveDescriptor move;
 	
 	/**
 	 * Constructs an RotationMutation mutation operator.
 	 */
-	public RotationMutation() {}
+	public RotationMutation() {
+		move = new MoveDescriptor();
+	}
 	
 	@Override
 	public void mutate(Permutation c) {
-        if (c.length() > 1) c.rotate(r = 1 + RandomIndexer.nextInt(c.length()-1));
+        if (c.length() > 1) {
+			c.rotate(r = 1 + RandomIndexer.nextInt(c.length()-1));
+			move.set(MoveDescriptor.Type.ROTATION, r);
+		}
 	}
 	
 	@Override
@@ -62,6 +69,11 @@ public final class RotationMutation implements UndoableMutationOperator<Permutat
 		if (c.length() > 1) c.rotate(c.length() - r);
 	}
 	
+	@Override
+	public MoveDescriptor getLastMove() {
+		return move;
+	}
+	
 	@Override
 	public RotationMutation split() {
 		return new RotationMutation();
@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -35,6 +36,7 @@ final class SwapIterator implements MutationIterator {
 	private boolean rolled;
 	private boolean hasMore;
 	private final Permutation p;
+	private final MoveDescriptor move;
 	private int i;
 	private int j;
 	private int x;
@@ -42,6 +44,7 @@ final class SwapIterator implements MutationIterator {
 	
 	SwapIterator(Permutation p) {
 		this.p = p;
+		move = new MoveDescriptor();
 		hasMore = p.length() >= 2;
 		// Default inits:
 		//    y = x = i = j = 0;
@@ -87,4 +90,41 @@ final class SwapIterator implements MutationIterator {
 			}
 		}
 	}
+	
+	@Override
+	public MoveDescriptor getLastMove() {
+		move.set(MoveDescriptor.Type.SWAP, i, j);
+		return move;
+	}
+	
+	@Override
+	public int neighborhoodSize() {
+		int n = p.length();
+		return n * (n - 1) / 2;
+	}
+	
+	@Override
+	public void skip(int count) {
+		if (rolled) throw new IllegalStateException("illegal to call skip after calling rollback");
+		if (count <= 0) return;
+		int n = p.length();
+		// index of the current neighbor in the iteration order, or -1 if there isn't one yet
+		int index = -1;
+		if (i != j) {
+			index = i * (2 * n - i - 1) / 2 + j - i - 1;
+		}
+		if (index + count >= neighborhoodSize()) throw new IllegalStateException("no neighbors left");
+		if (i != j) {
+			p.swap(i,j);
+		}
+		int k = index + count;
+		i = 0;
+		for (int rowLength = n - 1; k >= rowLength; rowLength--) {
+			k -= rowLength;
+			i++;
+		}
+		j = i + 1 + k;
+		p.swap(i,j);
+		if (i == n-2) hasMore = false;
+	}
 }
\ No newline at end of file
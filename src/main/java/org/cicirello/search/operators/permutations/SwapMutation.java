@@ -22,6 +22,7 @@ package org.cicirello.search.operators.permutations;
 
 
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
 import org.cicirello.permutations.Permutation;
@@ -44,12 +45,14 @@ public class SwapMutation implements UndoableMutationOperator<Permutation>, Iter
 
 	// needed to implement undo
 	private final int[] indexes;
+	private final MoveDescriptor move;
 	
 	/**
 	 * Constructs an SwapMutation mutation operator.
 	 */
 	public SwapMutation() { 
 		indexes = new int[2]; 
+		move = new MoveDescriptor();
 	}
 	
 	@Override
@@ -57,6 +60,11 @@ public class SwapMutation implements UndoableMutationOperator<Permutation>, Iter
 		if (c.length() >= 2) {
 			generateIndexes(c.length(), indexes);
 			c.swap(indexes[0], indexes[1]);
+			if (indexes[0] < indexes[1]) {
+				move.set(MoveDescriptor.Type.SWAP, indexes[0], indexes[1]);
+			} else {
+				move.set(MoveDescriptor.Type.SWAP, indexes[1], indexes[0]);
+			}
 		}
 	}
 	
@@ -65,6 +73,11 @@ public class SwapMutation implements UndoableMutationOperator<Permutation>, Iter
 		if (c.length() >= 2) c.swap(indexes[0], indexes[1]);
 	}
 	
+	@Override
+	public final MoveDescriptor getLastMove() {
+		return move;
+	}
+	
 	@Override
 	public SwapMutation split() {
 		return new SwapMutation();
@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.math.rand.RandomIndexer;
 
@@ -77,6 +78,7 @@ public final class ThreeOptMutation implements UndoableMutationOperator<Permutat
 	private int lastRotation;
 	
 	private final TwoChangeMutation twoChange;
+	private final MoveDescriptor move;
 	
 	/**
 	 * Constructs a ThreeOptMutation operator.
@@ -84,6 +86,7 @@ public final class ThreeOptMutation implements UndoableMutationOperator<Permutat
 	public ThreeOptMutation() {
 		indexes = new int[3];
 		twoChange = new TwoChangeMutation();
+		move = new MoveDescriptor();
 	}
 	
 	@Override
@@ -94,6 +97,8 @@ public final class ThreeOptMutation implements UndoableMutationOperator<Permutat
 			threeOrTwoChange(indexes, which, c);
 		} else if (c.length() == 4) {
 			twoChange.mutate(c);
+			MoveDescriptor m = twoChange.getLastMove();
+			move.set(MoveDescriptor.Type.TWO_CHANGE, m.getFirst(), m.getSecond());
 		}
 	}
 	
@@ -106,6 +111,21 @@ public final class ThreeOptMutation implements UndoableMutationOperator<Permutat
 		}
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>For permutations of length at least 5, the move is described as a
+	 * {@link MoveDescriptor.Type#THREE_OPT THREE_OPT} move, even in the cases
+	 * where the mutation is a two-change, in terms of positions after the mutation
+	 * (i.e., after the rotation performed by this operator). For permutations of
+	 * length 4, the move is described as a
+	 * {@link MoveDescriptor.Type#TWO_CHANGE TWO_CHANGE}.</p>
+	 */
+	@Override
+	public MoveDescriptor getLastMove() {
+		return move;
+	}
+	
 	@Override
 	public ThreeOptMutation split() {
 		return new ThreeOptMutation();
@@ -122,29 +142,35 @@ public final class ThreeOptMutation implements UndoableMutationOperator<Permutat
 		if (indexes[2] == 2) {
 			// Two singleton segments on left: just swap for 2-change
 			c.swap(0,1);
+			setThreeOpt(0, 1, 2, 0);
 		} else if (indexes[1] == 1) {
 			if (indexes[2]==c.length()-1) {
 				// Outside segments singletons
 				// Just swap for 2-change
 				c.swap(0, indexes[2]);
+				setThreeOpt(1, indexes[2], 0, 0);
 			} else {
 				// left is only singleton
 				if (which == 0) {
 					// Ensure all 3 changes are equally likely,
 					// although 2-changes will have a bit of a bias.
 					c.removeAndInsert(1, indexes[2] - 1, 0);
+					setThreeOpt(0, indexes[2]-1, indexes[2], 0);
 				} else {
 					// Reversal
 					if (c.length()-indexes[2] >= indexes[2] - indexes[1]) {
 						c.reverse(0, indexes[2]-1);
+						setThreeOpt(0, indexes[2]-1, indexes[2], 3);
 					} else {
 						c.reverse(1, indexes[2]-1);
+						setThreeOpt(0, 1, indexes[2], 1);
 					}
 				}
 			}
 		} else if (indexes[1] == c.length() - 2) {
 			// Two singletons on the right: just swap them for a 2-change
 			c.swap(indexes[1], indexes[2]);
+			setThreeOpt(indexes[1], indexes[2], 0, 0);
 		} else if (indexes[2] == c.length() - 1) {
 			// One singleton on the right
 			// Other two > 1 in length
@@ -152,12 +178,15 @@ public final class ThreeOptMutation implements UndoableMutationOperator<Permutat
 				// Ensure all 3 changes are equally likely,
 				// although 2-changes will have a bit of a bias.
 				c.removeAndInsert(indexes[2], 1, indexes[1]);
+				setThreeOpt(indexes[1], indexes[1]+1, 0, 0);
 			} else {
 				// Reversal
 				if (indexes[1] >= indexes[2]-indexes[1]) {
 					c.reverse(indexes[1], indexes[2]);
+					setThreeOpt(indexes[1], indexes[1]+1, 0, 2);
 				} else {
 					c.reverse(indexes[1], indexes[2]-1);
+					setThreeOpt(indexes[1], indexes[2], 0, 1);
 				}
 			}
 		} else if (indexes[2] == indexes[1] + 1) {
@@ -166,27 +195,34 @@ public final class ThreeOptMutation implements UndoableMutationOperator<Permutat
 				// Ensure all 3 changes are equally likely,
 				// although 2-changes will have a bit of a bias.
 				c.removeAndInsert(indexes[1], 1, 0);
+				setThreeOpt(0, 1, indexes[2], 0);
 			} else {
 				// Reversal
 				if (indexes[1] <= c.length()-indexes[2]) {
 					c.reverse(0, indexes[1]);
+					setThreeOpt(0, 1, indexes[2], 2);
 				} else {
 					c.reverse(indexes[1], c.length()-1);
+					setThreeOpt(indexes[1], c.length()-1, 0, 3);
 				}
 			}
 		} else {
 			// No Singletons
 			if (which == 0) {
 				c.removeAndInsert(indexes[1], indexes[2]-indexes[1], 0);
+				setThreeOpt(0, indexes[2]-indexes[1], indexes[2], 0);
 			} else if (which == 1) {
 				c.reverse(0, indexes[1]-1);
 				c.reverse(indexes[1], indexes[2]-1);
+				setThreeOpt(0, indexes[1], indexes[2], 1);
 			} else if (which == 2) {
 				c.reverse(0, indexes[1]-1);
 				c.removeAndInsert(indexes[1], indexes[2]-indexes[1], 0);
+				setThreeOpt(0, indexes[2]-indexes[1], indexes[2], 2);
 			} else {
 				c.reverse(indexes[1], indexes[2]-1);
 				c.removeAndInsert(indexes[1], indexes[2]-indexes[1], 0);
+				setThreeOpt(0, indexes[2]-indexes[1], indexes[2], 3);
 			}
 		}
 	}
@@ -267,4 +303,8 @@ public final class ThreeOptMutation implements UndoableMutationOperator<Permutat
 		}
 		c.rotate(-lastRotation);
 	}
+	
+	private void setThreeOpt(int startX, int startY, int startZ, int form) {
+		move.set(MoveDescriptor.Type.THREE_OPT, startX, startY, startZ, form);
+	}
 }
\ No newline at end of file
@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -43,6 +44,7 @@ final class TwoChangeIterator implements MutationIterator {
 	private boolean rolled;
 	private boolean hasMore;
 	private final Permutation p;
+	private final MoveDescriptor move;
 	private final int w;
 	private int i;
 	private int j;
@@ -53,6 +55,7 @@ final class TwoChangeIterator implements MutationIterator {
 	
 	TwoChangeIterator(Permutation p) {
 		this.p = p;
+		move = new MoveDescriptor();
 		this.w = p.length() - 3;
 		hasMore = p.length() >= 4;
 		// Default inits:
@@ -111,4 +114,16 @@ final class TwoChangeIterator implements MutationIterator {
 			}
 		}
 	}
+	
+	@Override
+	public MoveDescriptor getLastMove() {
+		move.set(MoveDescriptor.Type.TWO_CHANGE, u, v);
+		return move;
+	}
+	
+	@Override
+	public int neighborhoodSize() {
+		int n = p.length();
+		return n >= 4 ? n * (n - 3) / 2 : 0;
+	}
 }
\ No newline at end of file
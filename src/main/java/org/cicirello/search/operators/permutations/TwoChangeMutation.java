@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.search.operators.IterableMutationOperator;
 import org.cicirello.search.operators.MutationIterator;
 import org.cicirello.permutations.Permutation;
@@ -95,11 +96,13 @@ public final class TwoChangeMutation implements UndoableMutationOperator<Permuta
 	// needed to implement undo
 	private int a;
 	private int b;
+	private final MoveDescriptor move;
 	
 	/**
 	 * Constructs an TwoChangeMutation mutation operator.
 	 */
 	public TwoChangeMutation() {
+		move = new MoveDescriptor();
 	}
 
 	@Override
@@ -116,6 +119,11 @@ public final class TwoChangeMutation implements UndoableMutationOperator<Permuta
 		}
 	}
 	
+	@Override
+	public MoveDescriptor getLastMove() {
+		return move;
+	}
+	
 	@Override
 	public TwoChangeMutation split() {
 		return new TwoChangeMutation();
@@ -148,6 +156,7 @@ public final class TwoChangeMutation implements UndoableMutationOperator<Permuta
 			a = first;
 		}
 		internalMutate(c);
+		move.set(MoveDescriptor.Type.TWO_CHANGE, a, b);
 	}
 	
 	private void internalMutate(Permutation c) {
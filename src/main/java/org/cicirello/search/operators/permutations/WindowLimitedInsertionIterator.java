@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -35,6 +36,7 @@ final class WindowLimitedInsertionIterator implements MutationIterator {
 	private boolean rolled;
 	private boolean hasMore;
 	private final Permutation p;
+	private final MoveDescriptor move;
 	private final int w;
 	private int i;
 	private int j;
@@ -43,6 +45,7 @@ final class WindowLimitedInsertionIterator implements MutationIterator {
 	
 	WindowLimitedInsertionIterator(Permutation p, int w) {
 		this.p = p;
+		move = new MoveDescriptor();
 		this.w = w;
 		hasMore = p.length() >= 2;
 		// Default inits:
@@ -102,5 +105,14 @@ final class WindowLimitedInsertionIterator implements MutationIterator {
 		}
 	}
 	
-	
+	@Override
+	public MoveDescriptor getLastMove() {
+		// the current neighbor is the original with the element at j moved to i
+		if (j < i) {
+			move.set(MoveDescriptor.Type.BLOCK_INTERCHANGE, j, j, j+1, i);
+		} else {
+			move.set(MoveDescriptor.Type.BLOCK_INTERCHANGE, i, j-1, j, j);
+		}
+		return move;
+	}
 }
\ No newline at end of file
@@ -21,6 +21,7 @@
 package org.cicirello.search.operators.permutations;
 
 import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -35,6 +36,7 @@ final class WindowLimitedSwapIterator implements MutationIterator {
 	private boolean rolled;
 	private boolean hasMore;
 	private final Permutation p;
+	private final MoveDescriptor move;
 	private final int w;
 	private int i;
 	private int j;
@@ -43,6 +45,7 @@ final class WindowLimitedSwapIterator implements MutationIterator {
 	
 	WindowLimitedSwapIterator(Permutation p, int w) {
 		this.p = p;
+		move = new MoveDescriptor();
 		this.w = w;
 		hasMore = p.length() >= 2;
 		// Default inits:
@@ -89,4 +92,10 @@ final class WindowLimitedSwapIterator implements MutationIterator {
 			}
 		}
 	}
+	
+	@Override
+	public MoveDescriptor getLastMove() {
+		move.set(MoveDescriptor.Type.SWAP, i, j);
+		return move;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems;
+
+import org.cicirello.util.Copyable;
+import org.cicirello.search.operators.MoveDescriptor;
+
+/**
+ * <p>The IntegerCostDeltaEvaluable interface is an optional capability of an optimization
+ * problem with integer valued costs (i.e., an {@link IntegerCostOptimizationProblem}), which 
+ * enables computing the change in cost caused by a mutation from just the part of 
+ * the candidate solution that the mutation changed. For example, the change in the length
+ * of a tour of the Traveling Salesperson Problem due to a reversal can be computed from
+ * the four edges that it affects in constant time, while recomputing the cost of the 
+ * entire tour requires linear time.</p>
+ *
+ * <p>Metaheuristics, such as {@link org.cicirello.search.sa.SimulatedAnnealing SimulatedAnnealing},
+ * use this interface when both the problem implements it and the mutation operator describes
+ * its moves via the 
+ * {@link org.cicirello.search.operators.UndoableMutationOperator#getLastMove getLastMove} method.
+ * Otherwise, they compute the cost of each neighbor with the 
+ * {@link IntegerCostOptimizationProblem#cost cost} method as usual.</p>
+ *
+ * @param <T> The type of object used to represent candidate solutions to the problem.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public interface IntegerCostDeltaEvaluable<T extends Copyable<T>> {
+	
+	/**
+	 * Checks whether this problem can compute the change in cost of a move.
+	 *
+	 * @param move A description of a move.
+	 * @return true if {@link #costDelta} supports the move, and false otherwise.
+	 */
+	boolean supportsDelta(MoveDescriptor move);
+	
+	/**
+	 * Computes the change in cost caused by a move. This method is called after
+	 * the move has been applied to the candidate solution.
+	 *
+	 * @param neighbor The candidate solution after the move was applied to it.
+	 * @param move A description of the move, which must be one for which 
+	 * {@link #supportsDelta} returns true.
+	 * @return The cost of the neighbor minus the cost of the candidate solution prior to the move.
+	 */
+	int costDelta(T neighbor, MoveDescriptor move);
+}
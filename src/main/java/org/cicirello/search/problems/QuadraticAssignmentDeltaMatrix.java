@@ -0,0 +1,240 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems;
+
+import org.cicirello.permutations.Permutation;
+import org.cicirello.search.operators.MoveDescriptor;
+
+/**
+ * <p>A QuadraticAssignmentDeltaMatrix maintains the change in cost of every swap of
+ * a current solution to a {@link QuadraticAssignmentProblem} (Taillard's delta matrix). The change
+ * in cost of any swap of the current solution is then available in constant time,
+ * and the entire swap neighborhood is scanned in quadratic time, such as in each
+ * iteration of a steepest descent or tabu search. After a swap is applied to the current
+ * solution, the delta matrix is updated in quadratic time, since the change in cost of each
+ * swap that doesn't involve either of the swapped positions is updated in constant time. Thus,
+ * the time per swap neighbor is constant amortized over a scan of the neighborhood, whereas the
+ * {@link QuadraticAssignmentProblem#costDelta costDelta} method of the QuadraticAssignmentProblem
+ * requires linear time per neighbor.</p>
+ *
+ * <p>The intended usage, such as within a steepest descent over the swap neighborhood,
+ * is as follows:</p>
+ * <pre><code>
+ * QuadraticAssignmentDeltaMatrix deltas = new QuadraticAssignmentDeltaMatrix(problem, solution);
+ * MoveDescriptor move = new MoveDescriptor();
+ * while (deltas.bestSwap(move) &lt; 0) {
+ *     solution.swap(move.getFirst(), move.getSecond());
+ *     deltas.swap(move.getFirst(), move.getSecond());
+ * }
+ * int cost = deltas.getCost();
+ * </code></pre>
+ *
+ * <p>A QuadraticAssignmentDeltaMatrix is not thread-safe, since it maintains the state of
+ * its current solution. If multiple threads are searching the same problem, then each thread
+ * should use its own QuadraticAssignmentDeltaMatrix. The memory required is quadratic in
+ * the size of the instance.</p>
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>,
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class QuadraticAssignmentDeltaMatrix {
+	
+	private final QuadraticAssignmentProblem problem;
+	
+	// cost and distance matrices of the problem in row-major order
+	private final int[] c;
+	private final int[] d;
+	private final int n;
+	
+	// the current solution, and the change in cost of swapping positions r < s at delta[r * n + s]
+	private final int[] p;
+	private final int[] delta;
+	private int cost;
+	
+	/**
+	 * Constructs a QuadraticAssignmentDeltaMatrix for a current solution, computing
+	 * the change in cost of every swap in cubic time.
+	 *
+	 * @param problem The instance of the QAP.
+	 * @param current The current solution, which is copied.
+	 *
+	 * @throws IllegalArgumentException if the length of current is not equal to problem.size()
+	 * @throws NullPointerException if problem or current is null
+	 */
+	public QuadraticAssignmentDeltaMatrix(QuadraticAssignmentProblem problem, Permutation current) {
+		this.problem = problem;
+		c = problem.costMatrix();
+		d = problem.distanceMatrix();
+		n = problem.size();
+		p = new int[n];
+		delta = new int[n * n];
+		reset(current);
+	}
+	
+	/**
+	 * Replaces the current solution, recomputing the change in cost of every
+	 * swap in cubic time.
+	 *
+	 * @param current The new current solution, which is copied.
+	 * @return the cost of the new current solution
+	 *
+	 * @throws IllegalArgumentException if the length of current is not equal to the size of the problem
+	 */
+	public int reset(Permutation current) {
+		if (current.length() != n) {
+			throw new IllegalArgumentException("permutation length must equal the size of the problem");
+		}
+		current.toArray(p);
+		cost = problem.cost(current);
+		for (int r = 0; r < n; r++) {
+			for (int s = r + 1; s < n; s++) {
+				delta[r * n + s] = computeDelta(r, s);
+			}
+		}
+		return cost;
+	}
+	
+	/**
+	 * Gets the cost of the current solution.
+	 *
+	 * @return the cost of the current solution
+	 */
+	public int getCost() {
+		return cost;
+	}
+	
+	/**
+	 * Gets the change in cost of swapping two elements of the current solution, in
+	 * constant time.
+	 *
+	 * @param r The position of one of the elements.
+	 * @param s The position of the other element, which must be different than r.
+	 * @return the cost of the current solution after the swap minus its cost before the swap
+	 *
+	 * @throws ArrayIndexOutOfBoundsException if either r or s is negative, or not less than the size of the problem
+	 */
+	public int swapDelta(int r, int s) {
+		return r < s ? delta[r * n + s] : delta[s * n + r];
+	}
+	
+	/**
+	 * Finds a swap of the current solution with the least change in cost, in quadratic time.
+	 *
+	 * @param move Set to a {@link MoveDescriptor.Type#SWAP SWAP} of the positions of the
+	 * best swap, with the lesser position first. If the problem has fewer than two
+	 * elements, then there are no swaps, and move is not changed.
+	 * @return the change in cost of the best swap, or Integer.MAX_VALUE if the problem has
+	 * fewer than two elements
+	 */
+	public int bestSwap(MoveDescriptor move) {
+		int best = Integer.MAX_VALUE;
+		int bestR = -1;
+		int bestS = -1;
+		for (int r = 0; r < n; r++) {
+			int row = r * n;
+			for (int s = r + 1; s < n; s++) {
+				if (delta[row + s] < best) {
+					best = delta[row + s];
+					bestR = r;
+					bestS = s;
+				}
+			}
+		}
+		if (bestR >= 0) {
+			move.set(MoveDescriptor.Type.SWAP, bestR, bestS);
+		}
+		return best;
+	}
+	
+	/**
+	 * Swaps two elements of the current solution, updating the change in cost of every swap
+	 * in quadratic time. This method doesn't change any Permutation passed to the constructor
+	 * or to the {@link #reset} method, so the caller should apply the same swap to its own
+	 * copy of the solution.
+	 *
+	 * @param u The position of one of the elements.
+	 * @param v The position of the other element, which must be different than u.
+	 *
+	 * @throws ArrayIndexOutOfBoundsException if either u or v is negative, or not less than the size of the problem
+	 */
+	public void swap(int u, int v) {
+		cost += swapDelta(u, v);
+		int temp = p[u];
+		p[u] = p[v];
+		p[v] = temp;
+		int pu = p[u];
+		int pv = p[v];
+		int rowU = u * n;
+		int rowV = v * n;
+		for (int r = 0; r < n; r++) {
+			if (r == u || r == v) continue;
+			int rowR = r * n;
+			int pr = p[r];
+			// terms of the update that depend only on r
+			int cR = c[rowR + u] - c[rowR + v];
+			int cRT = c[rowU + r] - c[rowV + r];
+			int dR = d[pr * n + pv] - d[pr * n + pu];
+			int dRT = d[pv * n + pr] - d[pu * n + pr];
+			for (int s = r + 1; s < n; s++) {
+				if (s == u || s == v) continue;
+				int rowS = s * n;
+				int ps = p[s];
+				// Taillard's constant time update of swaps that don't involve u or v
+				delta[rowR + s] +=
+					(cR + c[rowS + v] - c[rowS + u]) * (d[ps * n + pu] - d[ps * n + pv] + dR)
+					+ (cRT + c[rowV + s] - c[rowU + s]) * (d[pu * n + ps] - d[pv * n + ps] + dRT);
+			}
+		}
+		// swaps that involve u or v are recomputed in linear time
+		for (int k = 0; k < n; k++) {
+			if (k != u) {
+				delta[k < u ? k * n + u : rowU + k] = k < u ? computeDelta(k, u) : computeDelta(u, k);
+			}
+			if (k != v && k != u) {
+				delta[k < v ? k * n + v : rowV + k] = k < v ? computeDelta(k, v) : computeDelta(v, k);
+			}
+		}
+	}
+	
+	/*
+	 * Computes the change in cost of swapping positions r and s of the current
+	 * solution in linear time.
+	 */
+	private int computeDelta(int r, int s) {
+		int pr = p[r];
+		int ps = p[s];
+		int rowR = r * n;
+		int rowS = s * n;
+		int rowPR = pr * n;
+		int rowPS = ps * n;
+		int result = 0;
+		for (int k = 0; k < n; k++) {
+			if (k != r && k != s) {
+				int pk = p[k];
+				int rowPK = pk * n;
+				result += (c[rowR + k] - c[rowS + k]) * (d[rowPS + pk] - d[rowPR + pk])
+					+ (c[k * n + r] - c[k * n + s]) * (d[rowPK + ps] - d[rowPK + pr]);
+			}
+		}
+		result += (c[rowR + s] - c[rowS + r]) * (d[rowPS + pr] - d[rowPR + ps]);
+		return result;
+	}
+}
@@ -22,6 +22,7 @@ package org.cicirello.search.problems;
 
 import org.cicirello.permutations.Permutation;
 import org.cicirello.math.rand.RandomIndexer;
+import org.cicirello.search.operators.MoveDescriptor;
 import java.util.SplittableRandom;
 import java.util.random.RandomGenerator;
 
@@ -35,36 +36,80 @@ import java.util.random.RandomGenerator;
  * method, as well as creating instances by directly specifying the cost and distance matrices
  * via the {@link #createInstance createInstance}.
  *
+ * <p>The cost and distance matrices are stored in flat arrays, in row-major order, 
+ * for locality of reference. This class also implements the {@link IntegerCostDeltaEvaluable}
+ * interface, computing the change in cost of a swap in linear time, rather than
+ * recomputing the cost of the entire permutation in quadratic time. For example, a 
+ * {@link org.cicirello.search.hc.SteepestDescentHillClimber SteepestDescentHillClimber} with
+ * a {@link org.cicirello.search.operators.permutations.SwapMutation SwapMutation} scans the
+ * entire swap neighborhood in cubic time, rather than in time proportional to n<sup>4</sup>.
+ * The change in cost of a reversal, insertion, block move, or block interchange is computed
+ * in time proportional to the product of n and the number of positions that the move changes.
+ * A search that repeatedly scans the entire swap neighborhood of a single current solution can
+ * instead use a {@link QuadraticAssignmentDeltaMatrix}, which maintains the change in cost of every 
+ * swap, and scans the swap neighborhood in quadratic time.</p>
+ *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  */
-public final class QuadraticAssignmentProblem implements IntegerCostOptimizationProblem<Permutation> {
+public final class QuadraticAssignmentProblem implements IntegerCostOptimizationProblem<Permutation>, IntegerCostDeltaEvaluable<Permutation> {
 	
-	private final int[][] cost;
-	private final int[][] distance;
+	// cost and distance matrices in row-major order
+	private final int[] cost;
+	private final int[] distance;
+	private final int n;
 	
 	/*
 	 * package private internal constructor. This constructor does no validation.
-	 * Additionally, be careful in matrices passed to this constructor as it
-	 * stores references directly to those matrices.
+	 * The matrices are copied into flat arrays.
 	 */
 	QuadraticAssignmentProblem(int[][] cost, int[][] distance) {
-		this.cost = cost;
-		this.distance = distance;
+		n = cost.length;
+		this.cost = flatten(cost);
+		this.distance = flatten(distance);
 	}
 	
 	@Override
 	public int cost(Permutation candidate) {
 		int total = 0;
-		for (int i = 0; i < cost.length; i++) {
-			for (int j = i+1; j < cost.length; j++) {
-				total += cost[i][j] * distance[candidate.get(i)][candidate.get(j)];
-				total += cost[j][i] * distance[candidate.get(j)][candidate.get(i)];
+		for (int i = 0; i < n; i++) {
+			int row = i * n;
+			int dRow = candidate.get(i) * n;
+			for (int j = 0; j < n; j++) {
+				if (j != i) {
+					total += cost[row + j] * distance[dRow + candidate.get(j)];
+				}
 			}
 		}
 		return total;
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The QuadraticAssignmentProblem supports moves of the types 
+	 * {@link MoveDescriptor.Type#SWAP SWAP}, {@link MoveDescriptor.Type#REVERSAL REVERSAL}, 
+	 * and {@link MoveDescriptor.Type#BLOCK_INTERCHANGE BLOCK_INTERCHANGE} (which includes
+	 * insertions and block moves).</p>
+	 */
+	@Override
+	public boolean supportsDelta(MoveDescriptor move) {
+		if (move == null) return false;
+		MoveDescriptor.Type type = move.getType();
+		return type == MoveDescriptor.Type.SWAP 
+			|| type == MoveDescriptor.Type.REVERSAL 
+			|| type == MoveDescriptor.Type.BLOCK_INTERCHANGE;
+	}
+	
+	@Override
+	public int costDelta(Permutation neighbor, MoveDescriptor move) {
+		if (move.getType() == MoveDescriptor.Type.SWAP) {
+			return swapDelta(neighbor, move.getFirst(), move.getSecond());
+		}
+		int last = move.getType() == MoveDescriptor.Type.REVERSAL ? move.getSecond() : move.getFourth();
+		return rangeDelta(neighbor, move, move.getFirst(), last);
+	}
+	
 	@Override
 	public int value(Permutation candidate) {
 		return cost(candidate);
@@ -81,7 +126,7 @@ public final class QuadraticAssignmentProblem implements IntegerCostOptimization
 	 * @return the size of the instance.
 	 */
 	public int size() {
-		return cost.length;
+		return n;
 	}
 	
 	/**
@@ -94,7 +139,8 @@ public final class QuadraticAssignmentProblem implements IntegerCostOptimization
 	 * or equal to size().
 	 */
 	public int getCost(int i, int j) {
-		return cost[i][j];
+		if (j < 0 || j >= n) throw new IndexOutOfBoundsException("column index out of bounds");
+		return cost[i * n + j];
 	}
 	
 	/**
@@ -107,7 +153,8 @@ public final class QuadraticAssignmentProblem implements IntegerCostOptimization
 	 * or equal to size().
 	 */
 	public int getDistance(int i, int j) {
-		return distance[i][j];
+		if (j < 0 || j >= n) throw new IndexOutOfBoundsException("column index out of bounds");
+		return distance[i * n + j];
 	}
 	
 	/**
@@ -125,16 +172,12 @@ public final class QuadraticAssignmentProblem implements IntegerCostOptimization
 		if (cost.length != distance.length) {
 			throw new IllegalArgumentException("cost and distance matrices must have same number of rows");
 		}
-		int[][] costPrime = new int[cost.length][];
-		int[][] distancePrime = new int[distance.length][];
 		for (int i = 0; i < cost.length; i++) {
 			if (cost[i].length != cost.length || distance[i].length != cost.length) {
 				throw new IllegalArgumentException("cost and distance matrices must be square");
 			}
-			costPrime[i] = cost[i].clone();
-			distancePrime[i] = distance[i].clone();
 		}
-		return new QuadraticAssignmentProblem(costPrime, distancePrime);
+		return new QuadraticAssignmentProblem(cost, distance);
 	}
 	
 	/**
@@ -181,6 +224,125 @@ public final class QuadraticAssignmentProblem implements IntegerCostOptimization
 		return new QuadraticAssignmentProblem(createRandomMatrix(size, minCost, maxCost, gen), createRandomMatrix(size, minDistance, maxDistance, gen));
 	}
 	
+	/*
+	 * package-private: used by QuadraticAssignmentDeltaMatrix. Gets the cost matrix in 
+	 * row-major order, which must not be changed.
+	 */
+	int[] costMatrix() {
+		return cost;
+	}
+	
+	/*
+	 * package-private: used by QuadraticAssignmentDeltaMatrix. Gets the distance matrix in 
+	 * row-major order, which must not be changed.
+	 */
+	int[] distanceMatrix() {
+		return distance;
+	}
+	
+	/*
+	 * Change in cost of swapping the elements at positions r and s, computed
+	 * from the neighbor (i.e., after the swap) in linear time.
+	 */
+	private int swapDelta(Permutation neighbor, int r, int s) {
+		// a and b are the elements now at positions r and s, respectively
+		int a = neighbor.get(r);
+		int b = neighbor.get(s);
+		int rowR = r * n;
+		int rowS = s * n;
+		int rowA = a * n;
+		int rowB = b * n;
+		int delta = 0;
+		for (int k = 0; k < n; k++) {
+			if (k != r && k != s) {
+				int pk = neighbor.get(k);
+				int rowK = k * n;
+				int rowPK = pk * n;
+				int dOut = distance[rowA + pk] - distance[rowB + pk];
+				int dIn = distance[rowPK + a] - distance[rowPK + b];
+				delta += (cost[rowR + k] - cost[rowS + k]) * dOut + (cost[rowK + r] - cost[rowK + s]) * dIn;
+			}
+		}
+		int dAB = distance[rowA + b] - distance[rowB + a];
+		delta += (cost[rowR + s] - cost[rowS + r]) * dAB;
+		return delta;
+	}
+	
+	/*
+	 * Change in cost of a move that changed only positions first through last, computed
+	 * from the neighbor (i.e., after the move) in time proportional to n times the number
+	 * of positions changed.
+	 */
+	private int rangeDelta(Permutation neighbor, MoveDescriptor move, int first, int last) {
+		int delta = 0;
+		for (int i = first; i <= last; i++) {
+			int newI = neighbor.get(i);
+			int oldI = neighbor.get(newPosition(move, i));
+			if (newI != oldI) {
+				// pairs with one position in the changed range
+				for (int k = 0; k < first; k++) {
+					delta += pairDelta(i, k, newI, oldI, neighbor.get(k));
+				}
+				for (int k = last + 1; k < n; k++) {
+					delta += pairDelta(i, k, newI, oldI, neighbor.get(k));
+				}
+			}
+			// pairs with both positions in the changed range
+			for (int j = first; j <= last; j++) {
+				if (j != i) {
+					int newJ = neighbor.get(j);
+					int oldJ = neighbor.get(newPosition(move, j));
+					delta += cost[i * n + j] * (distance[newI * n + newJ] - distance[oldI * n + oldJ]);
+				}
+			}
+		}
+		return delta;
+	}
+	
+	/*
+	 * Change in the two terms for positions i and k, where only the element at i changed (from 
+	 * oldI to newI), and where pk is the element at position k.
+	 */
+	private int pairDelta(int i, int k, int newI, int oldI, int pk) {
+		int rowPK = pk * n;
+		return cost[i * n + k] * (distance[newI * n + pk] - distance[oldI * n + pk]) 
+			+ cost[k * n + i] * (distance[rowPK + newI] - distance[rowPK + oldI]);
+	}
+	
+	/*
+	 * The position after a reversal or block interchange of the element that was
+	 * at position i before the move.
+	 */
+	private static int newPosition(MoveDescriptor move, int i) {
+		if (move.getType() == MoveDescriptor.Type.REVERSAL) {
+			return move.getFirst() + move.getSecond() - i;
+		}
+		// BLOCK_INTERCHANGE of first..second with third..fourth
+		int a = move.getFirst();
+		int b = move.getSecond();
+		int c = move.getThird();
+		int d = move.getFourth();
+		if (i <= b) {
+			// the first block is moved to the end of the range
+			return i + d - b;
+		} else if (i < c) {
+			// the elements between the blocks are shifted by the difference in block lengths
+			return i + (d - c) - (b - a);
+		} else {
+			// the second block is moved to the start of the range
+			return i - c + a;
+		}
+	}
+	
+	private static int[] flatten(int[][] matrix) {
+		int n = matrix.length;
+		int[] flat = new int[n * n];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(matrix[i], 0, flat, i * n, n);
+		}
+		return flat;
+	}
+	
 	private static int[][] createRandomMatrix(int size, int min, int max, RandomGenerator gen) {
 		int[][] matrix = new int[size][size];
 		int bound = max - min + 1;
@@ -130,9 +130,23 @@ public final class ATCS extends WeightedShortestProcessingTime {
 	
 	@Override
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
-		double value = super.h(p, element, incEval);
+		return evaluate(p, element, (IncrementalTimeCalculator)incEval);
+	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		evaluateAll(p, (IncrementalTimeCalculator)incEval, values, this::evaluate);
+	}
+	
+	@Override
+	public boolean isStatic() {
+		return false;
+	}
+	
+	private double evaluate(Partial<Permutation> p, int element, IncrementalTimeCalculator inc) {
+		double value = super.h(p, element, inc);
 		if (value > MIN_H) {
-			double num = data.getDueDate(element) - data.getProcessingTime(element) - ((IncrementalTimeCalculator)incEval).currentTime();
+			double num = data.getDueDate(element) - data.getProcessingTime(element) - inc.currentTime();
 			if (num > 0) {
 				double denom = k1 * pAve;
 				value *= Math.exp(-num / denom);
@@ -83,13 +83,27 @@ public final class ApparentTardinessCost extends WeightedShortestProcessingTime
 	
 	@Override
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
-		double value = super.h(p, element, incEval);
+		return evaluate(p, element, (IncrementalAverageProcessingCalculator)incEval);
+	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		evaluateAll(p, (IncrementalAverageProcessingCalculator)incEval, values, this::evaluate);
+	}
+	
+	@Override
+	public boolean isStatic() {
+		return false;
+	}
+	
+	private double evaluate(Partial<Permutation> p, int element, IncrementalAverageProcessingCalculator inc) {
+		double value = super.h(p, element, inc);
 		if (value > MIN_H) {
-			double s = ((IncrementalAverageProcessingCalculator)incEval).slack(element, p);
+			double s = inc.slack(element, p);
 			if (s > 0) {
 				value *= Math.exp(-s / 
 					(k * 
-					  ((IncrementalAverageProcessingCalculator)incEval).averageProcessingTime())
+					  inc.averageProcessingTime())
 				);
 				return value <= MIN_H ? MIN_H : value;
 			}
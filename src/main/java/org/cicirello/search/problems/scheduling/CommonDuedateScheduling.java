@@ -292,10 +292,26 @@ public final class CommonDuedateScheduling implements SingleMachineSchedulingPro
 	 */
 	@Override
 	public int[] getCompletionTimes(Permutation schedule) {
+		int[] c = new int[process.length];
+		getCompletionTimes(schedule, c);
+		return c;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>As with {@link #getCompletionTimes(Permutation)}, this implementation
+	 * assumes the {@link WeightedEarlinessTardiness} cost function, delaying the
+	 * start of the schedule to minimize weighted earliness plus weighted tardiness.</p>
+	 */
+	@Override
+	public void getCompletionTimes(Permutation schedule, int[] c) {
 		if (schedule.length() != process.length) {
 			throw new IllegalArgumentException("schedule is incorrect length");
 		}
-		int[] c = new int[process.length];
+		if (c.length != process.length) {
+			throw new IllegalArgumentException("c is incorrect length");
+		}
 		int time = 0;
 		int earlyTotal = 0;
 		int tardyTotal = 0;
@@ -344,8 +360,6 @@ public final class CommonDuedateScheduling implements SingleMachineSchedulingPro
 				c[i] += delay;
 			}
 		}
-		
-		return c;
 	}
 	
 	@Override
@@ -0,0 +1,57 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems.scheduling;
+
+import org.cicirello.permutations.Permutation;
+
+/**
+ * Internal (package-private) class used by the scheduling cost functions to compute 
+ * completion times without allocating a new array for each evaluation. Each thread
+ * that evaluates a cost function has its own array for the completion times, since 
+ * the cost functions may be shared by searches running in parallel.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+final class CompletionTimeBuffer {
+	
+	private final SingleMachineSchedulingProblemData instanceData;
+	private final ThreadLocal<int[]> buffer;
+	
+	/*
+	 * Constructs the buffer for an instance of a scheduling problem.
+	 */
+	CompletionTimeBuffer(SingleMachineSchedulingProblemData instanceData) {
+		this.instanceData = instanceData;
+		final int n = instanceData.numberOfJobs();
+		buffer = ThreadLocal.withInitial(() -> new int[n]);
+	}
+	
+	/*
+	 * Computes the completion times of the jobs for a schedule, in the calling thread's array,
+	 * which is only valid until the calling thread's next call to this method.
+	 */
+	int[] compute(Permutation schedule) {
+		int[] c = buffer.get();
+		instanceData.getCompletionTimes(schedule, c);
+		return c;
+	}
+}
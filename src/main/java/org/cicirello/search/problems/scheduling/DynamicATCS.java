@@ -132,11 +132,25 @@ public final class DynamicATCS extends WeightedShortestProcessingTime {
 	
 	@Override
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
-		double value = super.h(p, element, incEval);
+		return evaluate(p, element, (IncrementalStatsCalculator)incEval);
+	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		evaluateAll(p, (IncrementalStatsCalculator)incEval, values, this::evaluate);
+	}
+	
+	@Override
+	public boolean isStatic() {
+		return false;
+	}
+	
+	private double evaluate(Partial<Permutation> p, int element, IncrementalStatsCalculator inc) {
+		double value = super.h(p, element, inc);
 		if (value > MIN_H) {
-			double num = data.getDueDate(element) - data.getProcessingTime(element) - ((IncrementalStatsCalculator)incEval).currentTime();
+			double num = data.getDueDate(element) - data.getProcessingTime(element) - inc.currentTime();
 			if (num > 0) {
-				double denom = k1 * ((IncrementalStatsCalculator)incEval).averageProcessingTime();
+				double denom = k1 * inc.averageProcessingTime();
 				value *= Math.exp(-num / denom);
 				if (value <= MIN_H) return MIN_H;
 			}
@@ -145,7 +159,7 @@ public final class DynamicATCS extends WeightedShortestProcessingTime {
 						data.getSetupTime(element) 
 						: data.getSetupTime(p.getLast(), element); 
 				if (num > 0) {
-					double denom = k2 * ((IncrementalStatsCalculator)incEval).averageSetupTime();
+					double denom = k2 * inc.averageSetupTime();
 					value *= Math.exp(-num / denom);
 					if (value <= MIN_H) return MIN_H;
 				}
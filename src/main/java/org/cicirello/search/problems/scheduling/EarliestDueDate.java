@@ -70,4 +70,17 @@ public final class EarliestDueDate extends SchedulingHeuristic {
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
 		return h[element];
 	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		int k = p.numExtensions();
+		for (int i = 0; i < k; i++) {
+			values[i] = h[p.getExtension(i)];
+		}
+	}
+	
+	@Override
+	public boolean isStatic() {
+		return true;
+	}
 }
@@ -0,0 +1,263 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems.scheduling;
+
+import org.cicirello.permutations.Permutation;
+import org.cicirello.search.ss.Partial;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Internal (package-private) class used by the heuristics that precompute their
+ * values for all pairs of jobs. The entry in row i and column j is the heuristic value
+ * of job j if it immediately follows job i, and the entry in row j and column j
+ * is the heuristic value of job j if it is the first job. The implementations differ
+ * in how they store the entries, as specified by a {@link PrecomputeStorage}.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+abstract class HeuristicTable {
+	
+	/*
+	 * Computes the entries of a table.
+	 */
+	@FunctionalInterface
+	interface Entry {
+		double value(int i, int j);
+	}
+	
+	/*
+	 * Gets the entry in row i and column j.
+	 */
+	abstract double get(int i, int j);
+	
+	/*
+	 * Stores the entry in row i and column p.getExtension(e) in values[e], for
+	 * each extension e of p.
+	 */
+	abstract void getRow(int i, Partial<Permutation> p, double[] values);
+	
+	/*
+	 * The heuristic value of element given partial schedule p.
+	 */
+	final double h(Partial<Permutation> p, int element) {
+		return p.size()==0 ? get(element, element) : get(p.getLast(), element);
+	}
+	
+	/*
+	 * The heuristic values of the extensions of partial schedule p, for the
+	 * heuristics' hAll methods.
+	 */
+	final void hAll(Partial<Permutation> p, double[] values) {
+		if (p.size()==0) {
+			int k = p.numExtensions();
+			for (int i = 0; i < k; i++) {
+				int element = p.getExtension(i);
+				values[i] = get(element, element);
+			}
+		} else {
+			getRow(p.getLast(), p, values);
+		}
+	}
+	
+	/*
+	 * Number of entries in a full n by n table, checked against the maximum array length.
+	 */
+	static int fullSize(int n) {
+		long size = (long)n * n;
+		if (size > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("too many jobs for a full table: use PrecomputeStorage.rowCache");
+		}
+		return (int)size;
+	}
+	
+	/*
+	 * All entries in a flat array of doubles, in row-major order.
+	 */
+	static final class DoubleTable extends HeuristicTable {
+		
+		private final double[] table;
+		private final int n;
+		
+		DoubleTable(int n, Entry entry) {
+			this.n = n;
+			table = new double[fullSize(n)];
+			IntStream.range(0, n).parallel().forEach(i -> {
+				int offset = i * n;
+				for (int j = 0; j < n; j++) {
+					table[offset + j] = entry.value(i, j);
+				}
+			});
+		}
+		
+		@Override
+		double get(int i, int j) {
+			return table[i * n + j];
+		}
+		
+		@Override
+		void getRow(int i, Partial<Permutation> p, double[] values) {
+			int offset = i * n;
+			int k = p.numExtensions();
+			for (int e = 0; e < k; e++) {
+				values[e] = table[offset + p.getExtension(e)];
+			}
+		}
+	}
+	
+	/*
+	 * All entries in a flat array of floats, in row-major order.
+	 */
+	static final class FloatTable extends HeuristicTable {
+		
+		private final float[] table;
+		private final int n;
+		
+		FloatTable(int n, Entry entry) {
+			this.n = n;
+			table = new float[fullSize(n)];
+			IntStream.range(0, n).parallel().forEach(i -> {
+				int offset = i * n;
+				for (int j = 0; j < n; j++) {
+					table[offset + j] = (float)entry.value(i, j);
+				}
+			});
+		}
+		
+		@Override
+		double get(int i, int j) {
+			return table[i * n + j];
+		}
+		
+		@Override
+		void getRow(int i, Partial<Permutation> p, double[] values) {
+			int offset = i * n;
+			int k = p.numExtensions();
+			for (int e = 0; e < k; e++) {
+				values[e] = table[offset + p.getExtension(e)];
+			}
+		}
+	}
+	
+	/*
+	 * For entries that do not depend upon the row: a single row.
+	 */
+	static final class SingleRowTable extends HeuristicTable {
+		
+		private final double[] row;
+		
+		SingleRowTable(int n, Entry entry) {
+			row = new double[n];
+			for (int j = 0; j < n; j++) {
+				row[j] = entry.value(j, j);
+			}
+		}
+		
+		@Override
+		double get(int i, int j) {
+			return row[j];
+		}
+		
+		@Override
+		void getRow(int i, Partial<Permutation> p, double[] values) {
+			int k = p.numExtensions();
+			for (int e = 0; e < k; e++) {
+				values[e] = row[p.getExtension(e)];
+			}
+		}
+	}
+	
+	/*
+	 * Computes rows when first needed, keeping the most recently used maxRows rows.
+	 * The entries for the first job are all computed up front. Thread-safe, since a 
+	 * heuristic may be shared by samplers running in parallel. A missing row is computed
+	 * outside of the lock and then published, so threads contend only on the constant time
+	 * lookups and insertions, although two threads that miss the same row at the same time
+	 * may both compute it.
+	 */
+	static final class RowCacheTable extends HeuristicTable {
+		
+		private final Entry entry;
+		private final int n;
+		private final double[] first;
+		private final LinkedHashMap<Integer, double[]> rows;
+		
+		RowCacheTable(int n, Entry entry, int maxRows) {
+			this.n = n;
+			this.entry = entry;
+			first = new double[n];
+			for (int j = 0; j < n; j++) {
+				first[j] = entry.value(j, j);
+			}
+			rows = new LinkedHashMap<Integer, double[]>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Integer, double[]> eldest) {
+					return size() > maxRows;
+				}
+			};
+		}
+		
+		@Override
+		double get(int i, int j) {
+			return i == j ? first[j] : row(i)[j];
+		}
+		
+		@Override
+		void getRow(int i, Partial<Permutation> p, double[] values) {
+			double[] row = row(i);
+			int k = p.numExtensions();
+			for (int e = 0; e < k; e++) {
+				values[e] = row[p.getExtension(e)];
+			}
+		}
+		
+		/*
+		 * package-private for unit testing
+		 */
+		int cachedRows() {
+			synchronized (rows) {
+				return rows.size();
+			}
+		}
+		
+		private double[] row(int i) {
+			double[] row;
+			synchronized (rows) {
+				row = rows.get(i);
+			}
+			if (row != null) {
+				return row;
+			}
+			// computed without holding the lock, so other threads are blocked only for lookups
+			row = new double[n];
+			for (int j = 0; j < n; j++) {
+				row[j] = entry.value(i, j);
+			}
+			synchronized (rows) {
+				// keeps the row of another thread that computed it first
+				double[] published = rows.putIfAbsent(i, row);
+				return published != null ? published : row;
+			}
+		}
+	}
+}
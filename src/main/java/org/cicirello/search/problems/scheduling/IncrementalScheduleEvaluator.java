@@ -0,0 +1,309 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems.scheduling;
+
+import org.cicirello.permutations.Permutation;
+import org.cicirello.search.operators.MoveDescriptor;
+
+/**
+ * <p>An IncrementalScheduleEvaluator computes the cost of schedules for a
+ * {@link SingleMachineSchedulingProblem}, caching the completion time of the job
+ * at each position of the most recently evaluated schedule, along with the partial cost of each
+ * prefix of that schedule. When a neighbor of the most recently evaluated schedule is then
+ * evaluated, the completion times and partial costs of the positions prior to the first position
+ * changed by the mutation are reused, and only the remainder of the schedule is re-evaluated.
+ * For example, if a swap changes positions i and j, where i &lt; j, then the cost of the neighbor
+ * is computed in time proportional to n - i, where n is the number of jobs, rather than n.
+ * If the neighbor is rejected, then {@link #rollback} restores the cached state in time 
+ * proportional to that same number of positions.</p>
+ *
+ * <p>Incremental evaluation is supported for all of the cost functions in this package
+ * ({@link WeightedTardiness}, {@link MinimizeMakespan}, etc) when the instance data is either a
+ * {@link WeightedStaticScheduling} or a {@link WeightedStaticSchedulingWithSetups} instance. For 
+ * other combinations, such as {@link CommonDuedateScheduling} instances (where the start of the
+ * schedule depends upon the entire sequence of jobs) or your own implementations of the 
+ * {@link SingleMachineSchedulingProblem} interface, each evaluation computes the cost of the 
+ * entire schedule by calling the problem's cost method, and rollback simply restores the prior cost.</p>
+ *
+ * <p>The intended usage, such as within a local search with an 
+ * {@link org.cicirello.search.operators.UndoableMutationOperator UndoableMutationOperator}, 
+ * is as follows:</p>
+ * <pre><code>
+ * IncrementalScheduleEvaluator evaluator = new IncrementalScheduleEvaluator(problem);
+ * int currentCost = evaluator.evaluate(schedule);
+ * // then in each iteration:
+ * mutation.mutate(schedule);
+ * int neighborCost = evaluator.evaluate(schedule, mutation.getLastMove());
+ * if (neighborCost &lt;= currentCost) {
+ *     currentCost = neighborCost;
+ * } else {
+ *     mutation.undo(schedule);
+ *     evaluator.rollback();
+ * }
+ * </code></pre>
+ *
+ * <p>An IncrementalScheduleEvaluator is not thread-safe, since it maintains the state of the
+ * most recently evaluated schedule. If multiple threads are evaluating schedules for the 
+ * same problem, then each thread should use its own IncrementalScheduleEvaluator.</p>
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class IncrementalScheduleEvaluator {
+	
+	private final SingleMachineSchedulingProblem problem;
+	private final SeparableCostFunction separable;
+	private final SingleMachineSchedulingProblemData data;
+	private final boolean isMaximum;
+	private final boolean hasSetups;
+	
+	// completion time of the job at each position, and the partial cost of each prefix
+	private final int[] time;
+	private final int[] partial;
+	
+	// state saved for rollback
+	private final int[] savedTime;
+	private final int[] savedPartial;
+	private int savedFirst;
+	private int savedCost;
+	private boolean canRollback;
+	
+	private int cost;
+	private boolean evaluated;
+	
+	/**
+	 * Constructs an IncrementalScheduleEvaluator for a single machine scheduling problem.
+	 *
+	 * @param problem The scheduling problem.
+	 *
+	 * @throws NullPointerException if problem is null
+	 */
+	public IncrementalScheduleEvaluator(SingleMachineSchedulingProblem problem) {
+		this.problem = problem;
+		data = problem.getInstanceData();
+		if (problem instanceof SeparableCostFunction && (data instanceof WeightedStaticScheduling || data instanceof WeightedStaticSchedulingWithSetups)) {
+			separable = (SeparableCostFunction)problem;
+			isMaximum = separable.isMaximum();
+			hasSetups = data.hasSetupTimes();
+			int n = data.numberOfJobs();
+			time = new int[n];
+			partial = new int[n];
+			savedTime = new int[n];
+			savedPartial = new int[n];
+		} else {
+			separable = null;
+			isMaximum = false;
+			hasSetups = false;
+			time = partial = savedTime = savedPartial = null;
+		}
+	}
+	
+	/**
+	 * Checks whether this IncrementalScheduleEvaluator evaluates neighbors incrementally
+	 * for its problem, or whether it instead computes the cost of each schedule in full.
+	 *
+	 * @return true if neighbors are evaluated incrementally
+	 */
+	public boolean isIncremental() {
+		return separable != null;
+	}
+	
+	/**
+	 * Computes the cost of an entire schedule, caching the completion times and partial
+	 * costs for use in the incremental evaluation of its neighbors. This evaluation cannot be 
+	 * rolled back.
+	 *
+	 * @param schedule The schedule to evaluate.
+	 *
+	 * @return the cost of the schedule
+	 *
+	 * @throws IllegalArgumentException if schedule.length() is not equal to the number of jobs
+	 */
+	public int evaluate(Permutation schedule) {
+		if (schedule.length() != data.numberOfJobs()) {
+			throw new IllegalArgumentException("schedule is incorrect length");
+		}
+		canRollback = false;
+		evaluated = true;
+		if (separable == null) {
+			cost = problem.cost(schedule);
+		} else {
+			cost = evaluateFrom(schedule, 0);
+		}
+		return cost;
+	}
+	
+	/**
+	 * Computes the cost of a neighbor of the most recently evaluated schedule, given the
+	 * first position at which the neighbor differs from that schedule. The jobs at positions 0 through 
+	 * first-1 must be the same as in the most recently evaluated schedule. This evaluation can be
+	 * rolled back with the {@link #rollback} method.
+	 *
+	 * @param neighbor The neighbor to evaluate.
+	 * @param first The first position at which the neighbor differs from the most recently 
+	 * evaluated schedule.
+	 *
+	 * @return the cost of the neighbor
+	 *
+	 * @throws IllegalArgumentException if neighbor.length() is not equal to the number of jobs
+	 * @throws IllegalStateException if no schedule has been evaluated yet
+	 */
+	public int evaluate(Permutation neighbor, int first) {
+		if (neighbor.length() != data.numberOfJobs()) {
+			throw new IllegalArgumentException("neighbor is incorrect length");
+		}
+		if (!evaluated) {
+			throw new IllegalStateException("a complete schedule must be evaluated first");
+		}
+		savedCost = cost;
+		canRollback = true;
+		if (separable == null) {
+			cost = problem.cost(neighbor);
+		} else {
+			if (first < 0) {
+				first = 0;
+			}
+			savedFirst = first;
+			int count = time.length - first;
+			if (count > 0) {
+				System.arraycopy(time, first, savedTime, first, count);
+				System.arraycopy(partial, first, savedPartial, first, count);
+			}
+			cost = evaluateFrom(neighbor, first);
+		}
+		return cost;
+	}
+	
+	/**
+	 * Computes the cost of a neighbor of the most recently evaluated schedule, given a 
+	 * description of the mutation that transformed that schedule into the neighbor, 
+	 * such as from the {@link org.cicirello.search.operators.UndoableMutationOperator#getLastMove getLastMove}
+	 * method of a mutation operator. Only the part of the neighbor from the first position 
+	 * changed by the move is re-evaluated for moves of type {@link MoveDescriptor.Type#SWAP SWAP}, 
+	 * {@link MoveDescriptor.Type#REVERSAL REVERSAL}, and 
+	 * {@link MoveDescriptor.Type#BLOCK_INTERCHANGE BLOCK_INTERCHANGE}. For all other types
+	 * of moves, or if move is null, the entire neighbor is re-evaluated. In either case, 
+	 * this evaluation can be rolled back with the {@link #rollback} method.
+	 *
+	 * @param neighbor The neighbor to evaluate.
+	 * @param move A description of the mutation that transformed the most recently evaluated 
+	 * schedule into the neighbor, or null if unknown.
+	 *
+	 * @return the cost of the neighbor
+	 *
+	 * @throws IllegalArgumentException if neighbor.length() is not equal to the number of jobs
+	 * @throws IllegalStateException if no schedule has been evaluated yet
+	 */
+	public int evaluate(Permutation neighbor, MoveDescriptor move) {
+		return evaluate(neighbor, firstChanged(move));
+	}
+	
+	/**
+	 * Restores the state of this IncrementalScheduleEvaluator to what it was prior to the
+	 * most recent evaluation of a neighbor, such as when the search rejects that neighbor
+	 * and undoes the mutation. Only the most recent evaluation of a neighbor can be rolled back.
+	 *
+	 * @throws IllegalStateException if there is no evaluation of a neighbor to roll back
+	 */
+	public void rollback() {
+		if (!canRollback) {
+			throw new IllegalStateException("nothing to roll back");
+		}
+		canRollback = false;
+		cost = savedCost;
+		if (separable != null) {
+			int count = time.length - savedFirst;
+			if (count > 0) {
+				System.arraycopy(savedTime, savedFirst, time, savedFirst, count);
+				System.arraycopy(savedPartial, savedFirst, partial, savedFirst, count);
+			}
+		}
+	}
+	
+	/**
+	 * Gets the cost of the most recently evaluated schedule, taking into account
+	 * any rollback.
+	 *
+	 * @return the cost of the most recently evaluated schedule
+	 *
+	 * @throws IllegalStateException if no schedule has been evaluated yet
+	 */
+	public int getCost() {
+		if (!evaluated) {
+			throw new IllegalStateException("no schedule has been evaluated");
+		}
+		return cost;
+	}
+	
+	/*
+	 * package-private to enable testing: first position changed by a move,
+	 * or 0 if unknown.
+	 */
+	static int firstChanged(MoveDescriptor move) {
+		if (move == null || move.getType() == null) return 0;
+		switch (move.getType()) {
+			case SWAP:
+			case REVERSAL:
+			case BLOCK_INTERCHANGE:
+				return move.getFirst();
+			default:
+				// a TWO_CHANGE may have reversed the complementary segment, and
+				// ROTATION and THREE_OPT change position 0.
+				return 0;
+		}
+	}
+	
+	private int evaluateFrom(Permutation schedule, int first) {
+		int n = time.length;
+		if (first >= n) {
+			return cost;
+		}
+		int t;
+		int aggregate;
+		int prev;
+		if (first == 0) {
+			t = 0;
+			aggregate = isMaximum ? Integer.MIN_VALUE : 0;
+			prev = -1;
+		} else {
+			t = time[first-1];
+			aggregate = partial[first-1];
+			prev = schedule.get(first-1);
+		}
+		for (int k = first; k < n; k++) {
+			int j = schedule.get(k);
+			t += data.getProcessingTime(j);
+			if (hasSetups) {
+				t += prev < 0 ? data.getSetupTime(j) : data.getSetupTime(prev, j);
+			}
+			int c = separable.jobCost(j, t);
+			if (isMaximum) {
+				if (c > aggregate) aggregate = c;
+			} else {
+				aggregate += c;
+			}
+			time[k] = t;
+			partial[k] = aggregate;
+			prev = j;
+		}
+		return aggregate;
+	}
+}
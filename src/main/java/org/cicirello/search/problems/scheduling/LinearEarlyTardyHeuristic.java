@@ -108,11 +108,20 @@ public final class LinearEarlyTardyHeuristic extends SchedulingHeuristic {
 	
 	@Override
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
-		double slack = ((IncrementalAverageProcessingCalculator)incEval).slack(element, p);
+		return evaluate(p, element, (IncrementalAverageProcessingCalculator)incEval);
+	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		evaluateAll(p, (IncrementalAverageProcessingCalculator)incEval, values, this::evaluate);
+	}
+	
+	private double evaluate(Partial<Permutation> p, int element, IncrementalAverageProcessingCalculator inc) {
+		double slack = inc.slack(element, p);
 		if (slack <= 0) {
 			return wspt[element];
 		}
-		double kpBar = k * ((IncrementalAverageProcessingCalculator)incEval).averageProcessingTime();
+		double kpBar = k * inc.averageProcessingTime();
 		if (slack >= kpBar) {
 			return wlpt[element];
 		}
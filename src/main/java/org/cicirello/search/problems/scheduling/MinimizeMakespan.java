@@ -37,9 +37,10 @@ import org.cicirello.permutations.Permutation;
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  * @version 7.15.2020
  */
-public final class MinimizeMakespan implements SingleMachineSchedulingProblem {
+public final class MinimizeMakespan extends SeparableCostFunction implements SingleMachineSchedulingProblem {
 	
 	private final SingleMachineSchedulingProblemData instanceData;
+	private final CompletionTimeBuffer completionTimes;
 	private int lowerBound;
 	
 	/**
@@ -51,6 +52,7 @@ public final class MinimizeMakespan implements SingleMachineSchedulingProblem {
 	 */
 	public MinimizeMakespan(SingleMachineSchedulingProblemData instanceData) {
 		this.instanceData = instanceData;
+		completionTimes = new CompletionTimeBuffer(instanceData);
 		int n = instanceData.numberOfJobs();
 		lowerBound = 0;
 		for (int i = 0; i < n; i++) {
@@ -65,8 +67,19 @@ public final class MinimizeMakespan implements SingleMachineSchedulingProblem {
 	
 	@Override
 	public int cost(Permutation candidate) {
-		int[] c = instanceData.getCompletionTimes(candidate);
-		return c[candidate.get(candidate.length()-1)];
+		int[] c = completionTimes.compute(candidate);
+		int last = candidate.get(candidate.length()-1);
+		return jobCost(last, c[last]);
+	}
+	
+	@Override
+	int jobCost(int j, int completionTime) {
+		return completionTime;
+	}
+	
+	@Override
+	boolean isMaximum() {
+		return true;
 	}
 	
 	@Override
@@ -35,9 +35,10 @@ import org.cicirello.permutations.Permutation;
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  * @version 7.15.2020
  */
-public final class MinimizeMaximumFlowtime implements SingleMachineSchedulingProblem {
+public final class MinimizeMaximumFlowtime extends SeparableCostFunction implements SingleMachineSchedulingProblem {
 	
 	private final SingleMachineSchedulingProblemData instanceData;
+	private final CompletionTimeBuffer completionTimes;
 	
 	/**
 	 * Constructs a single machine scheduling problem for minimizing 
@@ -48,6 +49,7 @@ public final class MinimizeMaximumFlowtime implements SingleMachineSchedulingPro
 	 */
 	public MinimizeMaximumFlowtime(SingleMachineSchedulingProblemData instanceData) {
 		this.instanceData = instanceData;
+		completionTimes = new CompletionTimeBuffer(instanceData);
 	}
 	
 	@Override
@@ -57,15 +59,26 @@ public final class MinimizeMaximumFlowtime implements SingleMachineSchedulingPro
 	
 	@Override
 	public int cost(Permutation candidate) {
-		int[] c = instanceData.getCompletionTimes(candidate);
+		int[] c = completionTimes.compute(candidate);
 		int max = 0;
 		for (int i = 0; i < c.length; i++) {
-			int f = c[i] - instanceData.getReleaseDate(i);
-			if (f > max) max = f;
+			int jc = jobCost(i, c[i]);
+			if (jc > max) max = jc;
 		}
 		return max;
 	}
 	
+	@Override
+	int jobCost(int j, int completionTime) {
+		int f = completionTime - instanceData.getReleaseDate(j);
+		return f > 0 ? f : 0;
+	}
+	
+	@Override
+	boolean isMaximum() {
+		return true;
+	}
+	
 	@Override
 	public int value(Permutation candidate) {
 		return cost(candidate);
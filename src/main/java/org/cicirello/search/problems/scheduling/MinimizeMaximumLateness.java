@@ -39,9 +39,10 @@ import org.cicirello.permutations.Permutation;
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  * @version 7.15.2020
  */
-public final class MinimizeMaximumLateness implements SingleMachineSchedulingProblem {
+public final class MinimizeMaximumLateness extends SeparableCostFunction implements SingleMachineSchedulingProblem {
 	
 	private final SingleMachineSchedulingProblemData instanceData;
+	private final CompletionTimeBuffer completionTimes;
 	
 	/**
 	 * Constructs a single machine scheduling problem for minimizing 
@@ -53,6 +54,7 @@ public final class MinimizeMaximumLateness implements SingleMachineSchedulingPro
 	 */
 	public MinimizeMaximumLateness(SingleMachineSchedulingProblemData instanceData) {
 		this.instanceData = instanceData;
+		completionTimes = new CompletionTimeBuffer(instanceData);
 		if(!instanceData.hasDueDates()) {
 			throw new IllegalArgumentException("This cost function requires due dates.");
 		}
@@ -65,15 +67,25 @@ public final class MinimizeMaximumLateness implements SingleMachineSchedulingPro
 	
 	@Override
 	public int cost(Permutation candidate) {
-		int[] c = instanceData.getCompletionTimes(candidate);
+		int[] c = completionTimes.compute(candidate);
 		int max = Integer.MIN_VALUE;
 		for (int i = 0; i < c.length; i++) {
-			int lateness = c[i] - instanceData.getDueDate(i);
-			if (lateness > max) max = lateness;
+			int jc = jobCost(i, c[i]);
+			if (jc > max) max = jc;
 		}
 		return max;
 	}
 	
+	@Override
+	int jobCost(int j, int completionTime) {
+		return completionTime - instanceData.getDueDate(j);
+	}
+	
+	@Override
+	boolean isMaximum() {
+		return true;
+	}
+	
 	@Override
 	public int value(Permutation candidate) {
 		return cost(candidate);
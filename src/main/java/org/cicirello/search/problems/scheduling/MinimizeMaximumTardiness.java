@@ -38,9 +38,10 @@ import org.cicirello.permutations.Permutation;
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  * @version 7.15.2020
  */
-public final class MinimizeMaximumTardiness implements SingleMachineSchedulingProblem {
+public final class MinimizeMaximumTardiness extends SeparableCostFunction implements SingleMachineSchedulingProblem {
 	
 	private final SingleMachineSchedulingProblemData instanceData;
+	private final CompletionTimeBuffer completionTimes;
 	
 	/**
 	 * Constructs a single machine scheduling problem for minimizing 
@@ -52,6 +53,7 @@ public final class MinimizeMaximumTardiness implements SingleMachineSchedulingPr
 	 */
 	public MinimizeMaximumTardiness(SingleMachineSchedulingProblemData instanceData) {
 		this.instanceData = instanceData;
+		completionTimes = new CompletionTimeBuffer(instanceData);
 		if(!instanceData.hasDueDates()) {
 			throw new IllegalArgumentException("This cost function requires due dates.");
 		}
@@ -64,15 +66,26 @@ public final class MinimizeMaximumTardiness implements SingleMachineSchedulingPr
 	
 	@Override
 	public int cost(Permutation candidate) {
-		int[] c = instanceData.getCompletionTimes(candidate);
+		int[] c = completionTimes.compute(candidate);
 		int max = 0;
 		for (int i = 0; i < c.length; i++) {
-			int lateness = c[i] - instanceData.getDueDate(i);
-			if (lateness > max) max = lateness;
+			int jc = jobCost(i, c[i]);
+			if (jc > max) max = jc;
 		}
 		return max;
 	}
 	
+	@Override
+	int jobCost(int j, int completionTime) {
+		int lateness = completionTime - instanceData.getDueDate(j);
+		return lateness > 0 ? lateness : 0;
+	}
+	
+	@Override
+	boolean isMaximum() {
+		return true;
+	}
+	
 	@Override
 	public int value(Permutation candidate) {
 		return cost(candidate);
@@ -89,6 +89,27 @@ public final class MinimumSlackTime extends SchedulingHeuristic {
 		}
 	}
 	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		int k = p.numExtensions();
+		if (HAS_SETUPS) {
+			int last = lastJob(p);
+			for (int i = 0; i < k; i++) {
+				int element = p.getExtension(i);
+				values[i] = h[element] + setupTime(last, element);
+			}
+		} else {
+			for (int i = 0; i < k; i++) {
+				values[i] = h[p.getExtension(i)];
+			}
+		}
+	}
+	
+	@Override
+	public boolean isStatic() {
+		return !HAS_SETUPS;
+	}
+	
 	private int computeDMax() {
 		int max = data.getDueDate(0);
 		final int n = data.numberOfJobs();
@@ -62,11 +62,25 @@ public final class Montagne extends WeightedShortestProcessingTime {
 	
 	@Override
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
-		double value = super.h(p, element, incEval);
+		return evaluate(p, element, (IncrementalAverageProcessingCalculator)incEval);
+	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		evaluateAll(p, (IncrementalAverageProcessingCalculator)incEval, values, this::evaluate);
+	}
+	
+	@Override
+	public boolean isStatic() {
+		return false;
+	}
+	
+	private double evaluate(Partial<Permutation> p, int element, IncrementalAverageProcessingCalculator inc) {
+		double value = super.h(p, element, inc);
 		if (value > MIN_H) {
 			value *= (1.0 - 
 				((double)data.getDueDate(element)) /			
-				((IncrementalAverageProcessingCalculator)incEval).totalProcessingTime()
+				inc.totalProcessingTime()
 			);
 			return value <= MIN_H ? MIN_H : value;
 		}		
@@ -0,0 +1,107 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems.scheduling;
+
+/**
+ * <p>Specifies how the heuristics that precompute their values for all pairs of jobs,
+ * {@link SmallestSetupPrecompute}, {@link ShortestProcessingPlusSetupTimePrecompute}, and
+ * {@link WeightedShortestProcessingPlusSetupTimePrecompute}, store their tables of
+ * heuristic values. For a problem instance with n jobs and sequence-dependent setups,
+ * such a table has n<sup>2</sup> entries, one for each job for each possible preceding job.
+ * The options are:</p>
+ * <ul>
+ * <li>{@link #doublePrecision()}: The default. All n<sup>2</sup> entries are stored as doubles, 
+ * in a single array, requiring 8n<sup>2</sup> bytes.</li>
+ * <li>{@link #singlePrecision()}: All n<sup>2</sup> entries are stored as floats, 
+ * in a single array, requiring 4n<sup>2</sup> bytes. The heuristic values are rounded to 
+ * float precision, which is of no consequence when they bias the choices of 
+ * a stochastic sampler.</li>
+ * <li>{@link #rowCache(int)}: The heuristic values for a preceding job are computed when 
+ * first needed, and only the rows for the maxRows most recently used preceding jobs are kept, 
+ * requiring approximately 8n(maxRows+1) bytes. For instances too large for a full table.</li>
+ * </ul>
+ *
+ * <p>The full tables are computed in parallel, one row per task. For problem instances without
+ * setups, the heuristic value of a job doesn't depend upon the preceding job, and all of the
+ * options store just a single row of n heuristic values.</p>
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class PrecomputeStorage {
+	
+	private static final PrecomputeStorage DOUBLE_PRECISION = new PrecomputeStorage(false, 0);
+	private static final PrecomputeStorage SINGLE_PRECISION = new PrecomputeStorage(true, 0);
+	
+	private final boolean singlePrecision;
+	private final int maxRows;
+	
+	private PrecomputeStorage(boolean singlePrecision, int maxRows) {
+		this.singlePrecision = singlePrecision;
+		this.maxRows = maxRows;
+	}
+	
+	/**
+	 * Gets the default storage: a full table of doubles.
+	 * @return a PrecomputeStorage specifying a full table of doubles
+	 */
+	public static PrecomputeStorage doublePrecision() {
+		return DOUBLE_PRECISION;
+	}
+	
+	/**
+	 * Gets the compact storage: a full table of floats, requiring half of
+	 * the memory of the default.
+	 * @return a PrecomputeStorage specifying a full table of floats
+	 */
+	public static PrecomputeStorage singlePrecision() {
+		return SINGLE_PRECISION;
+	}
+	
+	/**
+	 * Gets a storage that computes the heuristic values for a preceding job when 
+	 * first needed, keeping those of the maxRows most recently used preceding jobs.
+	 * @param maxRows The maximum number of rows of the table to keep, which must be positive.
+	 * @return a PrecomputeStorage specifying a table of lazily computed rows with 
+	 * least recently used eviction
+	 * @throws IllegalArgumentException if maxRows is less than 1
+	 */
+	public static PrecomputeStorage rowCache(int maxRows) {
+		if (maxRows < 1) throw new IllegalArgumentException("maxRows must be positive");
+		return new PrecomputeStorage(false, maxRows);
+	}
+	
+	/*
+	 * Creates a table of n rows and n columns, as specified by this storage. 
+	 * If sameForAllRows is true, the entries depend only upon their column.
+	 */
+	HeuristicTable createTable(int n, HeuristicTable.Entry entry, boolean sameForAllRows) {
+		if (sameForAllRows) {
+			return new HeuristicTable.SingleRowTable(n, entry);
+		} else if (maxRows > 0) {
+			return new HeuristicTable.RowCacheTable(n, entry, maxRows);
+		} else if (singlePrecision) {
+			return new HeuristicTable.FloatTable(n, entry);
+		} else {
+			return new HeuristicTable.DoubleTable(n, entry);
+		}
+	}
+}
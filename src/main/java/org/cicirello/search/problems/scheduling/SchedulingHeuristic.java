@@ -90,6 +90,43 @@ abstract class SchedulingHeuristic implements ConstructiveHeuristic<Permutation>
 		return data.numberOfJobs();
 	}
 	
+	/*
+	 * package-private for use by the hAll methods of subclasses: the last job of
+	 * the partial schedule p, or -1 if p is empty.
+	 */
+	static int lastJob(Partial<Permutation> p) {
+		return p.size()==0 ? -1 : p.getLast();
+	}
+	
+	/*
+	 * package-private for use by the hAll methods of subclasses: the setup time of
+	 * element if it follows job last, where last is -1 if element is the first job.
+	 */
+	final int setupTime(int last, int element) {
+		return last < 0 ? data.getSetupTime(element) : data.getSetupTime(last, element);
+	}
+	
+	/*
+	 * package-private for use by the hAll methods of subclasses: evaluates each extension
+	 * of p with evaluator, storing the evaluation of p.getExtension(i) in values[i], where
+	 * inc is the IncrementalEvaluation of p already cast to its runtime type.
+	 */
+	final <E extends IncrementalEvaluation<Permutation>> void evaluateAll(Partial<Permutation> p, E inc, double[] values, ExtensionEvaluator<E> evaluator) {
+		int k = p.numExtensions();
+		for (int i = 0; i < k; i++) {
+			values[i] = evaluator.evaluate(p, p.getExtension(i), inc);
+		}
+	}
+	
+	/*
+	 * package-private for use by the hAll methods of subclasses: the heuristic
+	 * evaluation of an extension of a partial schedule.
+	 */
+	@FunctionalInterface
+	interface ExtensionEvaluator<E extends IncrementalEvaluation<Permutation>> {
+		double evaluate(Partial<Permutation> p, int element, E inc);
+	}
+	
 	/*
 	 * package-private rather than private to enable test case access
 	 */
@@ -0,0 +1,49 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems.scheduling;
+
+/**
+ * Internal (package-private) base class of the scheduling cost functions
+ * whose cost is either the sum, or the maximum, over the jobs of a function of each
+ * job's completion time. Each such cost function computes its cost via its
+ * {@link #jobCost} method, which enables {@link IncrementalScheduleEvaluator} to cache
+ * partial costs of prefixes of a schedule with the same per-job costs. Since its methods
+ * are package-private, they are not part of the public API of the cost functions.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+abstract class SeparableCostFunction {
+	
+	/*
+	 * Computes the contribution to the cost of job j if it completes at the
+	 * specified time.
+	 */
+	abstract int jobCost(int j, int completionTime);
+	
+	/*
+	 * Checks whether the cost is the maximum over the jobs of jobCost, rather
+	 * than the sum. 
+	 */
+	boolean isMaximum() {
+		return false;
+	}
+}
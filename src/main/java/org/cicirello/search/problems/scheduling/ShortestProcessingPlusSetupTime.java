@@ -72,4 +72,19 @@ public final class ShortestProcessingPlusSetupTime extends SchedulingHeuristic {
 		double value = 1.0 / denominator;
 		return value <= MIN_H ? MIN_H : value;
 	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		int k = p.numExtensions();
+		int last = lastJob(p);
+		for (int i = 0; i < k; i++) {
+			int element = p.getExtension(i);
+			double denominator = data.getProcessingTime(element);
+			if (HAS_SETUPS) {
+				denominator += setupTime(last, element);
+			}
+			double value = 1.0 / denominator;
+			values[i] = value <= MIN_H ? MIN_H : value;
+		}
+	}
 }
\ No newline at end of file
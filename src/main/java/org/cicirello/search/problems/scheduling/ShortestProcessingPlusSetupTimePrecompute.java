@@ -47,13 +47,17 @@ import org.cicirello.search.ss.Partial;
  * the {@link ShortestProcessingPlusSetupTime} class, 
  * which requires only O(1) space.</p>
  *
+ * <p>The {@link #ShortestProcessingPlusSetupTimePrecompute(SingleMachineSchedulingProblem, PrecomputeStorage)}
+ * constructor accepts a {@link PrecomputeStorage} that specifies a more compact table of floats, 
+ * or a cache of the most recently used rows of the table for instances too large for a full table.</p>
+ *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  * @version 5.11.2021
  */
 public final class ShortestProcessingPlusSetupTimePrecompute extends SchedulingHeuristic {
 	
-	private final double[][] h; 
+	private final HeuristicTable table;
 	
 	/**
 	 * Constructs an ShortestProcessingPlusSetupTimePrecompute heuristic.
@@ -61,29 +65,47 @@ public final class ShortestProcessingPlusSetupTimePrecompute extends SchedulingH
 	 * the target of the heuristic.
 	 */
 	public ShortestProcessingPlusSetupTimePrecompute(SingleMachineSchedulingProblem problem) {
+		this(problem, PrecomputeStorage.doublePrecision());
+	}
+	
+	/**
+	 * Constructs an ShortestProcessingPlusSetupTimePrecompute heuristic, with a choice of how to store
+	 * the table of precomputed heuristic values.
+	 * @param problem The instance of a scheduling problem that is
+	 * the target of the heuristic.
+	 * @param storage Specifies how to store the table of heuristic values.
+	 * @throws IllegalArgumentException if storage specifies a full table, and the number of jobs 
+	 * is too large for a full table to fit in an array
+	 */
+	public ShortestProcessingPlusSetupTimePrecompute(SingleMachineSchedulingProblem problem, PrecomputeStorage storage) {
 		super(problem);
-		final int n = data.numberOfJobs();
-		h = new double[n][n];
 		if (HAS_SETUPS) {
-			for (int i = 0; i < n; i++) {
-				h[i][i] = Math.max(MIN_H, 1.0 / (data.getProcessingTime(i) + data.getSetupTime(i)));
-				for (int j = i+1; j < n; j++) {
-					h[i][j] = Math.max(MIN_H, 1.0 / (data.getProcessingTime(j) + data.getSetupTime(i, j)));
-					h[j][i] = Math.max(MIN_H, 1.0 / (data.getProcessingTime(i) + data.getSetupTime(j, i)));
-				}
-			}
+			table = storage.createTable(
+				data.numberOfJobs(), 
+				(i, j) -> Math.max(MIN_H, 1.0 / (data.getProcessingTime(j) + (i == j ? data.getSetupTime(j) : data.getSetupTime(i, j)))),
+				false
+			);
 		} else {
-			for (int i = 0; i < n; i++) {
-				final double H = Math.max(MIN_H, 1.0 / data.getProcessingTime(i));
-				for (int j = 0; j < n; j++) {
-					h[j][i] = H;
-				}
-			}
+			table = storage.createTable(
+				data.numberOfJobs(), 
+				(i, j) -> Math.max(MIN_H, 1.0 / data.getProcessingTime(j)),
+				true
+			);
 		}
 	}
 	
 	@Override
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
-		return p.size()==0 ? h[element][element] : h[p.getLast()][element];
+		return table.h(p, element);
+	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		table.hAll(p, values);
+	}
+	
+	@Override
+	public boolean isStatic() {
+		return !HAS_SETUPS;
 	}
 }
\ No newline at end of file
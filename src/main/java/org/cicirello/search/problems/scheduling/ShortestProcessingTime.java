@@ -62,4 +62,17 @@ public final class ShortestProcessingTime extends SchedulingHeuristic {
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
 		return h[element];
 	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		int k = p.numExtensions();
+		for (int i = 0; i < k; i++) {
+			values[i] = h[p.getExtension(i)];
+		}
+	}
+	
+	@Override
+	public boolean isStatic() {
+		return true;
+	}
 }
\ No newline at end of file
@@ -90,6 +90,31 @@ public interface SingleMachineSchedulingProblemData {
 	 */
 	int[] getCompletionTimes(Permutation schedule);
 	
+	/**
+	 * Computes the completion times of all of the jobs if they were scheduled in
+	 * the order defined by the specified Permutation, storing them in a caller-supplied
+	 * array rather than allocating a new one. This enables computing the completion times 
+	 * repeatedly, such as by the cost functions of the scheduling problems, without
+	 * creating garbage for each evaluation. The completion times are the same as those
+	 * computed by {@link #getCompletionTimes(Permutation)}. The default implementation 
+	 * copies the result of {@link #getCompletionTimes(Permutation)} into c, which is 
+	 * appropriate for classes that only implement that method, but the classes of the
+	 * library override this method to compute the completion times without allocation.
+	 *
+	 * @param schedule A schedule (i.e., sequence of jobs on the machine).
+	 * @param c An array for the completion times, such that after the call, c[j] is
+	 * the completion time of job j (and not the completion time of the job in position j 
+	 * of the Permutation). The length of c must equal schedule.length().
+	 * @throws IllegalArgumentException if schedule.length() is not equal to numberOfJobs(), or
+	 * if c.length is not equal to schedule.length()
+	 */
+	default void getCompletionTimes(Permutation schedule, int[] c) {
+		if (c.length != schedule.length()) {
+			throw new IllegalArgumentException("c must be same length as schedule");
+		}
+		System.arraycopy(getCompletionTimes(schedule), 0, c, 0, c.length);
+	}
+	
 	/**
 	 * Gets the due date of a job, for scheduling problems that have due dates.
 	 * The meaning of a due date, and its effect on the optimization cost function,
@@ -69,4 +69,20 @@ public final class SmallestSetup extends SchedulingHeuristic {
 			return 1;
 		}
 	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		int k = p.numExtensions();
+		if (HAS_SETUPS) {
+			int last = lastJob(p);
+			for (int i = 0; i < k; i++) {
+				double s = 1.0 / (1.0 + setupTime(last, p.getExtension(i)));
+				values[i] = s <= MIN_H ? MIN_H : s;
+			}
+		} else {
+			for (int i = 0; i < k; i++) {
+				values[i] = 1;
+			}
+		}
+	}
 }
\ No newline at end of file
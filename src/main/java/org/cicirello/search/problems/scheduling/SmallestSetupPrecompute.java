@@ -23,7 +23,6 @@ package org.cicirello.search.problems.scheduling;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.search.ss.IncrementalEvaluation;
 import org.cicirello.search.ss.Partial;
-import java.util.Arrays;
 
 /**
  * <p>This heuristic is the smallest setup first.
@@ -41,13 +40,17 @@ import java.util.Arrays;
  * For a version that doesn't precompute the heuristic, see
  * the {@link SmallestSetup} class, which requires only O(1) space.</p>
  *
+ * <p>The {@link #SmallestSetupPrecompute(SingleMachineSchedulingProblem, PrecomputeStorage)}
+ * constructor accepts a {@link PrecomputeStorage} that specifies a more compact table of floats, 
+ * or a cache of the most recently used rows of the table for instances too large for a full table.</p>
+ *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  * @version 2.22.2021
  */
 public final class SmallestSetupPrecompute extends SchedulingHeuristic {
 	
-	private final double[][] h;
+	private final HeuristicTable table;
 	
 	/**
 	 * Constructs an SmallestSetupPrecompute heuristic.
@@ -55,26 +58,47 @@ public final class SmallestSetupPrecompute extends SchedulingHeuristic {
 	 * the target of the heuristic.
 	 */
 	public SmallestSetupPrecompute(SingleMachineSchedulingProblem problem) {
+		this(problem, PrecomputeStorage.doublePrecision());
+	}
+	
+	/**
+	 * Constructs an SmallestSetupPrecompute heuristic, with a choice of how to store
+	 * the table of precomputed heuristic values.
+	 * @param problem The instance of a scheduling problem that is
+	 * the target of the heuristic.
+	 * @param storage Specifies how to store the table of heuristic values.
+	 * @throws IllegalArgumentException if storage specifies a full table, and the number of jobs 
+	 * is too large for a full table to fit in an array
+	 */
+	public SmallestSetupPrecompute(SingleMachineSchedulingProblem problem, PrecomputeStorage storage) {
 		super(problem);
-		int n = data.numberOfJobs();
-		h = new double[n][n];
 		if (HAS_SETUPS) {
-			for (int i = 0; i < n; i++) {
-				h[i][i] = Math.max(MIN_H, 1.0 / (1.0 + data.getSetupTime(i)));
-				for (int j = i+1; j < n; j++) {
-					h[i][j] = Math.max(MIN_H, 1.0 / (1.0 + data.getSetupTime(i, j)));
-					h[j][i] = Math.max(MIN_H, 1.0 / (1.0 + data.getSetupTime(j, i)));
-				}
-			}
+			table = storage.createTable(
+				data.numberOfJobs(), 
+				(i, j) -> Math.max(MIN_H, 1.0 / (1.0 + (i == j ? data.getSetupTime(j) : data.getSetupTime(i, j)))),
+				false
+			);
 		} else {
-			for (int i = 0; i < n; i++) {
-				Arrays.fill(h[i], 1.0);
-			}
+			table = storage.createTable(
+				data.numberOfJobs(), 
+				(i, j) -> 1.0,
+				true
+			);
 		}
 	}
 	
 	@Override
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
-		return p.size()==0 ? h[element][element] : h[p.getLast()][element];
+		return table.h(p, element);
+	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		table.hAll(p, values);
+	}
+	
+	@Override
+	public boolean isStatic() {
+		return !HAS_SETUPS;
 	}
 }
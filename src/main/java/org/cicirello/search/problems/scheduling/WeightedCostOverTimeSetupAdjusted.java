@@ -86,9 +86,18 @@ public final class WeightedCostOverTimeSetupAdjusted extends WeightedShortestPro
 	
 	@Override
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
-		double value = super.h(p, element, incEval);
+		return evaluate(p, element, (IncrementalTimeCalculator)incEval);
+	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		evaluateAll(p, (IncrementalTimeCalculator)incEval, values, this::evaluate);
+	}
+	
+	private double evaluate(Partial<Permutation> p, int element, IncrementalTimeCalculator inc) {
+		double value = super.h(p, element, inc);
 		if (value > MIN_H) {
-			double s = ((IncrementalTimeCalculator)incEval).slack(element, p);
+			double s = inc.slack(element, p);
 			if (s > 0) {
 				double ps = data.getProcessingTime(element);
 				if (HAS_SETUPS) {
@@ -43,9 +43,10 @@ import org.cicirello.permutations.Permutation;
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  * @version 7.15.2020
  */
-public final class WeightedEarlinessTardiness implements SingleMachineSchedulingProblem {
+public final class WeightedEarlinessTardiness extends SeparableCostFunction implements SingleMachineSchedulingProblem {
 	
 	private final SingleMachineSchedulingProblemData instanceData;
+	private final CompletionTimeBuffer completionTimes;
 	
 	/**
 	 * Constructs a single machine scheduling problem for minimizing 
@@ -57,6 +58,7 @@ public final class WeightedEarlinessTardiness implements SingleMachineScheduling
 	 */
 	public WeightedEarlinessTardiness(SingleMachineSchedulingProblemData instanceData) {
 		this.instanceData = instanceData;
+		completionTimes = new CompletionTimeBuffer(instanceData);
 		if(!instanceData.hasDueDates()) {
 			throw new IllegalArgumentException("This cost function requires due dates.");
 		}
@@ -69,19 +71,23 @@ public final class WeightedEarlinessTardiness implements SingleMachineScheduling
 	
 	@Override
 	public int cost(Permutation candidate) {
-		int[] c = instanceData.getCompletionTimes(candidate);
+		int[] c = completionTimes.compute(candidate);
 		int total = 0;
 		for (int i = 0; i < c.length; i++) {
-			int lateness = c[i] - instanceData.getDueDate(i);
-			if (lateness > 0) {
-				total += instanceData.getWeight(i) * lateness;
-			} else if (lateness < 0) {
-				total -= instanceData.getEarlyWeight(i) * lateness;
-			}
+			total += jobCost(i, c[i]);
 		}
 		return total;
 	}
 	
+	@Override
+	int jobCost(int j, int completionTime) {
+		int lateness = completionTime - instanceData.getDueDate(j);
+		if (lateness > 0) {
+			return instanceData.getWeight(j) * lateness;
+		}
+		return -instanceData.getEarlyWeight(j) * lateness;
+	}
+	
 	@Override
 	public int value(Permutation candidate) {
 		return cost(candidate);
@@ -35,9 +35,10 @@ import org.cicirello.permutations.Permutation;
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  * @version 7.15.2020
  */
-public final class WeightedFlowtime implements SingleMachineSchedulingProblem {
+public final class WeightedFlowtime extends SeparableCostFunction implements SingleMachineSchedulingProblem {
 	
 	private final SingleMachineSchedulingProblemData instanceData;
+	private final CompletionTimeBuffer completionTimes;
 	
 	/**
 	 * Constructs a single machine scheduling problem for minimizing 
@@ -48,6 +49,7 @@ public final class WeightedFlowtime implements SingleMachineSchedulingProblem {
 	 */
 	public WeightedFlowtime(SingleMachineSchedulingProblemData instanceData) {
 		this.instanceData = instanceData;
+		completionTimes = new CompletionTimeBuffer(instanceData);
 	}
 	
 	@Override
@@ -57,14 +59,19 @@ public final class WeightedFlowtime implements SingleMachineSchedulingProblem {
 	
 	@Override
 	public int cost(Permutation candidate) {
-		int[] c = instanceData.getCompletionTimes(candidate);
+		int[] c = completionTimes.compute(candidate);
 		int total = 0;
 		for (int i = 0; i < c.length; i++) {
-			total += instanceData.getWeight(i) * (c[i] - instanceData.getReleaseDate(i));
+			total += jobCost(i, c[i]);
 		}
 		return total;
 	}
 	
+	@Override
+	int jobCost(int j, int completionTime) {
+		return instanceData.getWeight(j) * (completionTime - instanceData.getReleaseDate(j));
+	}
+	
 	@Override
 	public int value(Permutation candidate) {
 		return cost(candidate);
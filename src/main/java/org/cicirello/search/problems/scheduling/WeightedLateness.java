@@ -38,9 +38,10 @@ import org.cicirello.permutations.Permutation;
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  * @version 7.15.2020
  */
-public final class WeightedLateness implements SingleMachineSchedulingProblem {
+public final class WeightedLateness extends SeparableCostFunction implements SingleMachineSchedulingProblem {
 	
 	private final SingleMachineSchedulingProblemData instanceData;
+	private final CompletionTimeBuffer completionTimes;
 	
 	/**
 	 * Constructs a single machine scheduling problem for minimizing 
@@ -52,6 +53,7 @@ public final class WeightedLateness implements SingleMachineSchedulingProblem {
 	 */
 	public WeightedLateness(SingleMachineSchedulingProblemData instanceData) {
 		this.instanceData = instanceData;
+		completionTimes = new CompletionTimeBuffer(instanceData);
 		if(!instanceData.hasDueDates()) {
 			throw new IllegalArgumentException("This cost function requires due dates.");
 		}
@@ -64,14 +66,19 @@ public final class WeightedLateness implements SingleMachineSchedulingProblem {
 	
 	@Override
 	public int cost(Permutation candidate) {
-		int[] c = instanceData.getCompletionTimes(candidate);
+		int[] c = completionTimes.compute(candidate);
 		int total = 0;
 		for (int i = 0; i < c.length; i++) {
-			total += instanceData.getWeight(i) * (c[i] - instanceData.getDueDate(i));
+			total += jobCost(i, c[i]);
 		}
 		return total;
 	}
 	
+	@Override
+	int jobCost(int j, int completionTime) {
+		return instanceData.getWeight(j) * (completionTime - instanceData.getDueDate(j));
+	}
+	
 	@Override
 	public int value(Permutation candidate) {
 		return cost(candidate);
@@ -38,9 +38,10 @@ import org.cicirello.permutations.Permutation;
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  * @version 7.15.2020
  */
-public final class WeightedNumberTardyJobs implements SingleMachineSchedulingProblem {
+public final class WeightedNumberTardyJobs extends SeparableCostFunction implements SingleMachineSchedulingProblem {
 	
 	private final SingleMachineSchedulingProblemData instanceData;
+	private final CompletionTimeBuffer completionTimes;
 	
 	/**
 	 * Constructs a single machine scheduling problem for minimizing 
@@ -52,6 +53,7 @@ public final class WeightedNumberTardyJobs implements SingleMachineSchedulingPro
 	 */
 	public WeightedNumberTardyJobs(SingleMachineSchedulingProblemData instanceData) {
 		this.instanceData = instanceData;
+		completionTimes = new CompletionTimeBuffer(instanceData);
 		if(!instanceData.hasDueDates()) {
 			throw new IllegalArgumentException("This cost function requires due dates.");
 		}
@@ -64,13 +66,17 @@ public final class WeightedNumberTardyJobs implements SingleMachineSchedulingPro
 	
 	@Override
 	public int cost(Permutation candidate) {
-		int[] c = instanceData.getCompletionTimes(candidate);
-		int weightedCount = 0;
+		int[] c = completionTimes.compute(candidate);
+		int total = 0;
 		for (int i = 0; i < c.length; i++) {
-			int lateness = c[i] - instanceData.getDueDate(i);
-			if (lateness > 0) weightedCount += instanceData.getWeight(i);
+			total += jobCost(i, c[i]);
 		}
-		return weightedCount;
+		return total;
+	}
+	
+	@Override
+	int jobCost(int j, int completionTime) {
+		return completionTime > instanceData.getDueDate(j) ? instanceData.getWeight(j) : 0;
 	}
 	
 	@Override
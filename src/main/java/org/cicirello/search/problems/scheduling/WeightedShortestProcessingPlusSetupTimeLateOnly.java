@@ -57,10 +57,19 @@ public final class WeightedShortestProcessingPlusSetupTimeLateOnly
 	
 	@Override
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
-		if (((IncrementalTimeCalculator)incEval).slack(element, p) >= 0) {
+		return evaluate(p, element, (IncrementalTimeCalculator)incEval);
+	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		evaluateAll(p, (IncrementalTimeCalculator)incEval, values, this::evaluate);
+	}
+	
+	private double evaluate(Partial<Permutation> p, int element, IncrementalTimeCalculator inc) {
+		if (inc.slack(element, p) >= 0) {
 			return MIN_H;
 		} 
-		return super.h(p, element, incEval);
+		return super.h(p, element, inc);
 	}
 	
 	@Override
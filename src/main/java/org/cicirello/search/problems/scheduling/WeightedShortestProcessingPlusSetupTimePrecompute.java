@@ -57,13 +57,17 @@ import org.cicirello.search.ss.Partial;
  * the {@link WeightedShortestProcessingPlusSetupTime} class, 
  * which requires only O(1) space.</p>
  *
+ * <p>The {@link #WeightedShortestProcessingPlusSetupTimePrecompute(SingleMachineSchedulingProblem, PrecomputeStorage)}
+ * constructor accepts a {@link PrecomputeStorage} that specifies a more compact table of floats, 
+ * or a cache of the most recently used rows of the table for instances too large for a full table.</p>
+ *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  * @version 5.11.2021
  */
-public class WeightedShortestProcessingPlusSetupTimePrecompute extends SchedulingHeuristic {
+public final class WeightedShortestProcessingPlusSetupTimePrecompute extends SchedulingHeuristic {
 	
-	private final double[][] h;
+	private final HeuristicTable table;
 	
 	/**
 	 * Constructs an WeightedShortestProcessingPlusSetupTimePrecompute heuristic.
@@ -71,29 +75,52 @@ public class WeightedShortestProcessingPlusSetupTimePrecompute extends Schedulin
 	 * the target of the heuristic.
 	 */
 	public WeightedShortestProcessingPlusSetupTimePrecompute(SingleMachineSchedulingProblem problem) {
+		this(problem, PrecomputeStorage.doublePrecision());
+	}
+	
+	/**
+	 * Constructs an WeightedShortestProcessingPlusSetupTimePrecompute heuristic, with a choice of how to store
+	 * the table of precomputed heuristic values.
+	 * @param problem The instance of a scheduling problem that is
+	 * the target of the heuristic.
+	 * @param storage Specifies how to store the table of heuristic values.
+	 * @throws IllegalArgumentException if storage specifies a full table, and the number of jobs 
+	 * is too large for a full table to fit in an array
+	 */
+	public WeightedShortestProcessingPlusSetupTimePrecompute(SingleMachineSchedulingProblem problem, PrecomputeStorage storage) {
 		super(problem);
-		final int n = data.numberOfJobs();
-		h = new double[n][n];
 		if (HAS_SETUPS) {
-			for (int i = 0; i < n; i++) {
-				h[i][i] = Math.max(MIN_H, ((double)data.getWeight(i)) / (data.getProcessingTime(i) + data.getSetupTime(i)));
-				for (int j = i+1; j < n; j++) {
-					h[i][j] = Math.max(MIN_H, ((double)data.getWeight(j)) / (data.getProcessingTime(j) + data.getSetupTime(i, j)));
-					h[j][i] = Math.max(MIN_H, ((double)data.getWeight(i)) / (data.getProcessingTime(i) + data.getSetupTime(j, i)));
-				}
-			}
+			table = storage.createTable(
+				data.numberOfJobs(), 
+				(i, j) -> Math.max(MIN_H, ((double)data.getWeight(j)) / (data.getProcessingTime(j) + (i == j ? data.getSetupTime(j) : data.getSetupTime(i, j)))),
+				false
+			);
 		} else {
-			for (int i = 0; i < n; i++) {
-				final double H = Math.max(MIN_H, ((double)data.getWeight(i)) / data.getProcessingTime(i));
-				for (int j = 0; j < n; j++) {
-					h[j][i] = H;
-				}
-			}
+			table = storage.createTable(
+				data.numberOfJobs(), 
+				(i, j) -> Math.max(MIN_H, ((double)data.getWeight(j)) / data.getProcessingTime(j)),
+				true
+			);
 		}
 	}
 	
 	@Override
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
-		return p.size()==0 ? h[element][element] : h[p.getLast()][element];
+		return table.h(p, element);
+	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		table.hAll(p, values);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Returns true if the instance doesn't have setup times.</p>
+	 */
+	@Override
+	public boolean isStatic() {
+		return !HAS_SETUPS;
 	}
 }
\ No newline at end of file
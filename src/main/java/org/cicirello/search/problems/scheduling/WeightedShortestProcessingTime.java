@@ -66,4 +66,14 @@ public class WeightedShortestProcessingTime extends SchedulingHeuristic {
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
 		return h[element];
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Returns true for this class, but false for a subclass, which may override the {@link #h} method.</p>
+	 */
+	@Override
+	public boolean isStatic() {
+		return getClass() == WeightedShortestProcessingTime.class;
+	}
 }
\ No newline at end of file
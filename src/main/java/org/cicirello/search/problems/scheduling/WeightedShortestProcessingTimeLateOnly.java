@@ -66,10 +66,24 @@ public final class WeightedShortestProcessingTimeLateOnly extends WeightedShorte
 	
 	@Override
 	public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
-		if (((IncrementalTimeCalculator)incEval).slack(element, p) >= 0) {
+		return evaluate(p, element, (IncrementalTimeCalculator)incEval);
+	}
+	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		evaluateAll(p, (IncrementalTimeCalculator)incEval, values, this::evaluate);
+	}
+	
+	@Override
+	public boolean isStatic() {
+		return false;
+	}
+	
+	private double evaluate(Partial<Permutation> p, int element, IncrementalTimeCalculator inc) {
+		if (inc.slack(element, p) >= 0) {
 			return MIN_H;
 		} 
-		return super.h(p, element, incEval);
+		return super.h(p, element, inc);
 	}
 	
 	@Override
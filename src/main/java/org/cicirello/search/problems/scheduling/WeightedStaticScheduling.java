@@ -240,17 +240,25 @@ public final class WeightedStaticScheduling implements SingleMachineSchedulingPr
 	
 	@Override
 	public int[] getCompletionTimes(Permutation schedule) {
+		int[] c = new int[process.length];
+		getCompletionTimes(schedule, c);
+		return c;
+	}
+	
+	@Override
+	public void getCompletionTimes(Permutation schedule, int[] c) {
 		if (schedule.length() != process.length) {
 			throw new IllegalArgumentException("schedule is incorrect length");
 		}
-		int[] c = new int[process.length];
+		if (c.length != process.length) {
+			throw new IllegalArgumentException("c is incorrect length");
+		}
 		int time = 0;
 		for (int i = 0; i < c.length; i++) {
 			int j = schedule.get(i);
 			time += process[j];
 			c[j] = time;
 		}
-		return c;
 	}
 	
 	@Override
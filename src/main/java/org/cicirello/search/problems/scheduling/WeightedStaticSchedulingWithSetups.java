@@ -327,10 +327,19 @@ public final class WeightedStaticSchedulingWithSetups implements SingleMachineSc
 	
 	@Override
 	public int[] getCompletionTimes(Permutation schedule) {
+		int[] c = new int[process.length];
+		getCompletionTimes(schedule, c);
+		return c;
+	}
+	
+	@Override
+	public void getCompletionTimes(Permutation schedule, int[] c) {
 		if (schedule.length() != process.length) {
 			throw new IllegalArgumentException("schedule is incorrect length");
 		}
-		int[] c = new int[process.length];
+		if (c.length != process.length) {
+			throw new IllegalArgumentException("c is incorrect length");
+		}
 		int last = schedule.get(0);
 		int time = 0;
 		for (int i = 0; i < c.length; i++) {
@@ -339,7 +348,6 @@ public final class WeightedStaticSchedulingWithSetups implements SingleMachineSc
 			c[j] = time;
 			last = j;
 		}
-		return c;
 	}
 	
 	@Override
@@ -48,6 +48,28 @@ public abstract class BaseTSP implements Problem<Permutation> {
 	 */
 	public abstract int length();
 	
+	/**
+	 * <p>Computes candidate lists of the k nearest neighbors of each city, i.e., the k cities
+	 * with the lowest cost edges from each city. Candidate lists enable restricting a search to the
+	 * moves that introduce short edges, such as with the {@link 
+	 * org.cicirello.search.operators.permutations.CandidateTwoChangeMutation CandidateTwoChangeMutation}
+	 * and {@link org.cicirello.search.operators.permutations.CandidateInsertionMutation CandidateInsertionMutation}
+	 * classes, and speeding up constructive heuristics, such as the {@link NearestCityPairHeuristic}.</p>
+	 *
+	 * <p>The candidate lists are computed each time this method is called, so you should keep
+	 * a reference to the result if you need them more than once. The default implementation considers all
+	 * pairs of cities, and requires O(n<sup>2</sup> k) time, where n is the number of cities.</p>
+	 *
+	 * @param k The number of nearest neighbors of each city. If k &gt; n-1, then the candidate lists
+	 * include all n-1 other cities.
+	 * @return an array with one row for each city, such that row i contains the min(k, n-1) cities
+	 * nearest to city i, ordered from nearest to farthest.
+	 * @throws IllegalArgumentException if k &lt; 1.
+	 */
+	public int[][] getNearestNeighbors(int k) {
+		return NearestNeighbors.byEdgeCost(this, k);
+	}
+	
 	/*
 	 * package private to support implementing heuristics in same package.
 	 */
@@ -57,6 +57,21 @@ public final class NearestCityHeuristic implements ConstructiveHeuristic<Permuta
 		return p.size() > 0  ? 1.0 / (1.0 + problem.edgeCostForHeuristics(p.getLast(), element)) : 1;
 	}
 	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		int k = p.numExtensions();
+		if (p.size() > 0) {
+			int last = p.getLast();
+			for (int i = 0; i < k; i++) {
+				values[i] = 1.0 / (1.0 + problem.edgeCostForHeuristics(last, p.getExtension(i)));
+			}
+		} else {
+			for (int i = 0; i < k; i++) {
+				values[i] = 1;
+			}
+		}
+	}
+	
 	@Override
 	public final Problem<Permutation> getProblem() {
 		return problem;
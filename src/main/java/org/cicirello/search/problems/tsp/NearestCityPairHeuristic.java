@@ -36,12 +36,20 @@ import org.cicirello.search.ss.PartialPermutation;
  * where h(j) is the heuristic
  * value for city j, and i is the most recently added city.
  *
+ * <p>Maintaining the distance from each remaining city to its nearest remaining city
+ * requires O(n<sup>2</sup>) time to initialize at the start of each constructed tour, where n is
+ * the number of cities. If constructed with candidate lists of the k nearest neighbors of each city
+ * (see {@link #NearestCityPairHeuristic(BaseTSP, int)}), then the nearest remaining city is
+ * instead found from the candidate lists, and only a city whose entire candidate list has been added to
+ * the tour requires considering all remaining cities. The heuristic values are the same either way.</p>
+ *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  */
 public final class NearestCityPairHeuristic implements ConstructiveHeuristic<Permutation> {
 	
 	private final BaseTSP problem;
+	private final int[][] candidates;
 	
 	/**
 	 * Constructs a nearest city pair heuristic for an instance of the TSP.
@@ -49,6 +57,19 @@ public final class NearestCityPairHeuristic implements ConstructiveHeuristic<Per
 	 */
 	public NearestCityPairHeuristic(BaseTSP problem) {
 		this.problem = problem;
+		candidates = null;
+	}
+	
+	/**
+	 * Constructs a nearest city pair heuristic for an instance of the TSP, which uses
+	 * candidate lists of the k nearest neighbors of each city to find the nearest remaining city.
+	 * @param problem The TSP instance to solve.
+	 * @param k The number of nearest neighbors of each city to include in the candidate lists.
+	 * @throws IllegalArgumentException if k &lt; 1.
+	 */
+	public NearestCityPairHeuristic(BaseTSP problem, int k) {
+		this.problem = problem;
+		candidates = problem.getNearestNeighbors(k);
 	}
 	
 	@Override
@@ -61,6 +82,21 @@ public final class NearestCityPairHeuristic implements ConstructiveHeuristic<Per
 		return 1.0 / (denom);
 	}
 	
+	@Override
+	public void hAll(Partial<Permutation> p, IncrementalEvaluation<Permutation> incEval, double[] values) {
+		double[] distanceToNearestCity = ((NearestCityPairHeuristicIncrementalEvaluation)incEval).distanceToNearestCity;
+		int k = p.numExtensions();
+		int last = p.size() > 0 ? p.getLast() : -1;
+		for (int i = 0; i < k; i++) {
+			int element = p.getExtension(i);
+			double denom = 1.0 + distanceToNearestCity[element];
+			if (last >= 0) {
+				denom += problem.edgeCostForHeuristics(last, element);
+			}
+			values[i] = 1.0 / denom;
+		}
+	}
+	
 	@Override
 	public IncrementalEvaluation<Permutation> createIncrementalEvaluation() {
 		return new NearestCityPairHeuristicIncrementalEvaluation();
@@ -92,11 +128,28 @@ public final class NearestCityPairHeuristic implements ConstructiveHeuristic<Per
 		private final int[] remainingCities;
 		private int numRemaining;
 		
+		// only used with candidate lists
+		private final boolean[] isRemaining;
+		private final int[] candidateIndex;
+		
 		NearestCityPairHeuristicIncrementalEvaluation() {
 			numRemaining = problem.length();
 			distanceToNearestCity = new double[numRemaining];
 			nearestRemainingCity = new int[numRemaining];
 			remainingCities = new int[numRemaining];
+			if (candidates != null) {
+				isRemaining = new boolean[numRemaining];
+				candidateIndex = new int[numRemaining];
+				for (int i = 0; i < numRemaining; i++) {
+					remainingCities[i] = i;
+					isRemaining[i] = true;
+					nearestRemainingCity[i] = candidates[i][0];
+					distanceToNearestCity[i] = problem.edgeCostForHeuristics(i, candidates[i][0]);
+				}
+				return;
+			}
+			isRemaining = null;
+			candidateIndex = null;
 			for (int i = 0; i < numRemaining; i++) {
 				distanceToNearestCity[i] = Double.POSITIVE_INFINITY;
 				remainingCities[i] = i;
@@ -119,6 +172,9 @@ public final class NearestCityPairHeuristic implements ConstructiveHeuristic<Per
 				for (int i = 0; i < numRemaining; i++) {
 					int x = remainingCities[i];
 					if (nearestRemainingCity[x] == element) {
+						if (candidates != null && nextCandidate(x)) {
+							continue;
+						}
 						distanceToNearestCity[x] = Double.POSITIVE_INFINITY;
 						for (int j = 0; j < numRemaining; j++) {
 							if (i!=j) {
@@ -137,10 +193,31 @@ public final class NearestCityPairHeuristic implements ConstructiveHeuristic<Per
 			}
 		}
 		
+		/*
+		 * Finds the next nearest remaining city of x from its candidate list,
+		 * returning false if all of the cities in its candidate list have been added.
+		 */
+		private boolean nextCandidate(int x) {
+			int[] list = candidates[x];
+			for (int c = candidateIndex[x] + 1; c < list.length; c++) {
+				if (isRemaining[list[c]]) {
+					candidateIndex[x] = c;
+					nearestRemainingCity[x] = list[c];
+					distanceToNearestCity[x] = problem.edgeCostForHeuristics(x, list[c]);
+					return true;
+				}
+			}
+			candidateIndex[x] = list.length;
+			return false;
+		}
+		
 		private void removeFromRemaining(int element) {
 			int i = 0;
 			for ( ; i < numRemaining && remainingCities[i] != element; i++);
 			if (remainingCities[i] == element) {
+				if (isRemaining != null) {
+					isRemaining[element] = false;
+				}
 				for (i++; i < numRemaining; i++) {
 					remainingCities[i-1] = remainingCities[i];
 				}
@@ -0,0 +1,162 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems.tsp;
+
+/**
+ * Internal (package-private) class with utility methods for computing
+ * the k nearest neighbors of each of the cities of a TSP instance.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+final class NearestNeighbors {
+	
+	/*
+	 * Utility class of static methods, so disable instantiation.
+	 */
+	private NearestNeighbors() {}
+	
+	/*
+	 * Computes the k nearest neighbors of each city by considering all pairs of cities,
+	 * using the edge costs of the problem. Requires O(n^2 k) time in the worst case.
+	 * This works for any TSP instance, including those that are not defined by coordinates,
+	 * and those with asymmetric edge costs, in which case the neighbors are by outgoing edge cost.
+	 */
+	static int[][] byEdgeCost(BaseTSP problem, int k) {
+		final int n = problem.length();
+		k = validateK(n, k);
+		int[][] neighbors = new int[n][k];
+		double[] dist = new double[k];
+		for (int i = 0; i < n; i++) {
+			int count = 0;
+			for (int j = 0; j < n; j++) {
+				if (i != j) {
+					count = insert(neighbors[i], dist, count, j, problem.edgeCostForHeuristics(i, j));
+				}
+			}
+		}
+		return neighbors;
+	}
+	
+	/*
+	 * Computes the k nearest neighbors of each city by Euclidean distance, using a
+	 * spatial grid with an average of approximately 2 cities per cell. Each city's search
+	 * expands outward from its own cell, one ring of cells at a time, and stops once no unsearched
+	 * cell can contain a city nearer than the kth nearest found so far. For cities that are
+	 * reasonably uniformly distributed, this requires approximately O(n k) time, rather than the
+	 * O(n^2 k) time of comparing all pairs.
+	 */
+	static int[][] byGrid(double[] x, double[] y, int k) {
+		final int n = x.length;
+		k = validateK(n, k);
+		double minX = x[0];
+		double maxX = x[0];
+		double minY = y[0];
+		double maxY = y[0];
+		for (int i = 1; i < n; i++) {
+			if (x[i] < minX) minX = x[i];
+			else if (x[i] > maxX) maxX = x[i];
+			if (y[i] < minY) minY = y[i];
+			else if (y[i] > maxY) maxY = y[i];
+		}
+		final int g = Math.max(1, (int)Math.ceil(Math.sqrt(n / 2.0)));
+		// the extra fraction ensures that the cities on the max edges fall within the grid
+		final double cellWidth = Math.max((maxX - minX) / g, Double.MIN_NORMAL) * (1 + 1E-9);
+		final double cellHeight = Math.max((maxY - minY) / g, Double.MIN_NORMAL) * (1 + 1E-9);
+		final double minCellSide = Math.min(cellWidth, cellHeight);
+		
+		// bucket the cities by cell: cells[start[c]] through cells[start[c+1]-1] are the cities in cell c
+		int[] cellOf = new int[n];
+		int[] start = new int[g * g + 1];
+		for (int i = 0; i < n; i++) {
+			int col = Math.min(g - 1, (int)((x[i] - minX) / cellWidth));
+			int row = Math.min(g - 1, (int)((y[i] - minY) / cellHeight));
+			cellOf[i] = row * g + col;
+			start[cellOf[i] + 1]++;
+		}
+		for (int c = 1; c <= g * g; c++) {
+			start[c] += start[c-1];
+		}
+		int[] cells = new int[n];
+		int[] next = start.clone();
+		for (int i = 0; i < n; i++) {
+			cells[next[cellOf[i]]++] = i;
+		}
+		
+		int[][] neighbors = new int[n][k];
+		double[] dist = new double[k];
+		for (int i = 0; i < n; i++) {
+			final int row = cellOf[i] / g;
+			final int col = cellOf[i] % g;
+			int count = 0;
+			for (int r = 0; r < g; r++) {
+				// the cells in ring r are those at a Chebyshev distance of r from city i's cell
+				for (int rr = Math.max(0, row - r); rr <= Math.min(g - 1, row + r); rr++) {
+					boolean edgeRow = rr == row - r || rr == row + r;
+					int step = edgeRow ? 1 : 2 * r;
+					for (int cc = col - r; cc <= col + r; cc += step) {
+						if (cc >= 0 && cc < g) {
+							int c = rr * g + cc;
+							for (int m = start[c]; m < start[c+1]; m++) {
+								int j = cells[m];
+								if (j != i) {
+									double dx = x[i] - x[j];
+									double dy = y[i] - y[j];
+									count = insert(neighbors[i], dist, count, j, Math.sqrt(dx*dx + dy*dy));
+								}
+							}
+						}
+					}
+				}
+				// any city in a ring beyond r is at least a distance of r cells away
+				if (count == k && dist[k-1] <= r * minCellSide) break;
+			}
+		}
+		return neighbors;
+	}
+	
+	private static int validateK(int n, int k) {
+		if (k < 1) {
+			throw new IllegalArgumentException("k must be positive");
+		}
+		return Math.min(k, n - 1);
+	}
+	
+	/*
+	 * Inserts city j with distance d into the list of the nearest found so far,
+	 * which is kept sorted by distance, dropping the farthest if the list is full.
+	 * Returns the new number of cities in the list.
+	 */
+	private static int insert(int[] list, double[] dist, int count, int j, double d) {
+		if (count == list.length) {
+			if (d >= dist[count-1]) return count;
+			count--;
+		}
+		int m = count;
+		for ( ; m > 0 && dist[m-1] > d; m--) {
+			list[m] = list[m-1];
+			dist[m] = dist[m-1];
+		}
+		list[m] = j;
+		dist[m] = d;
+		return count + 1;
+	}
+}
@@ -155,14 +155,23 @@ public abstract class RandomTSPMatrix extends BaseTSP {
 		 *      if rows don't all have same length.
 		 */
 		public Integer(int[][] distance) {
+			this(distance, true);
+		}
+		
+		/*
+		 * package-private constructor that enables using the distance matrix directly rather than
+		 * copying it, such as by TSPLIBReader, which creates a new matrix for each instance, and 
+		 * for which a copy would double the peak memory.
+		 */
+		Integer(int[][] distance, boolean copy) {
 			final int n = distance.length;
 			if (n < 2) throw new IllegalArgumentException("distance must be at least 2 by 2");
-			d = new int[n][n];
+			d = copy ? new int[n][] : distance;
 			for (int i = 0; i < n; i++) {
 				if (distance[i].length != n) {
 					throw new IllegalArgumentException("num rows and columns must be the same");
 				}
-				System.arraycopy(distance[i], 0, d[i], 0, n);
+				if (copy) d[i] = distance[i].clone();
 			}
 		}
 		
@@ -402,14 +411,23 @@ public abstract class RandomTSPMatrix extends BaseTSP {
 		 *      if rows don't all have same length.
 		 */
 		public Double(double[][] distance) {
+			this(distance, true);
+		}
+		
+		/*
+		 * package-private constructor that enables using the distance matrix directly rather than
+		 * copying it, such as by TSPLIBReader, which creates a new matrix for each instance, and 
+		 * for which a copy would double the peak memory.
+		 */
+		Double(double[][] distance, boolean copy) {
 			final int n = distance.length;
 			if (n < 2) throw new IllegalArgumentException("distance must be at least 2 by 2");
-			d = new double[n][n];
+			d = copy ? new double[n][] : distance;
 			for (int i = 0; i < n; i++) {
 				if (distance[i].length != n) {
 					throw new IllegalArgumentException("num rows and columns must be the same");
 				}
-				System.arraycopy(distance[i], 0, d[i], 0, n);
+				if (copy) d[i] = distance[i].clone();
 			}
 		}
 		
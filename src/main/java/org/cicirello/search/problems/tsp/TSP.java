@@ -24,6 +24,9 @@ import java.util.SplittableRandom;
 import java.util.random.RandomGenerator;
 import org.cicirello.search.problems.OptimizationProblem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.problems.DeltaEvaluable;
+import org.cicirello.search.problems.IntegerCostDeltaEvaluable;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -42,13 +45,40 @@ import org.cicirello.permutations.Permutation;
  * which may be prohibitive for TSP instances with a very large number of cities. Whereas
  * the other two classes that compute each edge weight each time it is needed ({@link Double} and
  * {@link Integer}), may be slower (by a constant factor) but only use linear memory, and are thus
- * applicable to much larger TSP instances.</p>
+ * applicable to much larger TSP instances. The memory required by the nested classes with
+ * precomputed edge weights can be reduced, by a factor of up to 8, with the storage modes of
+ * {@link TSPWeightStorage}.</p>
+ *
+ * <p>All four of the nested classes support incremental cost evaluation (see the
+ * {@link DeltaEvaluable} and {@link IntegerCostDeltaEvaluable} interfaces) of the moves of
+ * the common permutation mutation operators, such as swaps, insertions, reversals,
+ * 2-changes, and 3-changes. The change in cost of such a move is computed in constant time
+ * from only the edges that the move replaced. The classes with precomputed edge weights compute
+ * the cost of each edge once for both directions, so their edge costs are always symmetric. 
+ * The {@link Double} and {@link Integer} classes, however, support incremental cost evaluation 
+ * only if their distance function is symmetric (see {@link TSPEdgeDistance#isSymmetric}), such 
+ * as the default Euclidean distance.</p>
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  */
 public abstract class TSP extends BaseTSP {
 	
+	/* The default edge distance function. */
+	private static final TSPEdgeDistance EUCLIDEAN = new TSPEdgeDistance() {
+		@Override
+		public double distance(double x1, double y1, double x2, double y2) {
+			double deltaX = x1 - x2;
+			double deltaY = y1 - y2;
+			return Math.sqrt(deltaX*deltaX + deltaY*deltaY);
+		}
+		
+		@Override
+		public boolean isSymmetric() {
+			return true;
+		}
+	};
+	
 	/* These are package-private to provide access to the static inner classes. */
 	final double[] x;
 	final double[] y;
@@ -59,11 +89,7 @@ public abstract class TSP extends BaseTSP {
 		this(
 			n,
 			w,
-			(x1, y1, x2, y2) -> {
-				double deltaX = x1 - x2;
-				double deltaY = y1 - y2;
-				return Math.sqrt(deltaX*deltaX + deltaY*deltaY);
-			},
+			EUCLIDEAN,
 			gen
 		);
 	}
@@ -90,11 +116,7 @@ public abstract class TSP extends BaseTSP {
 		this(
 			x, 
 			y, 
-			(x1, y1, x2, y2) -> {
-				double deltaX = x1 - x2;
-				double deltaY = y1 - y2;
-				return Math.sqrt(deltaX*deltaX + deltaY*deltaY);
-			}
+			EUCLIDEAN
 		);
 	}
 	
@@ -139,6 +161,137 @@ public abstract class TSP extends BaseTSP {
 	public final double getY(int i) {
 		return y[i];
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>If the edge costs are the default Euclidean distance, then the nearest neighbors
+	 * are found with a spatial grid over the coordinates of the cities, which for cities that are
+	 * reasonably uniformly distributed requires approximately O(n k) time. Otherwise, all
+	 * pairs of cities are considered, which requires O(n<sup>2</sup> k) time.</p>
+	 */
+	@Override
+	public int[][] getNearestNeighbors(int k) {
+		return d == EUCLIDEAN ? NearestNeighbors.byGrid(x, y, k) : super.getNearestNeighbors(k);
+	}
+	
+	/*
+	 * package-private: used by the nested classes to implement the supportsDelta method
+	 * of the DeltaEvaluable and IntegerCostDeltaEvaluable interfaces.
+	 */
+	static boolean isTourMove(MoveDescriptor move) {
+		return move != null && move.getType() != null;
+	}
+	
+	/*
+	 * package-private: used by the nested classes to implement the costDelta method
+	 * of the DeltaEvaluable and IntegerCostDeltaEvaluable interfaces. Computes the
+	 * difference in tour cost caused by the move, which has already been applied to tour,
+	 * from only the edges that the move replaced. The edge costs must be symmetric, so the
+	 * direction in which an edge is traversed doesn't matter. For the integer cost
+	 * variants, the edge costs are integers, and the sum is exact.
+	 */
+	final double tourCostDelta(Permutation tour, MoveDescriptor move) {
+		final int n = tour.length();
+		if (n != x.length) {
+			throw new IllegalArgumentException("Permutation must be same length as number of cities.");
+		}
+		switch (move.getType()) {
+			case SWAP:
+				return blockInterchangeDelta(tour, move.getFirst(), move.getFirst(), move.getSecond(), move.getSecond());
+			case BLOCK_INTERCHANGE:
+				return blockInterchangeDelta(tour, move.getFirst(), move.getSecond(), move.getThird(), move.getFourth());
+			case REVERSAL:
+			case TWO_CHANGE:
+				return reversalDelta(tour, move.getFirst(), move.getSecond());
+			case THREE_OPT:
+				return threeOptDelta(tour, move.getFirst(), move.getSecond(), move.getThird(), move.getFourth());
+			default:
+				// ROTATION: a rotation of a cyclic tour doesn't change its edges
+				return 0;
+		}
+	}
+	
+	private double reversalDelta(Permutation tour, int i, int j) {
+		final int n = tour.length();
+		if (j - i + 1 >= n - 1) {
+			// reversing all, or all but one, of the cities of a cyclic tour
+			// results in the same set of edges
+			return 0;
+		}
+		int before = tour.get(i > 0 ? i - 1 : n - 1);
+		int after = tour.get(j < n - 1 ? j + 1 : 0);
+		int first = tour.get(i);
+		int last = tour.get(j);
+		return edgeCostForHeuristics(before, first) + edgeCostForHeuristics(last, after)
+			- edgeCostForHeuristics(before, last) - edgeCostForHeuristics(first, after);
+	}
+	
+	private double blockInterchangeDelta(Permutation tour, int a, int b, int c, int d) {
+		final int n = tour.length();
+		final int lenA = b - a + 1;
+		final int lenM = c - b - 1;
+		final int lenB = d - c + 1;
+		// Edges are identified by the index at which they start. After the move,
+		// the block that had been at c..d is at a..a+lenB-1, followed by the
+		// cities that had been between the blocks, followed by the block that had been
+		// at a..b. Only the edges at the boundaries of these changed.
+		final boolean wraps = a == 0 && d == n - 1;
+		double delta = tourEdge(tour, a + lenB - 1, n) - oldTourEdge(tour, b, a, b, c, d, lenA, lenB, n);
+		if (lenM > 0) {
+			delta += tourEdge(tour, a + lenB + lenM - 1, n) - oldTourEdge(tour, c - 1, a, b, c, d, lenA, lenB, n);
+		}
+		delta += tourEdge(tour, d, n) - oldTourEdge(tour, d, a, b, c, d, lenA, lenB, n);
+		if (!wraps) {
+			int before = a > 0 ? a - 1 : n - 1;
+			delta += tourEdge(tour, before, n) - oldTourEdge(tour, before, a, b, c, d, lenA, lenB, n);
+		}
+		return delta;
+	}
+	
+	private double tourEdge(Permutation tour, int start, int n) {
+		return edgeCostForHeuristics(tour.get(start), tour.get(start < n - 1 ? start + 1 : 0));
+	}
+	
+	private double oldTourEdge(Permutation tour, int start, int a, int b, int c, int d, int lenA, int lenB, int n) {
+		int next = start < n - 1 ? start + 1 : 0;
+		return edgeCostForHeuristics(
+			tour.get(beforeBlockInterchange(start, a, b, c, d, lenA, lenB)),
+			tour.get(beforeBlockInterchange(next, a, b, c, d, lenA, lenB))
+		);
+	}
+	
+	/*
+	 * Maps an index prior to a block interchange to the index where
+	 * the city at that index is after the block interchange.
+	 */
+	private static int beforeBlockInterchange(int k, int a, int b, int c, int d, int lenA, int lenB) {
+		if (k < a || k > d) return k;
+		if (k <= b) return d - lenA + 1 + k - a;
+		if (k < c) return a + lenB + k - b - 1;
+		return a + k - c;
+	}
+	
+	private double threeOptDelta(Permutation tour, int startX, int startY, int startZ, int form) {
+		final int n = tour.length();
+		int xs = tour.get(startX);
+		int xe = tour.get(startY - 1);
+		int ys = tour.get(startY);
+		int ye = tour.get(startZ > 0 ? startZ - 1 : n - 1);
+		int zs = tour.get(startZ);
+		int ze = tour.get(startX > 0 ? startX - 1 : n - 1);
+		double added = edgeCostForHeuristics(xe, ys) + edgeCostForHeuristics(ye, zs) + edgeCostForHeuristics(ze, xs);
+		switch (form) {
+			case 0: // previously: Y X Z
+				return added - edgeCostForHeuristics(ye, xs) - edgeCostForHeuristics(xe, zs) - edgeCostForHeuristics(ze, ys);
+			case 1: // previously: reversed X, reversed Y, Z
+				return added - edgeCostForHeuristics(xs, ye) - edgeCostForHeuristics(ys, zs) - edgeCostForHeuristics(ze, xe);
+			case 2: // previously: reversed Y, X, Z
+				return added - edgeCostForHeuristics(ys, xs) - edgeCostForHeuristics(xe, zs) - edgeCostForHeuristics(ze, ye);
+			default: // previously: Y, reversed X, Z
+				return added - edgeCostForHeuristics(ye, xe) - edgeCostForHeuristics(xs, zs) - edgeCostForHeuristics(ze, ys);
+		}
+	}
 		
 	/**
 	 * <p>Cost function for the Traveling Salesperson Problem (TSP), where edge costs 
@@ -150,7 +303,7 @@ public abstract class TSP extends BaseTSP {
 	 * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
 	 * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
 	 */
-	public final static class Double extends TSP implements OptimizationProblem<Permutation> {
+	public final static class Double extends TSP implements OptimizationProblem<Permutation>, DeltaEvaluable<Permutation> {
 		
 		/**
 		 * Constructs a random TSP instance with cities randomly distributed within
@@ -262,6 +415,16 @@ public abstract class TSP extends BaseTSP {
 			return 0;
 		}
 		
+		@Override
+		public boolean supportsDelta(MoveDescriptor move) {
+			return d.isSymmetric() && isTourMove(move);
+		}
+		
+		@Override
+		public double costDelta(Permutation neighbor, MoveDescriptor move) {
+			return tourCostDelta(neighbor, move);
+		}
+		
 		/*
 		 * package private to support implementing heuristics in same package.
 		 */
@@ -281,7 +444,7 @@ public abstract class TSP extends BaseTSP {
 	 * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
 	 * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
 	 */
-	public final static class Integer extends TSP implements IntegerCostOptimizationProblem<Permutation> {
+	public final static class Integer extends TSP implements IntegerCostOptimizationProblem<Permutation>, IntegerCostDeltaEvaluable<Permutation> {
 		
 		/**
 		 * Constructs a random TSP instance with cities randomly distributed within
@@ -393,6 +556,16 @@ public abstract class TSP extends BaseTSP {
 			return 0;
 		}
 		
+		@Override
+		public boolean supportsDelta(MoveDescriptor move) {
+			return d.isSymmetric() && isTourMove(move);
+		}
+		
+		@Override
+		public int costDelta(Permutation neighbor, MoveDescriptor move) {
+			return (int)tourCostDelta(neighbor, move);
+		}
+		
 		/*
 		 * package private to support implementing heuristics in same package.
 		 */
@@ -411,12 +584,18 @@ public abstract class TSP extends BaseTSP {
 	 * for large instances, in which case you may prefer to use the {@link TSP.Double} class,
 	 * that only requires linear memory but recomputes an edge cost every time it is needed.</p>
 	 *
+	 * <p>The memory required for the precomputed edge costs can be reduced by specifying
+	 * one of the compact storage modes of {@link TSPWeightStorage}, which store only the
+	 * upper triangle of the symmetric matrix of edge costs, optionally in a smaller type,
+	 * at the cost of slightly slower edge cost lookups.</p>
+	 *
 	 * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
 	 * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
 	 */
-	public final static class DoubleMatrix extends TSP implements OptimizationProblem<Permutation> {
+	public final static class DoubleMatrix extends TSP implements OptimizationProblem<Permutation>, DeltaEvaluable<Permutation> {
 		
-		private final double[][] weights;
+		private final WeightMatrix weights;
+		private final TSPWeightStorage storage;
 		
 		/**
 		 * Constructs a random TSP instance with cities randomly distributed within
@@ -428,8 +607,26 @@ public abstract class TSP extends BaseTSP {
 		 * @throws IllegalArgumentException if w &#x2264; 0.0.
 		 */
 		public DoubleMatrix(int n, double w) {
+			this(n, w, TSPWeightStorage.FULL);
+		}
+		
+		/**
+		 * Constructs a random TSP instance with cities randomly distributed within
+		 * a square region. The edge cost of a pair of cities is the Euclidean distance
+		 * between them.
+		 * @param n The number of cities.
+		 * @param w The width (and height) of a square region containing the cities.
+		 * @param storage The storage mode for the precomputed edge weights.
+		 * @throws IllegalArgumentException if n &lt; 2.
+		 * @throws IllegalArgumentException if w &#x2264; 0.0.
+		 * @throws IllegalArgumentException if storage is {@link TSPWeightStorage#TRIANGULAR_SHORT} and
+		 * an edge weight is negative.
+		 * @throws NullPointerException if storage is null.
+		 */
+		public DoubleMatrix(int n, double w, TSPWeightStorage storage) {
 			super(n, w, new SplittableRandom());
-			weights = computeWeights();
+			weights = WeightMatrix.createDouble(x, y, d, storage);
+			this.storage = storage;
 		}
 		
 		/**
@@ -442,8 +639,26 @@ public abstract class TSP extends BaseTSP {
 		 * @throws IllegalArgumentException if w &#x2264; 0.0.
 		 */
 		public DoubleMatrix(int n, double w, TSPEdgeDistance distance) {
+			this(n, w, distance, TSPWeightStorage.FULL);
+		}
+		
+		/**
+		 * Constructs a random TSP instance with cities randomly distributed within
+		 * a square region. 
+		 * @param n The number of cities.
+		 * @param w The width (and height) of a square region containing the cities.
+		 * @param distance The distance function to use for the edge costs.
+		 * @param storage The storage mode for the precomputed edge weights.
+		 * @throws IllegalArgumentException if n &lt; 2.
+		 * @throws IllegalArgumentException if w &#x2264; 0.0.
+		 * @throws IllegalArgumentException if storage is {@link TSPWeightStorage#TRIANGULAR_SHORT} and
+		 * an edge weight is negative.
+		 * @throws NullPointerException if storage is null.
+		 */
+		public DoubleMatrix(int n, double w, TSPEdgeDistance distance, TSPWeightStorage storage) {
 			super(n, w, distance, new SplittableRandom());
-			weights = computeWeights();
+			weights = WeightMatrix.createDouble(x, y, d, storage);
+			this.storage = storage;
 		}
 			
 		/**
@@ -458,8 +673,28 @@ public abstract class TSP extends BaseTSP {
 		 * @throws IllegalArgumentException if w &#x2264; 0.0.
 		 */
 		public DoubleMatrix(int n, double w, long seed) {
+			this(n, w, seed, TSPWeightStorage.FULL);
+		}
+		
+		/**
+		 * Constructs a random TSP instance with cities randomly distributed within
+		 * a square region. The edge cost of a pair of cities is the Euclidean distance
+		 * between them.
+		 * @param n The number of cities.
+		 * @param w The width (and height) of a square region containing the cities.
+		 * @param seed The seed for the random number generator to enable reproducing the
+		 * same instance for experiment reproducibility.
+		 * @param storage The storage mode for the precomputed edge weights.
+		 * @throws IllegalArgumentException if n &lt; 2.
+		 * @throws IllegalArgumentException if w &#x2264; 0.0.
+		 * @throws IllegalArgumentException if storage is {@link TSPWeightStorage#TRIANGULAR_SHORT} and
+		 * an edge weight is negative.
+		 * @throws NullPointerException if storage is null.
+		 */
+		public DoubleMatrix(int n, double w, long seed, TSPWeightStorage storage) {
 			super(n, w, new SplittableRandom(seed));
-			weights = computeWeights();
+			weights = WeightMatrix.createDouble(x, y, d, storage);
+			this.storage = storage;
 		}
 		
 		/**
@@ -474,8 +709,28 @@ public abstract class TSP extends BaseTSP {
 		 * @throws IllegalArgumentException if w &#x2264; 0.0.
 		 */
 		public DoubleMatrix(int n, double w, TSPEdgeDistance distance, long seed) {
+			this(n, w, distance, seed, TSPWeightStorage.FULL);
+		}
+		
+		/**
+		 * Constructs a random TSP instance with cities randomly distributed within
+		 * a square region. 
+		 * @param n The number of cities.
+		 * @param w The width (and height) of a square region containing the cities.
+		 * @param distance The distance function to use for the edge costs.
+		 * @param seed The seed for the random number generator to enable reproducing the
+		 * same instance for experiment reproducibility.
+		 * @param storage The storage mode for the precomputed edge weights.
+		 * @throws IllegalArgumentException if n &lt; 2.
+		 * @throws IllegalArgumentException if w &#x2264; 0.0.
+		 * @throws IllegalArgumentException if storage is {@link TSPWeightStorage#TRIANGULAR_SHORT} and
+		 * an edge weight is negative.
+		 * @throws NullPointerException if storage is null.
+		 */
+		public DoubleMatrix(int n, double w, TSPEdgeDistance distance, long seed, TSPWeightStorage storage) {
 			super(n, w, distance, new SplittableRandom(seed));
-			weights = computeWeights();
+			weights = WeightMatrix.createDouble(x, y, d, storage);
+			this.storage = storage;
 		}
 		
 		/**
@@ -489,8 +744,27 @@ public abstract class TSP extends BaseTSP {
 		 * @throws IllegalArgumentException if the length of the arrays is less than 2.
 		 */
 		public DoubleMatrix(double[] x, double[] y) {
+			this(x, y, TSPWeightStorage.FULL);
+		}
+		
+		/**
+		 * Constructs a TSP instance with city locations specified by arrays of
+		 * x and y coordinates. The edge cost of a pair of cities is the Euclidean distance
+		 * between them.
+		 *
+		 * @param x Array of x coordinates.
+		 * @param y Array of y coordinates.
+		 * @param storage The storage mode for the precomputed edge weights.
+		 * @throws IllegalArgumentException if x.length is not equal to y.length.
+		 * @throws IllegalArgumentException if the length of the arrays is less than 2.
+		 * @throws IllegalArgumentException if storage is {@link TSPWeightStorage#TRIANGULAR_SHORT} and
+		 * an edge weight is negative.
+		 * @throws NullPointerException if storage is null.
+		 */
+		public DoubleMatrix(double[] x, double[] y, TSPWeightStorage storage) {
 			super(x, y);
-			weights = computeWeights();
+			weights = WeightMatrix.createDouble(this.x, this.y, d, storage);
+			this.storage = storage;
 		}
 		
 		/**
@@ -504,8 +778,27 @@ public abstract class TSP extends BaseTSP {
 		 * @throws IllegalArgumentException if the length of the arrays is less than 2.
 		 */
 		public DoubleMatrix(double[] x, double[] y, TSPEdgeDistance distance) {
+			this(x, y, distance, TSPWeightStorage.FULL);
+		}
+		
+		/**
+		 * Constructs a TSP instance with city locations specified by arrays of
+		 * x and y coordinates. 
+		 *
+		 * @param x Array of x coordinates.
+		 * @param y Array of y coordinates.
+		 * @param distance The distance function to use for the edge costs. 
+		 * @param storage The storage mode for the precomputed edge weights.
+		 * @throws IllegalArgumentException if x.length is not equal to y.length.
+		 * @throws IllegalArgumentException if the length of the arrays is less than 2.
+		 * @throws IllegalArgumentException if storage is {@link TSPWeightStorage#TRIANGULAR_SHORT} and
+		 * an edge weight is negative.
+		 * @throws NullPointerException if storage is null.
+		 */
+		public DoubleMatrix(double[] x, double[] y, TSPEdgeDistance distance, TSPWeightStorage storage) {
 			super(x, y, distance);
-			weights = computeWeights();
+			weights = WeightMatrix.createDouble(this.x, this.y, d, storage);
+			this.storage = storage;
 		}
 		
 		@Override
@@ -513,9 +806,9 @@ public abstract class TSP extends BaseTSP {
 			if (candidate.length() != x.length) {
 				throw new IllegalArgumentException("Permutation must be same length as number of cities.");
 			}
-			double total = weights[candidate.get(candidate.length()-1)][candidate.get(0)];
+			double total = weights.weight(candidate.get(candidate.length()-1), candidate.get(0));
 			for (int k = 1; k < candidate.length(); k++) {
-				total = total + weights[candidate.get(k-1)][candidate.get(k)];
+				total = total + weights.weight(candidate.get(k-1), candidate.get(k));
 			}
 			return total;
 		}
@@ -530,14 +823,23 @@ public abstract class TSP extends BaseTSP {
 			return 0;
 		}
 		
-		private double[][] computeWeights() {
-			double[][] w = new double[x.length][x.length];
-			for (int i = 0; i < w.length; i++) {
-				for (int j = i+1; j < w.length; j++) {
-					w[i][j] = w[j][i] = d.distance(x[i], y[i], x[j], y[j]);
-				}
-			}
-			return w;
+		@Override
+		public boolean supportsDelta(MoveDescriptor move) {
+			return isTourMove(move);
+		}
+		
+		@Override
+		public double costDelta(Permutation neighbor, MoveDescriptor move) {
+			return tourCostDelta(neighbor, move);
+		}
+		
+		/**
+		 * Gets the storage mode of the precomputed edge weights.
+		 *
+		 * @return the storage mode of the edge weights
+		 */
+		public TSPWeightStorage getWeightStorage() {
+			return storage;
 		}
 		
 		/*
@@ -545,7 +847,7 @@ public abstract class TSP extends BaseTSP {
 		 */
 		@Override
 		final double edgeCostForHeuristics(int i, int j) {
-			return weights[i][j];
+			return weights.weight(i, j);
 		}
 	}
 	
@@ -556,12 +858,18 @@ public abstract class TSP extends BaseTSP {
 	 * for large instances, in which case you may prefer to use the {@link TSP.Integer} class,
 	 * that only requires linear memory but recomputes an edge cost every time it is needed.</p>
 	 *
+	 * <p>The memory required for the precomputed edge costs can be reduced by specifying
+	 * one of the compact storage modes of {@link TSPWeightStorage}, which store only the
+	 * upper triangle of the symmetric matrix of edge costs, optionally in a smaller type,
+	 * at the cost of slightly slower edge cost lookups.</p>
+	 *
 	 * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
 	 * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
 	 */
-	public final static class IntegerMatrix extends TSP implements IntegerCostOptimizationProblem<Permutation> {
+	public final static class IntegerMatrix extends TSP implements IntegerCostOptimizationProblem<Permutation>, IntegerCostDeltaEvaluable<Permutation> {
 		
-		private final int[][] weights;
+		private final WeightMatrix weights;
+		private final TSPWeightStorage storage;
 		
 		/**
 		 * Constructs a random TSP instance with cities randomly distributed within
@@ -573,8 +881,26 @@ public abstract class TSP extends BaseTSP {
 		 * @throws IllegalArgumentException if w &#x2264; 0.0.
 		 */
 		public IntegerMatrix(int n, double w) {
+			this(n, w, TSPWeightStorage.FULL);
+		}
+		
+		/**
+		 * Constructs a random TSP instance with cities randomly distributed within
+		 * a square region. The edge cost of a pair of cities is the Euclidean distance
+		 * between them rounded to the nearest integer.
+		 * @param n The number of cities.
+		 * @param w The width (and height) of a square region containing the cities.
+		 * @param storage The storage mode for the precomputed edge weights.
+		 * @throws IllegalArgumentException if n &lt; 2.
+		 * @throws IllegalArgumentException if w &#x2264; 0.0.
+		 * @throws IllegalArgumentException if an edge weight can't be stored exactly in the
+		 * specified storage mode.
+		 * @throws NullPointerException if storage is null.
+		 */
+		public IntegerMatrix(int n, double w, TSPWeightStorage storage) {
 			super(n, w, new SplittableRandom());
-			weights = computeWeights();
+			weights = WeightMatrix.createInt(x, y, d, storage);
+			this.storage = storage;
 		}
 		
 		/**
@@ -587,8 +913,26 @@ public abstract class TSP extends BaseTSP {
 		 * @throws IllegalArgumentException if w &#x2264; 0.0.
 		 */
 		public IntegerMatrix(int n, double w, TSPEdgeDistance distance) {
+			this(n, w, distance, TSPWeightStorage.FULL);
+		}
+		
+		/**
+		 * Constructs a random TSP instance with cities randomly distributed within
+		 * a square region. 
+		 * @param n The number of cities.
+		 * @param w The width (and height) of a square region containing the cities.
+		 * @param distance The distance function to use for the edge costs.
+		 * @param storage The storage mode for the precomputed edge weights.
+		 * @throws IllegalArgumentException if n &lt; 2.
+		 * @throws IllegalArgumentException if w &#x2264; 0.0.
+		 * @throws IllegalArgumentException if an edge weight can't be stored exactly in the
+		 * specified storage mode.
+		 * @throws NullPointerException if storage is null.
+		 */
+		public IntegerMatrix(int n, double w, TSPEdgeDistance distance, TSPWeightStorage storage) {
 			super(n, w, distance, new SplittableRandom());
-			weights = computeWeights();
+			weights = WeightMatrix.createInt(x, y, d, storage);
+			this.storage = storage;
 		}
 			
 		/**
@@ -603,8 +947,28 @@ public abstract class TSP extends BaseTSP {
 		 * @throws IllegalArgumentException if w &#x2264; 0.0.
 		 */
 		public IntegerMatrix(int n, double w, long seed) {
+			this(n, w, seed, TSPWeightStorage.FULL);
+		}
+		
+		/**
+		 * Constructs a random TSP instance with cities randomly distributed within
+		 * a square region. The edge cost of a pair of cities is the Euclidean distance
+		 * between them rounded to the nearest integer.
+		 * @param n The number of cities.
+		 * @param w The width (and height) of a square region containing the cities.
+		 * @param seed The seed for the random number generator to enable reproducing the
+		 * same instance for experiment reproducibility.
+		 * @param storage The storage mode for the precomputed edge weights.
+		 * @throws IllegalArgumentException if n &lt; 2.
+		 * @throws IllegalArgumentException if w &#x2264; 0.0.
+		 * @throws IllegalArgumentException if an edge weight can't be stored exactly in the
+		 * specified storage mode.
+		 * @throws NullPointerException if storage is null.
+		 */
+		public IntegerMatrix(int n, double w, long seed, TSPWeightStorage storage) {
 			super(n, w, new SplittableRandom(seed));
-			weights = computeWeights();
+			weights = WeightMatrix.createInt(x, y, d, storage);
+			this.storage = storage;
 		}
 		
 		/**
@@ -619,8 +983,28 @@ public abstract class TSP extends BaseTSP {
 		 * @throws IllegalArgumentException if w &#x2264; 0.0.
 		 */
 		public IntegerMatrix(int n, double w, TSPEdgeDistance distance, long seed) {
+			this(n, w, distance, seed, TSPWeightStorage.FULL);
+		}
+		
+		/**
+		 * Constructs a random TSP instance with cities randomly distributed within
+		 * a square region. 
+		 * @param n The number of cities.
+		 * @param w The width (and height) of a square region containing the cities.
+		 * @param distance The distance function to use for the edge costs.
+		 * @param seed The seed for the random number generator to enable reproducing the
+		 * same instance for experiment reproducibility.
+		 * @param storage The storage mode for the precomputed edge weights.
+		 * @throws IllegalArgumentException if n &lt; 2.
+		 * @throws IllegalArgumentException if w &#x2264; 0.0.
+		 * @throws IllegalArgumentException if an edge weight can't be stored exactly in the
+		 * specified storage mode.
+		 * @throws NullPointerException if storage is null.
+		 */
+		public IntegerMatrix(int n, double w, TSPEdgeDistance distance, long seed, TSPWeightStorage storage) {
 			super(n, w, distance, new SplittableRandom(seed));
-			weights = computeWeights();
+			weights = WeightMatrix.createInt(x, y, d, storage);
+			this.storage = storage;
 		}
 		
 		/**
@@ -634,8 +1018,27 @@ public abstract class TSP extends BaseTSP {
 		 * @throws IllegalArgumentException if the length of the arrays is less than 2.
 		 */
 		public IntegerMatrix(double[] x, double[] y) {
+			this(x, y, TSPWeightStorage.FULL);
+		}
+		
+		/**
+		 * Constructs a TSP instance with city locations specified by arrays of
+		 * x and y coordinates. The edge cost of a pair of cities is the Euclidean distance
+		 * between them rounded to the nearest integer.
+		 *
+		 * @param x Array of x coordinates.
+		 * @param y Array of y coordinates.
+		 * @param storage The storage mode for the precomputed edge weights.
+		 * @throws IllegalArgumentException if x.length is not equal to y.length.
+		 * @throws IllegalArgumentException if the length of the arrays is less than 2.
+		 * @throws IllegalArgumentException if an edge weight can't be stored exactly in the
+		 * specified storage mode.
+		 * @throws NullPointerException if storage is null.
+		 */
+		public IntegerMatrix(double[] x, double[] y, TSPWeightStorage storage) {
 			super(x, y);
-			weights = computeWeights();
+			weights = WeightMatrix.createInt(this.x, this.y, d, storage);
+			this.storage = storage;
 		}
 		
 		/**
@@ -649,8 +1052,27 @@ public abstract class TSP extends BaseTSP {
 		 * @throws IllegalArgumentException if the length of the arrays is less than 2.
 		 */
 		public IntegerMatrix(double[] x, double[] y, TSPEdgeDistance distance) {
+			this(x, y, distance, TSPWeightStorage.FULL);
+		}
+		
+		/**
+		 * Constructs a TSP instance with city locations specified by arrays of
+		 * x and y coordinates. 
+		 *
+		 * @param x Array of x coordinates.
+		 * @param y Array of y coordinates.
+		 * @param distance The distance function to use for the edge costs. 
+		 * @param storage The storage mode for the precomputed edge weights.
+		 * @throws IllegalArgumentException if x.length is not equal to y.length.
+		 * @throws IllegalArgumentException if the length of the arrays is less than 2.
+		 * @throws IllegalArgumentException if an edge weight can't be stored exactly in the
+		 * specified storage mode.
+		 * @throws NullPointerException if storage is null.
+		 */
+		public IntegerMatrix(double[] x, double[] y, TSPEdgeDistance distance, TSPWeightStorage storage) {
 			super(x, y, distance);
-			weights = computeWeights();
+			weights = WeightMatrix.createInt(this.x, this.y, d, storage);
+			this.storage = storage;
 		}
 		
 		@Override
@@ -658,9 +1080,9 @@ public abstract class TSP extends BaseTSP {
 			if (candidate.length() != x.length) {
 				throw new IllegalArgumentException("Permutation must be same length as number of cities.");
 			}
-			int total = weights[candidate.get(candidate.length()-1)][candidate.get(0)];
+			int total = weights.intWeight(candidate.get(candidate.length()-1), candidate.get(0));
 			for (int k = 1; k < candidate.length(); k++) {
-				total = total + weights[candidate.get(k-1)][candidate.get(k)];
+				total = total + weights.intWeight(candidate.get(k-1), candidate.get(k));
 			}
 			return total;
 		}
@@ -675,14 +1097,23 @@ public abstract class TSP extends BaseTSP {
 			return 0;
 		}
 		
-		private int[][] computeWeights() {
-			int[][] w = new int[x.length][x.length];
-			for (int i = 0; i < w.length; i++) {
-				for (int j = i+1; j < w.length; j++) {
-					w[i][j] = w[j][i] = d.distanceAsInt(x[i], y[i], x[j], y[j]);
-				}
-			}
-			return w;
+		@Override
+		public boolean supportsDelta(MoveDescriptor move) {
+			return isTourMove(move);
+		}
+		
+		@Override
+		public int costDelta(Permutation neighbor, MoveDescriptor move) {
+			return (int)tourCostDelta(neighbor, move);
+		}
+		
+		/**
+		 * Gets the storage mode of the precomputed edge weights.
+		 *
+		 * @return the storage mode of the edge weights
+		 */
+		public TSPWeightStorage getWeightStorage() {
+			return storage;
 		}
 		
 		/*
@@ -690,7 +1121,7 @@ public abstract class TSP extends BaseTSP {
 		 */
 		@Override
 		final double edgeCostForHeuristics(int i, int j) {
-			return weights[i][j];
+			return weights.weight(i, j);
 		}
 	}
 }
@@ -21,8 +21,13 @@
 package org.cicirello.search.problems.tsp;
 
 /**
- * A functional interface for specifying a distance function between a
- * pair of cities in a TSP instance.
+ * <p>A functional interface for specifying a distance function between a
+ * pair of cities in a TSP instance.</p>
+ *
+ * <p>The {@link TSP.Double} and {@link TSP.Integer} classes, which compute each edge cost 
+ * as needed, support incremental cost evaluation only for distance functions that declare
+ * themselves symmetric via the {@link #isSymmetric} method, since the change in cost of a reversal
+ * of part of a tour is computed without traversing its edges in their new direction.</p>
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
@@ -55,4 +60,18 @@ public interface TSPEdgeDistance {
 	default int distanceAsInt(double x1, double y1, double x2, double y2) {
 		return (int)Math.round(distance(x1, y1, x2, y2));
 	}
+	
+	/**
+	 * Checks whether this distance function is symmetric, i.e., whether distance(x1, y1, x2, y2)
+	 * is equal to distance(x2, y2, x1, y1), and likewise for distanceAsInt, for all cities. 
+	 * The default implementation returns false. Override it to return true for a symmetric 
+	 * distance function, which enables incremental cost evaluation in the {@link TSP.Double}
+	 * and {@link TSP.Integer} classes.
+	 *
+	 * @return true if this distance function is symmetric, and false if it is not symmetric
+	 * or isn't known to be symmetric
+	 */
+	default boolean isSymmetric() {
+		return false;
+	}
 }
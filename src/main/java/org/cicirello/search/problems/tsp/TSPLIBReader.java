@@ -0,0 +1,670 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems.tsp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>A reader for instances of the Traveling Salesperson Problem (TSP) and the
+ * Asymmetric TSP (ATSP) in the format of the 
+ * <a href=http://comopt.ifi.uni-heidelberg.de/software/TSPLIB95/ target=_top>TSPLIB</a>
+ * benchmark library, which creates instances of the {@link TSP} and {@link RandomTSPMatrix}
+ * classes.</p>
+ *
+ * <p>The reader supports instances whose edge weights are specified by city coordinates in a
+ * NODE_COORD_SECTION, with any of the following two-dimensional edge weight types: EUC_2D, CEIL_2D,
+ * MAN_2D, MAX_2D, ATT, and GEO. Such instances can be used to create instances of any of the
+ * nested classes of {@link TSP}, where the edge costs of the {@link TSP.Integer} and 
+ * {@link TSP.IntegerMatrix} classes are as defined by TSPLIB, and the edge costs of the 
+ * {@link TSP.Double} and {@link TSP.DoubleMatrix} classes are the corresponding distances prior to
+ * rounding to an integer. The reader also supports instances whose edge weights are EXPLICIT, 
+ * in an EDGE_WEIGHT_SECTION with any of the TSPLIB edge weight formats (e.g., FULL_MATRIX, 
+ * UPPER_ROW, LOWER_DIAG_ROW, etc). Both kinds of instances can be used to create instances of the
+ * nested classes of {@link RandomTSPMatrix}, which precompute the full matrix of edge weights.</p>
+ *
+ * <p>The file is memory-mapped, and the numbers in its data sections are parsed directly from the
+ * bytes of the file, without creating intermediate strings or boxed values. The city coordinates
+ * are parsed by the constructor, while the edge weights of an EXPLICIT instance are parsed directly
+ * into the distance matrix of the {@link RandomTSPMatrix} that is created. The size of the file is
+ * limited to 2<sup>31</sup>-1 bytes.</p>
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class TSPLIBReader {
+	
+	/* Exactly representable powers of 10, for the fast path of parsing floating-point numbers. */
+	private static final double[] POW10 = {
+		1E0, 1E1, 1E2, 1E3, 1E4, 1E5, 1E6, 1E7, 1E8, 1E9, 1E10, 1E11,
+		1E12, 1E13, 1E14, 1E15, 1E16, 1E17, 1E18, 1E19, 1E20, 1E21, 1E22
+	};
+	
+	private final ByteBuffer buffer;
+	private final int limit;
+	private int pos;
+	
+	private String name;
+	private String type;
+	private String edgeWeightType;
+	private String edgeWeightFormat;
+	private int dimension;
+	
+	private double[] x;
+	private double[] y;
+	private int edgeWeightSection;
+	
+	/**
+	 * Reads the TSPLIB instance contained in a file.
+	 *
+	 * @param filename The name of the file, with path.
+	 *
+	 * @throws IOException if the file does not exist, or cannot be opened or mapped for reading.
+	 * @throws IllegalArgumentException if the file is not a TSP or ATSP instance in a supported
+	 * TSPLIB format, such as if it has an unsupported EDGE_WEIGHT_TYPE, or is missing its 
+	 * NODE_COORD_SECTION or EDGE_WEIGHT_SECTION, or if a section is malformed.
+	 */
+	public TSPLIBReader(String filename) throws IOException {
+		this(map(filename));
+	}
+	
+	/*
+	 * package-private to ease unit testing
+	 */
+	TSPLIBReader(ByteBuffer buffer) {
+		this.buffer = buffer;
+		limit = buffer.limit();
+		edgeWeightSection = -1;
+		readSpecification();
+	}
+	
+	/**
+	 * Gets the name of the instance, as specified by its NAME keyword.
+	 *
+	 * @return the name of the instance, or null if it doesn't specify a name
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * Gets the number of cities of the instance.
+	 *
+	 * @return the number of cities
+	 */
+	public int getDimension() {
+		return dimension;
+	}
+	
+	/**
+	 * Gets the edge weight type of the instance, as specified by its EDGE_WEIGHT_TYPE keyword,
+	 * such as EUC_2D or EXPLICIT.
+	 *
+	 * @return the edge weight type
+	 */
+	public String getEdgeWeightType() {
+		return edgeWeightType;
+	}
+	
+	/**
+	 * Checks whether the instance specifies the coordinates of its cities, which is
+	 * required to create instances of the nested classes of {@link TSP}.
+	 *
+	 * @return true if the instance specifies the coordinates of its cities
+	 */
+	public boolean hasCoordinates() {
+		return x != null;
+	}
+	
+	/**
+	 * Creates a {@link TSP.Double} for the instance, whose edge costs are the distances
+	 * between the cities prior to rounding.
+	 *
+	 * @return a TSP.Double for the instance
+	 * @throws IllegalStateException if the instance doesn't specify the coordinates of its cities
+	 */
+	public TSP.Double createTSPDouble() {
+		checkCoordinates();
+		return distance() == EUC_2D ? new TSP.Double(x, y) : new TSP.Double(x, y, distance());
+	}
+	
+	/**
+	 * Creates a {@link TSP.Integer} for the instance, whose edge costs are as defined by TSPLIB.
+	 *
+	 * @return a TSP.Integer for the instance
+	 * @throws IllegalStateException if the instance doesn't specify the coordinates of its cities
+	 */
+	public TSP.Integer createTSPInteger() {
+		checkCoordinates();
+		return distance() == EUC_2D ? new TSP.Integer(x, y) : new TSP.Integer(x, y, distance());
+	}
+	
+	/**
+	 * Creates a {@link TSP.DoubleMatrix} for the instance, whose edge costs are the distances
+	 * between the cities prior to rounding.
+	 *
+	 * @param storage The storage mode for the precomputed edge costs.
+	 * @return a TSP.DoubleMatrix for the instance
+	 * @throws IllegalStateException if the instance doesn't specify the coordinates of its cities
+	 * @throws NullPointerException if storage is null
+	 */
+	public TSP.DoubleMatrix createTSPDoubleMatrix(TSPWeightStorage storage) {
+		checkCoordinates();
+		return distance() == EUC_2D ? new TSP.DoubleMatrix(x, y, storage) : new TSP.DoubleMatrix(x, y, distance(), storage);
+	}
+	
+	/**
+	 * Creates a {@link TSP.IntegerMatrix} for the instance, whose edge costs are as defined by TSPLIB.
+	 *
+	 * @param storage The storage mode for the precomputed edge costs.
+	 * @return a TSP.IntegerMatrix for the instance
+	 * @throws IllegalStateException if the instance doesn't specify the coordinates of its cities
+	 * @throws IllegalArgumentException if an edge cost can't be stored exactly in the
+	 * specified storage mode.
+	 * @throws NullPointerException if storage is null
+	 */
+	public TSP.IntegerMatrix createTSPIntegerMatrix(TSPWeightStorage storage) {
+		checkCoordinates();
+		return distance() == EUC_2D ? new TSP.IntegerMatrix(x, y, storage) : new TSP.IntegerMatrix(x, y, distance(), storage);
+	}
+	
+	/**
+	 * Creates a {@link RandomTSPMatrix.Integer} for the instance, whose edge costs are as 
+	 * defined by TSPLIB. For EXPLICIT instances, the edge weights are parsed directly from the 
+	 * file into the distance matrix.
+	 *
+	 * @return a RandomTSPMatrix.Integer for the instance
+	 * @throws IllegalArgumentException if the EDGE_WEIGHT_SECTION is malformed
+	 */
+	public RandomTSPMatrix.Integer createMatrixInteger() {
+		final int n = dimension;
+		int[][] d = new int[n][n];
+		if (x != null) {
+			TSPEdgeDistance f = distance();
+			for (int i = 0; i < n; i++) {
+				for (int j = i+1; j < n; j++) {
+					d[i][j] = d[j][i] = f.distanceAsInt(x[i], y[i], x[j], y[j]);
+				}
+			}
+		} else {
+			readEdgeWeights((i, j, w) -> d[i][j] = (int)Math.round(w), (i, j) -> d[i][j] = d[j][i]);
+		}
+		return new RandomTSPMatrix.Integer(d, false);
+	}
+	
+	/**
+	 * Creates a {@link RandomTSPMatrix.Double} for the instance. If the instance specifies
+	 * the coordinates of its cities, then the edge costs are the distances between the cities 
+	 * prior to rounding. For EXPLICIT instances, the edge weights are parsed directly from the 
+	 * file into the distance matrix.
+	 *
+	 * @return a RandomTSPMatrix.Double for the instance
+	 * @throws IllegalArgumentException if the EDGE_WEIGHT_SECTION is malformed
+	 */
+	public RandomTSPMatrix.Double createMatrixDouble() {
+		final int n = dimension;
+		double[][] d = new double[n][n];
+		if (x != null) {
+			TSPEdgeDistance f = distance();
+			for (int i = 0; i < n; i++) {
+				for (int j = i+1; j < n; j++) {
+					d[i][j] = d[j][i] = f.distance(x[i], y[i], x[j], y[j]);
+				}
+			}
+		} else {
+			readEdgeWeights((i, j, w) -> d[i][j] = w, (i, j) -> d[i][j] = d[j][i]);
+		}
+		return new RandomTSPMatrix.Double(d, false);
+	}
+	
+	/*
+	 * Receives an edge weight, for edge (i, j), from readEdgeWeights.
+	 */
+	@FunctionalInterface
+	private interface WeightSetter {
+		void set(int i, int j, double w);
+	}
+	
+	/*
+	 * Sets edge weight (i, j) to the previously set edge weight (j, i), for the
+	 * triangular formats.
+	 */
+	@FunctionalInterface
+	private interface Mirror {
+		void mirror(int i, int j);
+	}
+	
+	/*
+	 * Parses the EDGE_WEIGHT_SECTION. The column-wise triangular formats list the
+	 * weights in the same order as the corresponding row-wise formats of the opposite 
+	 * triangle, and since they are symmetric, they are parsed as such.
+	 */
+	private void readEdgeWeights(WeightSetter set, Mirror mirror) {
+		final int n = dimension;
+		pos = edgeWeightSection;
+		String format = edgeWeightFormat == null ? "FULL_MATRIX" : edgeWeightFormat;
+		boolean upper;
+		boolean diagonal;
+		switch (format) {
+			case "FULL_MATRIX":
+				for (int i = 0; i < n; i++) {
+					for (int j = 0; j < n; j++) {
+						set.set(i, j, nextNumber());
+					}
+				}
+				return;
+			case "UPPER_ROW": 
+			case "LOWER_COL": 
+				upper = true; diagonal = false; break;
+			case "LOWER_ROW": 
+			case "UPPER_COL": 
+				upper = false; diagonal = false; break;
+			case "UPPER_DIAG_ROW":
+			case "LOWER_DIAG_COL": 
+				upper = true; diagonal = true; break;
+			case "LOWER_DIAG_ROW": 
+			case "UPPER_DIAG_COL": 
+				upper = false; diagonal = true; break;
+			default:
+				throw new IllegalArgumentException("Unsupported EDGE_WEIGHT_FORMAT: " + format);
+		}
+		for (int i = 0; i < n; i++) {
+			int from = upper ? (diagonal ? i : i + 1) : 0;
+			int to = upper ? n : (diagonal ? i + 1 : i);
+			for (int j = from; j < to; j++) {
+				set.set(i, j, nextNumber());
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			for (int j = upper ? 0 : i + 1; j < (upper ? i : n); j++) {
+				mirror.mirror(i, j);
+			}
+		}
+	}
+	
+	private void checkCoordinates() {
+		if (x == null) {
+			throw new IllegalStateException("The instance doesn't specify the coordinates of its cities.");
+		}
+	}
+	
+	/*
+	 * Parses the specification part of the file, as well as the NODE_COORD_SECTION, and 
+	 * finds the start of the EDGE_WEIGHT_SECTION. Sections that are irrelevant to creating
+	 * a TSP instance, such as a DISPLAY_DATA_SECTION, are skipped.
+	 */
+	private void readSpecification() {
+		pos = 0;
+		boolean done = false;
+		while (!done && skipWhitespace()) {
+			if (!isLetter(buffer.get(pos))) {
+				// a stray line of data, outside of any section that is relevant
+				skipLine();
+				continue;
+			}
+			String keyword = nextKeyword();
+			switch (keyword) {
+				case "NAME": name = value(); break;
+				case "TYPE": type = value(); break;
+				case "DIMENSION": dimension = Integer.parseInt(value()); break;
+				case "EDGE_WEIGHT_TYPE": edgeWeightType = value(); break;
+				case "EDGE_WEIGHT_FORMAT": edgeWeightFormat = value(); break;
+				case "NODE_COORD_SECTION":
+					if (isExplicit()) {
+						skipSection();
+					} else {
+						validateSpecification();
+						readCoordinates();
+						done = true;
+					}
+					break;
+				case "EDGE_WEIGHT_SECTION":
+					validateSpecification();
+					skipLine();
+					edgeWeightSection = pos;
+					done = true;
+					break;
+				case "EOF": done = true; break;
+				default:
+					if (keyword.endsWith("_SECTION")) skipSection();
+					else skipLine();
+			}
+		}
+		if (x == null && edgeWeightSection < 0) {
+			throw new IllegalArgumentException(
+				isExplicit() ? "Missing EDGE_WEIGHT_SECTION." : "Missing NODE_COORD_SECTION."
+			);
+		}
+	}
+	
+	private void validateSpecification() {
+		if (type == null || !type.equals("TSP") && !type.equals("ATSP")) {
+			throw new IllegalArgumentException("Unsupported TYPE: " + type);
+		}
+		if (dimension < 2) {
+			throw new IllegalArgumentException("DIMENSION must be at least 2.");
+		}
+		if (edgeWeightType == null) {
+			throw new IllegalArgumentException("Missing EDGE_WEIGHT_TYPE.");
+		}
+		if (!isExplicit()) distance();
+	}
+	
+	private boolean isExplicit() {
+		return "EXPLICIT".equals(edgeWeightType);
+	}
+	
+	private void readCoordinates() {
+		final int n = dimension;
+		x = new double[n];
+		y = new double[n];
+		skipLine();
+		for (int k = 0; k < n; k++) {
+			double id = nextNumber();
+			int i = (int)id - 1;
+			if (i < 0 || i >= n || i + 1 != id) {
+				throw new IllegalArgumentException("Invalid node number in NODE_COORD_SECTION: " + id);
+			}
+			x[i] = nextNumber();
+			y[i] = nextNumber();
+		}
+	}
+	
+	/*
+	 * Gets the distance function for the EDGE_WEIGHT_TYPE.
+	 */
+	private TSPEdgeDistance distance() {
+		switch (edgeWeightType) {
+			case "EUC_2D": return EUC_2D;
+			case "CEIL_2D": return CEIL_2D;
+			case "MAN_2D": return MAN_2D;
+			case "MAX_2D": return MAX_2D;
+			case "ATT": return ATT;
+			case "GEO": return GEO;
+			default: throw new IllegalArgumentException("Unsupported EDGE_WEIGHT_TYPE: " + edgeWeightType);
+		}
+	}
+	
+	/*
+	 * Parses the next number from the current position, without creating any intermediate
+	 * objects, except in the rare case of a number with more than 18 significant digits or
+	 * a large exponent. Otherwise, a number with at most 18 significant digits, and a 
+	 * decimal exponent of magnitude at most 22, is converted with a single correctly rounded 
+	 * floating-point multiplication or division.
+	 */
+	private double nextNumber() {
+		if (!skipWhitespace()) {
+			throw new IllegalArgumentException("Unexpected end of file.");
+		}
+		final int start = pos;
+		byte b = buffer.get(pos);
+		boolean negative = b == '-';
+		if (negative || b == '+') pos++;
+		long mantissa = 0;
+		int significant = 0;
+		int exponent = 0;
+		boolean any = false;
+		boolean exact = true;
+		for (; pos < limit && isDigit(b = buffer.get(pos)); pos++, any = true) {
+			if (significant < 18) {
+				mantissa = 10 * mantissa + (b - '0');
+				if (mantissa != 0) significant++;
+			} else {
+				exponent++;
+				exact = false;
+			}
+		}
+		if (pos < limit && buffer.get(pos) == '.') {
+			for (pos++; pos < limit && isDigit(b = buffer.get(pos)); pos++, any = true) {
+				if (significant < 18) {
+					mantissa = 10 * mantissa + (b - '0');
+					if (mantissa != 0) significant++;
+					exponent--;
+				} else {
+					exact = false;
+				}
+			}
+		}
+		if (!any) {
+			throw new IllegalArgumentException("Expected a number at byte " + start + ".");
+		}
+		if (pos < limit && ((b = buffer.get(pos)) == 'e' || b == 'E')) {
+			pos++;
+			boolean negativeExponent = false;
+			if (pos < limit && ((b = buffer.get(pos)) == '-' || b == '+')) {
+				negativeExponent = b == '-';
+				pos++;
+			}
+			int e = 0;
+			for (; pos < limit && isDigit(b = buffer.get(pos)); pos++) {
+				if (e < 100000) e = 10 * e + (b - '0');
+			}
+			exponent += negativeExponent ? -e : e;
+		}
+		double value;
+		if (exact && mantissa < (1L << 53) && exponent >= -22 && exponent <= 22) {
+			value = exponent >= 0 ? mantissa * POW10[exponent] : mantissa / POW10[-exponent];
+			return negative ? -value : value;
+		}
+		byte[] bytes = new byte[pos - start];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(start + i);
+		}
+		return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+	}
+	
+	/*
+	 * Reads a keyword, which ends at whitespace or a colon.
+	 */
+	private String nextKeyword() {
+		final int start = pos;
+		byte b;
+		while (pos < limit && (b = buffer.get(pos)) > ' ' && b != ':') pos++;
+		return ascii(start, pos);
+	}
+	
+	/*
+	 * Reads the value of a keyword of the specification part, through the end of the line.
+	 */
+	private String value() {
+		while (pos < limit && (buffer.get(pos) == ' ' || buffer.get(pos) == '\t' || buffer.get(pos) == ':')) pos++;
+		final int start = pos;
+		skipLine();
+		int end = pos;
+		while (end > start && buffer.get(end - 1) <= ' ') end--;
+		return ascii(start, end);
+	}
+	
+	private String ascii(int start, int end) {
+		byte[] bytes = new byte[end - start];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(start + i);
+		}
+		return new String(bytes, StandardCharsets.US_ASCII);
+	}
+	
+	/*
+	 * Skips whitespace, returning false if the end of the file is reached.
+	 */
+	private boolean skipWhitespace() {
+		while (pos < limit && buffer.get(pos) <= ' ') pos++;
+		return pos < limit;
+	}
+	
+	/*
+	 * Advances to the start of the next line.
+	 */
+	private void skipLine() {
+		while (pos < limit && buffer.get(pos) != '\n') pos++;
+		if (pos < limit) pos++;
+	}
+	
+	/*
+	 * Skips the data lines of a section, which all begin with a number.
+	 */
+	private void skipSection() {
+		skipLine();
+		while (skipWhitespace() && !isLetter(buffer.get(pos))) {
+			skipLine();
+		}
+	}
+	
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+	
+	private static boolean isLetter(byte b) {
+		return b >= 'A' && b <= 'Z' || b >= 'a' && b <= 'z';
+	}
+	
+	private static ByteBuffer map(String filename) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+	
+	/*
+	 * The distance functions of the TSPLIB edge weight types. The distanceAsInt methods
+	 * compute the edge weights as defined by TSPLIB, and the distance methods compute the
+	 * corresponding distances prior to rounding.
+	 */
+	
+	private static final TSPEdgeDistance EUC_2D = new TSPEdgeDistance() {
+		@Override
+		public double distance(double x1, double y1, double x2, double y2) {
+			double deltaX = x1 - x2;
+			double deltaY = y1 - y2;
+			return Math.sqrt(deltaX*deltaX + deltaY*deltaY);
+		}
+		
+		@Override
+		public boolean isSymmetric() {
+			return true;
+		}
+	};
+	
+	private static final TSPEdgeDistance CEIL_2D = new TSPEdgeDistance() {
+		@Override
+		public double distance(double x1, double y1, double x2, double y2) {
+			return EUC_2D.distance(x1, y1, x2, y2);
+		}
+		
+		@Override
+		public int distanceAsInt(double x1, double y1, double x2, double y2) {
+			return (int)Math.ceil(distance(x1, y1, x2, y2));
+		}
+		
+		@Override
+		public boolean isSymmetric() {
+			return true;
+		}
+	};
+	
+	private static final TSPEdgeDistance MAN_2D = new TSPEdgeDistance() {
+		@Override
+		public double distance(double x1, double y1, double x2, double y2) {
+			return Math.abs(x1 - x2) + Math.abs(y1 - y2);
+		}
+		
+		@Override
+		public boolean isSymmetric() {
+			return true;
+		}
+	};
+	
+	private static final TSPEdgeDistance MAX_2D = new TSPEdgeDistance() {
+		@Override
+		public double distance(double x1, double y1, double x2, double y2) {
+			return Math.max(Math.abs(x1 - x2), Math.abs(y1 - y2));
+		}
+		
+		@Override
+		public int distanceAsInt(double x1, double y1, double x2, double y2) {
+			return (int)Math.max(Math.round(Math.abs(x1 - x2)), Math.round(Math.abs(y1 - y2)));
+		}
+		
+		@Override
+		public boolean isSymmetric() {
+			return true;
+		}
+	};
+	
+	/* The pseudo-Euclidean distance of the att48 and att532 instances. */
+	private static final TSPEdgeDistance ATT = new TSPEdgeDistance() {
+		@Override
+		public double distance(double x1, double y1, double x2, double y2) {
+			double deltaX = x1 - x2;
+			double deltaY = y1 - y2;
+			return Math.sqrt((deltaX*deltaX + deltaY*deltaY) / 10.0);
+		}
+		
+		@Override
+		public int distanceAsInt(double x1, double y1, double x2, double y2) {
+			double r = distance(x1, y1, x2, y2);
+			int t = (int)Math.round(r);
+			return t < r ? t + 1 : t;
+		}
+		
+		@Override
+		public boolean isSymmetric() {
+			return true;
+		}
+	};
+	
+	/*
+	 * Geographical distance, where x is latitude and y is longitude, in degrees and minutes 
+	 * (DDD.MM). Consistent with the published optimal tour lengths, the degrees are the
+	 * truncated integer part, and pi is 3.141592.
+	 */
+	private static final TSPEdgeDistance GEO = new TSPEdgeDistance() {
+		@Override
+		public double distance(double x1, double y1, double x2, double y2) {
+			final double RRR = 6378.388;
+			double lat1 = radians(x1);
+			double lat2 = radians(x2);
+			double q1 = Math.cos(radians(y1) - radians(y2));
+			double q2 = Math.cos(lat1 - lat2);
+			double q3 = Math.cos(lat1 + lat2);
+			return RRR * Math.acos(0.5 * ((1.0 + q1) * q2 - (1.0 - q1) * q3));
+		}
+		
+		@Override
+		public int distanceAsInt(double x1, double y1, double x2, double y2) {
+			return (int)(distance(x1, y1, x2, y2) + 1.0);
+		}
+		
+		@Override
+		public boolean isSymmetric() {
+			return true;
+		}
+		
+		private double radians(double degreesMinutes) {
+			final double PI = 3.141592;
+			int degrees = (int)degreesMinutes;
+			double minutes = degreesMinutes - degrees;
+			return PI * (degrees + 5.0 * minutes / 3.0) / 180.0;
+		}
+	};
+}
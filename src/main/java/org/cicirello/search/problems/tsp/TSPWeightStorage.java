@@ -0,0 +1,83 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems.tsp;
+
+/**
+ * <p>Storage modes for the precomputed edge weights of the {@link TSP.DoubleMatrix} and
+ * {@link TSP.IntegerMatrix} classes. The edge weights of these classes are symmetric,
+ * so all but the {@link #FULL} mode store only the weights of the n(n-1)/2 distinct
+ * pairs of cities, in a single flat array in row-major order of the upper triangle of the
+ * weight matrix. This halves the memory required, and keeps the weights of each row
+ * contiguous in memory, at the cost of a few additional arithmetic operations per
+ * edge weight lookup. The {@link #TRIANGULAR_FLOAT} and {@link #TRIANGULAR_SHORT} modes
+ * additionally use a smaller type for each weight, trading precision for memory.</p>
+ *
+ * <p>The approximate memory required for the edge weights of an instance with n cities,
+ * in each of the storage modes, is as follows (e.g., at n = 30000 cities):</p>
+ * <ul>
+ * <li>{@link #FULL}: 8n<sup>2</sup> bytes for {@link TSP.DoubleMatrix} (7.2 GB), and
+ *     4n<sup>2</sup> bytes for {@link TSP.IntegerMatrix} (3.6 GB).</li>
+ * <li>{@link #TRIANGULAR}: 4n<sup>2</sup> bytes for {@link TSP.DoubleMatrix} (3.6 GB), and
+ *     2n<sup>2</sup> bytes for {@link TSP.IntegerMatrix} (1.8 GB).</li>
+ * <li>{@link #TRIANGULAR_FLOAT}: 2n<sup>2</sup> bytes (1.8 GB).</li>
+ * <li>{@link #TRIANGULAR_SHORT}: n<sup>2</sup> bytes (0.9 GB).</li>
+ * </ul>
+ *
+ * <p>Since a single array can have at most 2<sup>31</sup>-1 elements, the triangular modes 
+ * support instances with up to 65535 cities.</p>
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public enum TSPWeightStorage {
+	
+	/**
+	 * All n<sup>2</sup> edge weights are stored in a two-dimensional array of
+	 * doubles (for {@link TSP.DoubleMatrix}) or ints (for {@link TSP.IntegerMatrix}).
+	 * This is the fastest mode, and is the default.
+	 */
+	FULL,
+	
+	/**
+	 * The n(n-1)/2 distinct edge weights are stored without loss of precision in a flat
+	 * array of doubles (for {@link TSP.DoubleMatrix}) or ints (for {@link TSP.IntegerMatrix}).
+	 */
+	TRIANGULAR,
+	
+	/**
+	 * The n(n-1)/2 distinct edge weights are stored in a flat array of floats. For
+	 * {@link TSP.DoubleMatrix}, each weight is rounded to the nearest float, which
+	 * has a relative error of at most approximately 6&times;10<sup>-8</sup>. For
+	 * {@link TSP.IntegerMatrix}, the weights are stored exactly, which requires that
+	 * all of the edge weights are at most 2<sup>24</sup> in absolute value.
+	 */
+	TRIANGULAR_FLOAT,
+	
+	/**
+	 * The n(n-1)/2 distinct edge weights are stored in a flat array of 16-bit unsigned
+	 * values. For {@link TSP.DoubleMatrix}, the edge weights, which must be non-negative, are 
+	 * quantized to 65536 equally spaced levels from 0 through the maximum edge weight, such that
+	 * the error in each edge weight is at most the maximum edge weight divided by 131070. 
+	 * For {@link TSP.IntegerMatrix}, the weights are stored exactly, which requires that 
+	 * all of the edge weights are in the interval [0, 65535].
+	 */
+	TRIANGULAR_SHORT
+}
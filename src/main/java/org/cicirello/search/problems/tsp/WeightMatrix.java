@@ -0,0 +1,299 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems.tsp;
+
+/**
+ * Internal (package-private) class for the precomputed edge weights of the
+ * {@link TSP.DoubleMatrix} and {@link TSP.IntegerMatrix} classes, in each of
+ * the storage modes of {@link TSPWeightStorage}.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+abstract class WeightMatrix {
+	
+	/*
+	 * Gets the weight of the edge between cities i and j.
+	 */
+	abstract double weight(int i, int j);
+	
+	/*
+	 * Gets the weight of the edge between cities i and j, for weight matrices
+	 * created by createInt. 
+	 */
+	int intWeight(int i, int j) {
+		return (int)weight(i, j);
+	}
+	
+	/*
+	 * Creates the weight matrix with floating-point valued edge weights.
+	 */
+	static WeightMatrix createDouble(double[] x, double[] y, TSPEdgeDistance d, TSPWeightStorage storage) {
+		switch (storage) {
+			case TRIANGULAR: return new TriangularDouble(x, y, d);
+			case TRIANGULAR_FLOAT: return new TriangularFloat(x, y, d);
+			case TRIANGULAR_SHORT: return new TriangularShort(x, y, d);
+			default: return new FullDouble(x, y, d);
+		}
+	}
+	
+	/*
+	 * Creates the weight matrix with integer valued edge weights.
+	 */
+	static WeightMatrix createInt(double[] x, double[] y, TSPEdgeDistance d, TSPWeightStorage storage) {
+		switch (storage) {
+			case TRIANGULAR: return new TriangularInt(x, y, d);
+			case TRIANGULAR_FLOAT: return new TriangularFloat(x, y, d, true);
+			case TRIANGULAR_SHORT: return new TriangularShort(x, y, d, true);
+			default: return new FullInt(x, y, d);
+		}
+	}
+	
+	private static final class FullDouble extends WeightMatrix {
+		
+		private final double[][] w;
+		
+		FullDouble(double[] x, double[] y, TSPEdgeDistance d) {
+			w = new double[x.length][x.length];
+			for (int i = 0; i < w.length; i++) {
+				for (int j = i+1; j < w.length; j++) {
+					w[i][j] = w[j][i] = d.distance(x[i], y[i], x[j], y[j]);
+				}
+			}
+		}
+		
+		@Override
+		final double weight(int i, int j) {
+			return w[i][j];
+		}
+	}
+	
+	private static final class FullInt extends WeightMatrix {
+		
+		private final int[][] w;
+		
+		FullInt(double[] x, double[] y, TSPEdgeDistance d) {
+			w = new int[x.length][x.length];
+			for (int i = 0; i < w.length; i++) {
+				for (int j = i+1; j < w.length; j++) {
+					w[i][j] = w[j][i] = d.distanceAsInt(x[i], y[i], x[j], y[j]);
+				}
+			}
+		}
+		
+		@Override
+		final double weight(int i, int j) {
+			return w[i][j];
+		}
+		
+		@Override
+		final int intWeight(int i, int j) {
+			return w[i][j];
+		}
+	}
+	
+	/*
+	 * Base class for the storage modes that store the upper triangle of the
+	 * weight matrix in a flat array in row-major order.
+	 */
+	private static abstract class Triangular extends WeightMatrix {
+		
+		/* 
+		 * The weight of edge (i, j), for i < j, is at index rowStart[i] + j.
+		 * Row i begins at index i(2n-i-1)/2 with the weight of edge (i, i+1).
+		 */
+		private final int[] rowStart;
+		
+		Triangular(int n) {
+			if ((long)n * (n - 1) / 2 > Integer.MAX_VALUE - 8) {
+				throw new IllegalArgumentException("Too many cities for triangular storage of the edge weights.");
+			}
+			rowStart = new int[n];
+			for (int i = 0; i < n; i++) {
+				rowStart[i] = (int)((long)i * (2 * n - i - 1) / 2) - i - 1;
+			}
+		}
+		
+		/*
+		 * Gets the index of the weight of edge (i, j), or -1 if i equals j.
+		 */
+		final int index(int i, int j) {
+			if (i < j) return rowStart[i] + j;
+			if (j < i) return rowStart[j] + i;
+			return -1;
+		}
+		
+		/*
+		 * Gets the number of distinct edges.
+		 */
+		static int size(double[] x) {
+			return (int)((long)x.length * (x.length - 1) / 2);
+		}
+	}
+	
+	private static final class TriangularDouble extends Triangular {
+		
+		private final double[] w;
+		
+		TriangularDouble(double[] x, double[] y, TSPEdgeDistance d) {
+			super(x.length);
+			w = new double[size(x)];
+			for (int i = 0, k = 0; i < x.length; i++) {
+				for (int j = i+1; j < x.length; j++, k++) {
+					w[k] = d.distance(x[i], y[i], x[j], y[j]);
+				}
+			}
+		}
+		
+		@Override
+		final double weight(int i, int j) {
+			int k = index(i, j);
+			return k >= 0 ? w[k] : 0;
+		}
+	}
+	
+	private static final class TriangularInt extends Triangular {
+		
+		private final int[] w;
+		
+		TriangularInt(double[] x, double[] y, TSPEdgeDistance d) {
+			super(x.length);
+			w = new int[size(x)];
+			for (int i = 0, k = 0; i < x.length; i++) {
+				for (int j = i+1; j < x.length; j++, k++) {
+					w[k] = d.distanceAsInt(x[i], y[i], x[j], y[j]);
+				}
+			}
+		}
+		
+		@Override
+		final double weight(int i, int j) {
+			return intWeight(i, j);
+		}
+		
+		@Override
+		final int intWeight(int i, int j) {
+			int k = index(i, j);
+			return k >= 0 ? w[k] : 0;
+		}
+	}
+	
+	private static final class TriangularFloat extends Triangular {
+		
+		/* Integers with magnitude at most 2^24 are exactly representable as floats. */
+		private static final int MAX_EXACT_INT = 1 << 24;
+		
+		private final float[] w;
+		
+		TriangularFloat(double[] x, double[] y, TSPEdgeDistance d) {
+			super(x.length);
+			w = new float[size(x)];
+			for (int i = 0, k = 0; i < x.length; i++) {
+				for (int j = i+1; j < x.length; j++, k++) {
+					w[k] = (float)d.distance(x[i], y[i], x[j], y[j]);
+				}
+			}
+		}
+		
+		/*
+		 * integerCosts only distinguishes this constructor, which stores
+		 * the edge weights computed by d.distanceAsInt.
+		 */
+		TriangularFloat(double[] x, double[] y, TSPEdgeDistance d, boolean integerCosts) {
+			super(x.length);
+			w = new float[size(x)];
+			for (int i = 0, k = 0; i < x.length; i++) {
+				for (int j = i+1; j < x.length; j++, k++) {
+					int weight = d.distanceAsInt(x[i], y[i], x[j], y[j]);
+					if (weight > MAX_EXACT_INT || weight < -MAX_EXACT_INT) {
+						throw new IllegalArgumentException("Edge weights must be at most 2^24 in absolute value for float storage.");
+					}
+					w[k] = weight;
+				}
+			}
+		}
+		
+		@Override
+		final double weight(int i, int j) {
+			int k = index(i, j);
+			return k >= 0 ? w[k] : 0;
+		}
+	}
+	
+	private static final class TriangularShort extends Triangular {
+		
+		/* Stored as char, which is Java's unsigned 16-bit type. */
+		private final char[] w;
+		private final double scale;
+		
+		TriangularShort(double[] x, double[] y, TSPEdgeDistance d) {
+			super(x.length);
+			double max = 0;
+			for (int i = 0; i < x.length; i++) {
+				for (int j = i+1; j < x.length; j++) {
+					double weight = d.distance(x[i], y[i], x[j], y[j]);
+					if (weight < 0) {
+						throw new IllegalArgumentException("Edge weights must be non-negative for short storage.");
+					}
+					if (weight > max) max = weight;
+				}
+			}
+			scale = max > 0 ? max / Character.MAX_VALUE : 1;
+			w = new char[size(x)];
+			for (int i = 0, k = 0; i < x.length; i++) {
+				for (int j = i+1; j < x.length; j++, k++) {
+					w[k] = (char)Math.min(Math.round(d.distance(x[i], y[i], x[j], y[j]) / scale), Character.MAX_VALUE);
+				}
+			}
+		}
+		
+		/*
+		 * integerCosts only distinguishes this constructor, which stores
+		 * the edge weights computed by d.distanceAsInt.
+		 */
+		TriangularShort(double[] x, double[] y, TSPEdgeDistance d, boolean integerCosts) {
+			super(x.length);
+			scale = 1;
+			w = new char[size(x)];
+			for (int i = 0, k = 0; i < x.length; i++) {
+				for (int j = i+1; j < x.length; j++, k++) {
+					int weight = d.distanceAsInt(x[i], y[i], x[j], y[j]);
+					if (weight < 0 || weight > Character.MAX_VALUE) {
+						throw new IllegalArgumentException("Edge weights must be in the interval [0, 65535] for short storage.");
+					}
+					w[k] = (char)weight;
+				}
+			}
+		}
+		
+		@Override
+		final double weight(int i, int j) {
+			int k = index(i, j);
+			return k >= 0 ? w[k] * scale : 0;
+		}
+		
+		@Override
+		final int intWeight(int i, int j) {
+			int k = index(i, j);
+			return k >= 0 ? w[k] : 0;
+		}
+	}
+}
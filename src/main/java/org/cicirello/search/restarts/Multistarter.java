@@ -23,6 +23,7 @@ package org.cicirello.search.restarts;
 import org.cicirello.search.Metaheuristic;
 import org.cicirello.search.ProgressTracker;
 import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.SolutionCostHolder;
 import org.cicirello.search.problems.Problem;
 import org.cicirello.util.Copyable;
 
@@ -121,14 +122,26 @@ public class Multistarter<T extends Copyable<T>> implements Metaheuristic<T> {
 	 */
 	@Override
 	public final SolutionCostPair<T> optimize(int numRestarts) {
+		SolutionCostHolder<T> bestRestart = new SolutionCostHolder<T>();
+		optimizeInto(numRestarts, bestRestart);
+		return bestRestart.toSolutionCostPair();
+	}
+	
+	/**
+	 * <p>Executes a multistart search exactly as {@link #optimize(int)} does, but offers the end of
+	 * run solution of each restart to a {@link SolutionCostHolder} rather than returning the best of them.
+	 * If the underlying metaheuristic also overrides {@link Metaheuristic#optimizeInto}, then
+	 * no SolutionCostPair is allocated by any of the restarts.</p>
+	 *
+	 * @param numRestarts The number of times to restart the metaheuristic.
+	 * @param best The holder of the best solution, to which the end of run solution of each restart is offered.
+	 */
+	@Override
+	public final void optimizeInto(int numRestarts, SolutionCostHolder<T> best) {
 		ProgressTracker<T> tracker = search.getProgressTracker();
-		SolutionCostPair<T> bestRestart = null;
 		for (int i = 0; i < numRestarts && !tracker.isStopped() && !tracker.didFindBest(); i++) {
-			SolutionCostPair<T> thisRestart = search.optimize(r.nextRunLength());
-			if (bestRestart == null || (thisRestart != null && thisRestart.compareTo(bestRestart) < 0))
-				bestRestart = thisRestart;
+			search.optimizeInto(r.nextRunLength(), best);
 		}
-		return bestRestart;
 	}
 	
 	@Override
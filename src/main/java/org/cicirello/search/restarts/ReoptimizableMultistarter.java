@@ -23,6 +23,7 @@ package org.cicirello.search.restarts;
 import org.cicirello.search.ReoptimizableMetaheuristic;
 import org.cicirello.search.ProgressTracker;
 import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.SolutionCostHolder;
 import org.cicirello.util.Copyable;
 
 /**
@@ -85,14 +86,26 @@ public final class ReoptimizableMultistarter<T extends Copyable<T>> extends Mult
 	 */
 	@Override
 	public SolutionCostPair<T> reoptimize(int numRestarts) {
+		SolutionCostHolder<T> bestRestart = new SolutionCostHolder<T>();
+		reoptimizeInto(numRestarts, bestRestart);
+		return bestRestart.toSolutionCostPair();
+	}
+	
+	/**
+	 * <p>Executes a multistart search exactly as {@link #reoptimize(int)} does, but offers the end of
+	 * run solution of each restart to a {@link SolutionCostHolder} rather than returning the best of them.
+	 * If the underlying metaheuristic also overrides {@link ReoptimizableMetaheuristic#reoptimizeInto}, then
+	 * no SolutionCostPair is allocated by any of the restarts.</p>
+	 *
+	 * @param numRestarts The number of times to restart the metaheuristic.
+	 * @param best The holder of the best solution, to which the end of run solution of each restart is offered.
+	 */
+	@Override
+	public void reoptimizeInto(int numRestarts, SolutionCostHolder<T> best) {
 		ProgressTracker<T> tracker = search.getProgressTracker();
-		SolutionCostPair<T> bestRestart = null;
 		for (int i = 0; i < numRestarts && !tracker.isStopped() && !tracker.didFindBest(); i++) {
-			SolutionCostPair<T> thisRestart = search.reoptimize(r.nextRunLength());
-			if (bestRestart == null || (thisRestart != null && thisRestart.compareTo(bestRestart) < 0))
-				bestRestart = thisRestart;
+			search.reoptimizeInto(r.nextRunLength(), best);
 		}
-		return bestRestart;
 	}
 	
 	@Override
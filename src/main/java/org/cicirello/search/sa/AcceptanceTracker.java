@@ -30,6 +30,12 @@ import java.util.Arrays;
  * rate of neighbor acceptance, across a set of runs of SA, as it changes
  * from the beginning of the run to the end of the run.
  *
+ * <p>By default, the AcceptanceTracker records the acceptance rate of each individual iteration,
+ * which requires memory linear in the run length. Alternatively, it can aggregate the acceptances
+ * into a fixed number of bins that partition the iterations of the run, either into bins of equal
+ * length, or into logarithmically spaced bins (short bins early in the run and long bins late in the
+ * run), which requires memory linear in the number of bins regardless of the run length.</p>
+ *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
  * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  * @version 7.30.2021
@@ -41,19 +47,49 @@ public final class AcceptanceTracker implements AnnealingSchedule {
 	private int[] numRuns;
 	private int iteration;
 	
+	// for the bucketed mode: 0 bins if not bucketed
+	private final int numBins;
+	private final boolean logSpaced;
+	private int[] binStarts;
+	private long[] binAccepted;
+	private long[] binEvaluations;
+	private int bin;
+	
 	/**
-	 * Constructs the AcceptanceTracker.
+	 * Constructs the AcceptanceTracker, which records the acceptance rate of each 
+	 * individual iteration.
 	 * @param schedule The AnnealingSchedule object.
 	 */
 	public AcceptanceTracker(AnnealingSchedule schedule) {
 		this.schedule = schedule;
+		numBins = 0;
+		logSpaced = false;
+	}
+	
+	/**
+	 * Constructs an AcceptanceTracker that aggregates the acceptances into a fixed
+	 * number of bins, each of which is a range of consecutive iterations of the run.
+	 * If the run length is less than the number of bins, then each iteration is a bin.
+	 * @param schedule The AnnealingSchedule object.
+	 * @param numBins The number of bins.
+	 * @param logSpaced If true, the bins are logarithmically spaced over the run, with
+	 * bin b beginning at approximately iteration maxEvals<sup>b/numBins</sup>, where maxEvals is the run length. 
+	 * If false, the bins are of equal length (to within one iteration).
+	 * @throws IllegalArgumentException if numBins &lt; 1.
+	 */
+	public AcceptanceTracker(AnnealingSchedule schedule, int numBins, boolean logSpaced) {
+		if (numBins < 1) throw new IllegalArgumentException("numBins must be positive");
+		this.schedule = schedule;
+		this.numBins = numBins;
+		this.logSpaced = logSpaced;
 	}
 	
 	/**
 	 * Computes the acceptance rate for a specific iteration number
 	 * computed across all runs since either the last call to
 	 * {@link #reset} or since the last run of simulated annealing with
-	 * a different run length.
+	 * a different run length. If the AcceptanceTracker is bucketed, then
+	 * this is the acceptance rate of the bin that contains the iteration.
 	 *
 	 * @param iterationIndex The iteration number of interest, which must
 	 * be in the interval: 0 &le; iterationIndex &lt; maxEvals, where
@@ -69,6 +105,13 @@ public final class AcceptanceTracker implements AnnealingSchedule {
 	 * of simulated annealing have been performed.
 	 */
 	public double getAcceptanceRate(int iterationIndex) {
+		if (numBins > 0) {
+			if (iterationIndex < 0 || iterationIndex >= binStarts[binStarts.length-1]) {
+				throw new ArrayIndexOutOfBoundsException(iterationIndex);
+			}
+			int b = Arrays.binarySearch(binStarts, iterationIndex);
+			return getBinAcceptanceRate(b >= 0 ? b : -b - 2);
+		}
 		if (acceptanceCounts[iterationIndex] == 0) {
 			return 0;
 		} else {
@@ -76,6 +119,87 @@ public final class AcceptanceTracker implements AnnealingSchedule {
 		}
 	}
 	
+	/**
+	 * Computes the acceptance rate of one of the bins, across all runs since either the last
+	 * call to {@link #reset} or since the last run of simulated annealing with a different run 
+	 * length. If the AcceptanceTracker is not bucketed, then each iteration is a bin.
+	 *
+	 * @param bin The index of the bin, which must be in the interval: 0 &le; bin &lt; {@link #getNumBins}.
+	 *
+	 * @return The acceptance rate of the iterations of the bin, across all runs since the last 
+	 * call to reset or since the last change in run length.
+	 *
+	 * @throws ArrayIndexOutOfBoundsException if bin is negative or too high.
+	 * @throws NullPointerException if reset has not been called and no runs
+	 * of simulated annealing have been performed.
+	 */
+	public double getBinAcceptanceRate(int bin) {
+		if (numBins == 0) {
+			return getAcceptanceRate(bin);
+		}
+		if (binAccepted[bin] == 0) {
+			return 0;
+		} else {
+			return binAccepted[bin] / ((double)binEvaluations[bin]);
+		}
+	}
+	
+	/**
+	 * Gets a snapshot of the acceptance rates of all of the bins, across all runs since 
+	 * either the last call to {@link #reset} or since the last run of simulated annealing 
+	 * with a different run length. If the AcceptanceTracker is not bucketed, then each 
+	 * iteration is a bin.
+	 *
+	 * @return an array of the acceptance rates of the bins, such that index b of the array contains
+	 * the acceptance rate of bin b.
+	 *
+	 * @throws NullPointerException if reset has not been called and no runs
+	 * of simulated annealing have been performed.
+	 */
+	public double[] getAcceptanceRates() {
+		double[] rates = new double[getNumBins()];
+		for (int b = 0; b < rates.length; b++) {
+			rates[b] = getBinAcceptanceRate(b);
+		}
+		return rates;
+	}
+	
+	/**
+	 * Gets the first iterations of the bins. Bin b consists of the iterations from 
+	 * starts[b] (inclusive) to starts[b+1] (exclusive), where starts is the array returned
+	 * by this method, and the last element of which is the run length.
+	 *
+	 * @return an array of length {@link #getNumBins}+1 of the first iterations of the bins, 
+	 * followed by the run length.
+	 *
+	 * @throws NullPointerException if reset has not been called and no runs
+	 * of simulated annealing have been performed.
+	 */
+	public int[] getBinStarts() {
+		if (numBins == 0) {
+			int[] starts = new int[acceptanceCounts.length + 1];
+			for (int i = 1; i < starts.length; i++) {
+				starts[i] = i;
+			}
+			return starts;
+		}
+		return binStarts.clone();
+	}
+	
+	/**
+	 * Gets the number of bins, which is the number of bins specified at construction
+	 * for a bucketed AcceptanceTracker (or the run length if it is less), and otherwise 
+	 * the run length.
+	 *
+	 * @return the number of bins
+	 *
+	 * @throws NullPointerException if reset has not been called and no runs
+	 * of simulated annealing have been performed.
+	 */
+	public int getNumBins() {
+		return numBins > 0 ? binAccepted.length : acceptanceCounts.length;
+	}
+	
 	/**
 	 * Resets the AcceptanceTracker.
 	 * @param maxEvals The length of the simulated annealing run.
@@ -83,7 +207,9 @@ public final class AcceptanceTracker implements AnnealingSchedule {
 	 */
 	public void reset(int maxEvals) {
 		if (maxEvals <= 0) throw new IllegalArgumentException("maxEvals must be positive");
-		if (acceptanceCounts == null || acceptanceCounts.length != maxEvals) {
+		if (numBins > 0) {
+			resetBins(maxEvals);
+		} else if (acceptanceCounts == null || acceptanceCounts.length != maxEvals) {
 			acceptanceCounts = new int[maxEvals];
 			numRuns = new int[maxEvals];
 		} else {
@@ -95,7 +221,12 @@ public final class AcceptanceTracker implements AnnealingSchedule {
 	@Override
 	public void init(int maxEvals) {
 		schedule.init(maxEvals);
-		if (acceptanceCounts == null || acceptanceCounts.length != maxEvals) {
+		if (numBins > 0) {
+			if (binStarts == null || binStarts[binStarts.length-1] != maxEvals) {
+				reset(maxEvals);
+			}
+			bin = 0;
+		} else if (acceptanceCounts == null || acceptanceCounts.length != maxEvals) {
 			reset(maxEvals);
 		}
 		iteration = 0;
@@ -104,7 +235,19 @@ public final class AcceptanceTracker implements AnnealingSchedule {
 	@Override
 	public boolean accept(double neighborCost, double currentCost) {
 		boolean didAccept = schedule.accept(neighborCost, currentCost);
-		if (iteration < acceptanceCounts.length) {
+		if (numBins > 0) {
+			if (iteration < binStarts[binStarts.length-1]) {
+				// bins are never empty, so the iteration either remains in the bin or begins the next
+				if (iteration == binStarts[bin+1]) {
+					bin++;
+				}
+				if (didAccept) {
+					binAccepted[bin]++;
+				}
+				binEvaluations[bin]++;
+				iteration++;
+			}
+		} else if (iteration < acceptanceCounts.length) {
 			if (didAccept) {
 				acceptanceCounts[iteration]++;
 			}
@@ -116,6 +259,31 @@ public final class AcceptanceTracker implements AnnealingSchedule {
 	
 	@Override
 	public AcceptanceTracker split() {
-		return new AcceptanceTracker(schedule.split());
+		return numBins > 0 
+			? new AcceptanceTracker(schedule.split(), numBins, logSpaced)
+			: new AcceptanceTracker(schedule.split());
+	}
+	
+	/*
+	 * Computes the bins for a run length, with strictly increasing starts.
+	 */
+	private void resetBins(int maxEvals) {
+		int n = Math.min(numBins, maxEvals);
+		if (binAccepted == null || binAccepted.length != n) {
+			binStarts = new int[n+1];
+			binAccepted = new long[n];
+			binEvaluations = new long[n];
+		} else {
+			Arrays.fill(binAccepted, 0);
+			Arrays.fill(binEvaluations, 0);
+		}
+		binStarts[n] = maxEvals;
+		for (int b = 1; b < n; b++) {
+			long start = logSpaced 
+				? Math.round(Math.pow(maxEvals, ((double)b) / n))
+				: ((long)b) * maxEvals / n;
+			// ensures that no bin is empty
+			binStarts[b] = (int)Math.min(Math.max(start, binStarts[b-1] + 1), maxEvals - (n - b));
+		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.sa;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Package-private utility class that implements the Boltzmann acceptance test of
+ * simulated annealing, which accepts a neighbor whose cost is higher than the current cost
+ * with probability e<sup>(currentCost-neighborCost)/t</sup>, for all of the annealing 
+ * schedules in this package.
+ *
+ * <p>The decisions are exactly those of the straightforward test, 
+ * {@code ThreadLocalRandom.current().nextDouble() < Math.exp((currentCost-neighborCost)/t)},
+ * but most of them are made without computing an exponential. Neighbors that are so much 
+ * worse that the probability of acceptance is smaller than the smallest nonzero value of 
+ * nextDouble() are rejected without generating a random number. Otherwise, the random number 
+ * is compared to a pair of precomputed bounds on the acceptance probability, and the exponential is
+ * computed only in the rare case that the random number falls between them.</p>
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+final class BoltzmannAcceptance {
+	
+	/*
+	 * e^(-x) is less than 2^-54 if x is at least this, which is less than the
+	 * smallest nonzero value of nextDouble().
+	 */
+	static final double MAX_EXPONENT = 37.5;
+	
+	/*
+	 * Number of table entries per unit of the exponent. The bounds are within
+	 * about 1.6% of each other, so the exponential is computed in at most about 1.6%
+	 * of the decisions.
+	 */
+	private static final int SCALE = 64;
+	
+	// EXP[i] == e^(-i/SCALE)
+	private static final double[] EXP;
+	
+	static {
+		EXP = new double[(int)(MAX_EXPONENT * SCALE) + 2];
+		for (int i = 0; i < EXP.length; i++) {
+			EXP[i] = Math.exp(-i / (double)SCALE);
+		}
+	}
+	
+	/*
+	 * Utility class, so private constructor to prevent instantiation.
+	 */
+	private BoltzmannAcceptance() {}
+	
+	/**
+	 * Decides whether to accept a neighbor, accepting it if its cost is no higher than the
+	 * current cost, and otherwise with probability e<sup>(currentCost-neighborCost)/t</sup>.
+	 *
+	 * @param neighborCost The cost of the neighbor.
+	 * @param currentCost The cost of the current solution.
+	 * @param t The temperature.
+	 *
+	 * @return true to accept the neighbor, and false otherwise.
+	 */
+	static boolean accept(double neighborCost, double currentCost, double t) {
+		if (neighborCost <= currentCost) return true;
+		double x = (neighborCost - currentCost) / t;
+		// negated so that NaN is also rejected
+		if (!(x < MAX_EXPONENT)) return false;
+		if (x <= 0) return true;
+		double u = ThreadLocalRandom.current().nextDouble();
+		int i = (int)(x * SCALE);
+		if (u < EXP[i+1]) return true;
+		if (u >= EXP[i]) return false;
+		return u < Math.exp(-x);
+	}
+}
@@ -0,0 +1,315 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.sa;
+
+import org.cicirello.util.Copyable;
+import org.cicirello.search.ReoptimizableMetaheuristic;
+import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.problems.Problem;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <p>This class implements a cooperative parallel simulated annealing, in which multiple
+ * chains of simulated annealing, each with its own thread, periodically synchronize and
+ * exchange states. All of the chains run the same simulated annealing, as configured by the
+ * {@link SimulatedAnnealing} object passed to the constructor (i.e., the same problem, mutation 
+ * operator, and annealing schedule), and share a single {@link ProgressTracker}.</p>
+ *
+ * <p>A run of length maxEvals proceeds in segments of syncInterval evaluations. Within a segment,
+ * the chains anneal independently, with no communication other than through the ProgressTracker. 
+ * At the end of each segment, the chains synchronize, and each chain whose current state is worse 
+ * than the best solution found so far (i.e., the best solution in the ProgressTracker) adopts a copy
+ * of that best solution, and then resumes annealing from it in the next segment. The annealing 
+ * schedule of each chain is initialized only at the start of the run, and continues uninterrupted 
+ * across synchronizations, so that the chains cool together. Solutions are only copied among
+ * the chains at the synchronizations.</p>
+ *
+ * <p>In contrast, running independent copies of simulated annealing with a 
+ * {@link org.cicirello.search.concurrent.ParallelMultistarter ParallelMultistarter} shares only the 
+ * best solution in the ProgressTracker among the parallel runs. Periodically moving the chains
+ * to the best solution focuses the search of all of the chains on the most promising region of
+ * the search space, while the chains otherwise explore separately.</p>
+ *
+ * <p>If the SimulatedAnnealing was configured with hill climbing as a post-processing step, then
+ * each chain applies the hill climber at the end of the run, but not at the synchronizations.</p>
+ *
+ * <p>The cooperative parallel simulated annealing uses a fixed thread pool, with one thread per chain, 
+ * so that multiple calls to the {@link #optimize} and {@link #reoptimize} methods can reuse threads. 
+ * When you no longer need it, you should call the {@link #close} method to ensure that the threads 
+ * do not persist.</p>
+ *
+ * @param <T> The type of object under optimization.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class CooperativeParallelSimulatedAnnealing<T extends Copyable<T>> implements ReoptimizableMetaheuristic<T>, AutoCloseable {
+	
+	private final ArrayList<SimulatedAnnealing<T>> chains;
+	private final int syncInterval;
+	private final ExecutorService threadPool;
+	
+	/**
+	 * Constructs a cooperative parallel simulated annealing.
+	 *
+	 * @param sa The simulated annealing that each chain runs. The first chain uses sa itself,
+	 * and each of the other chains uses a split of sa.
+	 * @param numChains The number of chains, which is also the number of threads.
+	 * @param syncInterval The number of simulated annealing evaluations (i.e., iterations) of
+	 * each chain between synchronizations.
+	 *
+	 * @throws IllegalArgumentException if numChains or syncInterval is less than 1.
+	 * @throws NullPointerException if sa is null.
+	 */
+	public CooperativeParallelSimulatedAnnealing(SimulatedAnnealing<T> sa, int numChains, int syncInterval) {
+		if (sa == null) {
+			throw new NullPointerException("passed a null object for a required parameter");
+		}
+		if (numChains < 1) throw new IllegalArgumentException("must be at least 1 chain");
+		if (syncInterval < 1) throw new IllegalArgumentException("syncInterval must be positive");
+		this.syncInterval = syncInterval;
+		chains = new ArrayList<SimulatedAnnealing<T>>(numChains);
+		chains.add(sa);
+		for (int i = 1; i < numChains; i++) {
+			chains.add(sa.split());
+		}
+		threadPool = Executors.newFixedThreadPool(numChains);
+	}
+	
+	/*
+	 * private copy constructor in support of the split method.
+	 */
+	private CooperativeParallelSimulatedAnnealing(CooperativeParallelSimulatedAnnealing<T> other) {
+		syncInterval = other.syncInterval;
+		
+		// Must be split.
+		chains = new ArrayList<SimulatedAnnealing<T>>(other.chains.size());
+		for (SimulatedAnnealing<T> chain : other.chains) {
+			chains.add(chain.split());
+		}
+		
+		// Needs its own.
+		threadPool = Executors.newFixedThreadPool(chains.size());
+		if (other.isClosed()) close();
+	}
+	
+	/**
+	 * Executes a run of the cooperative parallel simulated annealing, with each chain beginning 
+	 * at its own randomly generated solution.
+	 *
+	 * @param maxEvals The maximum number of simulated annealing evaluations (i.e., iterations)
+	 * of each chain.
+	 *
+	 * @return The best of the current solutions of the chains at the end of this run and its cost, 
+	 * which may or may not be the same as the solution contained in the {@link ProgressTracker}, 
+	 * which contains the best of all runs. Returns null if the run did not execute, such as if the 
+	 * ProgressTracker already contains the theoretical best solution.
+	 *
+	 * @throws IllegalStateException if the {@link #close} method was previously called.
+	 */
+	@Override
+	public SolutionCostPair<T> optimize(int maxEvals) {
+		return threadedOptimize(maxEvals, false);
+	}
+	
+	/**
+	 * Executes a run of the cooperative parallel simulated annealing, with each chain beginning 
+	 * at the best solution found so far (i.e., the solution in the {@link ProgressTracker}), or at
+	 * a randomly generated solution if there is no prior run. The annealing schedules are 
+	 * reinitialized as if it was a fresh run.
+	 *
+	 * @param maxEvals The maximum number of simulated annealing evaluations (i.e., iterations)
+	 * of each chain.
+	 *
+	 * @return The best of the current solutions of the chains at the end of this run and its cost, 
+	 * which may or may not be the same as the solution contained in the {@link ProgressTracker}, 
+	 * which contains the best of all runs. Returns null if the run did not execute, such as if the 
+	 * ProgressTracker already contains the theoretical best solution.
+	 *
+	 * @throws IllegalStateException if the {@link #close} method was previously called.
+	 */
+	@Override
+	public SolutionCostPair<T> reoptimize(int maxEvals) {
+		return threadedOptimize(maxEvals, true);
+	}
+	
+	/**
+	 * <p>Initiates an orderly shutdown of the thread pool used by this cooperative parallel 
+	 * simulated annealing. Once close is called, all subsequent calls to {@link #optimize} and 
+	 * {@link #reoptimize} will throw an exception.</p>
+	 * <p>This method is invoked automatically on objects managed by the try-with-resources statement.</p>
+	 */
+	@Override
+	public void close() {
+		threadPool.shutdown();
+	}
+	
+	/**
+	 * Checks whether the thread pool has been shutdown.
+	 * @return true if and only if the {@link #close} method has been called previously.
+	 */
+	public boolean isClosed() {
+		return threadPool.isShutdown();
+	}
+	
+	@Override
+	public CooperativeParallelSimulatedAnnealing<T> split() {
+		return new CooperativeParallelSimulatedAnnealing<T>(this);
+	}
+	
+	@Override
+	public ProgressTracker<T> getProgressTracker() {
+		return chains.get(0).getProgressTracker();
+	}
+	
+	@Override
+	public void setProgressTracker(ProgressTracker<T> tracker) {
+		if (tracker != null) {
+			for (SimulatedAnnealing<T> chain : chains) {
+				chain.setProgressTracker(tracker);
+			}
+		}
+	}
+	
+	@Override
+	public Problem<T> getProblem() {
+		return chains.get(0).getProblem();
+	}
+	
+	/**
+	 * Gets the total run length of all of the chains combined, in number of simulated annealing
+	 * evaluations (including any hill climbing post-processing), across all calls to {@link #optimize} 
+	 * and {@link #reoptimize}.
+	 *
+	 * @return the total run length of all of the chains.
+	 */
+	@Override
+	public long getTotalRunLength() {
+		long total = 0;
+		for (SimulatedAnnealing<T> chain : chains) {
+			total = total + chain.getTotalRunLength();
+		}
+		return total;
+	}
+	
+	/**
+	 * Gets the number of chains.
+	 *
+	 * @return the number of chains
+	 */
+	public int getNumChains() {
+		return chains.size();
+	}
+	
+	/**
+	 * Gets the number of simulated annealing evaluations of each chain between synchronizations.
+	 *
+	 * @return the synchronization interval
+	 */
+	public int getSyncInterval() {
+		return syncInterval;
+	}
+	
+	private SolutionCostPair<T> threadedOptimize(int maxEvals, boolean resume) {
+		if (threadPool.isShutdown()) {
+			throw new IllegalStateException("This CooperativeParallelSimulatedAnnealing was previously closed.");
+		}
+		
+		ProgressTracker<T> tracker = getProgressTracker();
+		if (tracker.isStopped() || tracker.didFindBest()) return null;
+		
+		ArrayList<SolutionCostPair<T>> states = new ArrayList<SolutionCostPair<T>>(chains.size());
+		for (int i = 0; i < chains.size(); i++) {
+			states.add(null);
+		}
+		ArrayList<Future<SolutionCostPair<T>>> futures = new ArrayList<Future<SolutionCostPair<T>>>(chains.size());
+		int done = 0;
+		while (done < maxEvals && !tracker.isStopped() && !tracker.didFindBest()) {
+			final boolean first = done == 0;
+			final int evals = Math.min(syncInterval, maxEvals - done);
+			done = done + evals;
+			final boolean last = done == maxEvals;
+			// the best at the synchronization, or at the start of the run
+			final SolutionCostPair<T> best = first && !resume ? null : tracker.getSolutionCostPair();
+			futures.clear();
+			for (int i = 0; i < chains.size(); i++) {
+				final SimulatedAnnealing<T> chain = chains.get(i);
+				final SolutionCostPair<T> state = states.get(i);
+				Callable<SolutionCostPair<T>> segment = () -> chain.optimizeSegment(
+					maxEvals, 
+					startOfSegment(chain, state, best), 
+					evals, 
+					first, 
+					last
+				);
+				futures.add(threadPool.submit(segment));
+			}
+			for (int i = 0; i < chains.size(); i++) {
+				Future<SolutionCostPair<T>> f = futures.get(i);
+				try {
+					states.set(i, f.get());
+				} 
+				catch (InterruptedException ex) { 
+					// Future.get() throws this if the current
+					// thread is interrupted.
+					//  1) Cancel this task.
+					//  2) Preserve interrupt status to cancel remaining.
+					f.cancel(true);
+					Thread.currentThread().interrupt();
+					states.set(i, null);
+				}
+				catch (ExecutionException ex) { 
+					// Future.get() throws this if the thread the pool is executing
+					// throws any exception. We'll ignore this, and the chain
+					// will resume from the best solution at the next synchronization.
+					states.set(i, null);
+				}
+			}
+			if (Thread.currentThread().isInterrupted()) break;
+		}
+		
+		SolutionCostPair<T> bestOfRun = null;
+		for (SolutionCostPair<T> pair : states) {
+			if (bestOfRun == null || (pair != null && pair.compareTo(bestOfRun) < 0)) {
+				bestOfRun = pair;
+			}
+		}
+		return bestOfRun;
+	}
+	
+	/*
+	 * Determines the solution from which a chain begins a segment: the chain's current solution 
+	 * unless the best is better, in which case a copy of the best. At the start of a run, 
+	 * the chain has no current solution, and best is null unless resuming from the best.
+	 */
+	private T startOfSegment(SimulatedAnnealing<T> chain, SolutionCostPair<T> state, SolutionCostPair<T> best) {
+		if (best == null || best.getSolution() == null) {
+			return state != null ? state.getSolution() : chain.createCandidateSolution();
+		}
+		return state != null && state.compareTo(best) <= 0 ? state.getSolution() : best.getSolution().copy();
+	}
+}
@@ -20,8 +20,6 @@
  
 package org.cicirello.search.sa;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 /**
  * <p>This class implements the linear
  * cooling schedule for simulated annealing.
@@ -108,8 +106,7 @@ public final class LinearCooling implements AnnealingSchedule {
 	
 	@Override
 	public boolean accept(double neighborCost, double currentCost) {
-		boolean doAccept = neighborCost <= currentCost ||
-			ThreadLocalRandom.current().nextDouble() < Math.exp((currentCost-neighborCost)/t);
+		boolean doAccept = BoltzmannAcceptance.accept(neighborCost, currentCost, t);
 		stepCounter++;
 		if (stepCounter == steps && t > 0.001) {
 			stepCounter = 0;
@@ -20,8 +20,6 @@
  
 package org.cicirello.search.sa;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 /**
  * <p>This class implements logarithmic cooling, a classic annealing
  * schedule.  This annealing schedule is of theoretical interest, but in
@@ -88,8 +86,7 @@ public final class LogarithmicCooling implements AnnealingSchedule {
 	
 	@Override
 	public boolean accept(double neighborCost, double currentCost) {
-		boolean doAccept = neighborCost <= currentCost ||
-			ThreadLocalRandom.current().nextDouble() < Math.exp((currentCost-neighborCost)/t);
+		boolean doAccept = BoltzmannAcceptance.accept(neighborCost, currentCost, t);
 		stepCounter++;
 		t = c / StrictMath.log(StrictMath.E + stepCounter);
 		return doAccept;
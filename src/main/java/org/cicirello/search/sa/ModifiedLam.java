@@ -20,8 +20,6 @@
  
 package org.cicirello.search.sa;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 /**
  * <p>This class implements an optimized variant of the Modified Lam annealing schedule. 
  * The Modified Lam annealing schedule dynamically
@@ -126,8 +124,7 @@ public final class ModifiedLam implements AnnealingSchedule {
 	
 	@Override
 	public boolean accept(double neighborCost, double currentCost) {
-		boolean doAccept = neighborCost <= currentCost ||
-			ThreadLocalRandom.current().nextDouble() < Math.exp((currentCost-neighborCost)/t);
+		boolean doAccept = BoltzmannAcceptance.accept(neighborCost, currentCost, t);
 		updateSchedule(doAccept);
 		return doAccept;
 	}
@@ -20,8 +20,6 @@
  
 package org.cicirello.search.sa;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 /**
  * <p>This class implements the Modified Lam annealing schedule, which dynamically
  * adjusts simulated annealing's temperature parameter up and down to either decrease
@@ -98,8 +96,7 @@ public final class ModifiedLamOriginal implements AnnealingSchedule {
 	
 	@Override
 	public boolean accept(double neighborCost, double currentCost) {
-		boolean doAccept = neighborCost <= currentCost ||
-			ThreadLocalRandom.current().nextDouble() < Math.exp((currentCost-neighborCost)/t);
+		boolean doAccept = BoltzmannAcceptance.accept(neighborCost, currentCost, t);
 		updateSchedule(doAccept);
 		return doAccept;
 	}
@@ -20,8 +20,6 @@
  
 package org.cicirello.search.sa;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 /**
  * <p>This class implements a parameter-free version of the classic 
  * cooling schedule for simulated annealing known
@@ -118,8 +116,7 @@ public final class ParameterFreeExponentialCooling implements AnnealingSchedule
 			estimationStep(neighborCost, currentCost); 
 			return true;
 		} else {
-			boolean doAccept = neighborCost <= currentCost ||
-				ThreadLocalRandom.current().nextDouble() < Math.exp((currentCost-neighborCost)/t);
+			boolean doAccept = BoltzmannAcceptance.accept(neighborCost, currentCost, t);
 			stepCounter++;
 			if (stepCounter == steps && t > 0.001) {
 				stepCounter = 0; 
@@ -20,8 +20,6 @@
  
 package org.cicirello.search.sa;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 /**
  * <p>This class implements the Self-Tuning Lam annealing schedule, which is
  * an improved variation of the Modified Lam annealing schedule. The original 
@@ -183,8 +181,7 @@ public final class SelfTuningLam implements AnnealingSchedule {
 			doPhaseZeroUpdate(neighborCost, currentCost);
 			return true;
 		} else {
-			boolean doAccept = neighborCost <= currentCost ||
-				ThreadLocalRandom.current().nextDouble() < Math.exp((currentCost-neighborCost)/t);
+			boolean doAccept = BoltzmannAcceptance.accept(neighborCost, currentCost, t);
 			updateSchedule(doAccept);
 			return doAccept;
 		}
@@ -23,12 +23,16 @@ package org.cicirello.search.sa;
 import org.cicirello.search.problems.Problem;
 import org.cicirello.search.problems.OptimizationProblem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.problems.DeltaEvaluable;
+import org.cicirello.search.problems.IntegerCostDeltaEvaluable;
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.search.operators.Initializer;
 import org.cicirello.util.Copyable;
 import org.cicirello.search.ProgressTracker;
 import org.cicirello.search.SingleSolutionMetaheuristic;
 import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.SolutionCostHolder;
 import org.cicirello.search.SimpleLocalMetaheuristic;
 
 /**
@@ -80,6 +84,17 @@ import org.cicirello.search.SimpleLocalMetaheuristic;
  * {@link org.cicirello.search.hc.SteepestDescentHillClimber SteepestDescentHillClimber} 
  * and {@link org.cicirello.search.hc.FirstDescentHillClimber FirstDescentHillClimber} classes.</p>
  *
+ * <p>If the problem implements the {@link DeltaEvaluable} interface (or the 
+ * {@link IntegerCostDeltaEvaluable} interface for integer costs), and the mutation operator
+ * describes its moves via its {@link UndoableMutationOperator#getLastMove getLastMove} method,
+ * then simulated annealing computes the cost of each neighbor incrementally from the cost
+ * of the current candidate solution and the change in cost caused by the move, rather than 
+ * with a call to the problem's cost method. For moves such as swaps and reversals of a 
+ * permutation, this can reduce the cost of each step from linear to constant time.
+ * For floating-point valued costs, the cost of the current candidate solution is recomputed
+ * in full whenever a new best is found, and at the end of each run, so that rounding
+ * errors in the incremental updates are not reported in results.</p>
+ *
  *
  * @param <T> The type of object under optimization.
  *
@@ -91,10 +106,13 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 	private final SimpleLocalMetaheuristic<T> hc;
 	private final IntegerCostOptimizationProblem<T> pOptInt;
 	private final OptimizationProblem<T> pOpt;
+	private final IntegerCostDeltaEvaluable<T> pDeltaInt;
+	private final DeltaEvaluable<T> pDelta;
 	private final Initializer<T> initializer;
 	private final UndoableMutationOperator<T> mutation;
 	private final AnnealingSchedule anneal;
 	private int elapsedEvals;
+	private boolean costIsIncremental;
 	private ProgressTracker<T> tracker;
 	private final SingleRun<T> sr;
 		
@@ -154,6 +172,8 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 		this.tracker = tracker;
 		pOpt = problem;
 		pOptInt = null;
+		pDelta = toDeltaEvaluable(problem);
+		pDeltaInt = null;
 		// default on purpose: elapsedEvals = 0;
 		sr = initSingleRunDouble();
 		
@@ -196,6 +216,8 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 		this.tracker = tracker;
 		pOptInt = problem;
 		pOpt = null;
+		pDeltaInt = toIntegerCostDeltaEvaluable(problem);
+		pDelta = null;
 		// default on purpose: elapsedEvals = 0;
 		sr = initSingleRunInt();
 		
@@ -434,6 +456,8 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 		// these are threadsafe, so just copy references
 		pOpt = other.pOpt;
 		pOptInt = other.pOptInt;
+		pDelta = other.pDelta;
+		pDeltaInt = other.pDeltaInt;
 		
 		// this one must be shared.
 		tracker = other.tracker;
@@ -467,10 +491,23 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 	@Override
 	public final SolutionCostPair<T> reoptimize(int maxEvals) {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
-		T start = tracker.getSolution();
-		if (start == null) start = initializer.createCandidateSolution();
-		else start = start.copy();
-		return sr.optimizeSingleRun(maxEvals, start);
+		return sr.optimizeSingleRun(maxEvals, startFromBest());
+	}
+	
+	/**
+	 * Reanneals starting from the previous best found solution contained in the tracker object,
+	 * exactly as {@link #reoptimize(int)} does, but offers the current solution at the end of the run to
+	 * a {@link SolutionCostHolder} rather than returning it, without allocating a SolutionCostPair.
+	 * @param maxEvals The maximum number of simulated annealing evaluations (i.e., iterations)
+	 * to execute.
+	 * @param best The holder of the best solution, to which to offer the current solution at the end of the run,
+	 * which is not offered if the run did not execute, such as if the ProgressTracker already contains
+	 * the theoretical best solution.
+	 */
+	@Override
+	public final void reoptimizeInto(int maxEvals, SolutionCostHolder<T> best) {
+		if (tracker.didFindBest() || tracker.isStopped()) return;
+		sr.optimizeSingleRun(maxEvals, startFromBest(), best);
 	}
 	
 	/**
@@ -492,6 +529,22 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 		return sr.optimizeSingleRun(maxEvals, initializer.createCandidateSolution());
 	}
 	
+	/**
+	 * Executes a run of simulated annealing beginning at a randomly generated solution, exactly as 
+	 * {@link #optimize(int)} does, but offers the current solution at the end of the run to
+	 * a {@link SolutionCostHolder} rather than returning it, without allocating a SolutionCostPair.
+	 * @param maxEvals The maximum number of simulated annealing evaluations (i.e., iterations)
+	 * to execute during this run.
+	 * @param best The holder of the best solution, to which to offer the current solution at the end of the run,
+	 * which is not offered if the run did not execute, such as if the ProgressTracker already contains
+	 * the theoretical best solution.
+	 */
+	@Override
+	public final void optimizeInto(int maxEvals, SolutionCostHolder<T> best) {
+		if (tracker.didFindBest() || tracker.isStopped()) return;
+		sr.optimizeSingleRun(maxEvals, initializer.createCandidateSolution(), best);
+	}
+	
 	/**
 	 * Executes a run of simulated annealing beginning at a specified starting solution.
 	 * If this method is called multiple times, each call begins by reinitializing 
@@ -555,12 +608,66 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 		}
 	}
 	
+	/*
+	 * package-private for use by CooperativeParallelSimulatedAnnealing, which executes a 
+	 * run of simulated annealing in segments, between which the parallel chains exchange states.
+	 * The annealing schedule is initialized only at the start of the first segment, and the
+	 * hill climbing post-processing, if any, is applied only at the end of the last segment.
+	 */
+	final SolutionCostPair<T> optimizeSegment(int maxEvals, T current, int evals, boolean first, boolean last) {
+		return sr.optimizeSegment(maxEvals, current, evals, first, last, null);
+	}
+	
+	/*
+	 * package-private for use by CooperativeParallelSimulatedAnnealing.
+	 */
+	final T createCandidateSolution() {
+		return initializer.createCandidateSolution();
+	}
+	
+	/*
+	 * The start of a reanneal: a copy of the best solution in the tracker, if there is one.
+	 */
+	private T startFromBest() {
+		T start = tracker.getSolution();
+		return start == null ? initializer.createCandidateSolution() : start.copy();
+	}
+	
+	/*
+	 * The result of a run is offered to the sink, if there is one, and otherwise returned.
+	 */
+	private SolutionCostPair<T> result(SolutionCostHolder<T> sink, T current, int cost, boolean isMinCost) {
+		if (sink == null) return new SolutionCostPair<T>(current, cost, isMinCost);
+		sink.offer(current, cost, isMinCost);
+		return null;
+	}
+	
+	private SolutionCostPair<T> result(SolutionCostHolder<T> sink, T current, double cost, boolean isMinCost) {
+		if (sink == null) return new SolutionCostPair<T>(current, cost, isMinCost);
+		sink.offer(current, cost, isMinCost);
+		return null;
+	}
+	
+	private SolutionCostPair<T> result(SolutionCostHolder<T> sink, SolutionCostPair<T> pair) {
+		if (sink == null) return pair;
+		sink.offer(pair);
+		return null;
+	}
+	
 	private interface SingleRun<T extends Copyable<T>> {
-		SolutionCostPair<T> optimizeSingleRun(int maxEvals, T current);
+		SolutionCostPair<T> optimizeSegment(int maxEvals, T current, int evals, boolean first, boolean last, SolutionCostHolder<T> sink);
+		
+		default SolutionCostPair<T> optimizeSingleRun(int maxEvals, T current) {
+			return optimizeSegment(maxEvals, current, maxEvals, true, true, null);
+		}
+		
+		default SolutionCostPair<T> optimizeSingleRun(int maxEvals, T current, SolutionCostHolder<T> sink) {
+			return optimizeSegment(maxEvals, current, maxEvals, true, true, sink);
+		}
 	}
 	
 	private SingleRun<T> initSingleRunInt() {
-		return (int maxEvals, T current) -> {
+		return (int maxEvals, T current, int evals, boolean first, boolean last, SolutionCostHolder<T> sink) -> {
 			// compute cost of start
 			int currentCost = pOptInt.cost(current);
 			
@@ -571,22 +678,22 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 				bestCost = tracker.update(currentCost, current, isMinCost);
 				if (tracker.didFindBest()) {
 					// found theoretical best so no point in proceeding
-					return new SolutionCostPair<T>(current, currentCost, isMinCost);
+					return result(sink, current, currentCost, isMinCost);
 				}
 			}
 			
 			// initialize the annealing schedule
-			anneal.init(maxEvals);
+			if (first) anneal.init(maxEvals);
 			
 			// main simulated annealing loop
-			for (int i = 1; i <= maxEvals; i++) {
+			for (int i = 1; i <= evals; i++) {
 				if (tracker.isStopped()) {
 					// some other thread signaled to stop
 					elapsedEvals += (i-1);
-					return new SolutionCostPair<T>(current, currentCost, pOptInt.isMinCost(currentCost));
+					return result(sink, current, currentCost, pOptInt.isMinCost(currentCost));
 				}
 				mutation.mutate(current);
-				int neighborCost = pOptInt.cost(current);
+				int neighborCost = neighborCost(current, currentCost);
 				if (anneal.accept(neighborCost, currentCost)) {
 					// accepting the neighbor
 					currentCost = neighborCost;
@@ -596,7 +703,7 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 						if (tracker.didFindBest()) {
 							// found theoretical best so no point in proceeding
 							elapsedEvals += i;
-							return new SolutionCostPair<T>(current, currentCost, isMinCost);
+							return result(sink, current, currentCost, isMinCost);
 						}
 					}
 				} else {
@@ -604,15 +711,15 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 					mutation.undo(current);
 				}
 			}
-			elapsedEvals += maxEvals;
-			return hc==null 
-				? new SolutionCostPair<T>(current, currentCost, pOptInt.isMinCost(currentCost))
-				: hc.optimize(current);
+			elapsedEvals += evals;
+			return hc==null || !last
+				? result(sink, current, currentCost, pOptInt.isMinCost(currentCost))
+				: result(sink, hc.optimize(current));
 		};
 	}
 	
 	private SingleRun<T> initSingleRunDouble() {
-		return (int maxEvals, T current) -> {
+		return (int maxEvals, T current, int evals, boolean first, boolean last, SolutionCostHolder<T> sink) -> {
 			// compute cost of start
 			double currentCost = pOpt.cost(current);
 			
@@ -623,32 +730,34 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 				bestCost = tracker.update(currentCost, current, isMinCost);
 				if (tracker.didFindBest()) {
 					// found theoretical best so no point in proceeding
-					return new SolutionCostPair<T>(current, currentCost, isMinCost);
+					return result(sink, current, currentCost, isMinCost);
 				}
 			}
 			
 			// initialize the annealing schedule
-			anneal.init(maxEvals);
+			if (first) anneal.init(maxEvals);
 			
 			// main simulated annealing loop
-			for (int i = 1; i <= maxEvals; i++) {
+			for (int i = 1; i <= evals; i++) {
 				if (tracker.isStopped()) {
 					// some other thread signaled to stop
 					elapsedEvals += (i-1);
-					return new SolutionCostPair<T>(current, currentCost, pOpt.isMinCost(currentCost));
+					currentCost = resyncCost(current, currentCost);
+					return result(sink, current, currentCost, pOpt.isMinCost(currentCost));
 				}
 				mutation.mutate(current);
-				double neighborCost = pOpt.cost(current);
+				double neighborCost = neighborCost(current, currentCost);
 				if (anneal.accept(neighborCost, currentCost)) {
 					// accepting the neighbor
 					currentCost = neighborCost;
 					if (currentCost < bestCost) {
+						currentCost = resyncCost(current, currentCost);
 						boolean isMinCost = pOpt.isMinCost(currentCost);
 						bestCost = tracker.update(currentCost, current, isMinCost);
 						if (tracker.didFindBest()) {
 							// found theoretical best so no point in proceeding
 							elapsedEvals += i;
-							return new SolutionCostPair<T>(current, currentCost, isMinCost);
+							return result(sink, current, currentCost, isMinCost);
 						}
 					}
 				} else {
@@ -656,10 +765,63 @@ public class SimulatedAnnealing<T extends Copyable<T>> implements SingleSolution
 					mutation.undo(current);
 				}
 			}
-			elapsedEvals += maxEvals;
-			return hc==null 
-				? new SolutionCostPair<T>(current, currentCost, pOpt.isMinCost(currentCost))
-				: hc.optimize(current);
+			elapsedEvals += evals;
+			if (hc == null || !last) {
+				currentCost = resyncCost(current, currentCost);
+				return result(sink, current, currentCost, pOpt.isMinCost(currentCost));
+			}
+			return result(sink, hc.optimize(current));
 		};
 	}
+	
+	/*
+	 * Computes the cost of the neighbor that the most recent mutation produced,
+	 * incrementally if both the problem and the mutation operator support it.
+	 */
+	private int neighborCost(T neighbor, int currentCost) {
+		if (pDeltaInt != null) {
+			MoveDescriptor move = mutation.getLastMove();
+			if (move != null && pDeltaInt.supportsDelta(move)) {
+				return currentCost + pDeltaInt.costDelta(neighbor, move);
+			}
+		}
+		return pOptInt.cost(neighbor);
+	}
+	
+	/*
+	 * Computes the cost of the neighbor that the most recent mutation produced,
+	 * incrementally if both the problem and the mutation operator support it.
+	 */
+	private double neighborCost(T neighbor, double currentCost) {
+		if (pDelta != null) {
+			MoveDescriptor move = mutation.getLastMove();
+			if (move != null && pDelta.supportsDelta(move)) {
+				costIsIncremental = true;
+				return currentCost + pDelta.costDelta(neighbor, move);
+			}
+		}
+		return pOpt.cost(neighbor);
+	}
+	
+	/*
+	 * Floating-point costs that are updated incrementally may accumulate
+	 * rounding error, so recompute the cost in full before it is reported.
+	 */
+	private double resyncCost(T current, double currentCost) {
+		if (costIsIncremental) {
+			costIsIncremental = false;
+			return pOpt.cost(current);
+		}
+		return currentCost;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T extends Copyable<T>> DeltaEvaluable<T> toDeltaEvaluable(OptimizationProblem<T> problem) {
+		return problem instanceof DeltaEvaluable ? (DeltaEvaluable<T>)problem : null;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T extends Copyable<T>> IntegerCostDeltaEvaluable<T> toIntegerCostDeltaEvaluable(IntegerCostOptimizationProblem<T> problem) {
+		return problem instanceof IntegerCostDeltaEvaluable ? (IntegerCostDeltaEvaluable<T>)problem : null;
+	}
 }
\ No newline at end of file
@@ -28,6 +28,9 @@ import org.cicirello.search.problems.Problem;
 import org.cicirello.search.ProgressTracker;
 import org.cicirello.search.SolutionCostPair;
 import org.cicirello.util.Copyable;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * <p>This class serves as an abstract base class for the stochastic
@@ -42,6 +45,9 @@ abstract class AbstractStochasticSampler<T extends Copyable<T>> implements Simpl
 	final IntegerCostOptimizationProblem<T> pOptInt;
 	ProgressTracker<T> tracker;
 	private int numGenerated;
+	private ForkJoinPool pool;
+	// splits of this sampler, one per concurrent task, created as needed for parallel sampling
+	private ArrayList<AbstractStochasticSampler<T>> workers;
 	
 	/**
 	 * Constructs a AbstractStochasticSampler search object.
@@ -73,10 +79,12 @@ abstract class AbstractStochasticSampler<T extends Copyable<T>> implements Simpl
 		pOpt = other.pOpt;
 		pOptInt = other.pOptInt;
 		
-		// this one must be shared.
+		// these must be shared.
 		tracker = other.tracker;
+		pool = other.pool;
 	
 		// use default of 0 for this one: numGenerated
+		// use default of null for this one: workers
 	}
 	
 	@Override
@@ -102,6 +110,36 @@ abstract class AbstractStochasticSampler<T extends Copyable<T>> implements Simpl
 	@Override
 	public final SolutionCostPair<T> optimize(int numSamples) {
 		if (tracker.didFindBest() || tracker.isStopped()) return null;
+		if (pool != null && numSamples > 1) {
+			return sampleInParallel(numSamples);
+		}
+		return sampleSequentially(numSamples);
+	}
+	
+	/**
+	 * <p>Sets a ForkJoinPool to use to generate the samples of the {@link #optimize(int)} method
+	 * in parallel. By default, samples are generated sequentially. When a ForkJoinPool is set,
+	 * the samples are divided evenly among up to as many tasks as the parallelism of the pool, 
+	 * each of which generates its samples with its own split of this search (see {@link #split}), 
+	 * so that any components that are not thread-safe, along with the state of each
+	 * sample (e.g., the partial solution and the heuristic's incremental evaluation), are
+	 * confined to one thread. The splits are created when first needed, and reused by subsequent calls.
+	 * The best of the samples of the tasks is returned, the {@link ProgressTracker} is updated by the
+	 * tasks as they find better solutions, and every task stops early if one of them finds the theoretical
+	 * best solution. The total run length includes the samples of all of the tasks.</p>
+	 *
+	 * <p>Parallel sampling is beneficial when the number of samples per call is large relative to
+	 * the parallelism of the pool, and each sample is expensive to construct and evaluate. Instances 
+	 * produced by {@link #split} share the ForkJoinPool.</p>
+	 *
+	 * @param pool The ForkJoinPool, such as {@link ForkJoinPool#commonPool}, or null
+	 * to generate samples sequentially.
+	 */
+	public final void setSamplingPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+	
+	private SolutionCostPair<T> sampleSequentially(int numSamples) {
 		SolutionCostPair<T> best = null;
 		for (int i = 0; i < numSamples && !tracker.didFindBest() && !tracker.isStopped(); i++) {
 			SolutionCostPair<T> current = sample();
@@ -111,6 +149,34 @@ abstract class AbstractStochasticSampler<T extends Copyable<T>> implements Simpl
 		return best;
 	}
 	
+	private SolutionCostPair<T> sampleInParallel(int numSamples) {
+		int numTasks = Math.min(numSamples, pool.getParallelism());
+		if (workers == null) {
+			workers = new ArrayList<AbstractStochasticSampler<T>>(numTasks);
+		}
+		while (workers.size() < numTasks) {
+			workers.add(split());
+		}
+		ArrayList<ForkJoinTask<SolutionCostPair<T>>> tasks = new ArrayList<ForkJoinTask<SolutionCostPair<T>>>(numTasks);
+		for (int j = 0; j < numTasks; j++) {
+			AbstractStochasticSampler<T> worker = workers.get(j);
+			worker.tracker = tracker;
+			int count = numSamples / numTasks + (j < numSamples % numTasks ? 1 : 0);
+			ForkJoinTask<SolutionCostPair<T>> task = ForkJoinTask.adapt(() -> worker.sampleSequentially(count));
+			pool.execute(task);
+			tasks.add(task);
+		}
+		SolutionCostPair<T> best = null;
+		for (int j = 0; j < numTasks; j++) {
+			SolutionCostPair<T> current = tasks.get(j).join();
+			AbstractStochasticSampler<T> worker = workers.get(j);
+			numGenerated += worker.numGenerated;
+			worker.numGenerated = 0;
+			if (current != null && (best == null || current.compareTo(best) < 0)) best = current;
+		}
+		return best;
+	}
+	
 	@Override
 	public final ProgressTracker<T> getProgressTracker() {
 		return tracker;
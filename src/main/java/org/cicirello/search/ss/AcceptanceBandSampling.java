@@ -224,9 +224,9 @@ public final class AcceptanceBandSampling<T extends Copyable<T>> extends Abstrac
 				}
 				p.extend(0);
 			} else {
+				heuristic.hAll(p, incEval, v);
 				double max = Double.NEGATIVE_INFINITY;
 				for (int i = 0; i < k; i++) {
-					v[i] = heuristic.h(p, p.getExtension(i), incEval);
 					if (v[i] > max) max = v[i];
 				}
 				int which = choose(v, k, max, equivalents);
@@ -64,6 +64,57 @@ public interface ConstructiveHeuristic<T extends Copyable<T>> {
 	 */
 	double h(Partial<T> p, int element, IncrementalEvaluation<T> incEval);
 	
+	/**
+	 * <p>Heuristically evaluates all of the possible extensions of a Partial, in a single call,
+	 * storing the evaluation of the extension p.getExtension(i) in values[i], for each
+	 * i from 0 to p.numExtensions()-1. The evaluations are the same as those of the {@link #h} 
+	 * method. The stochastic sampling algorithms evaluate the extensions with this method at each
+	 * step of the construction of a solution.</p>
+	 *
+	 * <p>The default implementation calls the {@link #h} method once for each extension. 
+	 * Implementing classes may override it to evaluate the extensions in a tight loop, such
+	 * as by casting incEval to its runtime type just once, or by retrieving any data
+	 * that depends upon only the Partial (e.g., its last element) just once. 
+	 * Since a subclass may override the {@link #h} method without overriding this one,
+	 * a class that can be extended should not override this method, unless it evaluates
+	 * the extensions with the {@link #h} method.</p>
+	 *
+	 * @param p The current state of the Partial
+	 * @param incEval An IncrementalEvaluation of p.  This method assumes that incEval
+	 * is of the same runtime type as the object returned by {@link #createIncrementalEvaluation}.
+	 * @param values An array for the heuristic evaluations of the extensions, whose length must 
+	 * be at least p.numExtensions().
+	 * @throws ClassCastException if incEval is not of the same runtime type as the
+	 * objects returned by the {@link #createIncrementalEvaluation} method of the
+	 * class implementing this interface
+	 * @throws ArrayIndexOutOfBoundsException if values.length is less than p.numExtensions()
+	 */
+	default void hAll(Partial<T> p, IncrementalEvaluation<T> incEval, double[] values) {
+		int k = p.numExtensions();
+		for (int i = 0; i < k; i++) {
+			values[i] = h(p, p.getExtension(i), incEval);
+		}
+	}
+	
+	/**
+	 * <p>Checks whether the heuristic is static, meaning that the heuristic evaluation
+	 * of an element depends only upon the element, and not upon the Partial or the 
+	 * IncrementalEvaluation. The {@link HeuristicBiasedStochasticSampling} and 
+	 * {@link ValueBiasedStochasticSampling} classes compute the heuristic value of
+	 * each element of a static heuristic only once, rather than at each step of
+	 * each sample.</p>
+	 *
+	 * <p>The default implementation returns false. A class that can be extended, and that overrides
+	 * this method to return true, should return true only if its runtime class is that class (e.g., 
+	 * if getClass() returns it), since a subclass may override the {@link #h} method.</p>
+	 *
+	 * @return true if the heuristic evaluation of an element is independent of the
+	 * Partial and the IncrementalEvaluation, and false otherwise.
+	 */
+	default boolean isStatic() {
+		return false;
+	}
+	
 	/**
 	 * <p>Creates an IncrementalEvaluation object corresponding to an initially
 	 * empty Partial for use in incrementally constructing a solution
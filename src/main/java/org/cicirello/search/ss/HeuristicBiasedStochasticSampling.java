@@ -155,6 +155,13 @@ public final class HeuristicBiasedStochasticSampling<T extends Copyable<T>> exte
 	private final BiasFunction bias;
 	private final ConstructiveHeuristic<T> heuristic;
 	private final double[] biases;
+	// heuristic values of the elements if the heuristic is static, and otherwise null
+	private final StaticHeuristicValues staticValues;
+	// elements in decreasing order of heuristic value if the heuristic is static 
+	// and constructs permutations, and otherwise null
+	private final int[] byRank;
+	// start and end positions in byRank of the runs of elements with equal heuristic values
+	private final int[] tiedRuns;
 	
 	/**
 	 * Constructs a HeuristicBiasedStochasticSampling search object.  A ProgressTracker 
@@ -245,6 +252,9 @@ public final class HeuristicBiasedStochasticSampling<T extends Copyable<T>> exte
 		this.bias = bias;
 		this.heuristic = heuristic;
 		biases = precomputeBiases(heuristic.completeLength());
+		staticValues = heuristic.isStatic() ? new StaticHeuristicValues(heuristic) : null;
+		byRank = staticValues != null && staticValues.isPermutation() ? staticValues.elementsByDecreasingValue() : null;
+		tiedRuns = byRank != null ? staticValues.tiedRuns(byRank) : null;
 	}
 	
 	/*
@@ -255,6 +265,9 @@ public final class HeuristicBiasedStochasticSampling<T extends Copyable<T>> exte
 		bias = other.bias;
 		heuristic = other.heuristic;
 		biases = other.biases;
+		staticValues = other.staticValues;
+		byRank = other.byRank;
+		tiedRuns = other.tiedRuns;
 	}
 	
 	@Override
@@ -359,6 +372,9 @@ public final class HeuristicBiasedStochasticSampling<T extends Copyable<T>> exte
 	
 	@Override
 	SolutionCostPair<T> sample() {
+		if (byRank != null) {
+			return sampleStatic();
+		}
 		IncrementalEvaluation<T> incEval = heuristic.createIncrementalEvaluation();
 		int n = heuristic.completeLength();
 		Partial<T> p = heuristic.createPartial(n);
@@ -374,8 +390,12 @@ public final class HeuristicBiasedStochasticSampling<T extends Copyable<T>> exte
 				p.extend(0);
 			} else {
 				int chosenRank = 1 + select(biases, k, r.nextDouble(biases[k-1]));
+				if (staticValues != null) {
+					staticValues.getAll(p, v);
+				} else {
+					heuristic.hAll(p, incEval, v);
+				}
 				for (int i = 0; i < k; i++) {
-					v[i] = heuristic.h(p, p.getExtension(i), incEval);
 					extensions[i] = i;
 				}
 				int which = randomizedSelect(extensions, v, k, chosenRank);
@@ -388,4 +408,42 @@ public final class HeuristicBiasedStochasticSampling<T extends Copyable<T>> exte
 		T complete = p.toComplete();
 		return evaluateAndPackageSolution(complete);
 	}
+	
+	/*
+	 * Samples a permutation for a static heuristic, whose ranking of the elements does
+	 * not change from one step to the next. Each step finds the element of the chosen rank
+	 * among those remaining, and removes it, with a SumTree that counts the remaining
+	 * elements in rank order, in O(log n) time, rather than ranking the remaining elements.
+	 * Elements with equal heuristic values are shuffled within their run of the ranking for
+	 * each sample, since the ranking at each step otherwise breaks such ties randomly.
+	 */
+	private SolutionCostPair<T> sampleStatic() {
+		Partial<T> p = heuristic.createPartial(heuristic.completeLength());
+		int n = byRank.length;
+		int[] ranked = byRank;
+		if (tiedRuns.length > 0) {
+			ranked = byRank.clone();
+			for (int t = 0; t < tiedRuns.length; t += 2) {
+				for (int last = tiedRuns[t+1] - 1; last > tiedRuns[t]; last--) {
+					int j = tiedRuns[t] + RandomIndexer.nextBiasedInt(last - tiedRuns[t] + 1);
+					int temp = ranked[j];
+					ranked[j] = ranked[last];
+					ranked[last] = temp;
+				}
+			}
+		}
+		SumTree remaining = new SumTree(n);
+		int[] order = new int[n];
+		ThreadLocalRandom r = ThreadLocalRandom.current();
+		for (int i = 0; i < n; i++) {
+			int k = n - i;
+			// 0-based rank among the k remaining elements
+			int chosenRank = k > 1 ? select(biases, k, r.nextDouble(biases[k-1])) : 0;
+			int position = remaining.find(chosenRank);
+			order[i] = ranked[position];
+			remaining.remove(position);
+		}
+		((PartialPermutation)p).extendAll(order);
+		return evaluateAndPackageSolution(p.toComplete());
+	}
 }
\ No newline at end of file
@@ -159,6 +159,7 @@ public class HeuristicSolutionGenerator<T extends Copyable<T>> implements Simple
 		IncrementalEvaluation<T> incEval = heuristic.createIncrementalEvaluation();
 		int n = heuristic.completeLength();
 		Partial<T> p = heuristic.createPartial(n);
+		double[] h = new double[n];
 		while (!p.isComplete()) {
 			int k = p.numExtensions();
 			if (k==1) {
@@ -167,12 +168,12 @@ public class HeuristicSolutionGenerator<T extends Copyable<T>> implements Simple
 				}
 				p.extend(0);
 			} else {
+				heuristic.hAll(p, incEval, h);
 				double bestH = Double.NEGATIVE_INFINITY;
 				int which = 0;
 				for (int i = 0; i < k; i++) {
-					double h = heuristic.h(p, p.getExtension(i), incEval);
-					if (h > bestH) {
-						bestH = h;
+					if (h[i] > bestH) {
+						bestH = h[i];
 						which = i;
 					}
 				}
@@ -208,6 +208,12 @@ public final class HybridConstructiveHeuristic<T extends Copyable<T>> implements
 		return heuristics.get(wrapped.which).h(p, element, wrapped.incEval);
 	}
 	
+	@Override
+	public void hAll(Partial<T> p, IncrementalEvaluation<T> incEval, double[] values) {
+		IncrementalEvaluationWrapper<T> wrapped = (IncrementalEvaluationWrapper<T>)incEval;
+		heuristics.get(wrapped.which).hAll(p, wrapped.incEval, values);
+	}
+	
 	@Override
 	public Partial<T> createPartial(int n) {
 		return heuristics.get(0).createPartial(n);
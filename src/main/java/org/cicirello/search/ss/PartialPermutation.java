@@ -116,4 +116,16 @@ public final class PartialPermutation implements Partial<Permutation> {
 		remainingElements[extensionIndex] = remainingElements[remaining];
 	}
 	
+	/*
+	 * package-private: used by the stochastic samplers, which choose the complete order
+	 * of the elements of a static heuristic before filling in the PartialPermutation.
+	 * Extends this PartialPermutation, which must be empty, by all of the elements in
+	 * the given order, which must be a permutation of the elements 0 through n-1.
+	 */
+	void extendAll(int[] elements) {
+		System.arraycopy(elements, 0, partial, 0, elements.length);
+		size = elements.length;
+		remaining = 0;
+	}
+	
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.ss;
+
+import org.cicirello.util.Copyable;
+import java.util.function.DoubleUnaryOperator;
+import java.util.Arrays;
+
+/**
+ * Internal class for the stochastic samplers: the heuristic values of the
+ * elements of a {@link ConstructiveHeuristic} whose {@link ConstructiveHeuristic#isStatic isStatic} 
+ * method returns true, computed once and indexed by element. The samplers read
+ * these rather than calling the heuristic at each step of each sample. An instance
+ * is not modified after it is constructed, other than by the sampler that constructs
+ * it, and is shared by that sampler's splits.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+final class StaticHeuristicValues {
+	
+	private final double[] values;
+	private final int minElement;
+	private final boolean permutation;
+	
+	/*
+	 * Evaluates each of the extensions of an empty Partial of the heuristic's
+	 * complete length.
+	 */
+	<T extends Copyable<T>> StaticHeuristicValues(ConstructiveHeuristic<T> heuristic) {
+		Partial<T> p = heuristic.createPartial(heuristic.completeLength());
+		permutation = p instanceof PartialPermutation;
+		int k = p.numExtensions();
+		double[] h = new double[k];
+		heuristic.hAll(p, heuristic.createIncrementalEvaluation(), h);
+		int min = Integer.MAX_VALUE;
+		int max = Integer.MIN_VALUE;
+		for (int i = 0; i < k; i++) {
+			int element = p.getExtension(i);
+			if (element < min) min = element;
+			if (element > max) max = element;
+		}
+		minElement = k > 0 ? min : 0;
+		values = new double[k > 0 ? max - min + 1 : 0];
+		for (int i = 0; i < k; i++) {
+			values[p.getExtension(i) - minElement] = h[i];
+		}
+	}
+	
+	/*
+	 * Replaces each value v with f(v). Used by a sampler when it constructs
+	 * an instance, such as to apply a bias function just once.
+	 */
+	void transform(DoubleUnaryOperator f) {
+		for (int i = 0; i < values.length; i++) {
+			values[i] = f.applyAsDouble(values[i]);
+		}
+	}
+	
+	/*
+	 * Checks whether the heuristic's Partials are PartialPermutations, in which
+	 * case the elements are 0 through n-1, and each is used exactly once.
+	 */
+	boolean isPermutation() {
+		return permutation;
+	}
+	
+	/*
+	 * Builds a SumTree over the values, where the index of an element
+	 * in the tree is the element minus the minimum element.
+	 */
+	SumTree toSumTree() {
+		return new SumTree(values);
+	}
+	
+	/*
+	 * Gets the elements in decreasing order of value, with ties
+	 * in increasing order of element. A sampler that ranks elements
+	 * must break ties randomly itself, such as with tiedRuns.
+	 */
+	int[] elementsByDecreasingValue() {
+		Integer[] order = new Integer[values.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Double.compare(values[b], values[a]));
+		int[] elements = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			elements[i] = order[i] + minElement;
+		}
+		return elements;
+	}
+	
+	/*
+	 * Finds the runs of equal values in elements, which must be ordered as by
+	 * elementsByDecreasingValue. Returns the start (inclusive) and end (exclusive)
+	 * positions of each run of at least two elements, in pairs, which is an empty
+	 * array if no two elements have equal values.
+	 */
+	int[] tiedRuns(int[] elements) {
+		int[] runs = new int[elements.length];
+		int count = 0;
+		int start = 0;
+		for (int i = 1; i <= elements.length; i++) {
+			if (i == elements.length || values[elements[i] - minElement] != values[elements[start] - minElement]) {
+				if (i - start > 1) {
+					runs[count] = start;
+					runs[count+1] = i;
+					count += 2;
+				}
+				start = i;
+			}
+		}
+		return Arrays.copyOf(runs, count);
+	}
+	
+	/*
+	 * Stores the value of p.getExtension(i) in out[i], for each extension
+	 * of p. Same as the heuristic's hAll method, but without the evaluations.
+	 */
+	void getAll(Partial<?> p, double[] out) {
+		int k = p.numExtensions();
+		for (int i = 0; i < k; i++) {
+			out[i] = values[p.getExtension(i) - minElement];
+		}
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.ss;
+
+/**
+ * Internal class for the stochastic samplers: a sum tree (a segment tree of sums)
+ * over a set of non-negative weights, supporting the removal of an element, and
+ * the selection of the element at which the cumulative weight first exceeds a target, 
+ * each in O(log n) time. A sampler builds one of these, in O(n) time, at the start of a
+ * sample, and removes elements as it adds them to the solution, rather than
+ * recomputing the cumulative weights of the remaining elements at each step.
+ * Removing an element recomputes the sums that contain it from their two halves,
+ * rather than subtracting its weight, so weights that differ by many orders of magnitude
+ * (such as those of an exponential bias function) do not lose precision as the largest
+ * of them are removed.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, 
+ * <a href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+final class SumTree {
+	
+	// tree[1] is the root; the weight of element i is at tree[leaves + i], 
+	// and tree[j] is the sum of tree[2j] and tree[2j+1]
+	private final double[] tree;
+	private final int leaves;
+	private final int n;
+	
+	/*
+	 * Builds a tree over the weights in O(n) time.
+	 */
+	SumTree(double[] weights) {
+		this(weights.length);
+		System.arraycopy(weights, 0, tree, leaves, n);
+		sumAll();
+	}
+	
+	/*
+	 * Builds a tree over n elements, each of weight 1, in O(n) time, such as
+	 * to count the remaining elements in order to select them by rank.
+	 */
+	SumTree(int n) {
+		this.n = n;
+		leaves = n > 1 ? Integer.highestOneBit(n - 1) << 1 : 1;
+		tree = new double[leaves << 1];
+		for (int i = 0; i < n; i++) {
+			tree[leaves + i] = 1.0;
+		}
+		sumAll();
+	}
+	
+	/*
+	 * Gets the number of elements, including those that have been removed.
+	 */
+	int size() {
+		return n;
+	}
+	
+	/*
+	 * Gets the total weight of the elements that have not been removed.
+	 */
+	double total() {
+		return tree[1];
+	}
+	
+	/*
+	 * Gets the index of the element at which the cumulative weight first exceeds
+	 * target, which is assumed to be non-negative and less than total(). Removed elements
+	 * are never selected. If rounding error in the sums leaves the target at or beyond
+	 * the total, the nearest element that has not been removed is selected instead. 
+	 * Returns -1 if all elements have been removed.
+	 */
+	int find(double target) {
+		int j = 1;
+		while (j < leaves) {
+			j <<= 1;
+			if (target >= tree[j]) {
+				target -= tree[j];
+				j++;
+			}
+		}
+		int index = j - leaves;
+		if (index < n && tree[j] != 0.0) return index;
+		// only due to rounding error in the sums: use the nearest element not yet removed
+		for (int i = Math.min(index, n) - 1; i >= 0; i--) {
+			if (tree[leaves + i] != 0.0) return i;
+		}
+		for (int i = index + 1; i < n; i++) {
+			if (tree[leaves + i] != 0.0) return i;
+		}
+		return -1;
+	}
+	
+	/*
+	 * Removes an element, setting its weight to 0.
+	 */
+	void remove(int index) {
+		int j = leaves + index;
+		tree[j] = 0.0;
+		for (j >>= 1; j > 0; j >>= 1) {
+			tree[j] = tree[j << 1] + tree[(j << 1) + 1];
+		}
+	}
+	
+	private void sumAll() {
+		for (int j = leaves - 1; j > 0; j--) {
+			tree[j] = tree[j << 1] + tree[(j << 1) + 1];
+		}
+	}
+}
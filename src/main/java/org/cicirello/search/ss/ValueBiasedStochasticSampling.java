@@ -141,6 +141,8 @@ public final class ValueBiasedStochasticSampling<T extends Copyable<T>> extends
 	
 	private final BiasFunction bias;
 	private final ConstructiveHeuristic<T> heuristic;
+	// biased values of the elements if the heuristic is static, and otherwise null
+	private final StaticHeuristicValues staticBiases;
 	
 	/**
 	 * Constructs a ValueBiasedStochasticSampling search object.  A ProgressTracker 
@@ -211,6 +213,14 @@ public final class ValueBiasedStochasticSampling<T extends Copyable<T>> extends
 		super(heuristic.getProblem(), tracker);
 		this.bias = bias;
 		this.heuristic = heuristic;
+		if (heuristic.isStatic()) {
+			staticBiases = new StaticHeuristicValues(heuristic);
+			if (bias != null) {
+				staticBiases.transform(bias::bias);
+			}
+		} else {
+			staticBiases = null;
+		}
 	}
 	
 	/*
@@ -220,6 +230,7 @@ public final class ValueBiasedStochasticSampling<T extends Copyable<T>> extends
 		super(other);
 		bias = other.bias;
 		heuristic = other.heuristic;
+		staticBiases = other.staticBiases;
 	}
 	
 	@Override
@@ -278,15 +289,20 @@ public final class ValueBiasedStochasticSampling<T extends Copyable<T>> extends
 	 * package-private: used internally, but want to access from test class for unit testing
 	 */
 	void adjustForBias(double[] values, int k) {
-		double total = 0.0;
 		if (bias != null) {
 			for (int i = 0; i < k; i++) {
 				values[i] = bias.bias(values[i]);
-				total += values[i];
 			}
-		} else {
-			for (int i = 0; i < k; i++) total += values[i];
 		}
+		toCumulative(values, k);
+	}
+	
+	/*
+	 * Replaces the first k biased values with the cumulative distribution they define.
+	 */
+	private static void toCumulative(double[] values, int k) {
+		double total = 0.0;
+		for (int i = 0; i < k; i++) total += values[i];
 		values[0] /= total;
 		for (int i = 1; i < k; i++) {
 			values[i] = values[i-1] + values[i] / total;
@@ -296,6 +312,9 @@ public final class ValueBiasedStochasticSampling<T extends Copyable<T>> extends
 	
 	@Override
 	SolutionCostPair<T> sample() {
+		if (staticBiases != null && staticBiases.isPermutation()) {
+			return sampleStatic();
+		}
 		IncrementalEvaluation<T> incEval = heuristic.createIncrementalEvaluation();
 		int n = heuristic.completeLength();
 		Partial<T> p = heuristic.createPartial(n);
@@ -309,10 +328,13 @@ public final class ValueBiasedStochasticSampling<T extends Copyable<T>> extends
 				}
 				p.extend(0);
 			} else {
-				for (int i = 0; i < k; i++) {
-					b[i] = heuristic.h(p, p.getExtension(i), incEval);
+				if (staticBiases != null) {
+					staticBiases.getAll(p, b);
+					toCumulative(b, k);
+				} else {
+					heuristic.hAll(p, incEval, b);
+					adjustForBias(b, k);
 				}
-				adjustForBias(b, k);
 				int which = select(b, k, r.nextDouble());
 				if (incEval != null) {
 					incEval.extend(p, p.getExtension(which));
@@ -323,4 +345,46 @@ public final class ValueBiasedStochasticSampling<T extends Copyable<T>> extends
 		T complete = p.toComplete();
 		return evaluateAndPackageSolution(complete);
 	}
+	
+	/*
+	 * Samples a permutation for a static heuristic, whose biased values do not change
+	 * from one step to the next. Each step selects an element, with probability proportional
+	 * to its biased value, and removes it from a SumTree of the remaining elements, in 
+	 * O(log n) time, rather than recomputing the cumulative biases of the remaining elements.
+	 */
+	private SolutionCostPair<T> sampleStatic() {
+		Partial<T> p = heuristic.createPartial(heuristic.completeLength());
+		SumTree remaining = staticBiases.toSumTree();
+		int n = remaining.size();
+		int[] order = new int[n];
+		ThreadLocalRandom r = ThreadLocalRandom.current();
+		for (int i = 0; i < n; i++) {
+			int element = remaining.find(r.nextDouble() * remaining.total());
+			if (element < 0) {
+				// biases of all remaining elements are 0 (e.g., due to underflow): take them in any order
+				fillWithUnused(order, i);
+				break;
+			}
+			order[i] = element;
+			remaining.remove(element);
+		}
+		((PartialPermutation)p).extendAll(order);
+		return evaluateAndPackageSolution(p.toComplete());
+	}
+	
+	/*
+	 * Completes order, whose first count positions are filled, with the unused elements.
+	 */
+	private static void fillWithUnused(int[] order, int count) {
+		boolean[] used = new boolean[order.length];
+		for (int i = 0; i < count; i++) {
+			used[order[i]] = true;
+		}
+		for (int element = 0; element < order.length; element++) {
+			if (!used[element]) {
+				order[count] = element;
+				count++;
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -23,6 +23,7 @@ package org.cicirello.search;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 import org.cicirello.util.Copyable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * JUnit test cases for the ProgressTracker.
@@ -188,6 +189,73 @@ public class ProgressTrackerTests {
 		}
 	}
 	
+	@Test
+	public void testConcurrentUpdates() throws InterruptedException {
+		final ProgressTracker<TestCopyable> t = new ProgressTracker<TestCopyable>();
+		final ProgressTracker<TestCopyable> td = new ProgressTracker<TestCopyable>();
+		final int numThreads = 8;
+		final int perThread = 2000;
+		final AtomicInteger inconsistent = new AtomicInteger();
+		Thread[] threads = new Thread[numThreads];
+		for (int k = 0; k < numThreads; k++) {
+			final int offset = k;
+			threads[k] = new Thread(() -> {
+				for (int i = perThread; i >= 0; i--) {
+					int cost = i * numThreads + offset;
+					t.update(cost, new TestCopyable(cost), false);
+					td.update(cost + 0.5, new TestCopyable(cost), false);
+					// a reader must always see a consistent solution and cost
+					SolutionCostPair<TestCopyable> pair = t.getSolutionCostPair();
+					if (pair.getCost() != pair.getSolution().a) inconsistent.incrementAndGet();
+					pair = td.getSolutionCostPair();
+					if (pair.getCostDouble() != pair.getSolution().a + 0.5) inconsistent.incrementAndGet();
+				}
+			});
+			threads[k].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, inconsistent.get());
+		assertEquals(0, t.getCost());
+		assertEquals(0, t.getSolution().a);
+		assertEquals(0, t.getSolutionCostPair().getCost());
+		assertTrue(t.containsIntCost());
+		assertEquals(0.5, td.getCostDouble(), EPSILON);
+		assertEquals(0, td.getSolution().a);
+		assertFalse(td.containsIntCost());
+	}
+	
+	@Test
+	public void testCopiesOnlyImprovingSolutions() {
+		ProgressTracker<CountingCopyable> t = new ProgressTracker<CountingCopyable>();
+		CountingCopyable c = new CountingCopyable();
+		assertEquals(10, t.update(10, c, false));
+		assertEquals(1, c.copies);
+		assertEquals(10, t.update(10, c, false));
+		assertEquals(10, t.update(15, c, false));
+		assertEquals(1, c.copies);
+		assertEquals(5, t.update(5, c, false));
+		assertEquals(2, c.copies);
+		assertEquals(5.0, t.update(7.0, c, false), EPSILON);
+		assertEquals(2, c.copies);
+		assertEquals(4.5, t.update(4.5, c, false), EPSILON);
+		assertEquals(3, c.copies);
+		assertFalse(t.update(new SolutionCostPair<CountingCopyable>(c, 6.0, false)));
+		assertEquals(3, c.copies);
+	}
+	
+	private static class CountingCopyable implements Copyable<CountingCopyable> {
+		
+		int copies;
+		
+		@Override
+		public CountingCopyable copy() {
+			copies++;
+			return new CountingCopyable();
+		}
+	}
+	
 	private static class TestCopyable implements Copyable<TestCopyable> {
 		
 		int a;
@@ -0,0 +1,145 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2021 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import org.cicirello.util.Copyable;
+
+/**
+ * JUnit test cases for the SolutionCostHolder.
+ */
+public class SolutionCostHolderTests {
+	
+	private static final double EPSILON = 1e-10;
+	
+	@Test
+	public void testEmpty() {
+		SolutionCostHolder<TestCopyable> holder = new SolutionCostHolder<TestCopyable>();
+		assertTrue(holder.isEmpty());
+		assertNull(holder.getSolution());
+		assertNull(holder.toSolutionCostPair());
+		assertFalse(holder.offer(null));
+		assertTrue(holder.isEmpty());
+	}
+	
+	@Test
+	public void testOfferInt() {
+		SolutionCostHolder<TestCopyable> holder = new SolutionCostHolder<TestCopyable>();
+		TestCopyable s1 = new TestCopyable(1);
+		TestCopyable s2 = new TestCopyable(2);
+		TestCopyable s3 = new TestCopyable(3);
+		assertTrue(holder.offer(s1, 10, false));
+		assertFalse(holder.isEmpty());
+		assertSame(s1, holder.getSolution());
+		assertTrue(holder.containsIntCost());
+		assertEquals(10, holder.getCost());
+		assertEquals(10.0, holder.getCostDouble(), EPSILON);
+		assertFalse(holder.containsKnownOptimal());
+		assertFalse(holder.offer(s2, 10, false));
+		assertFalse(holder.offer(s2, 11, false));
+		assertSame(s1, holder.getSolution());
+		SolutionCostPair<TestCopyable> pair = holder.toSolutionCostPair();
+		assertSame(s1, pair.getSolution());
+		assertEquals(10, pair.getCost());
+		assertTrue(pair.containsIntCost());
+		assertSame(pair, holder.toSolutionCostPair());
+		assertTrue(holder.offer(s3, 5, true));
+		assertSame(s3, holder.getSolution());
+		assertEquals(5, holder.getCost());
+		assertTrue(holder.containsKnownOptimal());
+		pair = holder.toSolutionCostPair();
+		assertSame(s3, pair.getSolution());
+		assertEquals(5, pair.getCost());
+		assertTrue(pair.containsKnownOptimal());
+		holder.clear();
+		assertTrue(holder.isEmpty());
+		assertNull(holder.getSolution());
+		assertNull(holder.toSolutionCostPair());
+		assertTrue(holder.offer(s2, 20, false));
+		assertSame(s2, holder.getSolution());
+		assertEquals(20, holder.getCost());
+	}
+	
+	@Test
+	public void testOfferDouble() {
+		SolutionCostHolder<TestCopyable> holder = new SolutionCostHolder<TestCopyable>();
+		TestCopyable s1 = new TestCopyable(1);
+		TestCopyable s2 = new TestCopyable(2);
+		assertTrue(holder.offer(s1, 10.5, false));
+		assertSame(s1, holder.getSolution());
+		assertFalse(holder.containsIntCost());
+		assertEquals(10.5, holder.getCostDouble(), EPSILON);
+		assertFalse(holder.offer(s2, 10.5, false));
+		assertTrue(holder.offer(s2, 10.25, true));
+		assertSame(s2, holder.getSolution());
+		assertEquals(10.25, holder.getCostDouble(), EPSILON);
+		assertTrue(holder.containsKnownOptimal());
+		SolutionCostPair<TestCopyable> pair = holder.toSolutionCostPair();
+		assertSame(s2, pair.getSolution());
+		assertFalse(pair.containsIntCost());
+		assertEquals(10.25, pair.getCostDouble(), EPSILON);
+		assertTrue(pair.containsKnownOptimal());
+	}
+	
+	@Test
+	public void testOfferPair() {
+		SolutionCostHolder<TestCopyable> holder = new SolutionCostHolder<TestCopyable>();
+		SolutionCostPair<TestCopyable> p1 = new SolutionCostPair<TestCopyable>(new TestCopyable(1), 10, false);
+		SolutionCostPair<TestCopyable> p2 = new SolutionCostPair<TestCopyable>(new TestCopyable(2), 10, false);
+		SolutionCostPair<TestCopyable> p3 = new SolutionCostPair<TestCopyable>(new TestCopyable(3), 7, true);
+		assertTrue(holder.offer(p1));
+		assertSame(p1, holder.toSolutionCostPair());
+		assertFalse(holder.offer(p2));
+		assertFalse(holder.offer(null));
+		assertSame(p1, holder.toSolutionCostPair());
+		assertTrue(holder.offer(p3));
+		assertSame(p3, holder.toSolutionCostPair());
+		assertSame(p3.getSolution(), holder.getSolution());
+		assertEquals(7, holder.getCost());
+		assertTrue(holder.containsIntCost());
+		assertTrue(holder.containsKnownOptimal());
+		
+		holder = new SolutionCostHolder<TestCopyable>();
+		SolutionCostPair<TestCopyable> d1 = new SolutionCostPair<TestCopyable>(new TestCopyable(1), 3.5, false);
+		SolutionCostPair<TestCopyable> d2 = new SolutionCostPair<TestCopyable>(new TestCopyable(2), 3.25, false);
+		assertTrue(holder.offer(d1));
+		assertFalse(holder.containsIntCost());
+		assertTrue(holder.offer(d2));
+		assertSame(d2, holder.toSolutionCostPair());
+		assertEquals(3.25, holder.getCostDouble(), EPSILON);
+		assertTrue(holder.offer(new TestCopyable(3), 3.0, false));
+		assertNotSame(d2, holder.toSolutionCostPair());
+		assertEquals(3.0, holder.toSolutionCostPair().getCostDouble(), EPSILON);
+	}
+	
+	private static class TestCopyable implements Copyable<TestCopyable> {
+		
+		int a;
+		
+		public TestCopyable(int a) { this.a = a; }
+		
+		@Override
+		public TestCopyable copy() {
+			return new TestCopyable(a);
+		}
+	}
+}
@@ -33,6 +33,9 @@ import org.cicirello.search.restarts.Multistarter;
 import org.cicirello.util.Copyable;
 import java.util.ArrayList;
 import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * JUnit tests for ParallelMultistarter using 2 threads.
@@ -392,6 +395,54 @@ public class ParallelMultistarterTwoThreadsTests {
 	
 	
 	
+	@Test
+	public void testExecutorService() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+		ExecutorService single = Executors.newSingleThreadExecutor();
+		try {
+			for (int r = 1; r <= 1000; r *= 10) {
+				for (int re = 1; re <= 5; re++) {
+					TestRestartedMetaheuristic heur = new TestRestartedMetaheuristic();
+					ParallelMultistarter<TestObject> restarter = new ParallelMultistarter<TestObject>(heur, r, 2);
+					restarter.setExecutorService(pool);
+					verifyConstantLength(restarter, heur, r, re);
+					restarter.close();
+					assertTrue(restarter.isClosed());
+					assertFalse(pool.isShutdown());
+					
+					// fewer threads than parallel searches
+					heur = new TestRestartedMetaheuristic();
+					restarter = new ParallelMultistarter<TestObject>(heur, r, 2);
+					restarter.setExecutorService(single);
+					verifyConstantLength(restarter, heur, r, re);
+					restarter.close();
+					assertFalse(single.isShutdown());
+				}
+			}
+			ParallelMultistarter<TestObject> restarter = new ParallelMultistarter<TestObject>(new TestRestartedMetaheuristic(), 10, 2);
+			restarter.setExecutorService(pool);
+			ParallelMultistarter<TestObject> split = restarter.split();
+			assertNotNull(split.optimize(2));
+			split.close();
+			assertFalse(pool.isShutdown());
+			assertFalse(restarter.isClosed());
+			assertNotNull(restarter.optimize(2));
+			restarter.close();
+			assertThrows(IllegalStateException.class, () -> restarter.optimize(2));
+			assertThrows(IllegalStateException.class, () -> restarter.setExecutorService(pool));
+			assertTrue(restarter.split().isClosed());
+			ParallelMultistarter<TestObject> restarter2 = new ParallelMultistarter<TestObject>(new TestRestartedMetaheuristic(), 10, 2);
+			NullPointerException thrown = assertThrows( 
+				NullPointerException.class,
+				() -> restarter2.setExecutorService(null)
+			);
+			restarter2.close();
+		} finally {
+			pool.shutdown();
+			single.shutdown();
+		}
+	}
+	
 	private void verifyConstantLength(ParallelMultistarter<TestObject> restarter, TestRestartedMetaheuristic heur, int r, int re) {
 		ProgressTracker<TestObject> tracker = restarter.getProgressTracker();
 		assertNotNull(tracker);
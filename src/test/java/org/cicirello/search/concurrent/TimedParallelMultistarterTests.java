@@ -32,6 +32,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Collection;
 import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.cicirello.search.restarts.ParallelVariableAnnealingLength;
 import org.cicirello.search.restarts.ConstantRestartSchedule;
 import org.cicirello.search.restarts.Multistarter;
@@ -1248,6 +1250,153 @@ public class TimedParallelMultistarterTests {
 		tpm.close();
 	}
 	
+	@Test
+	public void testRecordImprovementsOnly() { 
+		ProgressTracker<TestObject> tracker = new ProgressTracker<TestObject>();
+		TestProblem problem = new TestProblem();
+		ArrayList<TestRestartedMetaheuristic> searches = new ArrayList<TestRestartedMetaheuristic>();
+		for (int i = 0; i < 2; i++) {
+			searches.add(new TestRestartedMetaheuristic(i, tracker, problem));
+		}
+		TimedParallelMultistarter<TestObject> tpm = new TimedParallelMultistarter<TestObject>(searches, 1000);
+		assertFalse(tpm.getRecordImprovementsOnly());
+		tpm.setRecordImprovementsOnly(true);
+		assertTrue(tpm.getRecordImprovementsOnly());
+		tpm.setTimeUnit(10);
+		tpm.optimize(8);
+		ArrayList<SolutionCostPair<TestObject>> history = tpm.getSearchHistory();
+		assertTrue(history.size() <= 8);
+		for (int i = 1; i < history.size(); i++) {
+			assertTrue(history.get(i).getCostDouble() < history.get(i-1).getCostDouble());
+			assertTrue(history.get(i).getCostDouble() >= tracker.getCostDouble());
+		}
+		TimedParallelMultistarter<TestObject> split = tpm.split();
+		assertTrue(split.getRecordImprovementsOnly());
+		split.close();
+		tpm.close();
+	}
+	
+	@Test
+	public void testStopsWhenBestFound() { 
+		ProgressTracker<TestObject> tracker = new ProgressTracker<TestObject>();
+		TestProblem problem = new TestProblem();
+		ArrayList<TestFindsBest> searches = new ArrayList<TestFindsBest>();
+		for (int i = 0; i < 2; i++) {
+			searches.add(new TestFindsBest(i, problem, tracker));
+		}
+		TimedParallelMultistarter<TestObject> tpm = new TimedParallelMultistarter<TestObject>(searches, 1000);
+		tpm.setTimeUnit(2000);
+		long time1 = System.nanoTime();
+		SolutionCostPair<TestObject> solution = tpm.optimize(5);
+		long time2 = System.nanoTime();
+		assertEquals(-10000, solution.getCostDouble(), 0.0);
+		assertTrue(tracker.didFindBest());
+		// ends as soon as the best is found, rather than at the end of a time unit
+		assertTrue(time2 - time1 < 1500000000L, "actual=" + (time2 - time1) + " ns");
+		ArrayList<SolutionCostPair<TestObject>> history = tpm.getSearchHistory();
+		assertEquals(1, history.size());
+		assertEquals(-10000, history.get(0).getCostDouble(), 0.0);
+		tpm.close();
+	}
+	
+	@Test
+	public void testHistoryWhenBestFoundWithinTimeUnit() { 
+		ProgressTracker<TestObject> tracker = new ProgressTracker<TestObject>();
+		TestProblem problem = new TestProblem();
+		ArrayList<TestFindsBestAndContinues> searches = new ArrayList<TestFindsBestAndContinues>();
+		searches.add(new TestFindsBestAndContinues(0, problem, tracker, 300));
+		TimedParallelMultistarter<TestObject> tpm = new TimedParallelMultistarter<TestObject>(searches, 1000);
+		tpm.setTimeUnit(200);
+		tpm.optimize(5);
+		assertTrue(tracker.didFindBest());
+		// the best is found during the second time unit, but the search doesn't complete until stopped,
+		// so the search ends at the end of the second time unit, which is recorded once
+		ArrayList<SolutionCostPair<TestObject>> history = tpm.getSearchHistory();
+		assertEquals(2, history.size());
+		assertEquals(-10000, history.get(1).getCostDouble(), 0.0);
+		tpm.close();
+	}
+	
+	@Test
+	public void testExecutorService() { 
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ProgressTracker<TestObject> tracker = new ProgressTracker<TestObject>();
+			TestProblem problem = new TestProblem();
+			ArrayList<TestRestartedMetaheuristic> searches = new ArrayList<TestRestartedMetaheuristic>();
+			for (int i = 0; i < 2; i++) {
+				searches.add(new TestRestartedMetaheuristic(i, tracker, problem));
+			}
+			TimedParallelMultistarter<TestObject> tpm = new TimedParallelMultistarter<TestObject>(searches, 1000);
+			tpm.setExecutorService(executor);
+			tpm.setTimeUnit(10);
+			TimedParallelMultistarter<TestObject> split = tpm.split();
+			assertNotNull(tpm.optimize(3));
+			assertEquals(3, tpm.getSearchHistory().size());
+			for (TestRestartedMetaheuristic m : searches) {
+				assertTrue(m.optimizeCalled > 0);
+			}
+			assertNotNull(split.optimize(3));
+			split.close();
+			assertTrue(split.isClosed());
+			assertFalse(executor.isShutdown());
+			assertNotNull(tpm.optimize(3));
+			tpm.close();
+			assertFalse(executor.isShutdown());
+			assertThrows(IllegalStateException.class, () -> tpm.optimize(3));
+			assertThrows(IllegalStateException.class, () -> tpm.setExecutorService(executor));
+			TimedParallelMultistarter<TestObject> tpm2 = new TimedParallelMultistarter<TestObject>(searches, 1000);
+			NullPointerException thrown = assertThrows( 
+				NullPointerException.class,
+				() -> tpm2.setExecutorService(null)
+			);
+			tpm2.close();
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	private static class TestFindsBest extends TestRestartedMetaheuristic {
+		
+		public TestFindsBest(int id, TestProblem problem, ProgressTracker<TestObject> tracker) {
+			super(id, tracker, problem);
+		}
+		
+		@Override
+		public SolutionCostPair<TestObject> optimize(int runLength) {
+			optimizeCalled++;
+			TestObject best = new TestObject(-10000);
+			getProgressTracker().update(-10000, best, true);
+			return new SolutionCostPair<TestObject>(best, -10000, true);
+		}
+	}
+	
+	private static class TestFindsBestAndContinues extends TestRestartedMetaheuristic {
+		
+		private final long delay;
+		
+		public TestFindsBestAndContinues(int id, TestProblem problem, ProgressTracker<TestObject> tracker, long delay) {
+			super(id, tracker, problem);
+			this.delay = delay;
+		}
+		
+		@Override
+		public SolutionCostPair<TestObject> optimize(int runLength) {
+			optimizeCalled++;
+			TestObject best = new TestObject(-10000);
+			try {
+				Thread.sleep(delay);
+				getProgressTracker().update(-10000, best, true);
+				while (!getProgressTracker().isStopped()) {
+					Thread.sleep(5);
+				}
+			} catch (InterruptedException e) {
+				// ends the run
+			}
+			return new SolutionCostPair<TestObject>(best, -10000, true);
+		}
+	}
+	
 	private static class TestOptThrowsExceptions extends TestRestartedMetaheuristic {
 		
 		boolean throwException;
@@ -142,7 +142,7 @@ public class BasePopulationTests extends SharedTestPopulations {
 			tracker, 
 			0
 		);
-		verifySelectCopies(pop);
+		verifySelectSharesUntilModified(pop);
 	}
 	
 	@Test
@@ -176,7 +176,7 @@ public class BasePopulationTests extends SharedTestPopulations {
 			tracker, 
 			0
 		);
-		verifySelectCopies(pop);
+		verifySelectSharesUntilModified(pop);
 	}
 	
 	@Test
@@ -227,6 +227,188 @@ public class BasePopulationTests extends SharedTestPopulations {
 			tracker, 
 			0
 		);
-		verifySelectCopies(pop);
+		verifySelectSharesUntilModified(pop);
+	}
+	
+	@Test
+	public void testParallelFitnessEvaluation() {
+		for (int elite = 0; elite <= 3; elite += 3) {
+			verifyParallelEvaluation(
+				new BasePopulation.Double<TestObject>(10, new TestInitializer(), new TestFitnessDouble(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite),
+				new BasePopulation.Double<TestObject>(10, new TestInitializer(), new TestFitnessDouble(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite),
+				(p, i) -> ((PopulationFitnessVector.Double)p).getFitness(i)
+			);
+			verifyParallelEvaluation(
+				new BasePopulation.Integer<TestObject>(10, new TestInitializer(), new TestFitnessInteger(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite),
+				new BasePopulation.Integer<TestObject>(10, new TestInitializer(), new TestFitnessInteger(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite),
+				(p, i) -> ((PopulationFitnessVector.Integer)p).getFitness(i)
+			);
+		}
+	}
+	
+	@Test
+	public void testSelectCopiesOnlySharedMembers() {
+		BasePopulation.Double<TestObject> popD = new BasePopulation.Double<TestObject>(10, new TestInitializer(), new TestFitnessDouble(), new SameSelectionOp(0), new ProgressTracker<TestObject>(), 0);
+		popD.init();
+		popD.select();
+		verifyDistinctButEqual(popD, 10);
+		popD.replace();
+		popD.select();
+		verifyDistinctButEqual(popD, 10);
+		popD.replace();
+		
+		BasePopulation.Integer<TestObject> popI = new BasePopulation.Integer<TestObject>(10, new TestInitializer(), new TestFitnessInteger(), new SameSelectionOp(0), new ProgressTracker<TestObject>(), 0);
+		popI.init();
+		popI.select();
+		verifyDistinctButEqual(popI, 10);
+		popI.replace();
+		popI.select();
+		verifyDistinctButEqual(popI, 10);
+		popI.replace();
+	}
+	
+	@Test
+	public void testSelectDoesNotModifyEliteMembers() {
+		TestObject.reinit();
+		// index 5 of the initial population is the most fit, and thus elite
+		BasePopulation.Double<TestObject> popD = new BasePopulation.Double<TestObject>(10, new TestInitializer(), new TestFitnessDouble(), new SameSelectionOp(5), new ProgressTracker<TestObject>(), 3);
+		popD.init();
+		popD.select();
+		for (int i = 0; i < popD.mutableSize(); i++) {
+			popD.get(i).id = -100;
+			popD.updateFitness(i);
+		}
+		popD.replace();
+		double maxD = popD.getFitness(0);
+		for (int i = 1; i < popD.size(); i++) {
+			maxD = Math.max(maxD, popD.getFitness(i));
+		}
+		assertEquals(6.4, maxD, 1E-10);
+		
+		TestObject.reinit();
+		BasePopulation.Integer<TestObject> popI = new BasePopulation.Integer<TestObject>(10, new TestInitializer(), new TestFitnessInteger(), new SameSelectionOp(5), new ProgressTracker<TestObject>(), 3);
+		popI.init();
+		popI.select();
+		for (int i = 0; i < popI.mutableSize(); i++) {
+			popI.get(i).id = -100;
+			popI.updateFitness(i);
+		}
+		popI.replace();
+		int maxI = popI.getFitness(0);
+		for (int i = 1; i < popI.size(); i++) {
+			maxI = Math.max(maxI, popI.getFitness(i));
+		}
+		assertEquals(16, maxI);
+	}
+	
+	@Test
+	public void testUnmodifiedEliteMemberNotAliasedAfterEviction() {
+		// ids of initial population: 1, 2, 3, 4, so index 3 is the elite member
+		TestObject.reinit();
+		BasePopulation.Double<TestObject> popD = new BasePopulation.Double<TestObject>(4, new TestInitializer(), new TestFitnessDouble(), new ScriptedSelectionOp(new int[] {3, 0, 1}, new int[] {0, 3, 2}), new ProgressTracker<TestObject>(), 1);
+		verifyEliteNotAliased(popD);
+		TestObject.reinit();
+		BasePopulation.Integer<TestObject> popI = new BasePopulation.Integer<TestObject>(4, new TestInitializer(), new TestFitnessInteger(), new ScriptedSelectionOp(new int[] {3, 0, 1}, new int[] {0, 3, 2}), new ProgressTracker<TestObject>(), 1);
+		verifyEliteNotAliased(popI);
+	}
+	
+	private void verifyEliteNotAliased(Population<TestObject> pop) {
+		pop.init();
+		// first generation: the elite member passes through slot 0 unmodified (and 
+		// unaccessed), and slot 2 becomes more fit than it, evicting it from the elite set
+		pop.select();
+		pop.get(2).id = 30;
+		pop.updateFitness(2);
+		pop.replace();
+		// second generation: slots 0 and 1 are selected from the two places that 
+		// held the former elite member
+		pop.select();
+		TestObject slot0 = pop.get(0);
+		TestObject slot1 = pop.get(1);
+		assertNotSame(slot0, slot1);
+		slot0.id = 20;
+		pop.updateFitness(0);
+		assertEquals(4, pop.get(1).id);
+		assertEquals(30, pop.get(2).id);
+		pop.replace();
+	}
+	
+	private void verifyDistinctButEqual(Population<TestObject> pop, int n) {
+		TestObject[] selected = new TestObject[n];
+		for (int i = 0; i < n; i++) {
+			selected[i] = pop.get(i);
+		}
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				assertNotSame(selected[i], selected[j]);
+				assertEquals(selected[i], selected[j]);
+			}
+		}
+	}
+	
+	/*
+	 * Selects the given population members, one array of selections per generation.
+	 */
+	private static class ScriptedSelectionOp implements SelectionOperator {
+		
+		private final int[][] script;
+		private int generation;
+		
+		public ScriptedSelectionOp(int[]... script) {
+			this.script = script;
+		}
+		
+		@Override
+		public void select(PopulationFitnessVector.Integer fitnesses, int[] selected) {
+			System.arraycopy(script[generation], 0, selected, 0, selected.length);
+			generation++;
+		}
+		
+		@Override
+		public void select(PopulationFitnessVector.Double fitnesses, int[] selected) {
+			System.arraycopy(script[generation], 0, selected, 0, selected.length);
+			generation++;
+		}
+		
+		@Override
+		public ScriptedSelectionOp split() {
+			return new ScriptedSelectionOp(script);
+		}
+	}
+	
+	/*
+	 * Selects the same population member for every slot.
+	 */
+	private static class SameSelectionOp implements SelectionOperator {
+		
+		private final int index;
+		
+		public SameSelectionOp(int index) {
+			this.index = index;
+		}
+		
+		@Override
+		public void select(PopulationFitnessVector.Integer fitnesses, int[] selected) {
+			java.util.Arrays.fill(selected, index);
+		}
+		
+		@Override
+		public void select(PopulationFitnessVector.Double fitnesses, int[] selected) {
+			java.util.Arrays.fill(selected, index);
+		}
+		
+		@Override
+		public SameSelectionOp split() {
+			return new SameSelectionOp(index);
+		}
+	}
+	
+	@Test
+	public void testMigration() {
+		for (int elite = 0; elite <= 3; elite += 3) {
+			verifyMigration(new BasePopulation.Double<TestObject>(10, new TestInitializer(), new TestFitnessDouble(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite), elite);
+			verifyMigration(new BasePopulation.Double<TestObject>(10, new TestInitializer(), new TestFitnessDoubleIntCost(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite), elite);
+			verifyMigration(new BasePopulation.Integer<TestObject>(10, new TestInitializer(), new TestFitnessInteger(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite), elite);
+		}
 	}
 }
@@ -368,4 +368,29 @@ public class EvolvableParametersPopulationTests extends SharedTestPopulations {
 		);
 		verifySelectCopies(pop);
 	}
+	
+	@Test
+	public void testParallelFitnessEvaluation() {
+		for (int elite = 0; elite <= 3; elite += 3) {
+			verifyParallelEvaluation(
+				new EvolvableParametersPopulation.Double<TestObject>(10, new TestInitializer(), new TestFitnessDouble(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite, 2),
+				new EvolvableParametersPopulation.Double<TestObject>(10, new TestInitializer(), new TestFitnessDouble(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite, 2),
+				(p, i) -> ((PopulationFitnessVector.Double)p).getFitness(i)
+			);
+			verifyParallelEvaluation(
+				new EvolvableParametersPopulation.Integer<TestObject>(10, new TestInitializer(), new TestFitnessInteger(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite, 2),
+				new EvolvableParametersPopulation.Integer<TestObject>(10, new TestInitializer(), new TestFitnessInteger(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite, 2),
+				(p, i) -> ((PopulationFitnessVector.Integer)p).getFitness(i)
+			);
+		}
+	}
+	
+	@Test
+	public void testMigration() {
+		for (int elite = 0; elite <= 3; elite += 3) {
+			verifyMigration(new EvolvableParametersPopulation.Double<TestObject>(10, new TestInitializer(), new TestFitnessDouble(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite, 2), elite);
+			verifyMigration(new EvolvableParametersPopulation.Double<TestObject>(10, new TestInitializer(), new TestFitnessDoubleIntCost(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite, 2), elite);
+			verifyMigration(new EvolvableParametersPopulation.Integer<TestObject>(10, new TestInitializer(), new TestFitnessInteger(), new TestSelectionOp(), new ProgressTracker<TestObject>(), elite, 2), elite);
+		}
+	}
 }
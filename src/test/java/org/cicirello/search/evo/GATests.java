@@ -28,6 +28,7 @@ import org.cicirello.search.ProgressTracker;
 import org.cicirello.search.problems.OneMax;
 import org.cicirello.search.representations.BitVector;
 import org.cicirello.search.operators.bits.SinglePointCrossover;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * JUnit test cases for GeneticAlgorithm.
@@ -1208,6 +1209,63 @@ public class GATests {
 		assertEquals(L, tracker.getSolution().length());
 	}
 	
+	@Test
+	public void testParallelFitnessEvaluation() {
+		int n = 20;
+		int L = 32;
+		OneMax problem = new OneMax();
+		ProgressTracker<BitVector> tracker = new ProgressTracker<BitVector>();
+		GeneticAlgorithm ga = new GeneticAlgorithm(
+			n,
+			new AllZerosInitializer(L),
+			new InverseCostFitnessFunction<BitVector>(problem),
+			1.0 / L,
+			new SinglePointCrossover(),
+			0.7,
+			new FitnessShifter(new FitnessProportionalSelection()),
+			tracker
+		);
+		ga.setFitnessEvaluationPool(ForkJoinPool.commonPool());
+		SolutionCostPair<BitVector> solution = ga.optimize(10);
+		assertEquals(problem.cost(solution.getSolution()), solution.getCostDouble(), 1E-10);
+		assertEquals(problem.cost(tracker.getSolution()), tracker.getCostDouble(), 1E-10);
+		assertTrue(tracker.getCostDouble() <= L);
+		assertTrue(ga.getTotalRunLength() >= n);
+		GeneticAlgorithm ga2 = ga.split();
+		solution = ga2.optimize(5);
+		assertEquals(problem.cost(solution.getSolution()), solution.getCostDouble(), 1E-10);
+		ga.setFitnessEvaluationPool(null);
+		solution = ga.reoptimize(5);
+		assertEquals(problem.cost(solution.getSolution()), solution.getCostDouble(), 1E-10);
+	}
+	
+	@Test
+	public void testParallelFitnessEvaluationRunLength() {
+		int n = 20;
+		int L = 32;
+		int G = 10;
+		OneMax problem = new OneMax();
+		// crossover rate of 1.0: every population member is crossed and then mutated each generation
+		GeneticAlgorithm ga = new GeneticAlgorithm(
+			n,
+			new AllZerosInitializer(L),
+			new InverseCostFitnessFunction<BitVector>(problem),
+			1.0 / L,
+			new SinglePointCrossover(),
+			1.0,
+			new FitnessShifter(new FitnessProportionalSelection()),
+			new ProgressTracker<BitVector>()
+		);
+		// sequential: evaluated after the crossover, and again after the mutation
+		ga.optimize(G);
+		assertEquals(n + G * 2 * n, ga.getTotalRunLength());
+		// parallel: the pending evaluation of each population member is only performed once
+		GeneticAlgorithm ga2 = ga.split();
+		ga2.setFitnessEvaluationPool(ForkJoinPool.commonPool());
+		ga2.optimize(G);
+		assertEquals(n + G * n, ga2.getTotalRunLength());
+	}
+	
 	private static class AllZerosInitializer implements Initializer<BitVector> {
 		private int L;
 		
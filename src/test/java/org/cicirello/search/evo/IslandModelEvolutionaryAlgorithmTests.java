@@ -0,0 +1,200 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.evo;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.search.problems.OneMax;
+import org.cicirello.search.representations.BitVector;
+import org.cicirello.search.operators.bits.BitVectorInitializer;
+import org.cicirello.search.operators.bits.BitFlipMutation;
+import org.cicirello.search.operators.bits.SinglePointCrossover;
+
+/**
+ * JUnit test cases for IslandModelEvolutionaryAlgorithm.
+ */
+public class IslandModelEvolutionaryAlgorithmTests {
+	
+	@Test
+	public void testExceptions() {
+		GeneticAlgorithm ga = createGA(new ProgressTracker<BitVector>());
+		IllegalArgumentException thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> new IslandModelEvolutionaryAlgorithm<BitVector>(ga, 0, MigrationTopology.RING, 1, 1)
+		);
+		thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> new IslandModelEvolutionaryAlgorithm<BitVector>(ga, 2, MigrationTopology.RING, 0, 1)
+		);
+		thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> new IslandModelEvolutionaryAlgorithm<BitVector>(ga, 2, MigrationTopology.RING, 1, 0)
+		);
+		NullPointerException thrownNull = assertThrows( 
+			NullPointerException.class,
+			() -> new IslandModelEvolutionaryAlgorithm<BitVector>(ga, 2, null, 1, 1)
+		);
+		thrownNull = assertThrows( 
+			NullPointerException.class,
+			() -> new IslandModelEvolutionaryAlgorithm<BitVector>((GeneticAlgorithm)null, 2, MigrationTopology.RING, 1, 1)
+		);
+	}
+	
+	@Test
+	public void testTopologies() {
+		for (MigrationTopology topology : MigrationTopology.values()) {
+			for (int numIslands = 1; numIslands <= 3; numIslands++) {
+				ProgressTracker<BitVector> tracker = new ProgressTracker<BitVector>();
+				IslandModelEvolutionaryAlgorithm<BitVector> islands = new IslandModelEvolutionaryAlgorithm<BitVector>(
+					createGA(tracker), numIslands, topology, 2, 2
+				);
+				verifyRuns(islands, tracker, numIslands);
+			}
+		}
+	}
+	
+	@Test
+	public void testEvolutionaryAlgorithmTypes() {
+		OneMax problem = new OneMax();
+		ProgressTracker<BitVector> tracker = new ProgressTracker<BitVector>();
+		verifyRuns(
+			new IslandModelEvolutionaryAlgorithm<BitVector>(
+				new MutationOnlyGeneticAlgorithm(10, new BitVectorInitializer(L), new InverseCostFitnessFunction<BitVector>(problem), 1.0 / L, new TournamentSelection(), 1, tracker),
+				3, MigrationTopology.RING, 3, 1
+			),
+			tracker, 
+			3
+		);
+		tracker = new ProgressTracker<BitVector>();
+		verifyRuns(
+			new IslandModelEvolutionaryAlgorithm<BitVector>(
+				new GenerationalEvolutionaryAlgorithmMutuallyExclusiveOperators<BitVector>(10, new BitFlipMutation(1.0 / L), 0.5, new SinglePointCrossover(), 0.5, new BitVectorInitializer(L), new InverseCostFitnessFunction<BitVector>(problem), new TournamentSelection(), 1, tracker),
+				3, MigrationTopology.FULLY_CONNECTED, 3, 1
+			),
+			tracker, 
+			3
+		);
+		tracker = new ProgressTracker<BitVector>();
+		verifyRuns(
+			new IslandModelEvolutionaryAlgorithm<BitVector>(
+				new AdaptiveEvolutionaryAlgorithm<BitVector>(10, new BitFlipMutation(1.0 / L), new SinglePointCrossover(), new BitVectorInitializer(L), new InverseCostFitnessFunction<BitVector>(problem), new TournamentSelection(), 1, tracker),
+				3, MigrationTopology.RANDOM, 3, 1
+			),
+			tracker, 
+			3
+		);
+	}
+	
+	@Test
+	public void testFoundBest() {
+		ProgressTracker<BitVector> tracker = new ProgressTracker<BitVector>();
+		IslandModelEvolutionaryAlgorithm<BitVector> islands = new IslandModelEvolutionaryAlgorithm<BitVector>(
+			createGA(tracker), 2, MigrationTopology.RING, 2, 2
+		);
+		tracker.update(0, new BitVector(L), true);
+		assertNull(islands.optimize(10));
+		assertNull(islands.reoptimize(10));
+		assertEquals(0, islands.getTotalRunLength());
+		assertEquals(0.0, islands.getIslandThroughput(0));
+		islands.close();
+	}
+	
+	@Test
+	public void testSplitAndClose() {
+		ProgressTracker<BitVector> tracker = new ProgressTracker<BitVector>();
+		IslandModelEvolutionaryAlgorithm<BitVector> islands = new IslandModelEvolutionaryAlgorithm<BitVector>(
+			createGA(tracker), 2, MigrationTopology.RING, 2, 2
+		);
+		IslandModelEvolutionaryAlgorithm<BitVector> split = islands.split();
+		assertEquals(2, split.getNumIslands());
+		assertSame(tracker, split.getProgressTracker());
+		assertSame(islands.getProblem(), split.getProblem());
+		assertNotNull(split.optimize(4));
+		assertEquals(0, islands.getTotalRunLength());
+		split.close();
+		
+		ProgressTracker<BitVector> tracker2 = new ProgressTracker<BitVector>();
+		islands.setProgressTracker(tracker2);
+		assertSame(tracker2, islands.getProgressTracker());
+		islands.setProgressTracker(null);
+		assertSame(tracker2, islands.getProgressTracker());
+		assertNotNull(islands.optimize(4));
+		assertTrue(tracker2.getCost() < Integer.MAX_VALUE);
+		
+		islands.close();
+		assertTrue(islands.isClosed());
+		assertTrue(islands.split().isClosed());
+		IllegalStateException thrown = assertThrows( 
+			IllegalStateException.class,
+			() -> islands.optimize(4)
+		);
+		thrown = assertThrows( 
+			IllegalStateException.class,
+			() -> islands.reoptimize(4)
+		);
+	}
+	
+	private void verifyRuns(IslandModelEvolutionaryAlgorithm<BitVector> islands, ProgressTracker<BitVector> tracker, int numIslands) {
+		OneMax problem = new OneMax();
+		assertEquals(numIslands, islands.getNumIslands());
+		assertSame(tracker, islands.getProgressTracker());
+		for (int i = 0; i < numIslands; i++) {
+			assertEquals(0.0, islands.getIslandThroughput(i));
+		}
+		
+		SolutionCostPair<BitVector> solution = islands.optimize(9);
+		assertEquals(problem.cost(solution.getSolution()), solution.getCost());
+		assertEquals(problem.cost(tracker.getSolution()), tracker.getCost());
+		assertTrue(tracker.getCost() <= solution.getCost());
+		long total = 0;
+		for (int i = 0; i < numIslands; i++) {
+			// at least the initial population and one generation
+			assertTrue(islands.getIslandRunLength(i) >= 10);
+			assertTrue(islands.getIslandThroughput(i) > 0.0);
+			total += islands.getIslandRunLength(i);
+		}
+		assertEquals(total, islands.getTotalRunLength());
+		
+		solution = islands.reoptimize(5);
+		assertEquals(problem.cost(solution.getSolution()), solution.getCost());
+		assertTrue(islands.getTotalRunLength() > total);
+		
+		islands.close();
+	}
+	
+	private static final int L = 64;
+	
+	private GeneticAlgorithm createGA(ProgressTracker<BitVector> tracker) {
+		return new GeneticAlgorithm(
+			10,
+			new BitVectorInitializer(L),
+			new InverseCostFitnessFunction<BitVector>(new OneMax()),
+			1.0 / L,
+			new SinglePointCrossover(),
+			0.7,
+			new TournamentSelection(),
+			1,
+			tracker
+		);
+	}
+}
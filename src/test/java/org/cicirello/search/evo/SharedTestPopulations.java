@@ -31,6 +31,9 @@ import org.cicirello.search.ProgressTracker;
 
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
+import java.util.function.ToDoubleBiFunction;
+import java.util.concurrent.ForkJoinPool;
+import java.util.ArrayList;
 
 /**
  * Code in common for testing the different classes that implement populations.
@@ -257,6 +260,51 @@ public class SharedTestPopulations {
 		assertTrue(pop2.evolutionIsPaused());
 	}
 	
+	void verifyParallelEvaluation(Population<TestObject> sequential, Population<TestObject> parallel, ToDoubleBiFunction<Population<TestObject>, Integer> fitness) {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		parallel.setFitnessEvaluationPool(pool);
+		TestObject.reinit();
+		sequential.init();
+		TestObject.reinit();
+		parallel.init();
+		verifySamePopulation(sequential, parallel, fitness);
+		for (int generation = 1; generation <= 3; generation++) {
+			sequential.select();
+			parallel.select();
+			// includes a repeated index, such as a member changed by both crossover and mutation
+			int[] changed = {0, 3, 3, 5};
+			for (int i : changed) {
+				if (i < sequential.mutableSize()) {
+					sequential.get(i).id += generation * 7;
+					parallel.get(i).id += generation * 7;
+					sequential.updateFitness(i);
+					parallel.updateFitness(i);
+				}
+			}
+			sequential.replace();
+			parallel.replace();
+			verifySamePopulation(sequential, parallel, fitness);
+		}
+		// split shares the pool
+		Population<TestObject> parallelSplit = parallel.split();
+		Population<TestObject> sequentialSplit = sequential.split();
+		TestObject.reinit();
+		sequentialSplit.init();
+		TestObject.reinit();
+		parallelSplit.init();
+		verifySamePopulation(sequentialSplit, parallelSplit, fitness);
+		pool.shutdown();
+	}
+	
+	private void verifySamePopulation(Population<TestObject> sequential, Population<TestObject> parallel, ToDoubleBiFunction<Population<TestObject>, Integer> fitness) {
+		assertEquals(sequential.size(), parallel.size());
+		for (int i = 0; i < sequential.size(); i++) {
+			assertEquals(fitness.applyAsDouble(sequential, i), fitness.applyAsDouble(parallel, i));
+		}
+		assertEquals(sequential.getMostFit().getSolution().id, parallel.getMostFit().getSolution().id);
+		assertEquals(sequential.getMostFit().getCostDouble(), parallel.getMostFit().getCostDouble());
+	}
+	
 	void verifyDouble(PopulationFitnessVector.Double popVector, TestFitnessDouble f, ProgressTracker<TestObject> tracker, TestSelectionOp selection, ToDoubleFunction<Population<TestObject>> mostFitFitness, int elite) {
 		@SuppressWarnings("unchecked")
 		Population<TestObject> pop = (Population<TestObject>)popVector; 
@@ -393,6 +441,73 @@ public class SharedTestPopulations {
 		}
 	}
 	
+	void verifySelectSharesUntilModified(Population<TestObject> pop) {
+		pop.init();
+		pop.select();
+		TestObject[] firstSelect = new TestObject[10];
+		for (int i = 0; i < 10; i++) {
+			firstSelect[i] = pop.get(i);
+		}
+		pop.replace();
+		pop.select();
+		TestObject[] secondSelect = new TestObject[10];
+		for (int i = 0; i < 10; i++) {
+			secondSelect[i] = pop.get(i);
+		}
+		for (int i = 0; i < 10; i++) {
+			// each member is selected once, so passes to the next generation without a copy
+			assertSame(firstSelect[i], secondSelect[9-i]);
+			for (int j = i + 1; j < 10; j++) {
+				assertNotSame(secondSelect[i], secondSelect[j]);
+			}
+		}
+	}
+	
+	void verifyMigration(Population<TestObject> pop, int elite) {
+		TestObject.reinit();
+		pop.init();
+		// ids of the initial population: 1, 2, 3, 4, 5, 6, 5, 4, 3, 2
+		ArrayList<TestObject> emigrants = pop.emigrants(3);
+		assertEquals(3, emigrants.size());
+		assertEquals(6, emigrants.get(0).id);
+		assertEquals(5, emigrants.get(1).id);
+		assertEquals(5, emigrants.get(2).id);
+		assertNotSame(emigrants.get(1), emigrants.get(2));
+		assertEquals(10, pop.emigrants(20).size());
+		
+		ArrayList<TestObject> immigrants = new ArrayList<TestObject>();
+		immigrants.add(new TestObject(100));
+		immigrants.add(new TestObject(101));
+		assertEquals(2, pop.immigrate(immigrants));
+		assertEquals(101, pop.getMostFit().getSolution().id);
+		emigrants = pop.emigrants(pop.size());
+		assertEquals(101, emigrants.get(0).id);
+		assertEquals(100, emigrants.get(1).id);
+		// the least fit, id 1 and one of the 2s, were replaced
+		assertEquals(3, emigrants.get(pop.size() - 2).id);
+		assertEquals(2, emigrants.get(pop.size() - 1).id);
+		
+		immigrants.clear();
+		for (int i = 0; i < 12; i++) {
+			immigrants.add(new TestObject(200 + i));
+		}
+		assertEquals(pop.mutableSize(), pop.immigrate(immigrants));
+		assertEquals(10 - elite, pop.mutableSize());
+		emigrants = pop.emigrants(pop.size());
+		assertEquals(10, emigrants.size());
+		for (int i = 0; i < pop.mutableSize(); i++) {
+			assertEquals(200 + pop.mutableSize() - 1 - i, emigrants.get(i).id);
+		}
+		
+		// the population can continue to evolve after immigration
+		pop.select();
+		for (int i = 0; i < pop.mutableSize(); i++) {
+			pop.updateFitness(i);
+		}
+		pop.replace();
+		assertEquals(10, pop.size());
+	}
+	
 	static class TestSelectionOp implements SelectionOperator {
 		
 		boolean called;
@@ -30,6 +30,12 @@ import org.cicirello.search.operators.Initializer;
 import org.cicirello.search.ProgressTracker;
 import org.cicirello.util.Copyable;
 import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.problems.tsp.TSP;
+import org.cicirello.search.operators.permutations.PermutationInitializer;
+import org.cicirello.search.operators.permutations.TwoChangeMutation;
+import org.cicirello.search.operators.permutations.InsertionMutation;
+import org.cicirello.search.operators.permutations.SwapMutation;
+import org.cicirello.permutations.Permutation;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.ExecutorService;
@@ -636,6 +642,118 @@ public class HillClimberTests {
 		}
 	}
 	
+	@Test
+	public void testDeltaEvaluation() {
+		final TSP.Integer tspInt = new TSP.Integer(12, 100, 42);
+		final TSP.Double tsp = new TSP.Double(12, 100, 42);
+		// wrappers that hide the incremental evaluation support of the TSP classes
+		IntegerCostOptimizationProblem<Permutation> fullInt = new IntegerCostOptimizationProblem<Permutation>() {
+			@Override
+			public int cost(Permutation p) {
+				return tspInt.cost(p);
+			}
+			@Override
+			public int value(Permutation p) {
+				return tspInt.value(p);
+			}
+			@Override
+			public int minCost() {
+				return tspInt.minCost();
+			}
+		};
+		OptimizationProblem<Permutation> full = new OptimizationProblem<Permutation>() {
+			@Override
+			public double cost(Permutation p) {
+				return tsp.cost(p);
+			}
+			@Override
+			public double value(Permutation p) {
+				return tsp.value(p);
+			}
+			@Override
+			public double minCost() {
+				return tsp.minCost();
+			}
+		};
+		PermutationInitializer init = new PermutationInitializer(12);
+		for (int trial = 0; trial < 10; trial++) {
+			Permutation start = new Permutation(12);
+			IterableMutationOperator<Permutation> mutation = trial % 2 == 0 ? new TwoChangeMutation() : new InsertionMutation();
+			SolutionCostPair<Permutation> expected = new SteepestDescentHillClimber<Permutation>(fullInt, mutation, init).optimize(start);
+			SolutionCostPair<Permutation> actual = new SteepestDescentHillClimber<Permutation>(tspInt, mutation, init).optimize(start);
+			assertEquals(expected.getCost(), actual.getCost());
+			assertEquals(tspInt.cost(actual.getSolution()), actual.getCost());
+			assertEquals(expected.getSolution(), actual.getSolution());
+			expected = new FirstDescentHillClimber<Permutation>(fullInt, mutation, init).optimize(start);
+			actual = new FirstDescentHillClimber<Permutation>(tspInt, mutation, init).optimize(start);
+			assertEquals(expected.getCost(), actual.getCost());
+			assertEquals(expected.getSolution(), actual.getSolution());
+			expected = new SteepestDescentHillClimber<Permutation>(full, mutation, init).optimize(start);
+			actual = new SteepestDescentHillClimber<Permutation>(tsp, mutation, init).optimize(start);
+			assertEquals(expected.getCostDouble(), actual.getCostDouble(), EPSILON);
+			assertEquals(tsp.cost(actual.getSolution()), actual.getCostDouble(), EPSILON);
+			expected = new FirstDescentHillClimber<Permutation>(full, mutation, init).optimize(start);
+			actual = new FirstDescentHillClimber<Permutation>(tsp, mutation, init).optimize(start);
+			assertEquals(expected.getCostDouble(), actual.getCostDouble(), EPSILON);
+			assertEquals(tsp.cost(actual.getSolution()), actual.getCostDouble(), EPSILON);
+		}
+	}
+	
+	@Test
+	public void testParallelSteepestDescent() {
+		final TSP.Integer tspInt = new TSP.Integer(15, 100, 42);
+		final TSP.Double tsp = new TSP.Double(15, 100, 42);
+		PermutationInitializer init = new PermutationInitializer(15);
+		for (int trial = 0; trial < 6; trial++) {
+			Permutation start = new Permutation(15);
+			IterableMutationOperator<Permutation> mutation = trial % 3 == 0 ? new TwoChangeMutation() : (trial % 3 == 1 ? new InsertionMutation() : new SwapMutation());
+			SolutionCostPair<Permutation> expected = new SteepestDescentHillClimber<Permutation>(tspInt, mutation, init).optimize(start);
+			SolutionCostPair<Permutation> expectedDouble = new SteepestDescentHillClimber<Permutation>(tsp, mutation, init).optimize(start);
+			for (int numWorkers = 1; numWorkers <= 4; numWorkers++) {
+				ParallelSteepestDescentHillClimber<Permutation> hc = new ParallelSteepestDescentHillClimber<Permutation>(tspInt, mutation, init, numWorkers);
+				assertEquals(numWorkers, hc.getNumWorkers());
+				SolutionCostPair<Permutation> actual = hc.optimize(start);
+				assertEquals(expected.getCost(), actual.getCost());
+				assertEquals(expected.getSolution(), actual.getSolution());
+				assertEquals(tspInt.cost(actual.getSolution()), actual.getCost());
+				assertEquals(actual.getCost(), hc.getProgressTracker().getCost());
+				assertTrue(hc.getTotalRunLength() > 0);
+				ParallelSteepestDescentHillClimber<Permutation> hcSplit = hc.split();
+				assertEquals(numWorkers, hcSplit.getNumWorkers());
+				actual = hcSplit.optimize(start);
+				assertEquals(expected.getSolution(), actual.getSolution());
+				
+				ParallelSteepestDescentHillClimber<Permutation> hcDouble = new ParallelSteepestDescentHillClimber<Permutation>(tsp, mutation, init, numWorkers);
+				actual = hcDouble.optimize(start);
+				assertEquals(expectedDouble.getCostDouble(), actual.getCostDouble(), EPSILON);
+				assertEquals(expectedDouble.getSolution(), actual.getSolution());
+				assertEquals(tsp.cost(actual.getSolution()), actual.getCostDouble(), EPSILON);
+			}
+		}
+		// test object problems
+		for (int numWorkers = 1; numWorkers <= 3; numWorkers++) {
+			ParallelSteepestDescentHillClimber<TestObject> hc = new ParallelSteepestDescentHillClimber<TestObject>(new TestOptInt(), new TestMutator(), new TestObject(1000), numWorkers);
+			SolutionCostPair<TestObject> solution = hc.optimize();
+			assertEquals(TestObject.OPT, solution.getSolution().a);
+			assertTrue(hc.getProgressTracker().didFindBest());
+			ParallelSteepestDescentHillClimber<TestObject> hcDouble = new ParallelSteepestDescentHillClimber<TestObject>(new TestOpt(), new TestMutator(), new TestObject(1000), numWorkers);
+			solution = hcDouble.optimize(3);
+			assertEquals(TestObject.OPT, solution.getSolution().a);
+		}
+		IllegalArgumentException thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> new ParallelSteepestDescentHillClimber<Permutation>(tspInt, new TwoChangeMutation(), init, 0)
+		);
+		thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> new ParallelSteepestDescentHillClimber<Permutation>(tsp, new TwoChangeMutation(), init, new ProgressTracker<Permutation>(), 0)
+		);
+		NullPointerException thrownNull = assertThrows( 
+			NullPointerException.class,
+			() -> new ParallelSteepestDescentHillClimber<Permutation>(tsp, null, init, 2)
+		);
+	}
+	
 	
 	private static class TestOpt implements OptimizationProblem<TestObject> {
 		
@@ -107,6 +107,72 @@ public class IterableMutationTests {
 		}
 	}
 	
+	@Test
+	public void testCandidateTwoChangeIterator() {
+		for (int n = 1; n <= 8; n++) {
+			for (int trial = 0; trial < 5; trial++) {
+				int[][] candidates = PermutationMutationTests.randomCandidates(n);
+				CandidateTwoChangeMutation m = new CandidateTwoChangeMutation(candidates);
+				Permutation original = new Permutation(n);
+				HashSet<Permutation> expectedNeighbors = new HashSet<Permutation>();
+				if (n >= 4) {
+					int[] index = original.getInverse();
+					for (int x = 0; x < n; x++) {
+						for (int y : candidates[x]) {
+							int lo = Math.min(index[x], index[y]);
+							int hi = Math.max(index[x], index[y]);
+							if (hi - lo >= 2 && hi - lo <= n - 2) {
+								Permutation p = original.copy();
+								CandidateTwoChangeMutation.reverseCyclic(p, lo+1, hi);
+								expectedNeighbors.add(p);
+								p = original.copy();
+								if (lo > 0) {
+									CandidateTwoChangeMutation.reverseCyclic(p, lo, hi-1);
+								} else {
+									CandidateTwoChangeMutation.reverseCyclic(p, hi, n-1);
+								}
+								expectedNeighbors.add(p);
+							}
+						}
+					}
+				}
+				validate(m, original, expectedNeighbors);
+			}
+		}
+	}
+	
+	@Test
+	public void testCandidateInsertionIterator() {
+		for (int n = 2; n <= 8; n++) {
+			for (int trial = 0; trial < 5; trial++) {
+				int[][] candidates = PermutationMutationTests.randomCandidates(n);
+				CandidateInsertionMutation m = new CandidateInsertionMutation(candidates);
+				Permutation original = new Permutation(n);
+				HashSet<Permutation> expectedNeighbors = new HashSet<Permutation>();
+				int[] index = original.getInverse();
+				for (int x = 0; x < n; x++) {
+					for (int y : candidates[x]) {
+						int i = index[x];
+						int j = index[y];
+						int after = i < j ? j : j + 1;
+						int before = i < j ? j - 1 : j;
+						if (after != i) {
+							Permutation p = original.copy();
+							p.removeAndInsert(i, after);
+							expectedNeighbors.add(p);
+						}
+						if (before != i) {
+							Permutation p = original.copy();
+							p.removeAndInsert(i, before);
+							expectedNeighbors.add(p);
+						}
+					}
+				}
+				validate(m, original, expectedNeighbors);
+			}
+		}
+	}
+	
 	@Test
 	public void testReversalIterator() {
 		ReversalMutation m = new ReversalMutation();
@@ -403,6 +469,60 @@ public class IterableMutationTests {
 			iter.rollback();
 			assertEquals(saved, p, "rollback two steps after setSavepoint, verify rolled back to last savepoint, original="+original+" i="+i);
 		}
+		validateSkip(mutation, original, count);
 		return count;
 	}
+	
+	private void validateSkip(IterableMutationOperator<Permutation> mutation, Permutation original, int count) {
+		int size = mutation.iterator(original.copy()).neighborhoodSize();
+		if (size >= 0) {
+			assertEquals(count, size, "verify neighborhoodSize, original="+original);
+		}
+		// the sequence of neighbors
+		Permutation p = original.copy();
+		MutationIterator iter = mutation.iterator(p);
+		Permutation[] sequence = new Permutation[count];
+		for (int i = 0; i < count; i++) {
+			iter.nextMutant();
+			sequence[i] = p.copy();
+		}
+		iter.rollback();
+		for (int first = 0; first <= count; first++) {
+			for (int second = 0; first + second <= count; second++) {
+				p = original.copy();
+				iter = mutation.iterator(p);
+				iter.skip(first);
+				if (first > 0) assertEquals(sequence[first-1], p, "verify skip, original="+original+" first="+first);
+				iter.skip(second);
+				if (first + second > 0) assertEquals(sequence[first+second-1], p, "verify second skip, original="+original+" first="+first+" second="+second);
+				assertEquals(first + second < count, iter.hasNext());
+				for (int i = first + second; i < count; i++) {
+					iter.nextMutant();
+					assertEquals(sequence[i], p, "verify neighbors after skip, original="+original+" i="+i);
+				}
+				iter.rollback();
+				assertEquals(original, p, "verify rolled back to original after skip");
+			}
+			// savepoint before a skip
+			if (first > 0 && first < count) {
+				p = original.copy();
+				iter = mutation.iterator(p);
+				iter.nextMutant();
+				iter.setSavepoint();
+				iter.skip(first);
+				assertEquals(sequence[first], p);
+				iter.rollback();
+				assertEquals(sequence[0], p, "verify rolled back to savepoint after skip");
+			}
+			p = original.copy();
+			final MutationIterator iterSkipPastEnd = mutation.iterator(p);
+			iterSkipPastEnd.skip(first);
+			final int remaining = count - first;
+			assertThrows(
+				IllegalStateException.class,
+				() -> iterSkipPastEnd.skip(remaining + 1),
+				"verify skip throws exception if not enough neighbors"
+			);
+		}
+	}
 }
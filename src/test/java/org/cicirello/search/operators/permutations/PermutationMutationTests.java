@@ -26,8 +26,10 @@ import org.cicirello.permutations.Permutation;
 import org.cicirello.search.operators.MutationOperator;
 import org.cicirello.search.operators.MutationIterator;
 import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MoveDescriptor;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * JUnit test cases for mutation operators on permutations.
@@ -1309,6 +1311,159 @@ public class PermutationMutationTests {
 		}
 	}
 	
+	@Test
+	public void testLastMoveDescriptions() {
+		lastMoveTester(new AdjacentSwapMutation(), 2);
+		lastMoveTester(new SwapMutation(), 2);
+		lastMoveTester(new ReversalMutation(), 2);
+		lastMoveTester(new InsertionMutation(), 2);
+		lastMoveTester(new BlockMoveMutation(), 2);
+		lastMoveTester(new BlockInterchangeMutation(), 2);
+		lastMoveTester(new RotationMutation(), 2);
+		lastMoveTester(new TwoChangeMutation(), 4);
+		lastMoveTester(new WindowLimitedSwapMutation(2), 2);
+		lastMoveTester(new WindowLimitedReversalMutation(2), 2);
+		lastMoveTester(new WindowLimitedInsertionMutation(2), 2);
+		lastMoveTester(new WindowLimitedBlockMoveMutation(2), 2);
+		lastMoveTester(new SwapMutation().split(), 2);
+		lastMoveTester(new TwoChangeMutation().split(), 4);
+		lastMoveTester(new CandidateTwoChangeMutation(allCandidates(8)), 8);
+		lastMoveTester(new CandidateInsertionMutation(allCandidates(8)), 8);
+		assertNull(new UndoableScrambleMutation().getLastMove());
+	}
+	
+	@Test
+	public void testCandidateTwoChange() {
+		for (int n = 1; n <= 8; n++) {
+			int[][] candidates = randomCandidates(n);
+			CandidateTwoChangeMutation m = new CandidateTwoChangeMutation(candidates);
+			for (int t = 0; t < NUM_RAND_TESTS; t++) {
+				Permutation p = new Permutation(n);
+				Permutation mutant = new Permutation(p);
+				m.mutate(mutant);
+				if (n < 4) {
+					assertEquals(p, mutant);
+					assertNull(m.getLastMove().getType());
+				} else if (p.equals(mutant)) {
+					// x and y were already adjacent
+					assertNull(m.getLastMove().getType());
+				} else {
+					assertEquals(MoveDescriptor.Type.TWO_CHANGE, m.getLastMove().getType());
+					// exactly two edges changed, and one of the added edges is between 
+					// an element and an element of its candidate list
+					HashSet<Long> before = edgeSet(p);
+					HashSet<Long> after = edgeSet(mutant);
+					HashSet<Long> added = new HashSet<Long>(after);
+					added.removeAll(before);
+					assertEquals(2, added.size());
+					boolean found = false;
+					for (int x = 0; x < n; x++) {
+						for (int y : candidates[x]) {
+							long e = x < y ? ((long)x << 32) | y : ((long)y << 32) | x;
+							if (added.contains(e)) found = true;
+						}
+					}
+					assertTrue(found);
+				}
+				m.undo(mutant);
+				assertEquals(p, mutant);
+			}
+		}
+		// positions of the elements remain correct across mutations of the same permutation,
+		// and changes by other means, and a different permutation, are detected
+		for (int n = 4; n <= 8; n++) {
+			int[][] candidates = randomCandidates(n);
+			CandidateTwoChangeMutation m = new CandidateTwoChangeMutation(candidates);
+			Permutation mutant = new Permutation(n);
+			for (int t = 0; t < NUM_RAND_TESTS; t++) {
+				if (t % 5 == 4) {
+					mutant.reverse();
+				} else if (t % 5 == 3) {
+					mutant = new Permutation(n);
+				}
+				Permutation p = new Permutation(mutant);
+				m.mutate(mutant);
+				if (m.getLastMove().getType() == null) {
+					assertEquals(p, mutant);
+				} else {
+					Permutation expected = new Permutation(p);
+					expected.reverse(m.getLastMove().getFirst(), m.getLastMove().getSecond());
+					assertEquals(edgeSet(expected), edgeSet(mutant));
+				}
+				if (t % 2 == 0) {
+					m.undo(mutant);
+					assertEquals(p, mutant);
+				}
+			}
+		}
+		CandidateTwoChangeMutation m = new CandidateTwoChangeMutation(allCandidates(5));
+		CandidateTwoChangeMutation s = m.split();
+		assertNotSame(m, s);
+		assertNotSame(m.getLastMove(), s.getLastMove());
+		NullPointerException thrown = assertThrows( 
+			NullPointerException.class,
+			() -> new CandidateTwoChangeMutation(null)
+		);
+	}
+	
+	@Test
+	public void testCandidateInsertion() {
+		for (int n = 2; n <= 8; n++) {
+			int[][] candidates = randomCandidates(n);
+			CandidateInsertionMutation m = new CandidateInsertionMutation(candidates);
+			for (int t = 0; t < NUM_RAND_TESTS; t++) {
+				Permutation p = new Permutation(n);
+				Permutation mutant = new Permutation(p);
+				m.mutate(mutant);
+				assertNotEquals(p, mutant);
+				// the moved element is now adjacent to one of its candidates
+				MoveDescriptor move = m.getLastMove();
+				boolean found = false;
+				if (move.getFirst() == move.getSecond()) {
+					found = isAdjacentToCandidate(mutant, p.get(move.getFirst()), candidates);
+				}
+				if (move.getThird() == move.getFourth()) {
+					found = found || isAdjacentToCandidate(mutant, p.get(move.getFourth()), candidates);
+				}
+				assertTrue(found);
+				m.undo(mutant);
+				assertEquals(p, mutant);
+			}
+		}
+		// positions of the elements remain correct across mutations of the same permutation,
+		// and changes by other means, and a different permutation, are detected
+		for (int n = 2; n <= 8; n++) {
+			int[][] candidates = randomCandidates(n);
+			CandidateInsertionMutation m = new CandidateInsertionMutation(candidates);
+			Permutation mutant = new Permutation(n);
+			for (int t = 0; t < NUM_RAND_TESTS; t++) {
+				if (t % 5 == 4) {
+					mutant.reverse();
+				} else if (t % 5 == 3) {
+					mutant = new Permutation(n);
+				}
+				Permutation p = new Permutation(mutant);
+				m.mutate(mutant);
+				MoveDescriptor move = m.getLastMove();
+				Permutation expected = new Permutation(p);
+				expected.swapBlocks(move.getFirst(), move.getSecond(), move.getThird(), move.getFourth());
+				assertEquals(expected, mutant);
+				if (t % 2 == 0) {
+					m.undo(mutant);
+					assertEquals(p, mutant);
+				}
+			}
+		}
+		CandidateInsertionMutation m = new CandidateInsertionMutation(allCandidates(5));
+		CandidateInsertionMutation s = m.split();
+		assertNotSame(m, s);
+		assertNotSame(m.getLastMove(), s.getLastMove());
+		NullPointerException thrown = assertThrows( 
+			NullPointerException.class,
+			() -> new CandidateInsertionMutation(null)
+		);
+	}
+	
 	@Test
 	public void testWindowLimitedMutationConstructorExceptions() {
 		IllegalArgumentException thrown = assertThrows( 
@@ -1355,6 +1510,100 @@ public class PermutationMutationTests {
 		}
 	}
 	
+	private void lastMoveTester(UndoableMutationOperator<Permutation> m, int minPermLength) {
+		for (int i = minPermLength; i <= 8; i++) {
+			Permutation p = new Permutation(i);
+			for (int t = 0; t < NUM_RAND_TESTS; t++) {
+				Permutation mutant = new Permutation(p);
+				m.mutate(mutant);
+				MoveDescriptor move = m.getLastMove();
+				assertNotNull(move);
+				Permutation expected = new Permutation(p);
+				if (move.getType() == null) {
+					// no move
+					assertEquals(expected, mutant);
+					continue;
+				}
+				switch (move.getType()) {
+					case SWAP:
+						assertTrue(move.getFirst() < move.getSecond());
+						expected.swap(move.getFirst(), move.getSecond());
+						break;
+					case REVERSAL:
+						assertTrue(move.getFirst() < move.getSecond());
+						expected.reverse(move.getFirst(), move.getSecond());
+						break;
+					case BLOCK_INTERCHANGE:
+						assertTrue(move.getFirst() <= move.getSecond());
+						assertTrue(move.getSecond() < move.getThird());
+						assertTrue(move.getThird() <= move.getFourth());
+						expected.swapBlocks(move.getFirst(), move.getSecond(), move.getThird(), move.getFourth());
+						break;
+					case ROTATION:
+						expected.rotate(move.getFirst());
+						break;
+					case TWO_CHANGE:
+						assertTrue(move.getFirst() <= move.getSecond());
+						expected.reverse(move.getFirst(), move.getSecond());
+						// mutant may have reversed the complementary segment instead,
+						// so compare the tours by their edges
+						assertEquals(edgeSet(expected), edgeSet(mutant));
+						continue;
+				}
+				assertEquals(expected, mutant);
+			}
+		}
+	}
+	
+	private boolean isAdjacentToCandidate(Permutation p, int x, int[][] candidates) {
+		int index = 0;
+		for ( ; p.get(index) != x; index++);
+		for (int y : candidates[x]) {
+			if (index > 0 && p.get(index-1) == y) return true;
+			if (index < p.length()-1 && p.get(index+1) == y) return true;
+		}
+		return false;
+	}
+	
+	/*
+	 * candidate lists with all other elements, for permutations of length up to n.
+	 */
+	private int[][] allCandidates(int n) {
+		int[][] candidates = new int[n][n-1];
+		for (int x = 0; x < n; x++) {
+			for (int y = 0, k = 0; y < n; y++) {
+				if (x != y) candidates[x][k++] = y;
+			}
+		}
+		return candidates;
+	}
+	
+	/*
+	 * candidate lists of random lengths, with random elements, for permutations of length n.
+	 */
+	static int[][] randomCandidates(int n) {
+		int[][] candidates = new int[n][];
+		for (int x = 0; x < n; x++) {
+			Permutation others = new Permutation(n);
+			int k = n > 1 ? 1 + ThreadLocalRandom.current().nextInt(n-1) : 0;
+			candidates[x] = new int[k];
+			for (int i = 0, j = 0; j < k; i++) {
+				if (others.get(i) != x) candidates[x][j++] = others.get(i);
+			}
+		}
+		return candidates;
+	}
+	
+	private HashSet<Long> edgeSet(Permutation p) {
+		HashSet<Long> edges = new HashSet<Long>();
+		for (int i = 0; i < p.length(); i++) {
+			int a = p.get(i);
+			int b = p.get((i + 1) % p.length());
+			edges.add(a < b ? ((long)a << 32) | b : ((long)b << 32) | a);
+		}
+		return edges;
+	}
+	
 	private void mutateTester(MutationOperator<Permutation> m) {
 		mutateTester(m, 0);
 	}
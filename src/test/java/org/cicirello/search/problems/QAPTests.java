@@ -23,6 +23,11 @@ package org.cicirello.search.problems;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 import org.cicirello.permutations.Permutation;
+import org.cicirello.search.operators.MoveDescriptor;
+import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.permutations.*;
+import java.util.ArrayList;
 
 /**
  * JUnit test cases for the Quadratic Assignment Problem.
@@ -241,4 +246,116 @@ public class QAPTests {
 			() -> QuadraticAssignmentProblem.createUniformRandomInstance(5, 17, 17, 14, 13, 42)
 		);
 	}
+	
+	@Test
+	public void testCostDelta() {
+		ArrayList<UndoableMutationOperator<Permutation>> mutations = new ArrayList<UndoableMutationOperator<Permutation>>();
+		mutations.add(new SwapMutation());
+		mutations.add(new AdjacentSwapMutation());
+		mutations.add(new InsertionMutation());
+		mutations.add(new ReversalMutation());
+		mutations.add(new BlockMoveMutation());
+		mutations.add(new BlockInterchangeMutation());
+		mutations.add(new WindowLimitedSwapMutation(3));
+		mutations.add(new WindowLimitedInsertionMutation(3));
+		for (int n = 2; n <= 10; n++) {
+			QuadraticAssignmentProblem problem = QuadraticAssignmentProblem.createUniformRandomInstance(n, 1, 20, 1, 20, 42 + n);
+			Permutation p = new Permutation(n);
+			for (UndoableMutationOperator<Permutation> m : mutations) {
+				for (int trial = 0; trial < 20; trial++) {
+					int before = problem.cost(p);
+					m.mutate(p);
+					MoveDescriptor move = m.getLastMove();
+					assertTrue(problem.supportsDelta(move));
+					assertEquals(problem.cost(p) - before, problem.costDelta(p, move));
+				}
+			}
+		}
+		QuadraticAssignmentProblem problem = QuadraticAssignmentProblem.createUniformRandomInstance(8, 1, 20, 1, 20, 42);
+		Permutation p = new Permutation(8);
+		MutationIterator iter = new SwapMutation().iterator(p);
+		int before = problem.cost(p);
+		while (iter.hasNext()) {
+			iter.nextMutant();
+			assertEquals(problem.cost(p) - before, problem.costDelta(p, iter.getLastMove()));
+		}
+		MoveDescriptor move = new MoveDescriptor();
+		move.set(MoveDescriptor.Type.TWO_CHANGE, 1, 3);
+		assertFalse(problem.supportsDelta(move));
+		move.set(MoveDescriptor.Type.ROTATION, 1);
+		assertFalse(problem.supportsDelta(move));
+		move.set(MoveDescriptor.Type.THREE_OPT, 1, 2, 3, 0);
+		assertFalse(problem.supportsDelta(move));
+		assertFalse(problem.supportsDelta(null));
+	}
+	
+	@Test
+	public void testDeltaMatrix() {
+		for (int n = 1; n <= 10; n++) {
+			QuadraticAssignmentProblem problem = QuadraticAssignmentProblem.createUniformRandomInstance(n, 1, 20, 1, 20, 42 + n);
+			Permutation p = new Permutation(n);
+			QuadraticAssignmentDeltaMatrix deltas = new QuadraticAssignmentDeltaMatrix(problem, p);
+			assertEquals(problem.cost(p), deltas.getCost());
+			for (int trial = 0; trial < 10; trial++) {
+				int cost = problem.cost(p);
+				for (int r = 0; r < n; r++) {
+					for (int s = 0; s < n; s++) {
+						if (r != s) {
+							p.swap(r, s);
+							assertEquals(problem.cost(p) - cost, deltas.swapDelta(r, s));
+							p.swap(r, s);
+						}
+					}
+				}
+				if (n >= 2) {
+					int u = trial % n;
+					int v = (u + 1 + trial % (n - 1)) % n;
+					p.swap(u, v);
+					deltas.swap(u, v);
+					assertEquals(problem.cost(p), deltas.getCost());
+				}
+			}
+			Permutation q = new Permutation(n);
+			assertEquals(problem.cost(q), deltas.reset(q));
+			assertEquals(problem.cost(q), deltas.getCost());
+		}
+		QuadraticAssignmentProblem problem = QuadraticAssignmentProblem.createUniformRandomInstance(1, 1, 20, 1, 20, 42);
+		QuadraticAssignmentDeltaMatrix deltas = new QuadraticAssignmentDeltaMatrix(problem, new Permutation(1));
+		MoveDescriptor move = new MoveDescriptor();
+		assertEquals(Integer.MAX_VALUE, deltas.bestSwap(move));
+		assertNull(move.getType());
+		assertThrows(
+			IllegalArgumentException.class,
+			() -> deltas.reset(new Permutation(2))
+		);
+	}
+	
+	@Test
+	public void testDeltaMatrixSteepestDescent() {
+		final int n = 12;
+		QuadraticAssignmentProblem problem = QuadraticAssignmentProblem.createUniformRandomInstance(n, 1, 20, 1, 20, 42);
+		Permutation p = new Permutation(n);
+		QuadraticAssignmentDeltaMatrix deltas = new QuadraticAssignmentDeltaMatrix(problem, p);
+		MoveDescriptor move = new MoveDescriptor();
+		int delta;
+		while ((delta = deltas.bestSwap(move)) < 0) {
+			assertEquals(MoveDescriptor.Type.SWAP, move.getType());
+			assertTrue(move.getFirst() < move.getSecond());
+			int before = problem.cost(p);
+			p.swap(move.getFirst(), move.getSecond());
+			assertEquals(problem.cost(p) - before, delta);
+			deltas.swap(move.getFirst(), move.getSecond());
+			assertEquals(problem.cost(p), deltas.getCost());
+		}
+		// a local optimum: no swap improves the cost
+		int cost = problem.cost(p);
+		for (int r = 0; r < n; r++) {
+			for (int s = r + 1; s < n; s++) {
+				p.swap(r, s);
+				assertTrue(problem.cost(p) >= cost);
+				assertTrue(delta <= problem.cost(p) - cost);
+				p.swap(r, s);
+			}
+		}
+	}
 }
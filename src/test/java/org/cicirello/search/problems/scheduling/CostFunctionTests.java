@@ -563,4 +563,27 @@ public class CostFunctionTests {
 			return c;
 		}
 	}
+	
+	@Test
+	public void testCostFromMultipleThreads() {
+		final int n = 20;
+		WeightedStaticSchedulingWithSetups data = new WeightedStaticSchedulingWithSetups(n, 0.5, 0.5, 0.5, 42);
+		SingleMachineSchedulingProblem[] problems = {
+			new WeightedTardiness(data),
+			new WeightedFlowtime(data),
+			new MinimizeMakespan(data)
+		};
+		Permutation[] schedules = new Permutation[200];
+		for (int i = 0; i < schedules.length; i++) {
+			schedules[i] = new Permutation(n);
+		}
+		for (SingleMachineSchedulingProblem problem : problems) {
+			int[] expected = new int[schedules.length];
+			for (int i = 0; i < schedules.length; i++) {
+				expected[i] = problem.cost(schedules[i]);
+			}
+			int[] actual = java.util.stream.IntStream.range(0, schedules.length).parallel().map(i -> problem.cost(schedules[i])).toArray();
+			assertArrayEquals(expected, actual);
+		}
+	}
 }
\ No newline at end of file
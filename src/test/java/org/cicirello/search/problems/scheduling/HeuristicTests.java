@@ -27,6 +27,8 @@ import org.cicirello.permutations.Permutation;
 import org.cicirello.search.ss.PartialPermutation;
 import org.cicirello.search.ss.IncrementalEvaluation;
 import org.cicirello.search.ss.Partial;
+import org.cicirello.search.ss.HeuristicBiasedStochasticSampling;
+import org.cicirello.search.ProgressTracker;
 import java.util.Arrays;
 
 /**
@@ -2113,6 +2115,258 @@ public class HeuristicTests {
 		assertEquals(0.0, incATCS.averageSetupTime(), 1E-10);
 	}
 	
+	@Test
+	public void testHAllMatchesH() {
+		SingleMachineSchedulingProblem[] problems = {
+			new WeightedTardiness(new WeightedStaticScheduling(12, 0.5, 0.5, 42)),
+			new WeightedTardiness(new WeightedStaticSchedulingWithSetups(12, 0.5, 0.5, 0.5, 42))
+		};
+		for (SingleMachineSchedulingProblem problem : problems) {
+			SchedulingHeuristic[] heuristics = {
+				new EarliestDueDate(problem),
+				new MinimumSlackTime(problem),
+				new ShortestProcessingTime(problem),
+				new WeightedShortestProcessingTime(problem),
+				new WeightedLongestProcessingTime(problem),
+				new SmallestSetup(problem),
+				new SmallestSetupPrecompute(problem),
+				new SmallestNormalizedSetup(problem),
+				new SmallestTwoJobSetup(problem),
+				new ShortestProcessingPlusSetupTime(problem),
+				new ShortestProcessingPlusSetupTimePrecompute(problem),
+				new WeightedShortestProcessingPlusSetupTime(problem),
+				new WeightedShortestProcessingPlusSetupTimePrecompute(problem),
+				new SmallestSetupPrecompute(problem, PrecomputeStorage.singlePrecision()),
+				new ShortestProcessingPlusSetupTimePrecompute(problem, PrecomputeStorage.singlePrecision()),
+				new WeightedShortestProcessingPlusSetupTimePrecompute(problem, PrecomputeStorage.rowCache(2)),
+				new SmallestSetupPrecompute(problem, PrecomputeStorage.rowCache(1)),
+				new WeightedShortestProcessingTimeLateOnly(problem),
+				new WeightedShortestProcessingPlusSetupTimeLateOnly(problem),
+				new WeightedCriticalRatio(problem),
+				new WeightedCriticalRatioSetupAdjusted(problem),
+				new WeightedCostOverTime(problem),
+				new WeightedCostOverTimeSetupAdjusted(problem),
+				new Montagne(problem),
+				new ApparentTardinessCost(problem),
+				new ApparentTardinessCostSetupAdjusted(problem),
+				new ATCS(problem),
+				new DynamicATCS(problem),
+				// subclasses that override only h
+				new WeightedShortestProcessingTime(problem) {
+					@Override
+					public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
+						return p.size() + super.h(p, element, incEval);
+					}
+				},
+				new WeightedShortestProcessingPlusSetupTime(problem) {
+					@Override
+					public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
+						return p.size() + super.h(p, element, incEval);
+					}
+				}
+			};
+			for (SchedulingHeuristic heuristic : heuristics) {
+				assertHAllMatchesH(heuristic);
+			}
+		}
+		SingleMachineSchedulingProblem problem = new WeightedEarlinessTardiness(new CommonDuedateScheduling(12, 0.5, 42));
+		assertHAllMatchesH(new LinearEarlyTardyHeuristic(problem));
+		assertHAllMatchesH(new ExponentialEarlyTardyHeuristic(problem));
+	}
+	
+	@Test
+	public void testPrecomputeStorage() {
+		SingleMachineSchedulingProblem[] problems = {
+			new WeightedTardiness(new WeightedStaticScheduling(12, 0.5, 0.5, 42)),
+			new WeightedTardiness(new WeightedStaticSchedulingWithSetups(12, 0.5, 0.5, 0.5, 42))
+		};
+		PrecomputeStorage[] storages = {
+			PrecomputeStorage.doublePrecision(),
+			PrecomputeStorage.singlePrecision(),
+			PrecomputeStorage.rowCache(1),
+			PrecomputeStorage.rowCache(5),
+			PrecomputeStorage.rowCache(20)
+		};
+		for (SingleMachineSchedulingProblem problem : problems) {
+			for (PrecomputeStorage storage : storages) {
+				// same values as the versions that don't precompute, within float precision
+				assertSameValues(new SmallestSetup(problem), new SmallestSetupPrecompute(problem, storage));
+				assertSameValues(new ShortestProcessingPlusSetupTime(problem), new ShortestProcessingPlusSetupTimePrecompute(problem, storage));
+				assertSameValues(new WeightedShortestProcessingPlusSetupTime(problem), new WeightedShortestProcessingPlusSetupTimePrecompute(problem, storage));
+			}
+			boolean hasSetups = problem.getInstanceData().hasSetupTimes();
+			assertEquals(!hasSetups, new SmallestSetupPrecompute(problem).isStatic());
+			assertEquals(!hasSetups, new ShortestProcessingPlusSetupTimePrecompute(problem).isStatic());
+			assertEquals(!hasSetups, new WeightedShortestProcessingPlusSetupTimePrecompute(problem).isStatic());
+		}
+		IllegalArgumentException thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> PrecomputeStorage.rowCache(0)
+		);
+		thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> HeuristicTable.fullSize(50000)
+		);
+		assertEquals(100000000, HeuristicTable.fullSize(10000));
+	}
+	
+	@Test
+	public void testHBSSSmallestSetupPrecomputeWithoutSetupsIsUniform() {
+		// without setups, every job has the same value, so HBSS samples uniformly at random 
+		final int n = 4;
+		final int N = 8000;
+		SingleMachineSchedulingProblem problem = new WeightedTardiness(new WeightedStaticScheduling(n, 0.5, 0.5, 42));
+		SmallestSetupPrecompute h = new SmallestSetupPrecompute(problem);
+		assertTrue(h.isStatic());
+		HeuristicBiasedStochasticSampling<Permutation> hbss = new HeuristicBiasedStochasticSampling<Permutation>(h);
+		int[][] counts = new int[2][n];
+		for (int s = 0; s < N; s++) {
+			hbss.setProgressTracker(new ProgressTracker<Permutation>());
+			Permutation p = hbss.optimize().getSolution();
+			counts[0][p.get(0)]++;
+			counts[1][p.get(1)]++;
+		}
+		for (int[] position : counts) {
+			for (int count : position) {
+				assertTrue(count > 0.2 * N && count < 0.3 * N, "count: " + count);
+			}
+		}
+	}
+	
+	@Test
+	public void testRowCacheEviction() {
+		int[] computed = new int[5];
+		HeuristicTable.RowCacheTable table = new HeuristicTable.RowCacheTable(
+			5, 
+			(i, j) -> { 
+				if (i != j) computed[i]++; 
+				return 10 * i + j; 
+			},
+			2
+		);
+		assertEquals(0, table.cachedRows());
+		// first job entries don't need a row
+		assertEquals(33, table.get(3, 3), 0.0);
+		assertEquals(0, table.cachedRows());
+		assertEquals(1, table.get(0, 1), 0.0);
+		assertEquals(12, table.get(1, 2), 0.0);
+		assertEquals(2, table.cachedRows());
+		assertEquals(4, table.get(0, 4), 0.0);
+		assertEquals(4, computed[0]);
+		// row 1 is least recently used
+		assertEquals(21, table.get(2, 1), 0.0);
+		assertEquals(2, table.cachedRows());
+		assertEquals(3, table.get(0, 3), 0.0);
+		assertEquals(4, computed[0]);
+		assertEquals(13, table.get(1, 3), 0.0);
+		assertEquals(8, computed[1]);
+	}
+	
+	@Test
+	public void testRowCacheParallel() throws InterruptedException {
+		final int N = 30;
+		HeuristicTable.RowCacheTable table = new HeuristicTable.RowCacheTable(N, (i, j) -> 100 * i + j, 4);
+		boolean[] failed = new boolean[4];
+		Thread[] threads = new Thread[failed.length];
+		for (int t = 0; t < threads.length; t++) {
+			final int id = t;
+			threads[t] = new Thread(() -> {
+				for (int r = 0; r < 20; r++) {
+					for (int i = 0; i < N; i++) {
+						int row = (i + id * 7) % N;
+						for (int j = 0; j < N; j++) {
+							if (table.get(row, j) != 100 * row + j) failed[id] = true;
+						}
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (boolean f : failed) {
+			assertFalse(f);
+		}
+		assertTrue(table.cachedRows() <= 4);
+	}
+	
+	private void assertSameValues(SchedulingHeuristic expected, SchedulingHeuristic actual) {
+		int n = expected.completeLength();
+		Partial<Permutation> empty = expected.createPartial(n);
+		for (int j = 0; j < n; j++) {
+			double h = expected.h(empty, j, null);
+			assertEquals(h, actual.h(empty, j, null), h * 1E-6);
+		}
+		for (int i = 0; i < n; i++) {
+			Partial<Permutation> p = expected.createPartial(n);
+			p.extend(i);
+			for (int e = 0; e < p.numExtensions(); e++) {
+				int j = p.getExtension(e);
+				double h = expected.h(p, j, null);
+				assertEquals(h, actual.h(p, j, null), h * 1E-6);
+			}
+		}
+	}
+	
+	@Test
+	public void testIsStatic() {
+		SingleMachineSchedulingProblem problem = new WeightedTardiness(new WeightedStaticScheduling(5, 0.5, 0.5, 42));
+		SingleMachineSchedulingProblem setups = new WeightedTardiness(new WeightedStaticSchedulingWithSetups(5, 0.5, 0.5, 0.5, 42));
+		assertTrue(new EarliestDueDate(problem).isStatic());
+		assertTrue(new ShortestProcessingTime(problem).isStatic());
+		assertTrue(new WeightedShortestProcessingTime(problem).isStatic());
+		assertTrue(new WeightedLongestProcessingTime(problem).isStatic());
+		assertTrue(new MinimumSlackTime(problem).isStatic());
+		assertFalse(new MinimumSlackTime(setups).isStatic());
+		assertFalse(new SmallestSetup(setups).isStatic());
+		assertFalse(new WeightedShortestProcessingPlusSetupTime(setups).isStatic());
+		SchedulingHeuristic[] wsptSubclasses = {
+			new WeightedShortestProcessingTimeLateOnly(problem),
+			new WeightedCriticalRatio(problem),
+			new WeightedCostOverTime(problem),
+			new Montagne(problem),
+			new ApparentTardinessCost(problem),
+			new ATCS(problem),
+			new DynamicATCS(problem)
+		};
+		for (SchedulingHeuristic h : wsptSubclasses) {
+			assertFalse(h.isStatic(), h.getClass().getSimpleName());
+		}
+		// subclasses that override only h aren't static
+		SchedulingHeuristic subclass = new WeightedShortestProcessingTime(problem) {
+			@Override
+			public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
+				return p.size() + super.h(p, element, incEval);
+			}
+		};
+		assertFalse(subclass.isStatic());
+		assertTrue(new WeightedShortestProcessingPlusSetupTimePrecompute(problem).isStatic());
+		assertFalse(new WeightedShortestProcessingPlusSetupTimePrecompute(setups).isStatic());
+	}
+	
+	private void assertHAllMatchesH(SchedulingHeuristic heuristic) {
+		int n = heuristic.completeLength();
+		Partial<Permutation> p = heuristic.createPartial(n);
+		IncrementalEvaluation<Permutation> inc = heuristic.createIncrementalEvaluation();
+		double[] values = new double[n];
+		double[] initial = new double[n];
+		heuristic.hAll(p, inc, initial);
+		while (!p.isComplete()) {
+			int k = p.numExtensions();
+			heuristic.hAll(p, inc, values);
+			for (int i = 0; i < k; i++) {
+				assertEquals(heuristic.h(p, p.getExtension(i), inc), values[i], 1E-10, heuristic.getClass().getSimpleName());
+				if (heuristic.isStatic()) {
+					assertEquals(initial[p.getExtension(i)], values[i], 0.0, heuristic.getClass().getSimpleName());
+				}
+			}
+			int which = (p.size() * 7) % k;
+			if (inc != null) inc.extend(p, p.getExtension(which));
+			p.extend(which);
+		}
+	}
+	
 	private static class FakeProblemDuedates implements SingleMachineSchedulingProblem {
 		
 		private FakeProblemData data;
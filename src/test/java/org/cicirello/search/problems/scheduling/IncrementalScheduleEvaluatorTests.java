@@ -0,0 +1,221 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package org.cicirello.search.problems.scheduling;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import org.cicirello.permutations.Permutation;
+import org.cicirello.search.operators.MoveDescriptor;
+import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.permutations.SwapMutation;
+import org.cicirello.search.operators.permutations.InsertionMutation;
+import org.cicirello.search.operators.permutations.BlockMoveMutation;
+import org.cicirello.search.operators.permutations.BlockInterchangeMutation;
+import org.cicirello.search.operators.permutations.ReversalMutation;
+import org.cicirello.search.operators.permutations.RotationMutation;
+import org.cicirello.search.operators.permutations.TwoChangeMutation;
+import java.util.ArrayList;
+
+/**
+ * JUnit tests for the IncrementalScheduleEvaluator class.
+ */
+public class IncrementalScheduleEvaluatorTests {
+	
+	@Test
+	public void testIncrementalWeightedStatic() {
+		for (int n = 1; n <= 12; n++) {
+			WeightedStaticScheduling data = new WeightedStaticScheduling(n, 0.5, 0.5, 42 + n);
+			for (SingleMachineSchedulingProblem problem : costFunctions(data)) {
+				IncrementalScheduleEvaluator evaluator = new IncrementalScheduleEvaluator(problem);
+				assertTrue(evaluator.isIncremental());
+				verifyEvaluator(problem, evaluator, n);
+			}
+		}
+	}
+	
+	@Test
+	public void testIncrementalWithSetups() {
+		for (int n = 1; n <= 12; n++) {
+			WeightedStaticSchedulingWithSetups data = new WeightedStaticSchedulingWithSetups(n, 0.5, 0.5, 0.5, 42 + n);
+			for (SingleMachineSchedulingProblem problem : costFunctions(data)) {
+				IncrementalScheduleEvaluator evaluator = new IncrementalScheduleEvaluator(problem);
+				assertTrue(evaluator.isIncremental());
+				verifyEvaluator(problem, evaluator, n);
+			}
+		}
+	}
+	
+	@Test
+	public void testFallbackCommonDuedate() {
+		for (int n = 1; n <= 12; n++) {
+			CommonDuedateScheduling data = new CommonDuedateScheduling(n, 0.5, 42 + n);
+			for (SingleMachineSchedulingProblem problem : costFunctions(data)) {
+				IncrementalScheduleEvaluator evaluator = new IncrementalScheduleEvaluator(problem);
+				assertFalse(evaluator.isIncremental());
+				verifyEvaluator(problem, evaluator, n);
+			}
+		}
+	}
+	
+	@Test
+	public void testJobCostsAggregateToCost() {
+		final int n = 10;
+		WeightedStaticSchedulingWithSetups data = new WeightedStaticSchedulingWithSetups(n, 0.5, 0.5, 0.5, 42);
+		for (SingleMachineSchedulingProblem problem : costFunctions(data)) {
+			assertTrue(problem instanceof SeparableCostFunction, problem.getClass().getSimpleName());
+			SeparableCostFunction f = (SeparableCostFunction)problem;
+			for (int trial = 0; trial < 10; trial++) {
+				Permutation schedule = new Permutation(n);
+				int[] c = data.getCompletionTimes(schedule);
+				int aggregate = f.isMaximum() ? Integer.MIN_VALUE : 0;
+				for (int j = 0; j < n; j++) {
+					int jc = f.jobCost(j, c[j]);
+					aggregate = f.isMaximum() ? Math.max(aggregate, jc) : aggregate + jc;
+				}
+				assertEquals(problem.cost(schedule), aggregate);
+			}
+		}
+	}
+	
+	@Test
+	public void testExplicitFirstPosition() {
+		final int n = 8;
+		WeightedTardiness problem = new WeightedTardiness(new WeightedStaticScheduling(n, 0.5, 0.5, 42));
+		IncrementalScheduleEvaluator evaluator = new IncrementalScheduleEvaluator(problem);
+		Permutation schedule = new Permutation(n);
+		int original = evaluator.evaluate(schedule);
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				schedule.swap(i, j);
+				assertEquals(problem.cost(schedule), evaluator.evaluate(schedule, i));
+				schedule.swap(i, j);
+				evaluator.rollback();
+				assertEquals(original, evaluator.getCost());
+			}
+		}
+		// a first position beyond the end means nothing changed
+		assertEquals(original, evaluator.evaluate(schedule, n));
+		evaluator.rollback();
+		assertEquals(original, evaluator.evaluate(schedule, -1));
+	}
+	
+	@Test
+	public void testFirstChanged() {
+		assertEquals(0, IncrementalScheduleEvaluator.firstChanged(null));
+		MoveDescriptor move = new MoveDescriptor();
+		assertEquals(0, IncrementalScheduleEvaluator.firstChanged(move));
+		move.set(MoveDescriptor.Type.SWAP, 3, 5);
+		assertEquals(3, IncrementalScheduleEvaluator.firstChanged(move));
+		move.set(MoveDescriptor.Type.REVERSAL, 2, 5);
+		assertEquals(2, IncrementalScheduleEvaluator.firstChanged(move));
+		move.set(MoveDescriptor.Type.BLOCK_INTERCHANGE, 4, 5, 6, 7);
+		assertEquals(4, IncrementalScheduleEvaluator.firstChanged(move));
+		move.set(MoveDescriptor.Type.TWO_CHANGE, 2, 5);
+		assertEquals(0, IncrementalScheduleEvaluator.firstChanged(move));
+		move.set(MoveDescriptor.Type.ROTATION, 2);
+		assertEquals(0, IncrementalScheduleEvaluator.firstChanged(move));
+		move.set(MoveDescriptor.Type.THREE_OPT, 1, 2, 3, 0);
+		assertEquals(0, IncrementalScheduleEvaluator.firstChanged(move));
+	}
+	
+	@Test
+	public void testExceptions() {
+		WeightedTardiness problem = new WeightedTardiness(new WeightedStaticScheduling(5, 0.5, 0.5, 42));
+		final IncrementalScheduleEvaluator evaluator = new IncrementalScheduleEvaluator(problem);
+		IllegalStateException thrownState = assertThrows( 
+			IllegalStateException.class,
+			() -> evaluator.getCost()
+		);
+		thrownState = assertThrows( 
+			IllegalStateException.class,
+			() -> evaluator.evaluate(new Permutation(5), 0)
+		);
+		IllegalArgumentException thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> evaluator.evaluate(new Permutation(6))
+		);
+		evaluator.evaluate(new Permutation(5));
+		thrownState = assertThrows( 
+			IllegalStateException.class,
+			() -> evaluator.rollback()
+		);
+		thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> evaluator.evaluate(new Permutation(4), 0)
+		);
+		evaluator.evaluate(new Permutation(5), 2);
+		evaluator.rollback();
+		thrownState = assertThrows( 
+			IllegalStateException.class,
+			() -> evaluator.rollback()
+		);
+	}
+	
+	private void verifyEvaluator(SingleMachineSchedulingProblem problem, IncrementalScheduleEvaluator evaluator, int n) {
+		ArrayList<UndoableMutationOperator<Permutation>> mutations = new ArrayList<UndoableMutationOperator<Permutation>>();
+		mutations.add(new SwapMutation());
+		mutations.add(new InsertionMutation());
+		mutations.add(new BlockMoveMutation());
+		mutations.add(new BlockInterchangeMutation());
+		mutations.add(new ReversalMutation());
+		mutations.add(new RotationMutation());
+		mutations.add(new TwoChangeMutation());
+		Permutation schedule = new Permutation(n);
+		int current = evaluator.evaluate(schedule);
+		assertEquals(problem.cost(schedule), current);
+		assertEquals(current, evaluator.getCost());
+		for (int trial = 0; trial < 50; trial++) {
+			for (UndoableMutationOperator<Permutation> m : mutations) {
+				m.mutate(schedule);
+				int neighbor = evaluator.evaluate(schedule, m.getLastMove());
+				assertEquals(problem.cost(schedule), neighbor);
+				assertEquals(neighbor, evaluator.getCost());
+				if (neighbor <= current) {
+					current = neighbor;
+				} else {
+					m.undo(schedule);
+					evaluator.rollback();
+					assertEquals(current, evaluator.getCost());
+				}
+				assertEquals(problem.cost(schedule), current);
+			}
+		}
+		// evaluating without a move description must also be correct
+		Permutation other = new Permutation(n);
+		assertEquals(problem.cost(other), evaluator.evaluate(other, null));
+	}
+	
+	private ArrayList<SingleMachineSchedulingProblem> costFunctions(SingleMachineSchedulingProblemData data) {
+		ArrayList<SingleMachineSchedulingProblem> list = new ArrayList<SingleMachineSchedulingProblem>();
+		list.add(new MinimizeMakespan(data));
+		list.add(new MinimizeMaximumFlowtime(data));
+		list.add(new MinimizeMaximumLateness(data));
+		list.add(new MinimizeMaximumTardiness(data));
+		list.add(new WeightedEarlinessTardiness(data));
+		list.add(new WeightedFlowtime(data));
+		list.add(new WeightedLateness(data));
+		list.add(new WeightedNumberTardyJobs(data));
+		list.add(new WeightedSquaredTardiness(data));
+		list.add(new WeightedTardiness(data));
+		return list;
+	}
+}
@@ -55,4 +55,27 @@ public class InterfaceDefaultMethodsTests {
 		);
 	}
 	
+	@Test
+	public void testCompletionTimesIntoArrayDefault() {
+		SingleMachineSchedulingProblemData data = new SingleMachineSchedulingProblemData() {
+			public int numberOfJobs() { return 3; }
+			public int getProcessingTime(int j) { return j + 1; }
+			public int[] getCompletionTimes(Permutation schedule) { 
+				int[] c = new int[3];
+				int time = 0;
+				for (int i = 0; i < 3; i++) {
+					time += getProcessingTime(schedule.get(i));
+					c[schedule.get(i)] = time;
+				}
+				return c;
+			}
+		};
+		int[] c = new int[3];
+		data.getCompletionTimes(new Permutation(new int[] {2, 0, 1}), c);
+		assertArrayEquals(new int[] {4, 6, 3}, c);
+		IllegalArgumentException thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> data.getCompletionTimes(new Permutation(3), new int[4])
+		);
+	}
 }
\ No newline at end of file
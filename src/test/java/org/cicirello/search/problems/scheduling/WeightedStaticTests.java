@@ -229,4 +229,28 @@ public class WeightedStaticTests {
 			}
 		}
 	}
+	
+	@Test
+	public void testCompletionTimesIntoArray() {
+		for (int n = 1; n <= 10; n++) {
+			final WeightedStaticScheduling s = new WeightedStaticScheduling(n, 0.5, 0.5, 42);
+			int[] c = new int[n];
+			for (int trial = 0; trial < 10; trial++) {
+				Permutation p = new Permutation(n);
+				int[] expected = s.getCompletionTimes(p);
+				java.util.Arrays.fill(c, -1);
+				s.getCompletionTimes(p, c);
+				assertArrayEquals(expected, c);
+			}
+			final int nPlus = n + 1;
+			IllegalArgumentException thrown = assertThrows( 
+				IllegalArgumentException.class,
+				() -> s.getCompletionTimes(new Permutation(nPlus), new int[nPlus])
+			);
+			thrown = assertThrows( 
+				IllegalArgumentException.class,
+				() -> s.getCompletionTimes(new Permutation(nPlus - 1), new int[nPlus])
+			);
+		}
+	}
 }
\ No newline at end of file
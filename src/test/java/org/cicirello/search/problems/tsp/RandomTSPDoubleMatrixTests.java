@@ -286,4 +286,14 @@ public class RandomTSPDoubleMatrixTests {
 			}
 		}
 	}
+	
+	@Test
+	public void testNearestNeighbors() {
+		for (int n = 2; n <= 20; n += 6) {
+			for (int k = 1; k <= n + 1; k += 2) {
+				TSPTests.nearestNeighborsTester(new RandomTSPMatrix.Double(n, 100.0, true, false, 42), k);
+				TSPTests.nearestNeighborsTester(new RandomTSPMatrix.Double(n, 100.0, false, false, 42), k);
+			}
+		}
+	}
 }
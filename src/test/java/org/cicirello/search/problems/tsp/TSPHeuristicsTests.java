@@ -24,6 +24,7 @@ import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.search.ss.Partial;
+import org.cicirello.search.ss.IncrementalEvaluation;
 import org.cicirello.search.problems.OptimizationProblem;
 import org.cicirello.search.SolutionCostPair;
 import java.util.SplittableRandom;
@@ -237,6 +238,58 @@ public class TSPHeuristicsTests {
 		assertEquals(0, inc.numRemaining());
 	}
 	
+	@Test
+	public void testNearestCityPairWithCandidateLists() {
+		for (int k = 1; k <= 10; k += 3) {
+			TSP.Double tsp = new TSP.Double(40, 100.0, 42);
+			NearestCityPairHeuristic exact = new NearestCityPairHeuristic(tsp);
+			NearestCityPairHeuristic h = new NearestCityPairHeuristic(tsp, k);
+			assertTrue(tsp == h.getProblem());
+			assertEquals(40, h.completeLength());
+			Partial<Permutation> partial = h.createPartial(40);
+			NearestCityPairHeuristic.NearestCityPairHeuristicIncrementalEvaluation inc = 
+				(NearestCityPairHeuristic.NearestCityPairHeuristicIncrementalEvaluation)h.createIncrementalEvaluation();
+			NearestCityPairHeuristic.NearestCityPairHeuristicIncrementalEvaluation incExact = 
+				(NearestCityPairHeuristic.NearestCityPairHeuristicIncrementalEvaluation)exact.createIncrementalEvaluation();
+			SplittableRandom r = new SplittableRandom(42);
+			while (!partial.isComplete()) {
+				for (int i = 0; i < partial.numExtensions(); i++) {
+					int element = partial.getExtension(i);
+					assertEquals(exact.h(partial, element, incExact), h.h(partial, element, inc), 1E-10);
+				}
+				int i = r.nextInt(partial.numExtensions());
+				int element = partial.getExtension(i);
+				inc.extend(partial, element);
+				incExact.extend(partial, element);
+				partial.extend(i);
+			}
+		}
+	}
+	
+	@Test
+	public void testHAllMatchesH() {
+		TSP.Double tsp = new TSP.Double(20, 100.0, 42);
+		NearestCityHeuristic nearest = new NearestCityHeuristic(tsp);
+		NearestCityPairHeuristic pair = new NearestCityPairHeuristic(tsp);
+		Partial<Permutation> partial = pair.createPartial(20);
+		IncrementalEvaluation<Permutation> inc = pair.createIncrementalEvaluation();
+		double[] values = new double[20];
+		SplittableRandom r = new SplittableRandom(42);
+		while (!partial.isComplete()) {
+			nearest.hAll(partial, null, values);
+			for (int i = 0; i < partial.numExtensions(); i++) {
+				assertEquals(nearest.h(partial, partial.getExtension(i), null), values[i], 1E-10);
+			}
+			pair.hAll(partial, inc, values);
+			for (int i = 0; i < partial.numExtensions(); i++) {
+				assertEquals(pair.h(partial, partial.getExtension(i), inc), values[i], 1E-10);
+			}
+			int i = r.nextInt(partial.numExtensions());
+			inc.extend(partial, partial.getExtension(i));
+			partial.extend(i);
+		}
+	}
+	
 	private static class TSPSubClassExplicitWeights extends TSP implements OptimizationProblem<Permutation> {
 			
 		private final double[][] edgeWeights;
@@ -0,0 +1,295 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.problems.tsp;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.IOException;
+import org.cicirello.search.operators.MoveDescriptor;
+
+/**
+ * JUnit tests for the TSPLIBReader class.
+ */
+public class TSPLIBReaderTests {
+	
+	private static final String COORDINATES = 
+		"NAME : test5\n" +
+		"COMMENT : cities listed out of order\n" +
+		"TYPE : TSP\n" +
+		"DIMENSION : 5\n" +
+		"EDGE_WEIGHT_TYPE : EUC_2D\n" +
+		"NODE_COORD_SECTION\n" +
+		"2 3.5 4e0\n" +
+		"1 0 0\n" +
+		"3 -1.25E1 +7\n" +
+		"5 0.000000000000000000012345 100.0000000000000000001\n" +
+		"4 10.75 2.5\n" +
+		"EOF\n";
+	
+	private static final double[] X = {0, 3.5, -12.5, 10.75, 0.000000000000000000012345};
+	private static final double[] Y = {0, 4, 7, 2.5, 100.0000000000000000001};
+	
+	@BeforeAll 
+	public static void createOutputDirectory() {
+		File directory = new File("target/testcasedata");
+		if (!directory.exists()){
+			directory.mkdir();
+		}
+	}
+	
+	@Test
+	public void testCoordinates() {
+		TSPLIBReader reader = reader(COORDINATES);
+		assertEquals("test5", reader.getName());
+		assertEquals(5, reader.getDimension());
+		assertEquals("EUC_2D", reader.getEdgeWeightType());
+		assertTrue(reader.hasCoordinates());
+		TSP.Double tsp = reader.createTSPDouble();
+		assertEquals(5, tsp.length());
+		for (int i = 0; i < X.length; i++) {
+			assertEquals(X[i], tsp.getX(i), 0.0);
+			assertEquals(Y[i], tsp.getY(i), 0.0);
+		}
+		TSP.Integer tspInt = reader.createTSPInteger();
+		TSP.DoubleMatrix tspMatrix = reader.createTSPDoubleMatrix(TSPWeightStorage.TRIANGULAR);
+		TSP.IntegerMatrix tspIntMatrix = reader.createTSPIntegerMatrix(TSPWeightStorage.FULL);
+		RandomTSPMatrix.Double matrix = reader.createMatrixDouble();
+		RandomTSPMatrix.Integer matrixInt = reader.createMatrixInteger();
+		for (int i = 0; i < X.length; i++) {
+			for (int j = 0; j < X.length; j++) {
+				double expected = Math.sqrt((X[i]-X[j])*(X[i]-X[j]) + (Y[i]-Y[j])*(Y[i]-Y[j]));
+				assertEquals(expected, tsp.edgeCostForHeuristics(i, j), 1E-10);
+				assertEquals(expected, tspMatrix.edgeCostForHeuristics(i, j), 1E-10);
+				assertEquals(expected, matrix.getDistance(i, j), 1E-10);
+				assertEquals(Math.round(expected), (int)tspInt.edgeCostForHeuristics(i, j));
+				assertEquals(Math.round(expected), (int)tspIntMatrix.edgeCostForHeuristics(i, j));
+				assertEquals(Math.round(expected), matrixInt.getDistance(i, j));
+			}
+		}
+	}
+	
+	@Test
+	public void testEdgeWeightTypes() {
+		double[] x = {0, 3.5, -12.5, 10.75, 38.24, 33.09};
+		double[] y = {0, 4, 7, 2.5, 20.42, -16.3};
+		String[] types = {"EUC_2D", "CEIL_2D", "MAN_2D", "MAX_2D", "ATT", "GEO"};
+		for (String type : types) {
+			StringBuilder s = new StringBuilder();
+			s.append("NAME: weights\nTYPE: TSP\nDIMENSION: 6\nEDGE_WEIGHT_TYPE: ").append(type).append("\n");
+			s.append("DISPLAY_DATA_TYPE: COORD_DISPLAY\nNODE_COORD_SECTION\n");
+			for (int i = 0; i < x.length; i++) {
+				s.append(i+1).append(" ").append(x[i]).append(" ").append(y[i]).append("\n");
+			}
+			s.append("EOF");
+			TSPLIBReader reader = reader(s.toString());
+			TSP.Integer tsp = reader.createTSPInteger();
+			TSP.Double tspDouble = reader.createTSPDouble();
+			RandomTSPMatrix.Integer matrix = reader.createMatrixInteger();
+			for (int i = 0; i < x.length; i++) {
+				for (int j = 0; j < x.length; j++) {
+					if (i == j) continue;
+					int expected = expectedWeight(type, x[i], y[i], x[j], y[j]);
+					assertEquals(expected, (int)tsp.edgeCostForHeuristics(i, j), type);
+					assertEquals(expected, matrix.getDistance(i, j), type);
+					if (!type.equals("GEO")) {
+						assertEquals(expected, tspDouble.edgeCostForHeuristics(i, j), 1.0, type);
+					}
+				}
+			}
+			MoveDescriptor move = new MoveDescriptor();
+			move.set(MoveDescriptor.Type.SWAP, 1, 4);
+			assertTrue(tsp.supportsDelta(move), type);
+			assertTrue(tspDouble.supportsDelta(move), type);
+		}
+	}
+	
+	@Test
+	public void testExplicitFormats() {
+		int[][] expected = {
+			{0, 5, 12, 7},
+			{5, 0, 3, 11},
+			{12, 3, 0, 9},
+			{7, 11, 9, 0}
+		};
+		String[] formats = {
+			"FULL_MATRIX", "UPPER_ROW", "LOWER_ROW", "UPPER_DIAG_ROW", "LOWER_DIAG_ROW",
+			"UPPER_COL", "LOWER_COL", "UPPER_DIAG_COL", "LOWER_DIAG_COL"
+		};
+		for (String format : formats) {
+			StringBuilder s = new StringBuilder();
+			s.append("NAME: explicit\nTYPE: TSP\nDIMENSION: 4\nEDGE_WEIGHT_TYPE: EXPLICIT\n");
+			s.append("EDGE_WEIGHT_FORMAT: ").append(format).append("\nDISPLAY_DATA_TYPE: TWOD_DISPLAY\nEDGE_WEIGHT_SECTION\n");
+			boolean column = format.endsWith("_COL");
+			boolean upper = format.startsWith("UPPER") || format.equals("FULL_MATRIX");
+			boolean diagonal = format.contains("DIAG") || format.equals("FULL_MATRIX");
+			for (int a = 0; a < 4; a++) {
+				for (int b = 0; b < 4; b++) {
+					int row = column ? b : a;
+					int col = column ? a : b;
+					if (!format.equals("FULL_MATRIX")) {
+						if (upper ? col < row : col > row) continue;
+						if (!diagonal && row == col) continue;
+					}
+					s.append(expected[row][col]).append(b % 2 == 0 ? " " : "\n  ");
+				}
+				s.append("\n");
+			}
+			s.append("DISPLAY_DATA_SECTION\n1 0 0\n2 1 1\n3 2 2\n4 3 3\nEOF\n");
+			TSPLIBReader reader = reader(s.toString());
+			assertEquals("EXPLICIT", reader.getEdgeWeightType());
+			assertFalse(reader.hasCoordinates());
+			RandomTSPMatrix.Integer matrix = reader.createMatrixInteger();
+			RandomTSPMatrix.Double matrixDouble = reader.createMatrixDouble();
+			assertEquals(4, matrix.length());
+			assertEquals(4, matrixDouble.length());
+			for (int i = 0; i < 4; i++) {
+				for (int j = 0; j < 4; j++) {
+					assertEquals(expected[i][j], matrix.getDistance(i, j), format);
+					assertEquals(expected[i][j], matrixDouble.getDistance(i, j), 0.0, format);
+				}
+			}
+			IllegalStateException thrown = assertThrows( 
+				IllegalStateException.class,
+				() -> reader.createTSPDouble()
+			);
+		}
+	}
+	
+	@Test
+	public void testAsymmetric() {
+		String contents = 
+			"NAME: asym\nTYPE: ATSP\nCOMMENT: asymmetric\nDIMENSION: 3\nEDGE_WEIGHT_TYPE: EXPLICIT\n" +
+			"EDGE_WEIGHT_FORMAT: FULL_MATRIX\nEDGE_WEIGHT_SECTION\n" +
+			"9999 1 2\n3 9999 4.5\n5 6 9999\nEOF\n";
+		TSPLIBReader reader = reader(contents);
+		RandomTSPMatrix.Double matrix = reader.createMatrixDouble();
+		double[][] expected = {{9999, 1, 2}, {3, 9999, 4.5}, {5, 6, 9999}};
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 3; j++) {
+				assertEquals(expected[i][j], matrix.getDistance(i, j), 0.0);
+			}
+		}
+		// reading a second time
+		assertEquals(2, reader.createMatrixInteger().getDistance(0, 2));
+	}
+	
+	@Test
+	public void testReadFromFile() {
+		String file = "target/testcasedata/tsplib.testcase.tsp";
+		try (PrintWriter out = new PrintWriter(file, StandardCharsets.US_ASCII)) {
+			out.print(COORDINATES);
+		} catch (IOException ex) {
+			fail("File writing caused exception: " + ex);
+		}
+		try {
+			TSPLIBReader reader = new TSPLIBReader(file);
+			TSP.Double tsp = reader.createTSPDouble();
+			for (int i = 0; i < X.length; i++) {
+				assertEquals(X[i], tsp.getX(i), 0.0);
+				assertEquals(Y[i], tsp.getY(i), 0.0);
+			}
+		} catch (IOException ex) {
+			fail("File reading caused exception: " + ex);
+		}
+		IOException thrown = assertThrows( 
+			IOException.class,
+			() -> new TSPLIBReader("target/testcasedata/doesNotExist.tsp")
+		);
+	}
+	
+	@Test
+	public void testExceptions() {
+		String[] invalid = {
+			// unsupported type of problem
+			"TYPE: CVRP\nDIMENSION: 2\nEDGE_WEIGHT_TYPE: EUC_2D\nNODE_COORD_SECTION\n1 0 0\n2 1 1\nEOF\n",
+			// unsupported edge weight type
+			"TYPE: TSP\nDIMENSION: 2\nEDGE_WEIGHT_TYPE: EUC_3D\nNODE_COORD_SECTION\n1 0 0 0\n2 1 1 1\nEOF\n",
+			// missing edge weight type
+			"TYPE: TSP\nDIMENSION: 2\nNODE_COORD_SECTION\n1 0 0\n2 1 1\nEOF\n",
+			// too few cities
+			"TYPE: TSP\nDIMENSION: 1\nEDGE_WEIGHT_TYPE: EUC_2D\nNODE_COORD_SECTION\n1 0 0\nEOF\n",
+			// missing section
+			"TYPE: TSP\nDIMENSION: 2\nEDGE_WEIGHT_TYPE: EUC_2D\nEOF\n",
+			"TYPE: TSP\nDIMENSION: 2\nEDGE_WEIGHT_TYPE: EXPLICIT\nEDGE_WEIGHT_FORMAT: FULL_MATRIX\nEOF\n",
+			// invalid node numbers
+			"TYPE: TSP\nDIMENSION: 2\nEDGE_WEIGHT_TYPE: EUC_2D\nNODE_COORD_SECTION\n1 0 0\n3 1 1\nEOF\n",
+			"TYPE: TSP\nDIMENSION: 2\nEDGE_WEIGHT_TYPE: EUC_2D\nNODE_COORD_SECTION\n1 0 0\n1.5 1 1\nEOF\n",
+			// missing or malformed numbers
+			"TYPE: TSP\nDIMENSION: 2\nEDGE_WEIGHT_TYPE: EUC_2D\nNODE_COORD_SECTION\n1 0 0\n2 1",
+			"TYPE: TSP\nDIMENSION: 2\nEDGE_WEIGHT_TYPE: EUC_2D\nNODE_COORD_SECTION\n1 0 0\n2 1 -\nEOF\n"
+		};
+		for (String contents : invalid) {
+			IllegalArgumentException thrown = assertThrows( 
+				IllegalArgumentException.class,
+				() -> reader(contents)
+			);
+		}
+		TSPLIBReader reader = reader("TYPE: TSP\nDIMENSION: 2\nEDGE_WEIGHT_TYPE: EXPLICIT\nEDGE_WEIGHT_FORMAT: FUNCTION\nEDGE_WEIGHT_SECTION\n0 1\n1 0\nEOF\n");
+		IllegalArgumentException thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> reader.createMatrixInteger()
+		);
+		TSPLIBReader truncated = reader("TYPE: TSP\nDIMENSION: 2\nEDGE_WEIGHT_TYPE: EXPLICIT\nEDGE_WEIGHT_FORMAT: FULL_MATRIX\nEDGE_WEIGHT_SECTION\n0 1\n1");
+		thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> truncated.createMatrixDouble()
+		);
+	}
+	
+	private static TSPLIBReader reader(String contents) {
+		return new TSPLIBReader(ByteBuffer.wrap(contents.getBytes(StandardCharsets.US_ASCII)));
+	}
+	
+	/*
+	 * The edge weights as specified by TSPLIB.
+	 */
+	private static int expectedWeight(String type, double x1, double y1, double x2, double y2) {
+		double dx = x1 - x2;
+		double dy = y1 - y2;
+		switch (type) {
+			case "EUC_2D": return (int)(Math.sqrt(dx*dx + dy*dy) + 0.5);
+			case "CEIL_2D": return (int)Math.ceil(Math.sqrt(dx*dx + dy*dy));
+			case "MAN_2D": return (int)(Math.abs(dx) + Math.abs(dy) + 0.5);
+			case "MAX_2D": return Math.max((int)(Math.abs(dx) + 0.5), (int)(Math.abs(dy) + 0.5));
+			case "ATT": 
+				double r = Math.sqrt((dx*dx + dy*dy) / 10.0);
+				int t = (int)(r + 0.5);
+				return t < r ? t + 1 : t;
+			default:
+				double lat1 = geo(x1);
+				double lat2 = geo(x2);
+				double q1 = Math.cos(geo(y1) - geo(y2));
+				double q2 = Math.cos(lat1 - lat2);
+				double q3 = Math.cos(lat1 + lat2);
+				return (int)(6378.388 * Math.acos(0.5 * ((1.0 + q1) * q2 - (1.0 - q1) * q3)) + 1.0);
+		}
+	}
+	
+	private static double geo(double coordinate) {
+		int deg = (int)coordinate;
+		double min = coordinate - deg;
+		return 3.141592 * (deg + 5.0 * min / 3.0) / 180.0;
+	}
+}
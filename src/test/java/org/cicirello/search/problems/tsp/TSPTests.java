@@ -23,8 +23,14 @@ package org.cicirello.search.problems.tsp;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.SplittableRandom;
+import java.util.ArrayList;
 import org.cicirello.permutations.Permutation;
 import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.IterableMutationOperator;
+import org.cicirello.search.operators.MutationIterator;
+import org.cicirello.search.operators.MoveDescriptor;
+import org.cicirello.search.operators.permutations.*;
 
 /**
  * JUnit tests for the TSP class and its nested subclasses.
@@ -1175,4 +1181,321 @@ public class TSPTests {
 		assertEquals(expectedCost, tsp.cost(perm));
 		assertEquals(expectedCost, tsp.value(perm));
 	}
+	
+	@Test
+	public void testCostDeltaDouble() {
+		for (int n = 2; n <= 10; n++) {
+			TSP.Double tsp = new TSP.Double(n, 100, 42);
+			TSP.DoubleMatrix tspMatrix = new TSP.DoubleMatrix(n, 100, 42);
+			for (UndoableMutationOperator<Permutation> op : deltaTestMutations()) {
+				for (int trial = 0; trial < 20; trial++) {
+					Permutation p = new Permutation(n);
+					double before = tsp.cost(p);
+					op.mutate(p);
+					MoveDescriptor move = op.getLastMove();
+					if (move != null && move.getType() != null) {
+						assertTrue(tsp.supportsDelta(move));
+						assertTrue(tspMatrix.supportsDelta(move));
+						assertEquals(tsp.cost(p) - before, tsp.costDelta(p, move), 1E-9);
+						assertEquals(tspMatrix.cost(p) - before, tspMatrix.costDelta(p, move), 1E-9);
+					}
+				}
+			}
+			for (IterableMutationOperator<Permutation> op : deltaTestIterableMutations()) {
+				Permutation p = new Permutation(n);
+				double before = tsp.cost(p);
+				MutationIterator iter = op.iterator(p);
+				while (iter.hasNext()) {
+					iter.nextMutant();
+					MoveDescriptor move = iter.getLastMove();
+					if (move != null) {
+						assertEquals(tsp.cost(p) - before, tsp.costDelta(p, move), 1E-9);
+						assertEquals(tspMatrix.cost(p) - before, tspMatrix.costDelta(p, move), 1E-9);
+					}
+				}
+				iter.rollback();
+			}
+		}
+		assertFalse(new TSP.Double(5, 100, 42).supportsDelta(new MoveDescriptor()));
+		assertFalse(new TSP.DoubleMatrix(5, 100, 42).supportsDelta(null));
+	}
+	
+	@Test
+	public void testCostDeltaInt() {
+		for (int n = 2; n <= 10; n++) {
+			TSP.Integer tsp = new TSP.Integer(n, 100, 42);
+			TSP.IntegerMatrix tspMatrix = new TSP.IntegerMatrix(n, 100, 42);
+			for (UndoableMutationOperator<Permutation> op : deltaTestMutations()) {
+				for (int trial = 0; trial < 20; trial++) {
+					Permutation p = new Permutation(n);
+					int before = tsp.cost(p);
+					op.mutate(p);
+					MoveDescriptor move = op.getLastMove();
+					if (move != null && move.getType() != null) {
+						assertTrue(tsp.supportsDelta(move));
+						assertTrue(tspMatrix.supportsDelta(move));
+						assertEquals(tsp.cost(p) - before, tsp.costDelta(p, move));
+						assertEquals(tspMatrix.cost(p) - before, tspMatrix.costDelta(p, move));
+					}
+				}
+			}
+			for (IterableMutationOperator<Permutation> op : deltaTestIterableMutations()) {
+				Permutation p = new Permutation(n);
+				int before = tsp.cost(p);
+				MutationIterator iter = op.iterator(p);
+				while (iter.hasNext()) {
+					iter.nextMutant();
+					MoveDescriptor move = iter.getLastMove();
+					if (move != null) {
+						assertEquals(tsp.cost(p) - before, tsp.costDelta(p, move));
+						assertEquals(tspMatrix.cost(p) - before, tspMatrix.costDelta(p, move));
+					}
+				}
+				iter.rollback();
+			}
+		}
+		assertFalse(new TSP.Integer(5, 100, 42).supportsDelta(new MoveDescriptor()));
+		assertFalse(new TSP.IntegerMatrix(5, 100, 42).supportsDelta(null));
+	}
+	
+	@Test
+	public void testSupportsDeltaSymmetry() {
+		TSPEdgeDistance asymmetric = (x1, y1, x2, y2) -> x1 < x2 ? 2 * Math.abs(x1-x2) + Math.abs(y1-y2) : Math.abs(x1-x2) + Math.abs(y1-y2);
+		TSPEdgeDistance symmetric = new TSPEdgeDistance() {
+			@Override
+			public double distance(double x1, double y1, double x2, double y2) {
+				return Math.abs(x1-x2) + Math.abs(y1-y2);
+			}
+			
+			@Override
+			public boolean isSymmetric() {
+				return true;
+			}
+		};
+		assertFalse(asymmetric.isSymmetric());
+		MoveDescriptor move = new MoveDescriptor();
+		move.set(MoveDescriptor.Type.SWAP, 1, 3);
+		assertFalse(new TSP.Double(6, 100, asymmetric, 42).supportsDelta(move));
+		assertFalse(new TSP.Integer(6, 100, asymmetric, 42).supportsDelta(move));
+		assertTrue(new TSP.DoubleMatrix(6, 100, asymmetric, 42).supportsDelta(move));
+		assertTrue(new TSP.IntegerMatrix(6, 100, asymmetric, 42).supportsDelta(move));
+		TSP.Double tspDouble = new TSP.Double(6, 100, symmetric, 42);
+		TSP.Integer tspInt = new TSP.Integer(6, 100, symmetric, 42);
+		assertTrue(tspDouble.supportsDelta(move));
+		assertTrue(tspInt.supportsDelta(move));
+		Permutation p = new Permutation(6, 0);
+		double beforeDouble = tspDouble.cost(p);
+		int beforeInt = tspInt.cost(p);
+		p.swap(1, 3);
+		assertEquals(tspDouble.cost(p) - beforeDouble, tspDouble.costDelta(p, move), 1E-9);
+		assertEquals(tspInt.cost(p) - beforeInt, tspInt.costDelta(p, move));
+	}
+	
+	@Test
+	public void testWeightStorageDouble() {
+		final int N = 12;
+		final double W = 100;
+		TSPEdgeDistance manhattan = (x1, y1, x2, y2) -> Math.abs(x1-x2) + Math.abs(y1-y2);
+		TSP.DoubleMatrix full = new TSP.DoubleMatrix(N, W, 42);
+		TSP.DoubleMatrix fullManhattan = new TSP.DoubleMatrix(N, W, manhattan, 42);
+		assertEquals(TSPWeightStorage.FULL, full.getWeightStorage());
+		double max = 0;
+		for (int i = 0; i < N; i++) {
+			for (int j = 0; j < N; j++) {
+				max = Math.max(max, full.edgeCostForHeuristics(i, j));
+			}
+		}
+		double[] x = new double[N];
+		double[] y = new double[N];
+		for (int i = 0; i < N; i++) {
+			x[i] = full.getX(i);
+			y[i] = full.getY(i);
+		}
+		for (TSPWeightStorage storage : TSPWeightStorage.values()) {
+			double tolerance = 1E-10;
+			if (storage == TSPWeightStorage.TRIANGULAR_FLOAT) tolerance = 1E-4;
+			else if (storage == TSPWeightStorage.TRIANGULAR_SHORT) tolerance = max / 131070 + 1E-10;
+			TSP.DoubleMatrix[] instances = {
+				new TSP.DoubleMatrix(N, W, 42, storage),
+				new TSP.DoubleMatrix(x, y, storage)
+			};
+			for (TSP.DoubleMatrix tsp : instances) {
+				assertEquals(storage, tsp.getWeightStorage());
+				assertEquals(N, tsp.length());
+				for (int i = 0; i < N; i++) {
+					assertEquals(full.getX(i), tsp.getX(i), 0.0);
+					assertEquals(full.getY(i), tsp.getY(i), 0.0);
+					for (int j = 0; j < N; j++) {
+						assertEquals(full.edgeCostForHeuristics(i, j), tsp.edgeCostForHeuristics(i, j), tolerance);
+						assertEquals(tsp.edgeCostForHeuristics(i, j), tsp.edgeCostForHeuristics(j, i), 0.0);
+					}
+				}
+				Permutation p = new Permutation(N);
+				assertEquals(full.cost(p), tsp.cost(p), N * tolerance);
+				ReversalMutation reversal = new ReversalMutation();
+				for (int trial = 0; trial < 20; trial++) {
+					double before = tsp.cost(p);
+					reversal.mutate(p);
+					assertEquals(tsp.cost(p) - before, tsp.costDelta(p, reversal.getLastMove()), 1E-9);
+				}
+			}
+			TSP.DoubleMatrix tsp = new TSP.DoubleMatrix(N, W, manhattan, 42, storage);
+			assertEquals(storage, tsp.getWeightStorage());
+			assertEquals(storage, new TSP.DoubleMatrix(N, W, manhattan, storage).getWeightStorage());
+			assertEquals(storage, new TSP.DoubleMatrix(N, W, storage).getWeightStorage());
+			assertEquals(storage, new TSP.DoubleMatrix(x, y, manhattan, storage).getWeightStorage());
+			Permutation p = new Permutation(N);
+			assertEquals(fullManhattan.cost(p), tsp.cost(p), 2 * N * tolerance);
+		}
+		IllegalArgumentException thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> new TSP.DoubleMatrix(N, W, (x1, y1, x2, y2) -> -1, TSPWeightStorage.TRIANGULAR_SHORT)
+		);
+		NullPointerException thrownNull = assertThrows( 
+			NullPointerException.class,
+			() -> new TSP.DoubleMatrix(N, W, 42, (TSPWeightStorage)null)
+		);
+	}
+	
+	@Test
+	public void testWeightStorageInt() {
+		final int N = 12;
+		final double W = 100;
+		TSPEdgeDistance manhattan = (x1, y1, x2, y2) -> Math.abs(x1-x2) + Math.abs(y1-y2);
+		TSP.IntegerMatrix full = new TSP.IntegerMatrix(N, W, 42);
+		TSP.IntegerMatrix fullManhattan = new TSP.IntegerMatrix(N, W, manhattan, 42);
+		assertEquals(TSPWeightStorage.FULL, full.getWeightStorage());
+		double[] x = new double[N];
+		double[] y = new double[N];
+		for (int i = 0; i < N; i++) {
+			x[i] = full.getX(i);
+			y[i] = full.getY(i);
+		}
+		for (TSPWeightStorage storage : TSPWeightStorage.values()) {
+			TSP.IntegerMatrix[] instances = {
+				new TSP.IntegerMatrix(N, W, 42, storage),
+				new TSP.IntegerMatrix(x, y, storage)
+			};
+			for (TSP.IntegerMatrix tsp : instances) {
+				assertEquals(storage, tsp.getWeightStorage());
+				for (int i = 0; i < N; i++) {
+					for (int j = 0; j < N; j++) {
+						assertEquals(full.edgeCostForHeuristics(i, j), tsp.edgeCostForHeuristics(i, j), 0.0);
+					}
+				}
+				Permutation p = new Permutation(N);
+				assertEquals(full.cost(p), tsp.cost(p));
+				ReversalMutation reversal = new ReversalMutation();
+				for (int trial = 0; trial < 20; trial++) {
+					int before = tsp.cost(p);
+					reversal.mutate(p);
+					assertEquals(tsp.cost(p) - before, tsp.costDelta(p, reversal.getLastMove()));
+				}
+			}
+			TSP.IntegerMatrix tsp = new TSP.IntegerMatrix(N, W, manhattan, 42, storage);
+			assertEquals(storage, tsp.getWeightStorage());
+			assertEquals(storage, new TSP.IntegerMatrix(N, W, manhattan, storage).getWeightStorage());
+			assertEquals(storage, new TSP.IntegerMatrix(N, W, storage).getWeightStorage());
+			assertEquals(storage, new TSP.IntegerMatrix(x, y, manhattan, storage).getWeightStorage());
+			Permutation p = new Permutation(N);
+			assertEquals(fullManhattan.cost(p), tsp.cost(p));
+		}
+		IllegalArgumentException thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> new TSP.IntegerMatrix(N, 1000000, 42, TSPWeightStorage.TRIANGULAR_SHORT)
+		);
+		thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> new TSP.IntegerMatrix(N, W, (x1, y1, x2, y2) -> -1, TSPWeightStorage.TRIANGULAR_SHORT)
+		);
+		thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> new TSP.IntegerMatrix(N, 1E9, 42, TSPWeightStorage.TRIANGULAR_FLOAT)
+		);
+		NullPointerException thrownNull = assertThrows( 
+			NullPointerException.class,
+			() -> new TSP.IntegerMatrix(N, W, 42, (TSPWeightStorage)null)
+		);
+	}
+	
+	private ArrayList<UndoableMutationOperator<Permutation>> deltaTestMutations() {
+		ArrayList<UndoableMutationOperator<Permutation>> ops = new ArrayList<UndoableMutationOperator<Permutation>>();
+		ops.add(new SwapMutation());
+		ops.add(new AdjacentSwapMutation());
+		ops.add(new ReversalMutation());
+		ops.add(new InsertionMutation());
+		ops.add(new BlockMoveMutation());
+		ops.add(new BlockInterchangeMutation());
+		ops.add(new RotationMutation());
+		ops.add(new TwoChangeMutation());
+		ops.add(new ThreeOptMutation());
+		ops.add(new WindowLimitedSwapMutation(3));
+		ops.add(new WindowLimitedReversalMutation(3));
+		ops.add(new WindowLimitedInsertionMutation(3));
+		ops.add(new WindowLimitedBlockMoveMutation(3));
+		return ops;
+	}
+	
+	private ArrayList<IterableMutationOperator<Permutation>> deltaTestIterableMutations() {
+		ArrayList<IterableMutationOperator<Permutation>> ops = new ArrayList<IterableMutationOperator<Permutation>>();
+		ops.add(new SwapMutation());
+		ops.add(new AdjacentSwapMutation());
+		ops.add(new ReversalMutation());
+		ops.add(new InsertionMutation());
+		ops.add(new TwoChangeMutation());
+		ops.add(new WindowLimitedSwapMutation(3));
+		ops.add(new WindowLimitedReversalMutation(3));
+		ops.add(new WindowLimitedInsertionMutation(3));
+		return ops;
+	}
+	
+	@Test
+	public void testNearestNeighbors() {
+		for (int n = 2; n <= 64; n *= 2) {
+			for (int k = 1; k <= n + 1; k += 3) {
+				// default Euclidean distance uses the spatial grid
+				nearestNeighborsTester(new TSP.Double(n, 100, 42), k);
+				nearestNeighborsTester(new TSP.IntegerMatrix(n, 100, 42), k);
+				// other distance functions consider all pairs
+				nearestNeighborsTester(new TSP.DoubleMatrix(n, 100, (x1, y1, x2, y2) -> Math.abs(x1-x2) + Math.abs(y1-y2), 42), k);
+			}
+		}
+		// clustered cities, with duplicate and collinear locations
+		double[] x = {5, 5, 5, 5, 5, 5, 5, 5, 5, 5};
+		double[] y = {1, 1, 1, 2, 3, 5, 8, 13, 21, 34};
+		for (int k = 1; k <= 9; k++) {
+			nearestNeighborsTester(new TSP.Double(x, y), k);
+			nearestNeighborsTester(new TSP.Double(y, x), k);
+		}
+		IllegalArgumentException thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> new TSP.Double(5, 100, 42).getNearestNeighbors(0)
+		);
+	}
+	
+	/*
+	 * verifies the candidate lists by comparing their edge costs to
+	 * those of all pairs of cities.
+	 */
+	static void nearestNeighborsTester(BaseTSP tsp, int k) {
+		final int n = tsp.length();
+		int[][] neighbors = tsp.getNearestNeighbors(k);
+		assertEquals(n, neighbors.length);
+		for (int i = 0; i < n; i++) {
+			assertEquals(Math.min(k, n-1), neighbors[i].length);
+			double[] all = new double[n-1];
+			for (int j = 0, m = 0; j < n; j++) {
+				if (j != i) all[m++] = tsp.edgeCostForHeuristics(i, j);
+			}
+			java.util.Arrays.sort(all);
+			boolean[] listed = new boolean[n];
+			for (int m = 0; m < neighbors[i].length; m++) {
+				int j = neighbors[i][m];
+				assertNotEquals(i, j);
+				assertFalse(listed[j]);
+				listed[j] = true;
+				assertEquals(all[m], tsp.edgeCostForHeuristics(i, j), 1E-10);
+			}
+		}
+	}
 }
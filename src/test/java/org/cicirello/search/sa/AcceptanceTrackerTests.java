@@ -93,6 +93,117 @@ public class AcceptanceTrackerTests {
 		);
 	}
 	
+	@Test
+	public void testAcceptanceRatesSnapshot() {
+		AcceptanceTracker tracker = new AcceptanceTracker(new TestAnnealingSchedule());
+		final int N = 10;
+		runPattern(tracker, N, N);
+		assertEquals(N, tracker.getNumBins());
+		double[] rates = tracker.getAcceptanceRates();
+		int[] starts = tracker.getBinStarts();
+		assertEquals(N, rates.length);
+		assertEquals(N+1, starts.length);
+		for (int i = 0; i < N; i++) {
+			assertEquals(1.0 - 0.1*i, rates[i], 1e-10);
+			assertEquals(1.0 - 0.1*i, tracker.getBinAcceptanceRate(i), 1e-10);
+			assertEquals(i, starts[i]);
+		}
+		assertEquals(N, starts[N]);
+	}
+	
+	@Test
+	public void testBucketedLinear() {
+		AcceptanceTracker tracker = new AcceptanceTracker(new TestAnnealingSchedule(), 4, false);
+		final int N = 20;
+		runPattern(tracker, N, N);
+		assertEquals(4, tracker.getNumBins());
+		assertArrayEquals(new int[] {0, 5, 10, 15, 20}, tracker.getBinStarts());
+		assertArrayEquals(new double[] {0.9, 0.65, 0.4, 0.15}, tracker.getAcceptanceRates(), 1e-10);
+		for (int i = 0; i < N; i++) {
+			assertEquals(0.9 - 0.25*(i/5), tracker.getAcceptanceRate(i), 1e-10);
+		}
+		ArrayIndexOutOfBoundsException thrown = assertThrows( 
+			ArrayIndexOutOfBoundsException.class,
+			() -> tracker.getAcceptanceRate(N)
+		);
+		thrown = assertThrows( 
+			ArrayIndexOutOfBoundsException.class,
+			() -> tracker.getAcceptanceRate(-1)
+		);
+		
+		// different run length resets
+		runPattern(tracker, 8, 8);
+		assertArrayEquals(new int[] {0, 2, 4, 6, 8}, tracker.getBinStarts());
+		assertArrayEquals(new double[] {0.9375, 0.6875, 0.4375, 0.1875}, tracker.getAcceptanceRates(), 1e-10);
+		
+		// same run length accumulates unless reset
+		AcceptanceTracker split = tracker.split();
+		runPattern(split, 8, 8);
+		runPattern(split, 8, 8);
+		assertArrayEquals(new double[] {0.9375, 0.6875, 0.4375, 0.1875}, split.getAcceptanceRates(), 1e-10);
+		split.reset(8);
+		assertArrayEquals(new double[4], split.getAcceptanceRates(), 0.0);
+		
+		// fewer iterations than bins
+		AcceptanceTracker small = new AcceptanceTracker(new TestAnnealingSchedule(), 10, false);
+		runPattern(small, 4, 4);
+		assertEquals(4, small.getNumBins());
+		assertArrayEquals(new int[] {0, 1, 2, 3, 4}, small.getBinStarts());
+		assertArrayEquals(new double[] {1.0, 0.75, 0.5, 0.25}, small.getAcceptanceRates(), 1e-10);
+		
+		IllegalArgumentException thrown2 = assertThrows( 
+			IllegalArgumentException.class,
+			() -> new AcceptanceTracker(new TestAnnealingSchedule(), 0, false)
+		);
+	}
+	
+	@Test
+	public void testBucketedLogSpaced() {
+		for (int numBins = 1; numBins <= 64; numBins *= 2) {
+			for (int n = 1; n <= 4096; n *= 8) {
+				AcceptanceTracker tracker = new AcceptanceTracker(new TestAnnealingSchedule(), numBins, true);
+				runPattern(tracker, n, 20);
+				int bins = Math.min(numBins, n);
+				assertEquals(bins, tracker.getNumBins());
+				int[] starts = tracker.getBinStarts();
+				assertEquals(bins+1, starts.length);
+				assertEquals(0, starts[0]);
+				assertEquals(n, starts[bins]);
+				for (int b = 1; b <= bins; b++) {
+					assertTrue(starts[b] > starts[b-1]);
+				}
+				for (int b = 1; b < bins; b++) {
+					assertTrue(starts[b] >= Math.min((long)Math.pow(n, ((double)b) / bins), n - (bins - b)));
+				}
+				double[] rates = tracker.getAcceptanceRates();
+				for (int b = 0; b < bins; b++) {
+					// iteration i accepted in runs r > i of the 20 runs 
+					double total = 0;
+					for (int i = starts[b]; i < starts[b+1]; i++) {
+						total += Math.max(0, 20 - i) / 20.0;
+					}
+					assertEquals(total / (starts[b+1] - starts[b]), rates[b], 1e-10);
+					assertEquals(rates[b], tracker.getAcceptanceRate(starts[b]), 1e-10);
+					assertEquals(rates[b], tracker.getAcceptanceRate(starts[b+1]-1), 1e-10);
+				}
+			}
+		}
+	}
+	
+	/*
+	 * Runs the tracker for the specified number of runs of length n, such that run r (from 1) 
+	 * accepts in its first r iterations.
+	 */
+	private void runPattern(AcceptanceTracker tracker, int n, int runs) {
+		for (int r = 1; r <= runs; r++) {
+			tracker.init(n);
+			for (int i = 0; i < n; i++) {
+				tracker.accept(i < r ? 90 : 110, 100);
+			}
+		}
+		tracker.accept(100, 100);
+	}
+	
 	private static class TestAnnealingSchedule implements AnnealingSchedule {
 		
 		int initCount;
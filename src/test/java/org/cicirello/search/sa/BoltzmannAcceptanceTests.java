@@ -0,0 +1,77 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.sa;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test cases for the BoltzmannAcceptance class.
+ */
+public class BoltzmannAcceptanceTests {
+	
+	@Test
+	public void testAcceptsNoWorse() {
+		for (double t = 0.001; t < 1000; t *= 10) {
+			assertTrue(BoltzmannAcceptance.accept(5, 5, t));
+			assertTrue(BoltzmannAcceptance.accept(4, 5, t));
+			assertTrue(BoltzmannAcceptance.accept(-1000, 5, t));
+		}
+		assertTrue(BoltzmannAcceptance.accept(5, 5, 0.0));
+	}
+	
+	@Test
+	public void testRejectsMuchWorse() {
+		for (int i = 0; i < 1000; i++) {
+			assertFalse(BoltzmannAcceptance.accept(5 + BoltzmannAcceptance.MAX_EXPONENT, 5, 1.0));
+			assertFalse(BoltzmannAcceptance.accept(1000, 5, 10.0));
+			assertFalse(BoltzmannAcceptance.accept(6, 5, 0.0));
+			assertFalse(BoltzmannAcceptance.accept(6, 5, Double.NaN));
+		}
+	}
+	
+	@Test
+	public void testAcceptsTinyExponent() {
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(BoltzmannAcceptance.accept(5 + 1E-300, 5, 1E300));
+			assertTrue(BoltzmannAcceptance.accept(6, 5, -1.0));
+		}
+	}
+	
+	@Test
+	public void testAcceptanceRate() {
+		final int N = 40000;
+		// tolerance is about 4.5 standard deviations
+		final double TOLERANCE = 4.5 * 0.5 / Math.sqrt(N);
+		double[] exponents = { 0.005, 0.25, 1.0, 1.0/64, 2.5, 7.0, 20.0 };
+		for (double x : exponents) {
+			for (double t : new double[] {0.5, 1.0, 100.0}) {
+				int count = 0;
+				for (int i = 0; i < N; i++) {
+					if (BoltzmannAcceptance.accept(10 + x*t, 10, t)) {
+						count++;
+					}
+				}
+				assertEquals(Math.exp(-x), ((double)count) / N, TOLERANCE, "x=" + x + " t=" + t);
+			}
+		}
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.sa;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import org.cicirello.search.problems.OptimizationProblem;
+import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.operators.UndoableMutationOperator;
+import org.cicirello.search.operators.Initializer;
+import org.cicirello.search.ProgressTracker;
+import org.cicirello.util.Copyable;
+import org.cicirello.search.SolutionCostPair;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit test cases for the CooperativeParallelSimulatedAnnealing class.
+ */
+public class CooperativeParallelSimulatedAnnealingTests {
+	
+	@Test
+	public void testConstructorExceptions() {
+		SimulatedAnnealing<TestObject> sa = new SimulatedAnnealing<TestObject>(new TestProblem(), new TestMutation(new AtomicInteger()), new TestInitializer());
+		IllegalArgumentException thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> new CooperativeParallelSimulatedAnnealing<TestObject>(sa, 0, 100)
+		);
+		thrown = assertThrows( 
+			IllegalArgumentException.class,
+			() -> new CooperativeParallelSimulatedAnnealing<TestObject>(sa, 2, 0)
+		);
+		NullPointerException thrown2 = assertThrows( 
+			NullPointerException.class,
+			() -> new CooperativeParallelSimulatedAnnealing<TestObject>(null, 2, 100)
+		);
+	}
+	
+	@Test
+	public void testOptimizeWithSynchronization() {
+		AtomicInteger maxSeen = new AtomicInteger();
+		SimulatedAnnealing<TestObject> sa = new SimulatedAnnealing<TestObject>(new TestProblem(), new TestMutation(maxSeen), new TestInitializer());
+		CooperativeParallelSimulatedAnnealing<TestObject> cpsa = new CooperativeParallelSimulatedAnnealing<TestObject>(sa, 3, 100);
+		assertEquals(3, cpsa.getNumChains());
+		assertEquals(100, cpsa.getSyncInterval());
+		assertSame(sa.getProblem(), cpsa.getProblem());
+		assertSame(sa.getProgressTracker(), cpsa.getProgressTracker());
+		SolutionCostPair<TestObject> pair = cpsa.optimize(500);
+		assertEquals(500, pair.getSolution().bar);
+		assertEquals(500, pair.getCostDouble(), 0.0);
+		assertEquals(500, cpsa.getProgressTracker().getCostDouble(), 0.0);
+		assertEquals(1500, cpsa.getTotalRunLength());
+		// chains other than the first never change their state, so they only advance by
+		// adopting the best at the synchronizations, the last of which is after 400 evaluations
+		assertEquals(400, maxSeen.get());
+		cpsa.close();
+	}
+	
+	@Test
+	public void testOptimizeWithoutSynchronization() {
+		AtomicInteger maxSeen = new AtomicInteger();
+		SimulatedAnnealing<TestObject> sa = new SimulatedAnnealing<TestObject>(new TestProblem(), new TestMutation(maxSeen), new TestInitializer());
+		CooperativeParallelSimulatedAnnealing<TestObject> cpsa = new CooperativeParallelSimulatedAnnealing<TestObject>(sa, 3, 500);
+		SolutionCostPair<TestObject> pair = cpsa.optimize(500);
+		assertEquals(500, pair.getSolution().bar);
+		assertEquals(500, pair.getCostDouble(), 0.0);
+		assertEquals(1500, cpsa.getTotalRunLength());
+		assertEquals(0, maxSeen.get());
+		cpsa.close();
+	}
+	
+	@Test
+	public void testOptimizeIntCost() {
+		AtomicInteger maxSeen = new AtomicInteger();
+		SimulatedAnnealing<TestObject> sa = new SimulatedAnnealing<TestObject>(new TestProblemInt(), new TestMutation(maxSeen), new TestInitializer());
+		CooperativeParallelSimulatedAnnealing<TestObject> cpsa = new CooperativeParallelSimulatedAnnealing<TestObject>(sa, 2, 150);
+		SolutionCostPair<TestObject> pair = cpsa.optimize(500);
+		assertEquals(500, pair.getSolution().bar);
+		assertEquals(500, pair.getCost());
+		assertEquals(500, cpsa.getProgressTracker().getCost());
+		assertEquals(1000, cpsa.getTotalRunLength());
+		assertEquals(450, maxSeen.get());
+		cpsa.close();
+	}
+	
+	@Test
+	public void testFindsBest() {
+		AtomicInteger maxSeen = new AtomicInteger();
+		SimulatedAnnealing<TestObject> sa = new SimulatedAnnealing<TestObject>(new TestProblemKnownMin(), new TestMutation(maxSeen), new TestInitializer());
+		CooperativeParallelSimulatedAnnealing<TestObject> cpsa = new CooperativeParallelSimulatedAnnealing<TestObject>(sa, 3, 100);
+		SolutionCostPair<TestObject> pair = cpsa.optimize(10000);
+		assertEquals(400, pair.getCostDouble(), 0.0);
+		assertTrue(cpsa.getProgressTracker().didFindBest());
+		// the first chain finds the best during the sixth segment, which ends the run
+		assertEquals(1800, cpsa.getTotalRunLength());
+		assertNull(cpsa.optimize(100));
+		assertNull(cpsa.reoptimize(100));
+		cpsa.close();
+	}
+	
+	@Test
+	public void testReoptimize() {
+		AtomicInteger maxSeen = new AtomicInteger();
+		SimulatedAnnealing<TestObject> sa = new SimulatedAnnealing<TestObject>(new TestProblemKnownMin(), new TestMutation(maxSeen), new TestInitializer());
+		CooperativeParallelSimulatedAnnealing<TestObject> cpsa = new CooperativeParallelSimulatedAnnealing<TestObject>(sa, 2, 1000);
+		SolutionCostPair<TestObject> pair = cpsa.reoptimize(500);
+		assertEquals(500, pair.getCostDouble(), 0.0);
+		assertEquals(0, maxSeen.get());
+		pair = cpsa.reoptimize(500);
+		assertEquals(400, pair.getCostDouble(), 0.0);
+		assertTrue(cpsa.getProgressTracker().didFindBest());
+		// all chains begin the second run at the best of the first
+		assertEquals(500, maxSeen.get());
+		cpsa.close();
+	}
+	
+	@Test
+	public void testSplitAndClose() {
+		SimulatedAnnealing<TestObject> sa = new SimulatedAnnealing<TestObject>(new TestProblem(), new TestMutation(new AtomicInteger()), new TestInitializer());
+		CooperativeParallelSimulatedAnnealing<TestObject> cpsa = new CooperativeParallelSimulatedAnnealing<TestObject>(sa, 2, 100);
+		CooperativeParallelSimulatedAnnealing<TestObject> split = cpsa.split();
+		assertEquals(2, split.getNumChains());
+		assertEquals(100, split.getSyncInterval());
+		assertSame(cpsa.getProgressTracker(), split.getProgressTracker());
+		assertFalse(split.isClosed());
+		// all chains of the split use splits of the mutation operator, which don't change the state
+		assertEquals(1000, split.optimize(300).getCostDouble(), 0.0);
+		assertEquals(600, split.getTotalRunLength());
+		assertEquals(0, cpsa.getTotalRunLength());
+		ProgressTracker<TestObject> tracker = new ProgressTracker<TestObject>();
+		split.setProgressTracker(tracker);
+		assertSame(tracker, split.getProgressTracker());
+		split.setProgressTracker(null);
+		assertSame(tracker, split.getProgressTracker());
+		split.close();
+		assertTrue(split.isClosed());
+		assertFalse(cpsa.isClosed());
+		cpsa.close();
+		assertTrue(cpsa.isClosed());
+		assertTrue(cpsa.split().isClosed());
+		IllegalStateException thrown = assertThrows( 
+			IllegalStateException.class,
+			() -> cpsa.optimize(100)
+		);
+		thrown = assertThrows( 
+			IllegalStateException.class,
+			() -> cpsa.reoptimize(100)
+		);
+	}
+	
+	private static class TestProblem implements OptimizationProblem<TestObject> {
+		@Override public double cost(TestObject c) { return 1000 - c.bar % 601; }
+		@Override public double value(TestObject c) { return cost(c); }
+	}
+	
+	private static class TestProblemKnownMin extends TestProblem {
+		@Override public double minCost() { return 400; }
+		@Override public boolean isMinCost(double c) { return c == minCost(); }
+	}
+	
+	private static class TestProblemInt implements IntegerCostOptimizationProblem<TestObject> {
+		@Override public int cost(TestObject c) { return 1000 - c.bar % 601; }
+		@Override public int value(TestObject c) { return cost(c); }
+	}
+	
+	/*
+	 * The original changes the state, but its splits don't, and instead record
+	 * the maximum state that they see.
+	 */
+	private static class TestMutation implements UndoableMutationOperator<TestObject> {
+		private final int step;
+		private final AtomicInteger maxSeen;
+		TestMutation(AtomicInteger maxSeen) { this(1, maxSeen); }
+		TestMutation(int step, AtomicInteger maxSeen) { this.step = step; this.maxSeen = maxSeen; }
+		@Override public void mutate(TestObject c) { 
+			if (step == 0) maxSeen.accumulateAndGet(c.bar, Math::max);
+			c.bar += step; 
+		}
+		@Override public void undo(TestObject c) { c.bar -= step; }
+		@Override public TestMutation split() { return new TestMutation(0, maxSeen); }
+	}
+	
+	private static class TestInitializer implements Initializer<TestObject> {
+		// for testing always start with same solution rather than random for predictable results
+		@Override public TestObject createCandidateSolution() { return new TestObject(0); }
+		@Override public TestInitializer split() {return this;}
+	}
+	
+	private static class TestObject implements Copyable<TestObject> {
+		int bar;
+		public TestObject(int bar) {
+			this.bar = bar;
+		}
+		@Override public TestObject copy() { return new TestObject(bar); }
+	}	
+}
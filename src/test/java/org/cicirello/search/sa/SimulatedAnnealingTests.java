@@ -24,11 +24,15 @@ import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 import org.cicirello.search.problems.OptimizationProblem;
 import org.cicirello.search.problems.IntegerCostOptimizationProblem;
+import org.cicirello.search.problems.DeltaEvaluable;
+import org.cicirello.search.problems.IntegerCostDeltaEvaluable;
+import org.cicirello.search.operators.MoveDescriptor;
 import org.cicirello.search.operators.UndoableMutationOperator;
 import org.cicirello.search.operators.Initializer;
 import org.cicirello.search.ProgressTracker;
 import org.cicirello.util.Copyable;
 import org.cicirello.search.SolutionCostPair;
+import org.cicirello.search.SolutionCostHolder;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.ExecutorService;
@@ -462,6 +466,61 @@ public class SimulatedAnnealingTests {
 		assertEquals(elapsed, i_known.getTotalRunLength());
 	}
 	
+	@Test
+	public void testOptimizeDeltaEvaluation() {
+		// double costs
+		TestDeltaProblem pd = new TestDeltaProblem();
+		SimulatedAnnealing<TestObject> sa = new SimulatedAnnealing<TestObject>(pd, new TestMutationWithMove(), new TestInitializer());
+		ProgressTracker<TestObject> t = sa.getProgressTracker();
+		SolutionCostPair<TestObject> result = sa.optimize(100);
+		assertEquals(100, result.getSolution().bar);
+		assertEquals(900.0, result.getCostDouble(), EPSILON);
+		assertEquals(900.0, t.getCostDouble(), EPSILON);
+		assertEquals(100, pd.deltaCalls);
+		result = sa.optimize(1000);
+		assertEquals(400.0, t.getCostDouble(), EPSILON);
+		assertEquals(pd.cost(result.getSolution()), result.getCostDouble(), EPSILON);
+		
+		// double costs, but mutation operator doesn't describe its moves
+		pd = new TestDeltaProblem();
+		sa = new SimulatedAnnealing<TestObject>(pd, new TestMutation(), new TestInitializer());
+		result = sa.optimize(100);
+		assertEquals(900.0, result.getCostDouble(), EPSILON);
+		assertEquals(0, pd.deltaCalls);
+		assertEquals(101, pd.costCalls);
+		
+		// int costs
+		TestDeltaProblemInt pi = new TestDeltaProblemInt();
+		sa = new SimulatedAnnealing<TestObject>(pi, new TestMutationWithMove(), new TestInitializer());
+		t = sa.getProgressTracker();
+		result = sa.optimize(100);
+		assertEquals(100, result.getSolution().bar);
+		assertEquals(900, result.getCost());
+		assertEquals(900, t.getCost());
+		assertEquals(100, pi.deltaCalls);
+		assertEquals(1, pi.costCalls);
+		result = sa.optimize(1000);
+		assertEquals(400, t.getCost());
+		assertEquals(pi.cost(result.getSolution()), result.getCost());
+		
+		// int costs, but problem doesn't support the move
+		pi = new TestDeltaProblemInt();
+		pi.supported = false;
+		sa = new SimulatedAnnealing<TestObject>(pi, new TestMutationWithMove(), new TestInitializer());
+		result = sa.optimize(100);
+		assertEquals(900, result.getCost());
+		assertEquals(0, pi.deltaCalls);
+		assertEquals(101, pi.costCalls);
+		
+		// split shares the problem's delta evaluation
+		pi = new TestDeltaProblemInt();
+		sa = new SimulatedAnnealing<TestObject>(pi, new TestMutationWithMove(), new TestInitializer()).split();
+		result = sa.optimize(100);
+		assertEquals(900, result.getCost());
+		assertEquals(100, pi.deltaCalls);
+		assertEquals(1, pi.costCalls);
+	}
+	
 	@Test
 	public void testOptimizeSplit() {
 		// Test with known min solution: int costs
@@ -640,6 +699,46 @@ public class SimulatedAnnealingTests {
 		assertEquals(elapsed, i_known.getTotalRunLength());
 	}
 	
+	@Test
+	public void testOptimizeInto() {
+		SolutionCostHolder<TestObject> best = new SolutionCostHolder<TestObject>();
+		i_known.optimizeInto(100, best);
+		assertFalse(best.isEmpty());
+		assertTrue(best.containsIntCost());
+		assertEquals(900, best.getCost());
+		assertEquals(100, best.getSolution().bar);
+		assertFalse(best.containsKnownOptimal());
+		TestObject first = best.getSolution();
+		i_known.optimizeInto(100, best);
+		assertSame(first, best.getSolution());
+		i_known.reoptimizeInto(100, best);
+		assertEquals(800, best.getCost());
+		assertEquals(200, best.getSolution().bar);
+		assertEquals(800, i_known.getProgressTracker().getCost());
+		assertEquals(300, i_known.getTotalRunLength());
+		i_known.reoptimizeInto(1000, best);
+		assertEquals(400, best.getCost());
+		assertTrue(best.containsKnownOptimal());
+		SolutionCostPair<TestObject> pair = best.toSolutionCostPair();
+		assertEquals(400, pair.getCost());
+		assertTrue(pair.containsKnownOptimal());
+		long runLength = i_known.getTotalRunLength();
+		best.clear();
+		i_known.optimizeInto(100, best);
+		i_known.reoptimizeInto(100, best);
+		assertTrue(best.isEmpty());
+		assertEquals(runLength, i_known.getTotalRunLength());
+		
+		best = new SolutionCostHolder<TestObject>();
+		d_unknown.optimizeInto(100, best);
+		assertFalse(best.containsIntCost());
+		assertEquals(900.0, best.getCostDouble(), EPSILON);
+		assertEquals(100, best.getSolution().bar);
+		d_unknown.reoptimizeInto(100, best);
+		assertEquals(800.0, best.getCostDouble(), EPSILON);
+		assertEquals(200, best.getSolution().bar);
+	}
+	
 	
 	private static class TestProblem implements OptimizationProblem<TestObject> {
 		@Override public double cost(TestObject c) { return 1000 - c.bar % 601; }
@@ -667,6 +766,39 @@ public class SimulatedAnnealingTests {
 		@Override public TestMutation split() { return new TestMutation(); }
 	}
 	
+	private static class TestDeltaProblem extends TestProblem implements DeltaEvaluable<TestObject> {
+		int costCalls;
+		int deltaCalls;
+		@Override public double cost(TestObject c) { costCalls++; return super.cost(c); }
+		@Override public boolean supportsDelta(MoveDescriptor move) { return move.getType() == MoveDescriptor.Type.SWAP; }
+		@Override public double costDelta(TestObject c, MoveDescriptor move) { 
+			deltaCalls++;
+			return c.bar % 601 == 0 ? 600 : -1;
+		}
+	}
+	
+	private static class TestDeltaProblemInt extends TestProblemInt implements IntegerCostDeltaEvaluable<TestObject> {
+		int costCalls;
+		int deltaCalls;
+		boolean supported = true;
+		@Override public int cost(TestObject c) { costCalls++; return super.cost(c); }
+		@Override public boolean supportsDelta(MoveDescriptor move) { return supported && move.getType() == MoveDescriptor.Type.SWAP; }
+		@Override public int costDelta(TestObject c, MoveDescriptor move) { 
+			deltaCalls++;
+			return c.bar % 601 == 0 ? 600 : -1;
+		}
+	}
+	
+	private static class TestMutationWithMove extends TestMutation {
+		private final MoveDescriptor move = new MoveDescriptor();
+		@Override public void mutate(TestObject c) { 
+			super.mutate(c);
+			move.set(MoveDescriptor.Type.SWAP, c.bar-1, c.bar);
+		}
+		@Override public MoveDescriptor getLastMove() { return move; }
+		@Override public TestMutationWithMove split() { return new TestMutationWithMove(); }
+	}
+	
 	private static class TestInitializer implements Initializer<TestObject> {
 		// for testing always start with same solution rather than random for predictable results
 		@Override public TestObject createCandidateSolution() { return new TestObject(0); }
@@ -133,6 +133,23 @@ public class ConstructiveHeuristicTests {
 	
 	// HeuristicPermutationGenerator tests start here
 	
+	@Test
+	public void testDefaultHAll() {
+		int n = 6;
+		IntHeuristic h = new IntHeuristic(new IntProblem(), n);
+		Partial<Permutation> p = h.createPartial(n);
+		IncrementalEvaluation<Permutation> inc = h.createIncrementalEvaluation();
+		double[] values = new double[n];
+		while (!p.isComplete()) {
+			h.hAll(p, inc, values);
+			for (int i = 0; i < p.numExtensions(); i++) {
+				assertEquals(h.h(p, p.getExtension(i), inc), values[i], 0.0);
+			}
+			inc.extend(p, p.getExtension(p.numExtensions()-1));
+			p.extend(p.numExtensions()-1);
+		}
+	}
+	
 	@Test
 	public void testWithIntCosts() {
 		for (int n = 0; n < 5; n++) {
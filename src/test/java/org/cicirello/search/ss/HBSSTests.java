@@ -28,6 +28,7 @@ import org.cicirello.search.problems.IntegerCostOptimizationProblem;
 import org.cicirello.search.problems.OptimizationProblem;
 import org.cicirello.search.SolutionCostPair;
 import org.cicirello.search.ProgressTracker;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * JUnit tests for HeuristicBiasedStochasticSampling.
@@ -134,6 +135,32 @@ public class HBSSTests {
 		}
 	}
 	
+	@Test
+	public void testWithIntCostsParallelSamples() {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		for (int n = 0; n < 10; n++) {
+			IntProblem problem = new IntProblem();
+			IntHeuristic h = new IntHeuristic(problem, n);
+			HeuristicBiasedStochasticSampling<Permutation> ch = new HeuristicBiasedStochasticSampling<Permutation>(h);
+			ch.setSamplingPool(pool);
+			ProgressTracker<Permutation> tracker = ch.getProgressTracker();
+			SolutionCostPair<Permutation> solution = ch.optimize(10);
+			assertEquals(10, ch.getTotalRunLength());
+			assertEquals((n+1)*n/2, solution.getCost());
+			assertEquals((n+1)*n/2, tracker.getCost());
+			assertEquals(n, solution.getSolution().length());
+			solution = ch.optimize(2);
+			assertEquals(12, ch.getTotalRunLength());
+			assertEquals((n+1)*n/2, solution.getCost());
+			tracker = new ProgressTracker<Permutation>();
+			ch.setProgressTracker(tracker);
+			solution = ch.optimize(7);
+			assertEquals(19, ch.getTotalRunLength());
+			assertEquals((n+1)*n/2, tracker.getCost());
+		}
+		pool.shutdown();
+	}
+	
 	@Test
 	public void testWithDoubleCostsMultipleSamples() {
 		for (int n = 0; n < 10; n++) {
@@ -614,6 +641,79 @@ public class HBSSTests {
 		}
 	}
 	
+	@Test
+	public void testStaticHeuristic() {
+		HeuristicBiasedStochasticSampling.BiasFunction bias = rank -> Math.pow(rank, -60);
+		for (int n = 0; n < 10; n++) {
+			IntProblem problem = new IntProblem();
+			StaticIntHeuristic h = new StaticIntHeuristic(problem, n);
+			HeuristicBiasedStochasticSampling<Permutation> ch = new HeuristicBiasedStochasticSampling<Permutation>(h, bias);
+			// the heuristic is evaluated once per element, when the sampler is constructed
+			assertEquals(n, h.calls);
+			SolutionCostPair<Permutation> solution = ch.optimize(5);
+			assertEquals(5, ch.getTotalRunLength());
+			assertEquals(n, h.calls);
+			assertEquals((n+1)*n/2, solution.getCost());
+			HeuristicBiasedStochasticSampling<Permutation> split = ch.split();
+			split.optimize(3);
+			assertEquals(n, h.calls);
+			// strong bias: samples follow the heuristic, evens largest to smallest then odds
+			Permutation p = solution.getSolution();
+			assertEquals(n, p.length());
+			int i = 0;
+			for (int e = n % 2 == 0 ? n - 2 : n - 1; e >= 0; e -= 2, i++) {
+				assertEquals(e, p.get(i));
+			}
+			for (int e = n % 2 == 0 ? n - 1 : n - 2; e >= 1; e -= 2, i++) {
+				assertEquals(e, p.get(i));
+			}
+		}
+	}
+	
+	@Test
+	public void testStaticHeuristicTiesSameDistributionAsPerStep() {
+		// strong bias: samples follow the heuristic, whose pairs of elements 2i and 2i+1 are tied,
+		// so each pair's order should be uniformly random on both the static and per-step paths
+		HeuristicBiasedStochasticSampling.BiasFunction bias = rank -> Math.pow(rank, -60);
+		final int n = 6;
+		final int N = 4000;
+		for (boolean isStatic : new boolean[] {true, false}) {
+			IntProblem problem = new IntProblem();
+			HeuristicBiasedStochasticSampling<Permutation> ch = new HeuristicBiasedStochasticSampling<Permutation>(new TiedIntHeuristic(problem, n, isStatic), bias);
+			int[] smallerFirst = new int[n/2];
+			for (int s = 0; s < N; s++) {
+				Permutation p = ch.sample().getSolution();
+				for (int i = 0; i < n; i += 2) {
+					int pair = n/2 - 1 - i/2;
+					assertEquals(pair, p.get(i) / 2);
+					assertEquals(pair, p.get(i+1) / 2);
+					if (p.get(i) < p.get(i+1)) smallerFirst[pair]++;
+				}
+			}
+			for (int count : smallerFirst) {
+				assertTrue(count > 0.4 * N && count < 0.6 * N, "static: " + isStatic + ", count: " + count);
+			}
+		}
+	}
+	
+	/*
+	 * Fake heuristic with ties: elements 2i and 2i+1 have the same value, and larger
+	 * pairs are preferred. Static or not, as specified.
+	 */
+	private static class TiedIntHeuristic extends IntHeuristic {
+		private final boolean isStatic;
+		public TiedIntHeuristic(IntProblem problem, int n, boolean isStatic) {
+			super(problem, n);
+			this.isStatic = isStatic;
+		}
+		@Override public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
+			return 1 + element / 2;
+		}
+		@Override public boolean isStatic() {
+			return isStatic;
+		}
+	}
+	
 	/*
 	 * Fake heuristic designed for predictable test cases:
 	 * designed to prefer even permutation elements (largest to smallest), followed by odd
@@ -628,6 +728,24 @@ public class HBSSTests {
 		}
 	}
 	
+	/*
+	 * Fake static heuristic: the same as IntHeuristic, but declares itself 
+	 * static and counts its evaluations.
+	 */
+	private static class StaticIntHeuristic extends IntHeuristic {
+		private int calls;
+		public StaticIntHeuristic(IntProblem problem, int n) {
+			super(problem, n);
+		}
+		@Override public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
+			calls++;
+			return super.h(p, element, incEval);
+		}
+		@Override public boolean isStatic() {
+			return true;
+		}
+	}
+	
 	/*
 	 * Fake heuristic designed for predictable test cases:
 	 * designed to prefer even permutation elements (largest to smallest), followed by odd
@@ -33,6 +33,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * JUnit tests for the IterativeSampling class.
@@ -149,6 +150,51 @@ public class IterativeSamplingTests {
 		verifySplitInt("constructor 2", new IterativeSampling<TestObject>(new TestProblemInt(), new TestInitializer()));
 	}
 	
+	@Test
+	public void testParallelSampling() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		IterativeSampling<TestObject> is = new IterativeSampling<TestObject>(new TestProblemInt(), new TestInitializer());
+		is.setSamplingPool(pool);
+		// each of 4 tasks generates 10 samples with its own split of the initializer
+		SolutionCostPair<TestObject> s = is.optimize(40);
+		assertEquals(96, s.getCost());
+		assertEquals(96, is.getProgressTracker().getCost());
+		assertEquals(40, is.getTotalRunLength());
+		// the splits are reused, continuing where their initializers left off
+		s = is.optimize(40);
+		assertEquals(91, s.getCost());
+		assertEquals(91, is.getProgressTracker().getCost());
+		assertEquals(80, is.getTotalRunLength());
+		// uneven division: tasks generate 3, 2, 2, and 2 samples
+		ProgressTracker<TestObject> tracker = new ProgressTracker<TestObject>();
+		is.setProgressTracker(tracker);
+		s = is.optimize(9);
+		assertEquals(89, s.getCost());
+		assertEquals(89, tracker.getCost());
+		assertEquals(89, is.getTotalRunLength());
+		// fewer samples than threads
+		is = new IterativeSampling<TestObject>(new TestProblem(), new TestInitializer());
+		is.setSamplingPool(pool);
+		s = is.optimize(2);
+		assertEquals(100.0, s.getCostDouble(), 0.0);
+		assertEquals(2, is.getTotalRunLength());
+		// splits share the pool
+		IterativeSampling<TestObject> split = is.split();
+		s = split.optimize(12);
+		assertEquals(99.0, s.getCostDouble(), 0.0);
+		assertEquals(12, split.getTotalRunLength());
+		assertEquals(99.0, is.getProgressTracker().getCostDouble(), 0.0);
+		// stops when a task finds the best
+		is = new IterativeSampling<TestObject>(new TestProblemFindsMinInt(), new TestInitializer());
+		is.setSamplingPool(pool);
+		s = is.optimize(400);
+		assertEquals(100, s.getCost());
+		assertTrue(is.getProgressTracker().didFindBest());
+		assertTrue(is.getTotalRunLength() < 400);
+		assertNull(is.optimize(40));
+		pool.shutdown();
+	}
+	
 	@Test
 	public void testQuitsUponFindingBest() {
 		TestProblemFindsMin problem = new TestProblemFindsMin();
@@ -0,0 +1,130 @@
+/*
+ * Chips-n-Salsa: A library of parallel self-adaptive local search algorithms.
+ * Copyright (C) 2002-2022 Vincent A. Cicirello
+ *
+ * This file is part of Chips-n-Salsa (https://chips-n-salsa.cicirello.org/).
+ * 
+ * Chips-n-Salsa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Chips-n-Salsa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+ 
+package org.cicirello.search.ss;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the SumTree class.
+ */
+public class SumTreeTests {
+	
+	@Test
+	public void testFind() {
+		double[] weights = { 1, 2, 0, 3, 4 };
+		SumTree tree = new SumTree(weights);
+		assertEquals(5, tree.size());
+		assertEquals(10, tree.total(), 1E-10);
+		assertEquals(0, tree.find(0));
+		assertEquals(0, tree.find(0.5));
+		assertEquals(1, tree.find(1));
+		assertEquals(1, tree.find(2.9));
+		assertEquals(3, tree.find(3));
+		assertEquals(3, tree.find(5.5));
+		assertEquals(4, tree.find(6));
+		assertEquals(4, tree.find(9.9));
+		// beyond the total, as if due to rounding error
+		assertEquals(4, tree.find(10));
+		// weights are copied
+		weights[0] = 100;
+		assertEquals(10, tree.total(), 1E-10);
+	}
+	
+	@Test
+	public void testRemove() {
+		double[] weights = { 1, 2, 3, 4, 5, 6, 7 };
+		SumTree tree = new SumTree(weights);
+		tree.remove(3);
+		assertEquals(24, tree.total(), 1E-10);
+		assertEquals(2, tree.find(3));
+		assertEquals(2, tree.find(5.9));
+		assertEquals(4, tree.find(6));
+		tree.remove(3);
+		assertEquals(24, tree.total(), 1E-10);
+		tree.remove(6);
+		assertEquals(17, tree.total(), 1E-10);
+		assertEquals(5, tree.find(16.9));
+		assertEquals(5, tree.find(17));
+		tree.remove(0);
+		assertEquals(1, tree.find(0));
+		for (int i = 1; i < 6; i++) {
+			tree.remove(i);
+		}
+		assertEquals(0, tree.total(), 1E-10);
+		assertEquals(-1, tree.find(0));
+	}
+	
+	@Test
+	public void testWideRangeOfWeights() {
+		double[] weights = { 1E-200, Math.exp(500), 3E-200, Math.exp(400), 1E-100 };
+		SumTree tree = new SumTree(weights);
+		assertEquals(1, tree.find(0.5 * tree.total()));
+		tree.remove(1);
+		assertEquals(3, tree.find(0.5 * tree.total()));
+		tree.remove(3);
+		assertEquals(1E-100, tree.total(), 1E-110);
+		assertEquals(4, tree.find(0.5 * tree.total()));
+		tree.remove(4);
+		assertEquals(4E-200, tree.total(), 1E-210);
+		assertEquals(0, tree.find(0.5E-200));
+		assertEquals(2, tree.find(1.5E-200));
+	}
+	
+	@Test
+	public void testFindEachPrefix() {
+		for (int n = 1; n <= 17; n++) {
+			double[] weights = new double[n];
+			for (int i = 0; i < n; i++) {
+				weights[i] = i + 1;
+			}
+			SumTree tree = new SumTree(weights);
+			assertEquals(n * (n + 1) / 2.0, tree.total(), 1E-10);
+			double cumulative = 0;
+			for (int i = 0; i < n; i++) {
+				assertEquals(i, tree.find(cumulative));
+				assertEquals(i, tree.find(cumulative + weights[i] - 0.5));
+				cumulative += weights[i];
+			}
+		}
+	}
+	
+	@Test
+	public void testUniformWeights() {
+		for (int n = 0; n <= 17; n++) {
+			SumTree tree = new SumTree(n);
+			assertEquals(n, tree.size());
+			assertEquals(n, tree.total(), 0.0);
+			for (int rank = 0; rank < n; rank++) {
+				assertEquals(rank, tree.find(rank));
+			}
+			// remove the elements at even indexes: find by rank among the rest
+			for (int i = 0; i < n; i += 2) {
+				tree.remove(i);
+			}
+			assertEquals(n / 2, tree.total(), 0.0);
+			for (int rank = 0; rank < n / 2; rank++) {
+				assertEquals(2 * rank + 1, tree.find(rank));
+			}
+		}
+		assertEquals(-1, new SumTree(0).find(0));
+	}
+}
@@ -563,6 +563,35 @@ public class VBSSTests {
 		}
 	}
 	
+	@Test
+	public void testStaticHeuristic() {
+		ValueBiasedStochasticSampling.BiasFunction bias = ValueBiasedStochasticSampling.createExponentialBias(30);
+		for (int n = 0; n < 10; n++) {
+			IntProblem problem = new IntProblem();
+			StaticIntHeuristic h = new StaticIntHeuristic(problem, n);
+			ValueBiasedStochasticSampling<Permutation> ch = new ValueBiasedStochasticSampling<Permutation>(h, bias);
+			// the heuristic is evaluated once per element, when the sampler is constructed
+			assertEquals(n, h.calls);
+			SolutionCostPair<Permutation> solution = ch.optimize(5);
+			assertEquals(5, ch.getTotalRunLength());
+			assertEquals(n, h.calls);
+			assertEquals((n+1)*n/2, solution.getCost());
+			ValueBiasedStochasticSampling<Permutation> split = ch.split();
+			split.optimize(3);
+			assertEquals(n, h.calls);
+			// strong bias: samples follow the heuristic, evens largest to smallest then odds
+			Permutation p = solution.getSolution();
+			assertEquals(n, p.length());
+			int i = 0;
+			for (int e = n % 2 == 0 ? n - 2 : n - 1; e >= 0; e -= 2, i++) {
+				assertEquals(e, p.get(i));
+			}
+			for (int e = n % 2 == 0 ? n - 1 : n - 2; e >= 1; e -= 2, i++) {
+				assertEquals(e, p.get(i));
+			}
+		}
+	}
+	
 	/*
 	 * Fake heuristic designed for predictable test cases:
 	 * designed to prefer even permutation elements (largest to smallest), followed by odd
@@ -577,6 +606,24 @@ public class VBSSTests {
 		}
 	}
 	
+	/*
+	 * Fake static heuristic: the same as IntHeuristic, but declares itself 
+	 * static and counts its evaluations.
+	 */
+	private static class StaticIntHeuristic extends IntHeuristic {
+		private int calls;
+		public StaticIntHeuristic(IntProblem problem, int n) {
+			super(problem, n);
+		}
+		@Override public double h(Partial<Permutation> p, int element, IncrementalEvaluation<Permutation> incEval) {
+			calls++;
+			return super.h(p, element, incEval);
+		}
+		@Override public boolean isStatic() {
+			return true;
+		}
+	}
+	
 	/*
 	 * Fake heuristic designed for predictable test cases:
 	 * designed to prefer even permutation elements (largest to smallest), followed by odd